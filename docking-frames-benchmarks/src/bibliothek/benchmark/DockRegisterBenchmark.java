@@ -0,0 +1,104 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.benchmark;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.control.DockRegister;
+
+/**
+ * Measures how long the {@link DockRegister} needs to register, and to unregister, a station
+ * with many children.
+ * @author Benjamin Sigg
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( value = 1, jvmArgsAppend = "-Djava.awt.headless=true" )
+public class DockRegisterBenchmark {
+	/** the number of dockables that are registered, larger values like <code>10000</code> are opt-in: <code>-p dockables=10000</code> */
+	@Param({ "10", "1000" })
+	public int dockables;
+	
+	private DockController controller;
+	private SplitDockStation station;
+	
+	@Setup( Level.Trial )
+	public void setupController(){
+		EventThread.run( new Runnable(){
+			public void run(){
+				controller = new DockController();
+				station = new SplitDockStation();
+				station.dropTree( SyntheticLayouts.createTree( SyntheticLayouts.createDockables( dockables )));
+			}
+		});
+	}
+	
+	@TearDown( Level.Trial )
+	public void tearDownController(){
+		EventThread.run( new Runnable(){
+			public void run(){
+				controller.kill();
+			}
+		});
+	}
+	
+	@Setup( Level.Invocation )
+	public void unregister(){
+		EventThread.run( new Runnable(){
+			public void run(){
+				if( station.getController() != null ){
+					controller.remove( station );
+				}
+			}
+		});
+	}
+	
+	@Benchmark
+	public DockRegister register(){
+		return EventThread.call( new Callable<DockRegister>(){
+			public DockRegister call(){
+				controller.add( station );
+				return controller.getRegister();
+			}
+		});
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.benchmark;
+
+import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Callable;
+
+/**
+ * Executes the work of a benchmark on the {@link EventQueue event dispatch thread}. The framework, like
+ * Swing itself, is not thread safe: measuring an operation on the thread of the benchmark harness
+ * while the event dispatch thread handles other events leads to random failures.
+ * @author Benjamin Sigg
+ */
+public final class EventThread {
+	private EventThread(){
+		// nothing
+	}
+	
+	/**
+	 * Executes <code>task</code> on the event dispatch thread and waits until it has finished.
+	 * @param task the task to execute
+	 * @return the result of <code>task</code>
+	 * @throws IllegalStateException if <code>task</code> threw an exception
+	 */
+	public static <T> T call( final Callable<T> task ){
+		if( EventQueue.isDispatchThread() ){
+			return execute( task );
+		}
+		
+		final Object[] result = new Object[1];
+		try{
+			EventQueue.invokeAndWait( new Runnable(){
+				public void run(){
+					result[0] = execute( task );
+				}
+			});
+		}
+		catch( InterruptedException e ){
+			throw new IllegalStateException( e );
+		}
+		catch( InvocationTargetException e ){
+			throw new IllegalStateException( e.getCause() );
+		}
+		
+		@SuppressWarnings("unchecked")
+		T value = (T)result[0];
+		return value;
+	}
+	
+	/**
+	 * Executes <code>task</code> on the event dispatch thread and waits until it has finished.
+	 * @param task the task to execute
+	 * @throws IllegalStateException if <code>task</code> threw an exception
+	 */
+	public static void run( final Runnable task ){
+		call( new Callable<Void>(){
+			public Void call(){
+				task.run();
+				return null;
+			}
+		});
+	}
+	
+	private static <T> T execute( Callable<T> task ){
+		try{
+			return task.call();
+		}
+		catch( RuntimeException e ){
+			throw e;
+		}
+		catch( Exception e ){
+			throw new IllegalStateException( e );
+		}
+	}
+}
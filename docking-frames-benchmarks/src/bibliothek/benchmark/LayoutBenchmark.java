@@ -0,0 +1,302 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.layout.DockLayoutComposition;
+import bibliothek.gui.dock.layout.DockSituation;
+import bibliothek.util.xml.XElement;
+import bibliothek.util.xml.XElementReader;
+import bibliothek.util.xml.XElementWriter;
+import bibliothek.util.xml.XIO;
+
+/**
+ * Measures how long it takes to write and to read a layout, using a {@link DockSituation} and
+ * using {@link CControl#writeXML(XElement)} and {@link CControl#readXML(XElement)}. The intermediate
+ * {@link DockLayoutComposition}s are also written and read as xml text, once with a tree of {@link XElement}s
+ * and once with {@link XElementReader} and {@link XElementWriter}, and in the binary formats: the old format,
+ * the {@link DockSituation#setCompactFormat(boolean) compact format} and the
+ * {@link DockSituation#setCompressedFormat(boolean) compressed format}. All operations run on the
+ * {@link EventThread event dispatch thread}.
+ * @author Benjamin Sigg
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( value = 1, jvmArgsAppend = "-Djava.awt.headless=true" )
+public class LayoutBenchmark {
+	/** the number of dockables in the layout, larger values like <code>10000</code> are opt-in: <code>-p dockables=10000</code> */
+	@Param({ "10", "1000" })
+	public int dockables;
+	
+	private DockController controller;
+	private DockSituation situation;
+	private Map<String, DockStation> stations;
+	private XElement situationXML;
+	
+	private Map<String, DockLayoutComposition> compositions;
+	private String compositionsXML;
+	private DockSituation compactSituation;
+	private DockSituation compressedSituation;
+	private byte[] binary;
+	private byte[] compact;
+	private byte[] compressed;
+	
+	private CControl control;
+	private XElement controlXML;
+	
+	@Setup
+	public void setup(){
+		EventThread.run( new Runnable(){
+			public void run(){
+				controller = new DockController();
+				SplitDockStation station = SyntheticLayouts.createStation( controller, dockables );
+				situation = new DockSituation( controller );
+				stations = new HashMap<String, DockStation>();
+				stations.put( "root", station );
+				situationXML = new XElement( "layout" );
+				situation.writeXML( stations, situationXML );
+				
+				compositions = new HashMap<String, DockLayoutComposition>();
+				compositions.put( "root", situation.convert( station ) );
+				XElement compositionsElement = new XElement( "layout" );
+				situation.writeCompositionsXML( compositions, compositionsElement );
+				StringBuilder text = new StringBuilder();
+				try{
+					XIO.write( compositionsElement, text );
+				}
+				catch( IOException ex ){
+					throw new IllegalStateException( ex );
+				}
+				compositionsXML = text.toString();
+				
+				compactSituation = new DockSituation( controller );
+				compactSituation.setCompactFormat( true );
+				compressedSituation = new DockSituation( controller );
+				compressedSituation.setCompactFormat( true );
+				compressedSituation.setCompressedFormat( true );
+				binary = writeCompositions( situation );
+				compact = writeCompositions( compactSituation );
+				compressed = writeCompositions( compressedSituation );
+				
+				control = SyntheticLayouts.createControl( dockables );
+				controlXML = new XElement( "layout" );
+				control.writeXML( controlXML );
+			}
+		});
+	}
+	
+	@TearDown
+	public void tearDown(){
+		EventThread.run( new Runnable(){
+			public void run(){
+				control.destroy();
+				controller.kill();
+			}
+		});
+	}
+	
+	@Benchmark
+	public XElement situationWriteXML(){
+		return EventThread.call( new Callable<XElement>(){
+			public XElement call(){
+				XElement element = new XElement( "layout" );
+				situation.writeXML( stations, element );
+				return element;
+			}
+		});
+	}
+	
+	@Benchmark
+	public Map<String, DockStation> situationReadXML(){
+		return EventThread.call( new Callable<Map<String, DockStation>>(){
+			public Map<String, DockStation> call(){
+				return situation.readXML( situationXML );
+			}
+		});
+	}
+	
+	@Benchmark
+	public XElement controlWriteXML(){
+		return EventThread.call( new Callable<XElement>(){
+			public XElement call(){
+				XElement element = new XElement( "layout" );
+				control.writeXML( element );
+				return element;
+			}
+		});
+	}
+	
+	@Benchmark
+	public CControl controlReadXML(){
+		return EventThread.call( new Callable<CControl>(){
+			public CControl call(){
+				control.readXML( controlXML );
+				return control;
+			}
+		});
+	}
+	
+	@Benchmark
+	public XElement parseXML(){
+		return EventThread.call( new Callable<XElement>(){
+			public XElement call() throws IOException{
+				return XIO.read( compositionsXML );
+			}
+		});
+	}
+	
+	@Benchmark
+	public Map<String, DockLayoutComposition> situationReadCompositionsDOM(){
+		return EventThread.call( new Callable<Map<String, DockLayoutComposition>>(){
+			public Map<String, DockLayoutComposition> call() throws IOException{
+				return situation.readCompositionsXML( XIO.read( compositionsXML ) );
+			}
+		});
+	}
+	
+	@Benchmark
+	public Map<String, DockLayoutComposition> situationReadCompositionsStreaming(){
+		return EventThread.call( new Callable<Map<String, DockLayoutComposition>>(){
+			public Map<String, DockLayoutComposition> call() throws IOException{
+				XElementReader reader = new XElementReader( new StringReader( compositionsXML ) );
+				reader.next();
+				return situation.readCompositionsXML( reader );
+			}
+		});
+	}
+	
+	@Benchmark
+	public String situationWriteCompositionsDOM(){
+		return EventThread.call( new Callable<String>(){
+			public String call() throws IOException{
+				XElement element = new XElement( "layout" );
+				situation.writeCompositionsXML( compositions, element );
+				StringBuilder text = new StringBuilder();
+				XIO.write( element, text );
+				return text.toString();
+			}
+		});
+	}
+	
+	@Benchmark
+	public String situationWriteCompositionsStreaming(){
+		return EventThread.call( new Callable<String>(){
+			public String call() throws IOException{
+				StringBuilder text = new StringBuilder();
+				XElementWriter writer = new XElementWriter( text );
+				writer.start( "layout" );
+				situation.writeCompositionsXML( compositions, writer );
+				writer.end();
+				return text.toString();
+			}
+		});
+	}
+	
+	@Benchmark
+	public Map<String, DockLayoutComposition> situationReadBinary(){
+		return readCompositions( situation, binary );
+	}
+	
+	@Benchmark
+	public Map<String, DockLayoutComposition> situationReadCompact(){
+		return readCompositions( compactSituation, compact );
+	}
+	
+	@Benchmark
+	public Map<String, DockLayoutComposition> situationReadCompressed(){
+		return readCompositions( compressedSituation, compressed );
+	}
+	
+	@Benchmark
+	public byte[] situationWriteBinary(){
+		return writeCompositionsOnEventThread( situation );
+	}
+	
+	@Benchmark
+	public byte[] situationWriteCompact(){
+		return writeCompositionsOnEventThread( compactSituation );
+	}
+	
+	@Benchmark
+	public byte[] situationWriteCompressed(){
+		return writeCompositionsOnEventThread( compressedSituation );
+	}
+	
+	private byte[] writeCompositionsOnEventThread( final DockSituation situation ){
+		return EventThread.call( new Callable<byte[]>(){
+			public byte[] call(){
+				return writeCompositions( situation );
+			}
+		});
+	}
+	
+	private byte[] writeCompositions( DockSituation situation ){
+		try{
+			ByteArrayOutputStream bout = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream( bout );
+			situation.writeCompositions( compositions, out );
+			out.close();
+			return bout.toByteArray();
+		}
+		catch( IOException ex ){
+			throw new IllegalStateException( ex );
+		}
+	}
+	
+	private Map<String, DockLayoutComposition> readCompositions( final DockSituation situation, final byte[] data ){
+		return EventThread.call( new Callable<Map<String, DockLayoutComposition>>(){
+			public Map<String, DockLayoutComposition> call() throws IOException{
+				return situation.readCompositions( new DataInputStream( new ByteArrayInputStream( data ) ) );
+			}
+		});
+	}
+}
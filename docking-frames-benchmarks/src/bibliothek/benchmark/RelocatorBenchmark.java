@@ -0,0 +1,139 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.benchmark;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.control.DirectRemoteRelocator;
+import bibliothek.gui.dock.control.relocator.DefaultDockRelocator;
+import bibliothek.gui.dock.control.relocator.DropTargetIndex;
+
+/**
+ * Measures how long the {@link DefaultDockRelocator} needs to handle one movement of the mouse during a
+ * drag and drop operation: searching and ordering the possible targets, asking them for a drop operation
+ * and painting the new drop indicator. The operation is driven through a {@link DirectRemoteRelocator}. The
+ * parameter <code>indexed</code> tells whether the targets are taken from a {@link DropTargetIndex} or
+ * searched again for each movement. To hide the costs of switching to the {@link EventThread event dispatch thread},
+ * each invocation moves the mouse {@link #BATCH} times.
+ * @author Benjamin Sigg
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Fork( value = 1, jvmArgsAppend = "-Djava.awt.headless=true" )
+public class RelocatorBenchmark {
+	/** how often the mouse is moved in one invocation */
+	public static final int BATCH = 100;
+	
+	/** the number of dockables on the root station, larger values like <code>10000</code> are opt-in: <code>-p dockables=10000</code> */
+	@Param({ "10", "1000" })
+	public int dockables;
+	
+	/** the value of {@link DefaultDockRelocator#INDEXED_DROP_TARGET_SEARCH} */
+	@Param({ "true", "false" })
+	public boolean indexed;
+	
+	private DockController controller;
+	private DirectRemoteRelocator remote;
+	private int x;
+	
+	@Setup
+	public void setup(){
+		EventThread.run( new Runnable(){
+			public void run(){
+				controller = new DockController();
+				controller.getProperties().set( DefaultDockRelocator.INDEXED_DROP_TARGET_SEARCH, indexed );
+				
+				// there is no window in a headless environment, the station pretends to be visible anyway
+				SplitDockStation station = new SplitDockStation(){
+					@Override
+					public boolean isShowing(){
+						return true;
+					}
+				};
+				controller.add( station );
+				station.dropTree( SyntheticLayouts.createTree( SyntheticLayouts.createDockables( dockables )));
+				station.setBounds( 0, 0, 1000, 1000 );
+				layout( station );
+				
+				remote = controller.getRelocator().createDirectRemote( station.getDockable( 0 ) );
+				remote.setShowImageWindow( false );
+				remote.init( 5, 5, 5, 5 );
+				remote.drag( 10, 10, true );
+			}
+		});
+	}
+	
+	private void layout( Component component ){
+		component.doLayout();
+		if( component instanceof Container ){
+			for( Component child : ((Container)component).getComponents() ){
+				layout( child );
+			}
+		}
+	}
+	
+	@TearDown
+	public void tearDown(){
+		EventThread.run( new Runnable(){
+			public void run(){
+				remote.cancel();
+				controller.kill();
+			}
+		});
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation( BATCH )
+	public int drag(){
+		return EventThread.call( new Callable<Integer>(){
+			public Integer call(){
+				for( int i = 0; i < BATCH; i++ ){
+					x = (x + 37) % 1000;
+					remote.drag( x, 1000 - x, false );
+				}
+				return x;
+			}
+		});
+	}
+}
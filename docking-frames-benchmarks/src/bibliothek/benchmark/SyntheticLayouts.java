@@ -0,0 +1,141 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.benchmark;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.CGrid;
+import bibliothek.gui.dock.common.CWorkingArea;
+import bibliothek.gui.dock.common.DefaultSingleCDockable;
+import bibliothek.gui.dock.station.split.DockableSplitDockTree;
+import bibliothek.gui.dock.station.split.SplitDockTree;
+
+/**
+ * Creates synthetic layouts of any size for the benchmarks. All the layouts are deterministic: the same arguments
+ * always lead to the same layout. The {@link Dockable}s are grouped in stacks of {@link #STACK_SIZE} elements, the
+ * stacks are arranged in a balanced tree of alternating horizontal and vertical splits.
+ * @author Benjamin Sigg
+ */
+public final class SyntheticLayouts {
+	/** the number of {@link Dockable}s that are put onto the same stack */
+	public static final int STACK_SIZE = 4;
+	
+	private SyntheticLayouts(){
+		// nothing
+	}
+	
+	/**
+	 * Creates <code>count</code> new {@link DefaultDockable}s with unique titles.
+	 * @param count the number of dockables
+	 * @return the new dockables
+	 */
+	public static DefaultDockable[] createDockables( int count ){
+		DefaultDockable[] result = new DefaultDockable[ count ];
+		for( int i = 0; i < count; i++ ){
+			result[i] = new DefaultDockable( "Dockable " + i );
+		}
+		return result;
+	}
+	
+	/**
+	 * Creates a tree containing all of <code>dockables</code>.
+	 * @param dockables the elements to put into the tree
+	 * @return the new tree
+	 */
+	public static DockableSplitDockTree createTree( Dockable[] dockables ){
+		DockableSplitDockTree tree = new DockableSplitDockTree();
+		if( dockables.length > 0 ){
+			tree.root( createNode( tree, dockables, 0, stacks( dockables.length ), true ));
+		}
+		return tree;
+	}
+	
+	private static SplitDockTree<Dockable>.Key createNode( DockableSplitDockTree tree, Dockable[] dockables, int firstStack, int stacks, boolean horizontal ){
+		if( stacks == 1 ){
+			int offset = firstStack * STACK_SIZE;
+			Dockable[] stack = new Dockable[ Math.min( STACK_SIZE, dockables.length - offset ) ];
+			System.arraycopy( dockables, offset, stack, 0, stack.length );
+			return tree.put( stack );
+		}
+		
+		int half = stacks / 2;
+		SplitDockTree<Dockable>.Key left = createNode( tree, dockables, firstStack, half, !horizontal );
+		SplitDockTree<Dockable>.Key right = createNode( tree, dockables, firstStack + half, stacks - half, !horizontal );
+		if( horizontal ){
+			return tree.horizontal( left, right, half / (double)stacks );
+		}
+		else{
+			return tree.vertical( left, right, half / (double)stacks );
+		}
+	}
+	
+	private static int stacks( int dockables ){
+		return (dockables + STACK_SIZE - 1) / STACK_SIZE;
+	}
+	
+	/**
+	 * Creates a new {@link SplitDockStation} showing <code>count</code> {@link DefaultDockable}s, the station
+	 * is registered at <code>controller</code>.
+	 * @param controller the controller to use
+	 * @param count the number of dockables
+	 * @return the new station
+	 */
+	public static SplitDockStation createStation( DockController controller, int count ){
+		SplitDockStation station = new SplitDockStation();
+		controller.add( station );
+		station.dropTree( createTree( createDockables( count ) ));
+		return station;
+	}
+	
+	/**
+	 * Creates a new {@link CControl} showing <code>count</code> {@link DefaultSingleCDockable}s on a
+	 * {@link CWorkingArea}. The {@link CControl} does not have a main window, hence it can be used
+	 * in a headless environment.
+	 * @param count the number of dockables
+	 * @return the new control
+	 */
+	public static CControl createControl( int count ){
+		CControl control = new CControl();
+		CWorkingArea area = control.createWorkingArea( "area" );
+		area.setVisible( true );
+		
+		CGrid grid = new CGrid( control );
+		int columns = Math.max( 1, (int)Math.sqrt( stacks( count )));
+		for( int i = 0; i < count; i += STACK_SIZE ){
+			int stack = i / STACK_SIZE;
+			DefaultSingleCDockable[] dockables = new DefaultSingleCDockable[ Math.min( STACK_SIZE, count - i ) ];
+			for( int j = 0; j < dockables.length; j++ ){
+				dockables[j] = new DefaultSingleCDockable( "dockable" + (i+j), "Dockable " + (i+j) );
+			}
+			grid.add( stack % columns, stack / columns, 1, 1, dockables );
+		}
+		area.deploy( grid );
+		return control;
+	}
+}
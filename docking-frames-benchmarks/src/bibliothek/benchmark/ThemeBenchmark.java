@@ -0,0 +1,92 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.benchmark;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.theme.ThemeMap;
+import bibliothek.gui.dock.util.UIProperties;
+
+/**
+ * Measures how long it takes to exchange the theme of a {@link CControl}. Each swap replaces
+ * most of the values stored in the {@link UIProperties} of the controller, and forces all the
+ * observers of these properties to update.
+ * @author Benjamin Sigg
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( value = 1, jvmArgsAppend = "-Djava.awt.headless=true" )
+public class ThemeBenchmark {
+	/** the number of dockables that need to be updated, larger values like <code>10000</code> are opt-in: <code>-p dockables=10000</code> */
+	@Param({ "10", "1000" })
+	public int dockables;
+	
+	private CControl control;
+	private boolean flat;
+	
+	@Setup
+	public void setup(){
+		EventThread.run( new Runnable(){
+			public void run(){
+				control = SyntheticLayouts.createControl( dockables );
+			}
+		});
+	}
+	
+	@TearDown
+	public void tearDown(){
+		EventThread.run( new Runnable(){
+			public void run(){
+				control.destroy();
+			}
+		});
+	}
+	
+	@Benchmark
+	public CControl swapTheme(){
+		return EventThread.call( new Callable<CControl>(){
+			public CControl call(){
+				flat = !flat;
+				control.setTheme( flat ? ThemeMap.KEY_FLAT_THEME : ThemeMap.KEY_ECLIPSE_THEME );
+				return control;
+			}
+		});
+	}
+}
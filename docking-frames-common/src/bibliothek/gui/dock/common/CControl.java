@@ -102,6 +102,7 @@ import bibliothek.gui.dock.common.intern.CommonSingleDockableFactory;
 import bibliothek.gui.dock.common.intern.ControlVetoClosingListener;
 import bibliothek.gui.dock.common.intern.ControlVetoFocusListener;
 import bibliothek.gui.dock.common.intern.EfficientControlFactory;
+import bibliothek.gui.dock.common.intern.LazySingleCDockable;
 import bibliothek.gui.dock.common.intern.MutableCControlRegister;
 import bibliothek.gui.dock.common.intern.action.CActionImportanceOrder;
 import bibliothek.gui.dock.common.intern.action.CActionOffer;
@@ -155,6 +156,8 @@ import bibliothek.gui.dock.facile.station.split.DefaultConflictResolver;
 import bibliothek.gui.dock.focus.DockableSelection;
 import bibliothek.gui.dock.frontend.FrontendEntry;
 import bibliothek.gui.dock.frontend.MissingDockableStrategy;
+import bibliothek.gui.dock.frontend.SettingsBlop;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.layout.DockSituationIgnore;
 import bibliothek.gui.dock.layout.DockableProperty;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
@@ -176,6 +179,8 @@ import bibliothek.gui.dock.station.support.PlaceholderStrategy;
 import bibliothek.gui.dock.support.mode.HistoryRewriter;
 import bibliothek.gui.dock.support.util.ApplicationResource;
 import bibliothek.gui.dock.support.util.ApplicationResourceManager;
+import bibliothek.gui.dock.support.util.ApplicationResourceReader;
+import bibliothek.gui.dock.support.util.ConcurrentApplicationResource;
 import bibliothek.gui.dock.themes.BasicTheme;
 import bibliothek.gui.dock.themes.ColorScheme;
 import bibliothek.gui.dock.themes.ThemeFactory;
@@ -190,6 +195,7 @@ import bibliothek.gui.dock.util.NullWindowProvider;
 import bibliothek.gui.dock.util.Priority;
 import bibliothek.gui.dock.util.PropertyKey;
 import bibliothek.gui.dock.util.WindowProvider;
+import bibliothek.gui.dock.util.TwoPhaseTask;
 import bibliothek.gui.dock.util.extension.Extension;
 import bibliothek.gui.dock.util.extension.ExtensionManager;
 import bibliothek.gui.dock.util.extension.ExtensionName;
@@ -904,7 +910,7 @@ public class CControl {
         try{
         	addMultipleDockableFactory( "", NullMultipleCDockableFactory.NULL, false );
         	
-            resources.put( "ccontrol.frontend", new ApplicationResource(){
+            resources.put( "ccontrol.frontend", new ConcurrentApplicationResource(){
                 public void write( DataOutputStream out ) throws IOException {
                     Version.write( out, Version.VERSION_1_1_1 );
                     frontend.write( out );
@@ -923,6 +929,29 @@ public class CControl {
                 public void readXML( XElement element ) {
                     frontend.readXML( element.getElement( "frontend" ) );
                 }
+                public ApplicationResourceReader createReader(){
+                	final DockFrontend.BlopReader reader = frontend.createBlopReader();
+                	return new ApplicationResourceReader(){
+                		private SettingsBlop blop;
+                		
+                		public void read( DataInputStream in ) throws IOException{
+                			Version version = Version.read( in );
+                            version.checkCurrent();
+                            if( Version.VERSION_1_1_1.compareTo( version ) > 0 && Version.VERSION_1_0_4.compareTo( version ) <= 0 ){
+                            	readWorkingAreas( in );
+                            }
+                            blop = reader.read( in );
+                		}
+                		public void readXML( XElement element ){
+                			blop = reader.readXML( element.getElement( "frontend" ) );
+                		}
+                		public void apply(){
+                			if( blop != null ){
+                				frontend.readBlop( blop, false );
+                			}
+                		}
+                	};
+                }
             });
 
             resources.put( "ccontrol.preferences", new ApplicationResource(){
@@ -1677,7 +1706,8 @@ public class CControl {
 
     /**
      * Adds a dockable to this control. The dockable can be made visible afterwards. This method will do nothing
-     * if <code>dockable</code> was already registered at this {@link CControl}.
+     * if <code>dockable</code> was already registered at this {@link CControl}. If a stand-in created by a
+     * {@link LazySingleCDockableFactory} uses the same unique identifier, then <code>dockable</code> replaces the stand-in.
      * @param <S> the type of the new element
      * @param dockable the new element to show
      * @return <code>dockable</code>
@@ -1701,6 +1731,10 @@ public class CControl {
         	if( preset == dockable ){
         		return dockable;
         	}
+        	else if( preset instanceof LazySingleCDockable ){
+        		((LazySingleCDockable)preset).materialize( dockable );
+        		return dockable;
+        	}
         	else{
         		throw new IllegalArgumentException( "unique id \'" + dockable.getUniqueId() + "\' already in use for another SingleCDockable" );
         	}
@@ -2059,6 +2093,63 @@ public class CControl {
     	}
     }
 
+    /**
+     * Replaces <code>oldDockable</code> with <code>newDockable</code>. Both dockables must have the same
+     * unique identifier. The location information of <code>oldDockable</code> is transferred to
+     * <code>newDockable</code>, including the {@link ExtendedMode} if <code>oldDockable</code> is visible,
+     * but <code>newDockable</code> is not made visible by this method.
+     * @param oldDockable some dockable that is registered at this {@link CControl}
+     * @param newDockable the replacement of <code>oldDockable</code>, not yet registered at any {@link CControl}
+     * @see #replace(MultipleCDockable, MultipleCDockable)
+     */
+    public void replace( SingleCDockable oldDockable, SingleCDockable newDockable ){
+    	if( oldDockable == null )
+    		throw new IllegalArgumentException( "old dockable must not be null" );
+    	if( newDockable == null )
+    		throw new IllegalArgumentException( "new dockable must not be null" );
+    	
+    	if( oldDockable.getControl() != this )
+    		throw new IllegalArgumentException( "old dockable not registered at this CControl" );
+    	
+    	if( newDockable.getControl() != null )
+    		throw new IllegalArgumentException( "new dockable alread registered at some CControl" );
+    	
+    	if( !oldDockable.getUniqueId().equals( newDockable.getUniqueId() ))
+    		throw new IllegalArgumentException( "the dockables do not have the same unique identifier" );
+    	
+    	String id = accesses.get( oldDockable ).getUniqueId();
+    	
+    	boolean frontendEmpty = frontend.isEmpty( id );
+    	if( !frontendEmpty ){
+    		frontend.addEmpty( id );
+    	}
+    	
+    	boolean locationEmpty = locationManager.isEmpty( id );
+    	if( !locationEmpty ){
+    		locationManager.addEmpty( id );
+    	}
+    	
+    	// showing a hidden dockable falls back to its initial mode, the current location keeps the mode
+    	CLocation location = null;
+    	if( oldDockable.isVisible() ){
+    		location = oldDockable.getBaseLocation();
+    	}
+    	
+    	removeDockable( oldDockable );
+    	addDockable( newDockable );
+    	
+    	if( location != null ){
+    		newDockable.setLocation( location );
+    	}
+    	
+    	if( !frontendEmpty ){
+    		frontend.removeEmpty( id );
+    	}
+    	if( !locationEmpty ){
+    		locationManager.removeEmpty( id );
+    	}
+    }
+    
     /**
      * Searches and returns the one {@link MultipleCDockable} which uses
      * the unique identifier <code>id</code>.
@@ -2165,6 +2256,29 @@ public class CControl {
                 listener.removed( CControl.this, dockable );
         }
     }
+    
+    /**
+     * Removes all {@link SingleCDockable}s and all {@link MultipleCDockable}s from this control. This
+     * has the same effect as calling {@link #removeDockable(SingleCDockable)} and {@link #removeDockable(MultipleCDockable)}
+     * for each element, but the elements are removed in a {@link DockController#runBatch(Runnable) batch}: the
+     * stations summarize their events, and {@link CControlListener}s are informed that the elements were
+     * {@link CControlListener#closed(CControl, CDockable) closed} only once all of them are removed.
+     */
+    public void removeAllDockables(){
+    	final List<CDockable> dockables = new ArrayList<CDockable>( register.getDockables() );
+    	getController().runBatch( new Runnable(){
+			public void run(){
+				for( CDockable dockable : dockables ){
+					if( dockable instanceof SingleCDockable ){
+						removeDockable( (SingleCDockable)dockable );
+					}
+					else if( dockable instanceof MultipleCDockable ){
+						removeDockable( (MultipleCDockable)dockable );
+					}
+				}
+			}
+		});
+    }
 
     /**
      * Gets the number of {@link CDockable}s that are registered in this
@@ -2240,8 +2354,8 @@ public class CControl {
     /**
      * Removes the {@link MultipleCDockableFactory} with identifier <code>id</code>
      * from this control. As a side effect all {@link MultipleCDockable}s which
-     * use that factory are removed as well. Nothing happens if there is no
-     * factory registered with <code>id</code>.
+     * use that factory are removed as well, in a {@link DockController#runBatch(Runnable) batch}.
+     * Nothing happens if there is no factory registered with <code>id</code>.
      * @param id the identifier of the factory to remove
      */
     public void removeMultipleDockableFactory( String id ){
@@ -2249,16 +2363,20 @@ public class CControl {
         if( factory != null ){
             frontend.unregisterFactory( factory );
 
-            List<MultipleCDockable> toRemove = new ArrayList<MultipleCDockable>();
+            final List<MultipleCDockable> toRemove = new ArrayList<MultipleCDockable>();
             for( MultipleCDockable dockable : register.getMultipleDockables() ){
                 if( dockable.getFactory() == factory.getFactory() ){
                     toRemove.add( dockable );
                 }
             }
 
-            for( MultipleCDockable dockable : toRemove ){
-                removeDockable( dockable );
-            }
+            getController().runBatch( new Runnable(){
+            	public void run(){
+            		for( MultipleCDockable dockable : toRemove ){
+            			removeDockable( dockable );
+            		}
+            	}
+            });
         }
     }
 
@@ -2668,6 +2786,34 @@ public class CControl {
         in.close();
         readXML( element );
     }
+    
+    /**
+     * Reads the current and other known layouts from <code>file</code>. The file is read and parsed
+     * in a background thread, the layout is applied later on the {@link java.awt.EventQueue dispatch thread}.
+     * Factories which are not {@link ConcurrentDockFactory#isConcurrent() concurrent} are only called when the layout is applied.
+     * This method must be called on the dispatch thread.<br>
+     * This is the same as calling <code>getResources().readFileInBackground( file )</code>.
+     * @param file the file to read from
+     * @return the task that reads the file, can be used to wait for the result or to observe its progress
+     * @see #read(File)
+     */
+    public TwoPhaseTask<?> readInBackground( File file ){
+    	return getResources().readFileInBackground( file );
+    }
+    
+    /**
+     * Reads the current and other known layouts from the xml file <code>file</code>. The file is read and parsed
+     * in a background thread, the layout is applied later on the {@link java.awt.EventQueue dispatch thread}.
+     * This method must be called on the dispatch thread.<br>
+     * This is the same as calling <code>getResources().readXMLFileInBackground( file )</code>.
+     * @param file the file to read from
+     * @return the task that reads the file, can be used to wait for the result or to observe its progress
+     * @see #readXML(File)
+     * @see #readInBackground(File)
+     */
+    public TwoPhaseTask<?> readXMLInBackground( File file ){
+    	return getResources().readXMLFileInBackground( file );
+    }
 
     /**
      * Saves the current layout with the current name. Does nothing if there is no name for the current layout. 
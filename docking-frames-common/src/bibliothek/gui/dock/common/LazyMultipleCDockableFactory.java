@@ -0,0 +1,52 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common;
+
+/**
+ * A {@link MultipleCDockableFactory} that supports lazy loading of layouts: when the {@link CControl}
+ * loads a layout, it first asks this factory to set up a lightweight stand-in for each
+ * {@link MultipleCDockable}. The real dockable is only {@link #read(MultipleCDockableLayout) read} once
+ * the stand-in becomes visible to the user, e.g. because its tab gets selected or because it
+ * gets opened on a minimize-area. This can save a lot of time if a layout contains many dockables
+ * of which only a few are visible.<br>
+ * The stand-in is replaced like {@link CControl#replace(MultipleCDockable, MultipleCDockable)} would do it.
+ * @author Benjamin Sigg
+ * @param <F> the kind of dockable that is managed by this factory
+ * @param <L> the kind of meta-data this factory reads and writes about <code>F</code>
+ */
+public interface LazyMultipleCDockableFactory<F extends MultipleCDockable, L extends MultipleCDockableLayout> extends MultipleCDockableFactory<F, L>{
+    /**
+     * Sets up a lightweight stand-in for the dockable described by <code>layout</code>. This method should
+     * only set cheap properties like the {@link DefaultMultipleCDockable#setTitleText(String) title} or
+     * the {@link DefaultMultipleCDockable#setTitleIcon(javax.swing.Icon) icon}, it should not fill the
+     * content pane of <code>proxy</code>.
+     * @param layout the layout of the dockable that will eventually be created
+     * @param proxy the stand-in, not yet registered at the {@link CControl}
+     * @return <code>true</code> if <code>proxy</code> should be used, <code>false</code> if the
+     * dockable should be {@link #read(MultipleCDockableLayout) read} immediately
+     */
+    public boolean prepareProxy( L layout, DefaultMultipleCDockable proxy );
+}
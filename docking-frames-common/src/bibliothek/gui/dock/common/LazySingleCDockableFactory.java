@@ -0,0 +1,48 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common;
+
+/**
+ * A {@link SingleCDockableFactory} that supports lazy loading of layouts: when the {@link CControl}
+ * loads a layout and a {@link SingleCDockable} is missing, then this factory is first asked to set up a
+ * lightweight stand-in. The real dockable is only {@link #createBackup(String) created} once the stand-in
+ * becomes visible to the user. If the client {@link CControl#addDockable(SingleCDockable) adds} a dockable
+ * with the same unique identifier, then this dockable replaces the stand-in as well.
+ * @author Benjamin Sigg
+ */
+public interface LazySingleCDockableFactory extends SingleCDockableFactory{
+    /**
+     * Sets up a lightweight stand-in for the dockable with unique identifier <code>id</code>. This method
+     * should only set cheap properties like the {@link DefaultSingleCDockable#setTitleText(String) title} or
+     * the {@link DefaultSingleCDockable#setTitleIcon(javax.swing.Icon) icon}, it should not fill the
+     * content pane of <code>proxy</code>.
+     * @param id the unique identifier of the dockable that will eventually be created
+     * @param proxy the stand-in, not yet registered at the {@link CControl}
+     * @return <code>true</code> if <code>proxy</code> should be used, <code>false</code> if the
+     * dockable should be {@link #createBackup(String) created} immediately
+     */
+    public boolean prepareProxy( String id, DefaultSingleCDockable proxy );
+}
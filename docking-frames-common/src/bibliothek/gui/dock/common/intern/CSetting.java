@@ -38,6 +38,8 @@ import bibliothek.gui.dock.support.mode.ModeSettings;
 import bibliothek.util.FrameworkOnly;
 import bibliothek.util.Version;
 import bibliothek.util.xml.XElement;
+import bibliothek.util.xml.XElementReader;
+import bibliothek.util.xml.XElementWriter;
 
 /**
  * A {@link Setting} that stores also the contents of a {@link CLocationModeManager}.
@@ -77,6 +79,17 @@ public class CSetting extends Setting{
         modes.writeXML( element.addElement( "modes" ) );
     }
     
+    @Override
+    public void writeXML( DockSituation situation, PropertyTransformer transformer, boolean entry, XElementWriter out ) throws IOException{
+        out.start( "base" );
+        super.writeXML( situation, transformer, entry, out );
+        out.end();
+        
+        XElement xmodes = new XElement( "modes" );
+        modes.writeXML( xmodes );
+        out.write( xmodes );
+    }
+    
     @Override
     public void read( DockSituation situation, PropertyTransformer transformer, boolean entry, DataInputStream in ) throws IOException {
         
@@ -106,4 +119,24 @@ public class CSetting extends Setting{
         super.readXML( situation, transformer, entry, element.getElement( "base" ) );
         modes.readXML( element.getElement( "modes" ) );
     }
+    
+    @Override
+    public void readXML( DockSituation situation, PropertyTransformer transformer, boolean entry, XElementReader in ) throws IOException{
+        XElement xmodes = null;
+        boolean baseRead = false;
+        
+        in.enter();
+        while( in.next() ){
+            String name = in.getName();
+            if( name.equals( "base" ) && !baseRead ){
+                baseRead = true;
+                super.readXML( situation, transformer, entry, in );
+            }
+            else if( name.equals( "modes" ) && xmodes == null ){
+                xmodes = in.read();
+            }
+        }
+        
+        modes.readXML( xmodes );
+    }
 }
@@ -34,6 +34,7 @@ import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
 import bibliothek.gui.dock.common.CControl;
 import bibliothek.gui.dock.common.CStation;
+import bibliothek.gui.dock.common.LazyMultipleCDockableFactory;
 import bibliothek.gui.dock.common.MultipleCDockable;
 import bibliothek.gui.dock.common.MultipleCDockableFactory;
 import bibliothek.gui.dock.common.MultipleCDockableLayout;
@@ -112,7 +113,13 @@ public class CommonMultipleDockableFactory implements DockFactory<CommonDockable
 
     public CommonMultipleDockableLayout getLayout( CommonDockable element, Map<Dockable, Integer> children ) {
         MultipleCDockable dockable = (MultipleCDockable)element.getDockable();
-        MultipleCDockableLayout layout = delegate.write( dockable );
+        MultipleCDockableLayout layout;
+        if( dockable instanceof LazyMultipleCDockable ){
+        	layout = ((LazyMultipleCDockable)dockable).getLayout();
+        }
+        else{
+        	layout = delegate.write( dockable );
+        }
         
         CommonMultipleDockableLayout flayout = new CommonMultipleDockableLayout();
         flayout.setLayout( layout );
@@ -164,7 +171,13 @@ public class CommonMultipleDockableFactory implements DockFactory<CommonDockable
 
     public CommonDockable layout( CommonMultipleDockableLayout layout, PlaceholderStrategy placeholders ) {
         // base
-        MultipleCDockable dockable = delegate.read( layout.getLayout() );
+        MultipleCDockable dockable = null;
+        if( delegate instanceof LazyMultipleCDockableFactory<?, ?> ){
+        	dockable = createProxy( layout.getLayout() );
+        }
+        if( dockable == null ){
+        	dockable = delegate.read( layout.getLayout() );
+        }
         if( dockable == null )
             return null;
         
@@ -208,6 +221,21 @@ public class CommonMultipleDockableFactory implements DockFactory<CommonDockable
         return dockable.intern();
     }
 
+    /**
+     * Creates a {@link LazyMultipleCDockable} as stand-in for the dockable described by <code>layout</code>.
+     * @param layout the layout of the real dockable
+     * @return the stand-in or <code>null</code> if the {@link LazyMultipleCDockableFactory} wants the
+     * dockable to be created immediately
+     */
+    @SuppressWarnings("unchecked")
+    private MultipleCDockable createProxy( MultipleCDockableLayout layout ){
+    	LazyMultipleCDockable proxy = new LazyMultipleCDockable( delegate, layout );
+    	if( ((LazyMultipleCDockableFactory<?, MultipleCDockableLayout>)delegate).prepareProxy( layout, proxy )){
+    		return proxy;
+    	}
+    	return null;
+    }
+
     public void setLayout( CommonDockable element, CommonMultipleDockableLayout layout, Map<Integer, Dockable> children, PlaceholderStrategy placeholders ) {
         // not supported
     }
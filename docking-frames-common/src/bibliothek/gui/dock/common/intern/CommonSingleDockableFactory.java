@@ -40,11 +40,13 @@ import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
 import bibliothek.gui.dock.common.CControl;
 import bibliothek.gui.dock.common.CStation;
+import bibliothek.gui.dock.common.LazySingleCDockableFactory;
 import bibliothek.gui.dock.common.SingleCDockable;
 import bibliothek.gui.dock.common.SingleCDockableFactory;
 import bibliothek.gui.dock.common.perspective.CPerspective;
 import bibliothek.gui.dock.common.perspective.CommonElementPerspective;
 import bibliothek.gui.dock.common.perspective.SingleCDockablePerspective;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.layout.LocationEstimationMap;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
 import bibliothek.gui.dock.station.support.PlaceholderStrategy;
@@ -59,7 +61,7 @@ import bibliothek.util.xml.XElement;
  * dockable is missing in the cache of its owning {@link CControl}.
  * @author Benjamin Sigg
  */
-public class CommonSingleDockableFactory implements DockFactory<CommonDockable, CommonElementPerspective, CommonSingleDockableLayout>{
+public class CommonSingleDockableFactory implements DockFactory<CommonDockable, CommonElementPerspective, CommonSingleDockableLayout>, ConcurrentDockFactory{
     public static final String BACKUP_FACTORY_ID = "ccontrol backup factory id";
     
     /** all the factories that are used */
@@ -175,6 +177,10 @@ public class CommonSingleDockableFactory implements DockFactory<CommonDockable,
     public String getID() {
         return BACKUP_FACTORY_ID;
     }
+
+    public boolean isConcurrent() {
+        return getClass() == CommonSingleDockableFactory.class;
+    }
     
     /**
      * Gets a list of keys for all factories known to this.
@@ -219,7 +225,16 @@ public class CommonSingleDockableFactory implements DockFactory<CommonDockable,
         if( backup == null )
             return null;
         
-        SingleCDockable dockable = backup.createBackup( layout.getId() );
+        SingleCDockable dockable = null;
+        if( backup instanceof LazySingleCDockableFactory ){
+        	LazySingleCDockable proxy = new LazySingleCDockable( layout.getId(), backup );
+        	if( ((LazySingleCDockableFactory)backup).prepareProxy( layout.getId(), proxy )){
+        		dockable = proxy;
+        	}
+        }
+        if( dockable == null ){
+        	dockable = backup.createBackup( layout.getId() );
+        }
         if( dockable == null )
             return null;
         
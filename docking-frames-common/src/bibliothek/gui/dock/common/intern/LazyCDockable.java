@@ -0,0 +1,45 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common.intern;
+
+import bibliothek.gui.dock.common.LazyMultipleCDockableFactory;
+import bibliothek.gui.dock.common.LazySingleCDockableFactory;
+
+/**
+ * A lightweight stand-in for a {@link CDockable} that was not yet created. Stand-ins are created
+ * while loading a layout if the factory of the dockable is a {@link LazyMultipleCDockableFactory} or
+ * a {@link LazySingleCDockableFactory}. A stand-in replaces itself by the real dockable once
+ * it becomes visible to the user.
+ * @author Benjamin Sigg
+ */
+public interface LazyCDockable extends CDockable{
+	/**
+	 * Creates the real dockable and replaces this stand-in with the new dockable. This method
+	 * does nothing if this stand-in is not registered at a {@link bibliothek.gui.dock.common.CControl}.
+	 * @return the new dockable or <code>null</code> if no dockable was created
+	 */
+	public CDockable materialize();
+}
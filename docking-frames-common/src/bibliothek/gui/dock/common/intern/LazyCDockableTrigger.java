@@ -0,0 +1,105 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common.intern;
+
+import java.awt.EventQueue;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.control.focus.DefaultFocusRequest;
+import bibliothek.gui.dock.dockable.DockableStateEvent;
+import bibliothek.gui.dock.dockable.DockableStateListener;
+
+/**
+ * Observes a {@link LazyCDockable} and calls {@link LazyCDockable#materialize()} once the
+ * stand-in is showing. Also helps the stand-in to show the real dockable at the same place.
+ * @author Benjamin Sigg
+ */
+class LazyCDockableTrigger implements DockableStateListener, Runnable{
+	/** the observed stand-in */
+	private LazyCDockable dockable;
+	
+	/** whether {@link #run()} is scheduled */
+	private boolean pending = false;
+	
+	/** whether the stand-in was visible when it got replaced */
+	private boolean visible;
+	
+	/** whether the stand-in had the focus when it got replaced */
+	private boolean focused;
+	
+	/**
+	 * Creates a new trigger and starts observing <code>dockable</code>.
+	 * @param dockable the stand-in to observe
+	 */
+	public LazyCDockableTrigger( LazyCDockable dockable ){
+		this.dockable = dockable;
+		dockable.intern().addDockableStateListener( this );
+	}
+	
+	public void changed( DockableStateEvent event ){
+		if( !pending && isShowing() ){
+			pending = true;
+			EventQueue.invokeLater( this );
+		}
+	}
+	
+	public void run(){
+		pending = false;
+		if( isShowing() ){
+			dockable.materialize();
+		}
+	}
+	
+	private boolean isShowing(){
+		return dockable.getControl() != null && dockable.intern().isDockableShowing();
+	}
+	
+	/**
+	 * Stops observing the stand-in and stores its current state. To be called before the
+	 * stand-in is removed from its {@link bibliothek.gui.dock.common.CControl}.
+	 */
+	public void prepare(){
+		dockable.intern().removeDockableStateListener( this );
+		visible = dockable.isVisible();
+		
+		DockController controller = dockable.intern().getController();
+		focused = controller != null && controller.getFocusedDockable() == dockable.intern();
+	}
+	
+	/**
+	 * Shows <code>replacement</code> if the stand-in was visible when {@link #prepare()} was called.
+	 * @param replacement the real dockable, already registered at the {@link bibliothek.gui.dock.common.CControl}
+	 */
+	public void finish( CDockable replacement ){
+		if( visible ){
+			replacement.setVisible( true );
+			DockController controller = replacement.intern().getController();
+			if( focused && controller != null ){
+				controller.setFocusedDockable( new DefaultFocusRequest( replacement.intern(), null, false, true, false, true ) );
+			}
+		}
+	}
+}
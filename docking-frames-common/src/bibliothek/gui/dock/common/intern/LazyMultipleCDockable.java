@@ -0,0 +1,90 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common.intern;
+
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.DefaultMultipleCDockable;
+import bibliothek.gui.dock.common.LazyMultipleCDockableFactory;
+import bibliothek.gui.dock.common.MultipleCDockable;
+import bibliothek.gui.dock.common.MultipleCDockableFactory;
+import bibliothek.gui.dock.common.MultipleCDockableLayout;
+
+/**
+ * A stand-in for a {@link MultipleCDockable} that is created by a {@link LazyMultipleCDockableFactory}.
+ * The stand-in keeps the layout of the dockable, and writes this layout if it is stored itself.
+ * @author Benjamin Sigg
+ */
+public class LazyMultipleCDockable extends DefaultMultipleCDockable implements LazyCDockable{
+    /** the layout of the real dockable */
+    private MultipleCDockableLayout layout;
+    
+    /** calls {@link #materialize()} once this dockable is showing */
+    private LazyCDockableTrigger trigger;
+    
+    /**
+     * Creates a new stand-in.
+     * @param factory the factory that is going to create the real dockable
+     * @param layout the layout of the real dockable
+     */
+    public LazyMultipleCDockable( MultipleCDockableFactory<?, ?> factory, MultipleCDockableLayout layout ){
+        super( factory );
+        if( layout == null ){
+            throw new IllegalArgumentException( "layout must not be null" );
+        }
+        this.layout = layout;
+        trigger = new LazyCDockableTrigger( this );
+    }
+    
+    /**
+     * Gets the layout of the real dockable.
+     * @return the layout, not <code>null</code>
+     */
+    public MultipleCDockableLayout getLayout(){
+        return layout;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public MultipleCDockable materialize(){
+        CControl control = getControl();
+        if( control == null ){
+            return null;
+        }
+        
+        MultipleCDockable dockable = ((MultipleCDockableFactory<MultipleCDockable, MultipleCDockableLayout>)getFactory()).read( layout );
+        if( dockable == null ){
+            return null;
+        }
+        
+        if( dockable.getWorkingArea() == null ){
+            dockable.setWorkingArea( getWorkingArea() );
+        }
+        
+        trigger.prepare();
+        control.replace( this, dockable );
+        trigger.finish( dockable );
+        return dockable;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common.intern;
+
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.DefaultSingleCDockable;
+import bibliothek.gui.dock.common.LazySingleCDockableFactory;
+import bibliothek.gui.dock.common.SingleCDockable;
+import bibliothek.gui.dock.common.SingleCDockableFactory;
+
+/**
+ * A stand-in for a {@link SingleCDockable} that is created by a {@link LazySingleCDockableFactory}.
+ * The stand-in is also replaced if the client {@link CControl#addDockable(SingleCDockable) adds} a
+ * dockable with the same unique identifier.
+ * @author Benjamin Sigg
+ */
+public class LazySingleCDockable extends DefaultSingleCDockable implements LazyCDockable{
+    /** the factory creating the real dockable */
+    private SingleCDockableFactory factory;
+    
+    /** calls {@link #materialize()} once this dockable is showing */
+    private LazyCDockableTrigger trigger;
+    
+    /**
+     * Creates a new stand-in.
+     * @param id the unique identifier of the real dockable
+     * @param factory the factory that is going to create the real dockable
+     */
+    public LazySingleCDockable( String id, SingleCDockableFactory factory ){
+        super( id );
+        if( factory == null ){
+            throw new IllegalArgumentException( "factory must not be null" );
+        }
+        this.factory = factory;
+        trigger = new LazyCDockableTrigger( this );
+    }
+    
+    public SingleCDockable materialize(){
+        if( getControl() == null ){
+            return null;
+        }
+        SingleCDockable dockable = factory.createBackup( getUniqueId() );
+        if( dockable == null ){
+            return null;
+        }
+        return materialize( dockable );
+    }
+    
+    /**
+     * Replaces this stand-in by <code>dockable</code>.
+     * @param dockable the real dockable, must have the same unique identifier as this stand-in
+     * @return <code>dockable</code>
+     */
+    public SingleCDockable materialize( SingleCDockable dockable ){
+        CControl control = getControl();
+        if( control == null ){
+            return null;
+        }
+        if( !getUniqueId().equals( dockable.getUniqueId() )){
+            throw new IllegalArgumentException( "the unique identifier of the dockable must be '" + getUniqueId() + "', but it is '" + dockable.getUniqueId() + "'" );
+        }
+        
+        if( dockable.getWorkingArea() == null ){
+            dockable.setWorkingArea( getWorkingArea() );
+        }
+        
+        trigger.prepare();
+        control.replace( this, dockable );
+        trigger.finish( dockable );
+        return dockable;
+    }
+}
@@ -37,6 +37,7 @@ import bibliothek.gui.dock.common.intern.station.CommonDockStation;
 import bibliothek.gui.dock.common.perspective.CStationPerspective;
 import bibliothek.gui.dock.common.perspective.CommonElementPerspective;
 import bibliothek.gui.dock.layout.AdjacentDockFactory;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
 import bibliothek.gui.dock.perspective.PerspectiveElement;
 import bibliothek.gui.dock.station.support.PlaceholderStrategy;
@@ -48,7 +49,7 @@ import bibliothek.util.xml.XElement;
  * {@link CStation} that is found.
  * @author Benjamin Sigg
  */
-public class RootStationAdjacentFactory implements AdjacentDockFactory<Path>{
+public class RootStationAdjacentFactory implements AdjacentDockFactory<Path>, ConcurrentDockFactory{
 	/** The unique identifier of this factory */
 	public static final String FACTORY_ID = "dock.RootStationAdjacentFactory";
 	
@@ -68,6 +69,10 @@ public class RootStationAdjacentFactory implements AdjacentDockFactory<Path>{
 		return FACTORY_ID;
 	}
 
+	public boolean isConcurrent(){
+		return getClass() == RootStationAdjacentFactory.class;
+	}
+
 	public Path getLayout( DockElement element, Map<Dockable, Integer> children ){
 		return ((CommonDockStation<?,?>)element).getStation().getTypeId();
 	}
@@ -46,6 +46,7 @@ import bibliothek.gui.dock.common.event.CVetoClosingEvent;
 import bibliothek.gui.dock.common.intern.CDockable;
 import bibliothek.gui.dock.common.intern.CommonDockable;
 import bibliothek.gui.dock.common.intern.CommonMultipleDockableLayout;
+import bibliothek.gui.dock.common.intern.LazyCDockable;
 import bibliothek.gui.dock.frontend.DefaultLayoutChangeStrategy;
 import bibliothek.gui.dock.frontend.DockFrontendInternals;
 import bibliothek.gui.dock.frontend.Setting;
@@ -260,6 +261,10 @@ public class CLayoutChangeStrategy extends DefaultLayoutChangeStrategy {
 						Iterator<MultipleCDockable> iterator = list.iterator();
 						while( iterator.hasNext() ){
 							MultipleCDockable next = iterator.next();
+							if( next instanceof LazyCDockable ){
+								// stand-ins are just replaced by new stand-ins
+								continue;
+							}
 							if( factory.match( next, multipleLayout )){
 								iterator.remove();
 								if( list.isEmpty() ){
@@ -25,6 +25,7 @@
  */
 package bibliothek.gui.dock.common.intern.station;
 
+import java.awt.EventQueue;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
@@ -46,11 +47,13 @@ import bibliothek.gui.dock.common.perspective.CElementPerspective;
 import bibliothek.gui.dock.common.perspective.CStationPerspective;
 import bibliothek.gui.dock.common.perspective.CommonDockStationPerspective;
 import bibliothek.gui.dock.frontend.FrontendPerspectiveCache;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.layout.DockLayout;
 import bibliothek.gui.dock.layout.LocationEstimationMap;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
 import bibliothek.gui.dock.perspective.PerspectiveElement;
 import bibliothek.gui.dock.station.support.PlaceholderStrategy;
+import bibliothek.gui.dock.util.DockSwingUtilities;
 import bibliothek.util.Version;
 import bibliothek.util.xml.XElement;
 import bibliothek.util.xml.XException;
@@ -62,7 +65,7 @@ import bibliothek.util.xml.XException;
  * {@link CommonDockStation} as {@link SingleCDockable}?").
  * @author Benjamin Sigg
  */
-public class CommonDockStationFactory implements DockFactory<CommonDockStation<?, ?>, CommonDockStationPerspective, CommonDockStationLayout>{
+public class CommonDockStationFactory implements DockFactory<CommonDockStation<?, ?>, CommonDockStationPerspective, CommonDockStationLayout>, ConcurrentDockFactory{
 	/** The unique identifier of this factory */
 	public static final String FACTORY_ID = "CommonDockStationFactory";
 	
@@ -148,6 +151,10 @@ public class CommonDockStationFactory implements DockFactory<CommonDockStation<?
 	public String getID(){
 		return FACTORY_ID;
 	}
+
+	public boolean isConcurrent(){
+		return getClass() == CommonDockStationFactory.class;
+	}
 	
 	@SuppressWarnings("unchecked")
 	public CommonDockStationLayout getLayout( CommonDockStation<?, ?> element, Map<Dockable, Integer> children ){
@@ -314,7 +321,38 @@ public class CommonDockStationFactory implements DockFactory<CommonDockStation<?
 		element.addElement( content );
 	}
 	
+	/**
+	 * Tells whether the delegate <code>factory</code> can read its data right now. If not, the data remains
+	 * in its raw form until {@link CommonDockStationLayout#updateLayout(DockFactory, PlaceholderStrategy) updateLayout}
+	 * is called.
+	 * @param factory the delegate factory
+	 * @return whether <code>factory</code> is either thread safe, or the current thread is the dispatch thread
+	 */
+	private boolean isReadable( DockFactory<?, ?, ?> factory ){
+		if( EventQueue.isDispatchThread() ){
+			return true;
+		}
+		return factory instanceof ConcurrentDockFactory && ((ConcurrentDockFactory)factory).isConcurrent();
+	}
+	
+	/**
+	 * Searches the delegate factory which is used to read a layout. The factories of the {@link CControl}
+	 * are only modified by the {@link EventQueue dispatch thread}, hence any other thread asks the
+	 * dispatch thread to search the factory.
+	 * @param factoryId the unique identifier of the delegate
+	 * @return the delegate or <code>null</code> if not found
+	 */
 	@SuppressWarnings("unchecked")
+	private DockFactory<DockElement, ?, Object> getReadingDelegate( final String factoryId ){
+		final DockFactory<?, ?, ?>[] result = new DockFactory<?, ?, ?>[1];
+		DockSwingUtilities.invokeAndWait( new Runnable(){
+			public void run(){
+				result[0] = control.intern().getDockFactory( factoryId );
+			}
+		});
+		return (DockFactory<DockElement, ?, Object>)result[0];
+	}
+	
 	public CommonDockStationLayout read( XElement element, PlaceholderStrategy placeholders ){
 		String id = null;
 		XElement xid = element.getElement( "id" );
@@ -330,8 +368,8 @@ public class CommonDockStationFactory implements DockFactory<CommonDockStation<?
 		}
 		
 		String factoryId = xcontent.getString( "delegate" );
-		DockFactory<DockElement, ?, Object> factory = (DockFactory<DockElement, ?, Object>)control.intern().getDockFactory( factoryId );
-		if( factory == null ){
+		DockFactory<DockElement, ?, Object> factory = getReadingDelegate( factoryId );
+		if( factory == null || !isReadable( factory )){
 			return new CommonDockStationLayout( id, root, factoryId, xcontent );
 		}
 		else{
@@ -382,7 +420,6 @@ public class CommonDockStationFactory implements DockFactory<CommonDockStation<?
 		out.write( content );
 	}
 	
-	@SuppressWarnings("unchecked")
 	public CommonDockStationLayout read( DataInputStream in, PlaceholderStrategy placeholders ) throws IOException{
 		Version.read( in ).checkCurrent();
 		
@@ -409,8 +446,8 @@ public class CommonDockStationFactory implements DockFactory<CommonDockStation<?
 			offset += delta;
 		}
 		
-		DockFactory<DockElement, ?, Object> factory = (DockFactory<DockElement, ?, Object>)control.intern().getDockFactory( factoryId );
-		if( factory == null ){
+		DockFactory<DockElement, ?, Object> factory = getReadingDelegate( factoryId );
+		if( factory == null || !isReadable( factory )){
 			return new CommonDockStationLayout( id, root, factoryId, content );
 		}
 		else{
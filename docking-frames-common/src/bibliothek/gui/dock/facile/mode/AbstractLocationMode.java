@@ -193,6 +193,7 @@ public abstract class AbstractLocationMode<A extends ModeArea> implements Iterab
 		
 		if( getManager() != null ){
 			area.addModeAreaListener( modeAreaListener );
+			getManager().invalidateCurrentModes();
 		}
 	}
 	
@@ -212,6 +213,9 @@ public abstract class AbstractLocationMode<A extends ModeArea> implements Iterab
 			area.setMode( null );
 			area.removeModeAreaListener( modeAreaListener );
 			areaOrder.remove( area );
+			if( getManager() != null ){
+				getManager().invalidateCurrentModes();
+			}
 		}
 		return area;
 	}
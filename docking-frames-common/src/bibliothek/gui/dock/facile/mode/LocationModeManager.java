@@ -453,7 +453,7 @@ public class LocationModeManager<M extends LocationMode> extends ModeManager<Loc
 	}
 	
 	@Override
-	public M getCurrentMode( Dockable dockable ){
+	protected M findCurrentMode( Dockable dockable ){
 		while( dockable != null ){
 			for( M mode : modes() ){
 				if( mode.isCurrentMode( dockable ))
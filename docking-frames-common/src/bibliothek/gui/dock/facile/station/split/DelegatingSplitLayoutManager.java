@@ -72,6 +72,25 @@ public class DelegatingSplitLayoutManager implements SplitLayoutManager {
     public void updateBounds( Root root, double x, double y, double factorW, double factorH ) {
         delegate.updateBounds( root, x, y, factorW, factorH );
     }
+    
+    /**
+     * Forwards to the delegate only if this is exactly a {@link DelegatingSplitLayoutManager}, otherwise
+     * returns <code>false</code>. Subclasses that do not change how the bounds of a subtree are updated
+     * can override this method and call {@link #isDelegateSubtreeUpdateSupported(SplitDockStation)}.
+     */
+    public boolean isSubtreeUpdateSupported( SplitDockStation station ){
+    	return getClass() == DelegatingSplitLayoutManager.class && isDelegateSubtreeUpdateSupported( station );
+    }
+    
+    /**
+     * Tells whether the delegate of this manager supports updating a subtree on its own.
+     * @param station the station that wants to update a subtree
+     * @return the answer of the delegate
+     * @see SplitLayoutManager#isSubtreeUpdateSupported(SplitDockStation)
+     */
+    protected boolean isDelegateSubtreeUpdateSupported( SplitDockStation station ){
+    	return delegate.isSubtreeUpdateSupported( station );
+    }
 
     public double validateDivider( SplitDockStation station, double divider, Node node ) {
         return delegate.validateDivider( station, divider, node );
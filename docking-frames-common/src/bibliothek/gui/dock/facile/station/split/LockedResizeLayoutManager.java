@@ -28,6 +28,7 @@ package bibliothek.gui.dock.facile.station.split;
 import java.awt.Rectangle;
 
 import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.SplitDockStation;
 import bibliothek.gui.dock.station.split.DefaultSplitLayoutManager;
 import bibliothek.gui.dock.station.split.Leaf;
 import bibliothek.gui.dock.station.split.Node;
@@ -104,6 +105,15 @@ public abstract class LockedResizeLayoutManager<T> extends DelegatingSplitLayout
         }
     }
 
+    /**
+     * Moving a divider neither resizes the root nor changes the tree, hence the locked sizes do
+     * not apply and subtree updates are supported if the delegate supports them.
+     */
+    @Override
+    public boolean isSubtreeUpdateSupported( SplitDockStation station ){
+    	return isDelegateSubtreeUpdateSupported( station );
+    }
+    
     /**
      * Tells whether the current operation is a resize operation. The locked sizes will only be respected if
      * the operation is a resize operation.
@@ -45,6 +45,8 @@ import bibliothek.gui.dock.action.DockActionSource;
 import bibliothek.gui.dock.action.LocationHint;
 import bibliothek.gui.dock.action.MultiDockActionSource;
 import bibliothek.gui.dock.control.DockRegister;
+import bibliothek.gui.dock.event.DockHierarchyEvent;
+import bibliothek.gui.dock.event.DockHierarchyListener;
 import bibliothek.gui.dock.util.DockUtilities;
 import bibliothek.util.Path;
 
@@ -91,6 +93,26 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 	/** used to change the history of {@link Dockable}s before applying a new mode */
 	private HistoryRewriter<H,M> historyRewriter;
 	
+	/** incremented whenever the cached current modes of all {@link DockableHandle}s become invalid */
+	private int currentModeGeneration = 0;
+	
+	/** the {@link DockableHandle}s whose mode might have changed since they were last refreshed */
+	private Set<DockableHandle> refreshPending = new HashSet<DockableHandle>();
+	
+	/** whether the mode of any {@link DockableHandle} might have changed since the last call to {@link #refresh()} */
+	private boolean refreshAllPending = false;
+	
+	/** invalidates the cached current mode of {@link Dockable}s that change their position in the tree */
+	private DockHierarchyListener hierarchyListener = new DockHierarchyListener(){
+		public void hierarchyChanged( DockHierarchyEvent event ){
+			invalidateCurrentMode( event.getDockable() );
+		}
+		
+		public void controllerChanged( DockHierarchyEvent event ){
+			invalidateCurrentMode( event.getDockable() );
+		}
+	};
+	
 	private ActionGuard guard = new ActionGuard() {
 		public boolean react( Dockable dockable ){
 			return getHandle( dockable ) != null;
@@ -140,6 +162,9 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 			controller.removeActionGuard( guard );
 			controller = null;
 		}
+		for( Dockable dockable : dockables.keySet() ){
+			dockable.removeDockHierarchyListener( hierarchyListener );
+		}
 	}
 	
 	/**
@@ -181,11 +206,13 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 			if( handle.mode.getUniqueIdentifier().equals( mode.getUniqueIdentifier() )){
 				fireRemoved( handle.mode );
 				handle.mode = mode;
+				invalidateCurrentModes();
 				fireAdded( mode );
 				return;
 			}
 		}
 		modes.add( new ModeHandle( mode ) );
+		invalidateCurrentModes();
 		fireAdded( mode );
 	}
 	
@@ -223,6 +250,7 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 				handle.mode = null;
 				fireRemoved( handle.mode );
 				modes.remove( handle );
+				invalidateCurrentModes();
 				return;
 			}
 		}
@@ -284,6 +312,10 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 	 * @param dockable the new element
 	 */
 	protected void fireAdded( Dockable dockable ){
+		if( controller != null ){
+			// the guards of this manager now react differently on dockable
+			controller.invalidateActionOffers( dockable );
+		}
 		for( ModeManagerListener<? super H, ? super M> listener : listeners() ){
 			listener.dockableAdded( this, dockable );
 		}
@@ -295,6 +327,10 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 	 * @param dockable the removed element
 	 */
 	protected void fireRemoved( Dockable dockable ){
+		if( controller != null ){
+			// the guards of this manager now react differently on dockable
+			controller.invalidateActionOffers( dockable );
+		}
 		for( ModeManagerListener<? super H, ? super M> listener : listeners() ){
 			listener.dockableRemoved( this, dockable );
 		}
@@ -368,6 +404,7 @@ public abstract class ModeManager<H, M extends Mode<H>> {
         }
         
         dockables.put( dockable, entry );
+        dockable.addDockHierarchyListener( hierarchyListener );
         entry.putMode( access( getCurrentMode( dockable ) ) );
         
         fireAdded( dockable );
@@ -397,16 +434,20 @@ public abstract class ModeManager<H, M extends Mode<H>> {
         if( entry != null ){
             if( entry.dockable != null ){
                 dockables.remove( entry.dockable );
+                entry.dockable.removeDockHierarchyListener( hierarchyListener );
                 fireRemoved( entry.dockable );
             }
             entry.dockable = dockable;
+            entry.invalidateCurrentMode();
             dockables.put( dockable, entry );
+            dockable.addDockHierarchyListener( hierarchyListener );
         }
         else{
             // was not inserted
             entry = new DockableHandle( dockable, key );
             dockables.put( dockable, entry );
             entries.put( entry.id, entry );
+            dockable.addDockHierarchyListener( hierarchyListener );
             entry.putMode( access( getCurrentMode( dockable ) ) );
         }
         
@@ -516,6 +557,8 @@ public abstract class ModeManager<H, M extends Mode<H>> {
     	finally{
     		controller.getRegister().setStalled( false );
     		onTransaction--;
+    		// the cache was not used during the transaction, moved dockables are already marked for a refresh
+    		currentModeGeneration++;
     		if( continuous ){
     			onContinuous--;
     		}
@@ -752,12 +795,30 @@ public abstract class ModeManager<H, M extends Mode<H>> {
     }
 
     /**
-     * Updates the modes of all {@link Dockable}s that
-     * are registered at this {@link ModeManager}.
+     * Updates the modes of all {@link Dockable}s that are registered at this {@link ModeManager}
+     * and whose mode might have changed since they were refreshed the last time. A {@link Dockable}
+     * is marked for a refresh if it or one of its parents changes its position, or if the location of
+     * the {@link Dockable} changes within its area. All {@link Dockable}s are marked if
+     * {@link #invalidateCurrentModes()} is called, e.g. because a mode or an area is added or removed,
+     * or if new settings are read.
      */
     public void refresh(){
-    	for( Dockable dockable : dockables.keySet() ){
-    		refresh( dockable, false );
+    	if( refreshAllPending ){
+    		refreshAllPending = false;
+    		refreshPending.clear();
+    		for( Dockable dockable : dockables.keySet().toArray( new Dockable[ dockables.size() ] ) ){
+    			refresh( dockable, false );
+    		}
+    	}
+    	else if( !refreshPending.isEmpty() ){
+    		List<DockableHandle> pending = new ArrayList<DockableHandle>( refreshPending );
+    		refreshPending.clear();
+    		for( DockableHandle handle : pending ){
+    			Dockable dockable = handle.dockable;
+    			if( dockable != null && dockables.get( dockable ) == handle ){
+    				refresh( dockable, false );
+    			}
+    		}
     	}
     }
     
@@ -773,6 +834,8 @@ public abstract class ModeManager<H, M extends Mode<H>> {
     public void refresh( Dockable dockable, boolean recursive ){
     	DockableHandle handle = getHandle( dockable );
     	if( handle != null ){
+    		handle.invalidateCurrentMode();
+    		refreshPending.remove( handle );
     		handle.putMode( access( getCurrentMode( dockable ) ) );
     	}
     	if( recursive ){
@@ -792,6 +855,9 @@ public abstract class ModeManager<H, M extends Mode<H>> {
     public void remove( Dockable dockable ){
         DockableHandle entry = dockables.remove( dockable );
         if( entry != null ){
+        	dockable.removeDockHierarchyListener( hierarchyListener );
+        	entry.invalidateCurrentMode();
+        	refreshPending.remove( entry );
         	if( !entry.empty ){
         		entries.remove( entry.id );
         	}
@@ -808,6 +874,9 @@ public abstract class ModeManager<H, M extends Mode<H>> {
         DockableHandle entry = dockables.get( dockable );
         if( entry != null ){
             entry.dockable = null;
+            entry.invalidateCurrentMode();
+            refreshPending.remove( entry );
+            dockable.removeDockHierarchyListener( hierarchyListener );
             fireRemoved( dockable );
         }
     }
@@ -932,13 +1001,32 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 	}
 	
 	/**
-	 * Tries to find the mode <code>dockable</code> is currently in. This method
-	 * calls {@link Mode#isCurrentMode(Dockable)} and returns the first
-	 * {@link Mode} where the answer was <code>true</code>.
+	 * Tries to find the mode <code>dockable</code> is currently in. If <code>dockable</code> is 
+	 * registered then the result of {@link #findCurrentMode(Dockable)} is cached until <code>dockable</code>
+	 * or one of its parents changes its position, until a transaction is completed, or until
+	 * {@link #refresh(Dockable, boolean)} is called. While a transaction is running the cache is not used.
 	 * @param dockable some dockable, not <code>null</code>
 	 * @return the current mode or <code>null</code> if not found
 	 */
 	public M getCurrentMode( Dockable dockable ){
+		DockableHandle handle = getHandle( dockable );
+		if( handle == null || handle.dockable != dockable || isOnTransaction() ){
+			return findCurrentMode( dockable );
+		}
+		return handle.getCachedCurrentMode();
+	}
+	
+	/**
+	 * Searches the mode <code>dockable</code> is currently in. This method
+	 * calls {@link Mode#isCurrentMode(Dockable)} and returns the first
+	 * {@link Mode} where the answer was <code>true</code>. Subclasses overriding this method
+	 * must call {@link #invalidateCurrentModes()} if the result changes without <code>dockable</code>
+	 * changing its position or without {@link #refresh(Dockable, boolean)} being called.
+	 * @param dockable some dockable, not <code>null</code>
+	 * @return the current mode or <code>null</code> if not found
+	 * @see #getCurrentMode(Dockable)
+	 */
+	protected M findCurrentMode( Dockable dockable ){
 		for( ModeHandle mode : modes ){
 			if( mode.mode.isCurrentMode( dockable )){
 				return mode.mode;
@@ -948,6 +1036,30 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 		return null;
 	}
 	
+	/**
+	 * Invalidates the cached result of {@link #getCurrentMode(Dockable)} for <code>dockable</code>, and
+	 * marks <code>dockable</code> to be updated by the next call to {@link #refresh()}.
+	 * @param dockable the element whose mode might have changed
+	 */
+	protected void invalidateCurrentMode( Dockable dockable ){
+		DockableHandle handle = getHandle( dockable );
+		if( handle != null ){
+			handle.invalidateCurrentMode();
+			refreshPending.add( handle );
+		}
+	}
+	
+	/**
+	 * Invalidates the cached results of {@link #getCurrentMode(Dockable)} for all {@link Dockable}s, the next
+	 * call to {@link #refresh()} updates all {@link Dockable}s. This
+	 * method needs to be called by {@link Mode}s whose answer to {@link Mode#isCurrentMode(Dockable)} changes
+	 * without any {@link Dockable} changing its position, e.g. because the mode got a new area.
+	 */
+	public void invalidateCurrentModes(){
+		currentModeGeneration++;
+		refreshAllPending = true;
+	}
+	
 	/**
 	 * Reading the history this method tells which mode 
 	 * <code>dockable</code> was in before the current mode. 
@@ -1224,6 +1336,7 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 	 */
 	public Runnable readSettings( ModeSettings<H, ?> settings, UndoableModeSettings pending ){
 		final List<String> temporary = new ArrayList<String>();
+		invalidateCurrentModes();
 		
 		// dockables
         for( int i = 0, n = settings.size(); i < n; i++ ){
@@ -1276,6 +1389,7 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 				}
 			}
 		}
+		invalidateCurrentModes();
 		
 		if( pending == null ){
 			return null;
@@ -1385,6 +1499,12 @@ public abstract class ModeManager<H, M extends Mode<H>> {
         /** if <code>true</code>, then this entry is not deleted automatically */
         private boolean empty = false;
         
+        /** the cached current mode of {@link #dockable}, only valid if {@link #cachedGeneration} is up to date */
+        private M currentMode;
+        
+        /** the value of {@link ModeManager#currentModeGeneration} when {@link #currentMode} was evaluated, <code>-1</code> if invalid */
+        private int cachedGeneration = -1;
+        
         /**
          * Creates a new entry
          * @param dockable the element whose properties are stores in this entry
@@ -1398,6 +1518,27 @@ public abstract class ModeManager<H, M extends Mode<H>> {
             history = new LinkedList<Path>();
         }
         
+        /**
+         * Gets the current mode of {@link #dockable}, evaluates the mode only if the cached
+         * value is no longer valid.
+         * @return the current mode, can be <code>null</code>
+         */
+        public M getCachedCurrentMode(){
+        	if( cachedGeneration != currentModeGeneration ){
+        		currentMode = findCurrentMode( dockable );
+        		cachedGeneration = currentModeGeneration;
+        	}
+        	return currentMode;
+        }
+        
+        /**
+         * Marks the cached current mode as invalid.
+         */
+        public void invalidateCurrentMode(){
+        	cachedGeneration = -1;
+        	currentMode = null;
+        }
+        
         /**
          * Updates the action source of this manager.
          */
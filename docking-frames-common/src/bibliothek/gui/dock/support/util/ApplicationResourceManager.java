@@ -26,12 +26,16 @@
 package bibliothek.gui.dock.support.util;
 
 import java.io.*;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.prefs.Preferences;
 
+import bibliothek.gui.dock.util.TwoPhaseTask;
 import bibliothek.util.Version;
 import bibliothek.util.xml.XElement;
+import bibliothek.util.xml.XIO;
 
 /**
  * Manages a set of {@link ApplicationResource}s, can load and store the
@@ -208,6 +212,215 @@ public class ApplicationResourceManager {
         }
     }
     
+    /**
+     * Reads the contents of this manager from <code>file</code> in a background thread. Resources implementing 
+     * {@link ConcurrentApplicationResource} read their data in the background, all the other resources read their
+     * data when the task is applied on the {@link java.awt.EventQueue dispatch thread}. This method must be
+     * called on the dispatch thread.
+     * @param file the file to read
+     * @return the task which reads <code>file</code>, already started
+     * @see #readFile(File)
+     */
+    public TwoPhaseTask<?> readFileInBackground( final File file ){
+        final Map<String, ApplicationResourceReader> readers = createReaders();
+        TwoPhaseTask<List<Entry>> task = new FileTask( file ){
+            @Override
+            protected List<Entry> prepare() throws IOException{
+                DataInputStream in = new DataInputStream( open() );
+                try{
+                    Version version = Version.read( in );
+                    version.checkCurrent();
+                    
+                    int size = in.readInt();
+                    List<Entry> entries = new ArrayList<Entry>( size );
+                    for( int i = 0; i < size; i++ ){
+                        String key = in.readUTF();
+                        
+                        int length = in.readInt();
+                        byte[] input = new byte[ length ];
+                        in.readFully( input );
+                        
+                        ApplicationResourceReader reader = readers.get( key );
+                        if( reader != null ){
+                            DataInputStream data = new DataInputStream( new ByteArrayInputStream( input ) );
+                            reader.read( data );
+                            data.close();
+                        }
+                        entries.add( new Entry( key, input, reader ) );
+                    }
+                    return entries;
+                }
+                finally{
+                    in.close();
+                }
+            }
+        };
+        task.start();
+        return task;
+    }
+    
+    /**
+     * Reads the contents of this manager from the xml file <code>file</code> in a background thread. The
+     * file is parsed in the background, resources implementing {@link ConcurrentApplicationResource} read their 
+     * data in the background as well. This method must be called on the {@link java.awt.EventQueue dispatch thread}.
+     * @param file the file to read
+     * @return the task which reads <code>file</code>, already started
+     * @see #readXML(XElement)
+     * @see #readFileInBackground(File)
+     */
+    public TwoPhaseTask<?> readXMLFileInBackground( final File file ){
+        final Map<String, ApplicationResourceReader> readers = createReaders();
+        TwoPhaseTask<List<Entry>> task = new FileTask( file ){
+            @Override
+            protected List<Entry> prepare() throws IOException{
+                InputStream in = open();
+                XElement element;
+                try{
+                    element = XIO.readUTF( in );
+                }
+                finally{
+                    in.close();
+                }
+                
+                List<Entry> entries = new ArrayList<Entry>();
+                for( XElement xresource : element.getElements( "resource" )){
+                    String name = xresource.getString( "name" );
+                    ApplicationResourceReader reader = readers.get( name );
+                    if( reader != null ){
+                        reader.readXML( xresource );
+                    }
+                    entries.add( new Entry( name, xresource, reader ) );
+                }
+                return entries;
+            }
+        };
+        task.start();
+        return task;
+    }
+    
+    /**
+     * Creates a reader for each {@link ConcurrentApplicationResource}.
+     * @return the readers of the resources, keys are the names of the resources
+     */
+    private Map<String, ApplicationResourceReader> createReaders(){
+        Map<String, ApplicationResourceReader> readers = new HashMap<String, ApplicationResourceReader>();
+        for( Map.Entry<String, ApplicationResource> resource : resources.entrySet() ){
+            if( resource.getValue() instanceof ConcurrentApplicationResource ){
+                readers.put( resource.getKey(), ((ConcurrentApplicationResource)resource.getValue()).createReader() );
+            }
+        }
+        return readers;
+    }
+    
+    /**
+     * Applies the data that was read by a background thread, either by calling {@link ApplicationResourceReader#apply()},
+     * or by letting the resource read the data, or by storing the data in the buffer.
+     * @param entries the data to apply
+     * @throws IOException if the data can't be read
+     */
+    private void applyEntries( List<Entry> entries ) throws IOException{
+        for( Entry entry : entries ){
+            if( entry.reader != null ){
+                entry.reader.apply();
+            }
+            else{
+                ApplicationResource resource = resources.get( entry.key );
+                if( resource == null ){
+                    buffer.put( entry.key, entry.data );
+                }
+                else if( entry.data instanceof byte[] ){
+                    DataInputStream data = new DataInputStream( new ByteArrayInputStream( (byte[])entry.data ));
+                    resource.read( data );
+                    data.close();
+                }
+                else{
+                    resource.readXML( (XElement)entry.data );
+                }
+            }
+        }
+    }
+    
+    /**
+     * A task reading a file in the background and applying the {@link Entry}s on the dispatch thread. The
+     * progress of the task is the amount of bytes that were read from the file.
+     * @author Benjamin Sigg
+     */
+    private abstract class FileTask extends TwoPhaseTask<List<Entry>>{
+        /** the file to read */
+        private final File file;
+        
+        public FileTask( File file ){
+            this.file = file;
+        }
+        
+        /**
+         * Opens {@link #file}, reading from the stream updates the progress of this task.
+         * @return the new buffered stream
+         * @throws IOException if the file cannot be opened
+         */
+        protected InputStream open() throws IOException{
+            final double length = Math.max( 1, file.length() );
+            InputStream in = new FilterInputStream( new FileInputStream( file ) ){
+                private long count = 0;
+                
+                @Override
+                public int read() throws IOException{
+                    int result = super.read();
+                    if( result != -1 ){
+                        progress( 1 );
+                    }
+                    return result;
+                }
+                
+                @Override
+                public int read( byte[] b, int off, int len ) throws IOException{
+                    int result = super.read( b, off, len );
+                    progress( result );
+                    return result;
+                }
+                
+                @Override
+                public long skip( long n ) throws IOException{
+                    long result = super.skip( n );
+                    progress( result );
+                    return result;
+                }
+                
+                private void progress( long delta ){
+                    if( delta > 0 ){
+                        count += delta;
+                        setProgress( count / length );
+                    }
+                }
+            };
+            return new BufferedInputStream( in );
+        }
+        
+        @Override
+        protected void apply( List<Entry> prepared ) throws IOException{
+            applyEntries( prepared );
+        }
+    }
+    
+    /**
+     * The data of one resource that was read by a background thread.
+     * @author Benjamin Sigg
+     */
+    private static class Entry{
+        /** the name of the resource */
+        private final String key;
+        /** the raw data, either a <code>byte[]</code> or an {@link XElement} */
+        private final Object data;
+        /** the reader that already read <code>data</code>, can be <code>null</code> */
+        private final ApplicationResourceReader reader;
+        
+        public Entry( String key, Object data, ApplicationResourceReader reader ){
+            this.key = key;
+            this.data = data;
+            this.reader = reader;
+        }
+    }
+    
     /**
      * Writes the contents of this manager into an array of bytes.
      * @return the contents as stream of bytes
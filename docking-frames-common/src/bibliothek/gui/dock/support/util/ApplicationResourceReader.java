@@ -0,0 +1,58 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.support.util;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import bibliothek.util.xml.XElement;
+
+/**
+ * Reads the data of a {@link ConcurrentApplicationResource} in two steps: first the data is read
+ * by any thread, then the data is applied on the {@link java.awt.EventQueue dispatch thread}.
+ * @author Benjamin Sigg
+ */
+public interface ApplicationResourceReader {
+	/**
+	 * Reads the content of the resource from a stream of bytes, this method may be called by any thread.
+	 * @param in the stream to read from
+	 * @throws IOException if the operation can't be finished
+	 */
+	public void read( DataInputStream in ) throws IOException;
+	
+	/**
+	 * Reads the content of the resource from a xml element, this method may be called by any thread.
+	 * @param element the element to read from
+	 */
+	public void readXML( XElement element );
+	
+	/**
+	 * Applies the data that was read earlier to the resource, this method is called on the
+	 * dispatch thread.
+	 * @throws IOException if the data can't be applied
+	 */
+	public void apply() throws IOException;
+}
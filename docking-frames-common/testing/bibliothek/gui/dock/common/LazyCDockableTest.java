@@ -0,0 +1,365 @@
+package bibliothek.gui.dock.common;
+
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.FlapDockStation;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.common.intern.EfficientControlFactory;
+import bibliothek.gui.dock.common.intern.LazyMultipleCDockable;
+import bibliothek.gui.dock.common.intern.LazySingleCDockable;
+import bibliothek.gui.dock.common.intern.station.CFlapDockStation;
+import bibliothek.gui.dock.common.intern.station.CSplitDockStation;
+import bibliothek.gui.dock.common.intern.station.CommonDockStation;
+import bibliothek.gui.dock.common.intern.station.CommonStationDelegate;
+import bibliothek.gui.dock.common.mode.ExtendedMode;
+import bibliothek.gui.dock.util.NullWindowProvider;
+import bibliothek.util.xml.XElement;
+
+public class LazyCDockableTest {
+	@Test
+	public void standInTurnsRealWhenShown() throws Exception{
+		final XElement layout = new XElement( "layout" );
+		onEventQueue( new Runnable(){
+			public void run(){
+				CControl control = createControl();
+				try{
+					DefaultSingleCDockable a = new DefaultSingleCDockable( "a" );
+					DefaultSingleCDockable b = new DefaultSingleCDockable( "b" );
+					control.addDockable( a );
+					control.addDockable( b );
+					CGrid grid = new CGrid( control );
+					grid.add( 0, 0, 1, 1, a, b );
+					grid.select( 0, 0, 1, 1, b );
+					createArea( control ).deploy( grid );
+					control.writeXML( layout );
+				}
+				finally{
+					control.destroy();
+				}
+			}
+		});
+
+		final CControl control = createControl();
+		try{
+			final SingleFactory factory = new SingleFactory();
+			onEventQueue( new Runnable(){
+				public void run(){
+					createArea( control );
+					control.addSingleDockableFactory( "a", factory );
+					control.addSingleDockableFactory( "b", factory );
+					control.readXML( layout );
+				}
+			});
+			flushEventQueue();
+
+			Assert.assertTrue( control.getSingleDockable( "a" ) instanceof LazySingleCDockable );
+			Assert.assertFalse( control.getSingleDockable( "b" ) instanceof LazySingleCDockable );
+			Assert.assertEquals( 1, factory.created );
+
+			onEventQueue( new Runnable(){
+				public void run(){
+					Dockable standIn = control.getSingleDockable( "a" ).intern();
+					((StackDockStation)standIn.getDockParent()).setFrontDockable( standIn );
+				}
+			});
+			flushEventQueue();
+
+			SingleCDockable a = control.getSingleDockable( "a" );
+			Assert.assertFalse( a instanceof LazySingleCDockable );
+			Assert.assertEquals( 2, factory.created );
+			Assert.assertTrue( a.isVisible() );
+			Assert.assertTrue( a.intern().isDockableShowing() );
+		}
+		finally{
+			destroy( control );
+		}
+	}
+
+	@Test
+	public void replaceKeepsLocationAndMode() throws Exception{
+		onEventQueue( new Runnable(){
+			public void run(){
+				CControl control = createControl();
+				try{
+					DefaultSingleCDockable a = new DefaultSingleCDockable( "a" );
+					DefaultSingleCDockable b = new DefaultSingleCDockable( "b" );
+					DefaultSingleCDockable c = new DefaultSingleCDockable( "c" );
+					control.addDockable( a );
+					control.addDockable( b );
+					control.addDockable( c );
+					control.createMinimizeArea( "minimize" );
+					CGrid grid = new CGrid( control );
+					grid.add( 0, 0, 1, 1, a, b );
+					grid.add( 1, 0, 1, 1, c );
+					createArea( control ).deploy( grid );
+					control.getLocationManager().refresh();
+
+					StackDockStation stack = (StackDockStation)a.intern().getDockParent();
+					int index = stack.indexOf( a.intern() );
+
+					DefaultSingleCDockable normalA = new DefaultSingleCDockable( "a" );
+					control.replace( a, normalA );
+					Assert.assertNull( a.getControl() );
+					Assert.assertSame( normalA, control.getSingleDockable( "a" ));
+					Assert.assertFalse( normalA.isVisible() );
+
+					// the stack is replaced while "a" is hidden, it is the parent of "b" again afterwards
+					normalA.setVisible( true );
+					stack = (StackDockStation)b.intern().getDockParent();
+					Assert.assertEquals( ExtendedMode.NORMALIZED, normalA.getExtendedMode() );
+					Assert.assertSame( stack, normalA.intern().getDockParent() );
+					Assert.assertEquals( index, stack.indexOf( normalA.intern() ));
+
+					normalA.setExtendedMode( ExtendedMode.MINIMIZED );
+					DefaultSingleCDockable minimizedA = new DefaultSingleCDockable( "a" );
+					control.replace( normalA, minimizedA );
+					minimizedA.setVisible( true );
+					Assert.assertEquals( ExtendedMode.MINIMIZED, minimizedA.getExtendedMode() );
+					Assert.assertNull( normalA.getControl() );
+				}
+				finally{
+					control.destroy();
+				}
+			}
+		});
+	}
+
+	@Test
+	public void standInWritesStoredLayout() throws Exception{
+		final XElement layout = new XElement( "layout" );
+		onEventQueue( new Runnable(){
+			public void run(){
+				CControl control = createControl();
+				try{
+					MultipleFactory factory = new MultipleFactory( false );
+					control.addMultipleDockableFactory( "factory", factory );
+					Item first = new Item( factory, "first" );
+					Item second = new Item( factory, "second" );
+					control.addDockable( "first", first );
+					control.addDockable( "second", second );
+					CGrid grid = new CGrid( control );
+					grid.add( 0, 0, 1, 1, first, second );
+					grid.select( 0, 0, 1, 1, second );
+					createArea( control ).deploy( grid );
+					control.writeXML( layout );
+				}
+				finally{
+					control.destroy();
+				}
+			}
+		});
+
+		final XElement rewritten = new XElement( "layout" );
+		final CControl control = createControl();
+		try{
+			final MultipleFactory factory = new MultipleFactory( true );
+			onEventQueue( new Runnable(){
+				public void run(){
+					createArea( control );
+					control.addMultipleDockableFactory( "factory", factory );
+					control.readXML( layout );
+				}
+			});
+			flushEventQueue();
+
+			MultipleCDockable first = control.getMultipleDockable( "first" );
+			Assert.assertTrue( first instanceof LazyMultipleCDockable );
+			Assert.assertFalse( first.intern().isDockableShowing() );
+			Assert.assertEquals( "first", ((LazyMultipleCDockable)first).getTitleText() );
+			Assert.assertFalse( control.getMultipleDockable( "second" ) instanceof LazyMultipleCDockable );
+
+			onEventQueue( new Runnable(){
+				public void run(){
+					control.writeXML( rewritten );
+				}
+			});
+			Assert.assertEquals( 1, factory.written );
+		}
+		finally{
+			destroy( control );
+		}
+
+		onEventQueue( new Runnable(){
+			public void run(){
+				CControl control = createControl();
+				try{
+					MultipleFactory factory = new MultipleFactory( false );
+					createArea( control );
+					control.addMultipleDockableFactory( "factory", factory );
+					control.readXML( rewritten );
+
+					Item first = (Item)control.getMultipleDockable( "first" );
+					Assert.assertEquals( "first", first.value );
+					Assert.assertTrue( first.isVisible() );
+				}
+				finally{
+					control.destroy();
+				}
+			}
+		});
+	}
+
+	private CControl createControl(){
+		return new CControl( new NullWindowProvider(), new HeadlessControlFactory() );
+	}
+
+	private CGridArea createArea( CControl control ){
+		CGridArea area = control.createGridArea( "grid" );
+		area.setMaximizingArea( true );
+		return area;
+	}
+
+	private void destroy( final CControl control ) throws InterruptedException, InvocationTargetException{
+		onEventQueue( new Runnable(){
+			public void run(){
+				control.destroy();
+			}
+		});
+	}
+
+	/**
+	 * Runs <code>run</code> on the event queue, where the stand-ins react to their state changing.
+	 * {@link Error}s thrown by <code>run</code> are rethrown.
+	 */
+	private void onEventQueue( Runnable run ) throws InterruptedException, InvocationTargetException{
+		try{
+			EventQueue.invokeAndWait( run );
+		}
+		catch( InvocationTargetException e ){
+			if( e.getCause() instanceof Error ){
+				throw (Error)e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Waits until the {@link bibliothek.gui.dock.dockable.DockableStateListener}s were informed and
+	 * until the stand-ins reacted, both happens later on the event queue.
+	 */
+	private void flushEventQueue() throws InterruptedException, InvocationTargetException{
+		for( int i = 0; i < 2; i++ ){
+			onEventQueue( new Runnable(){
+				public void run(){
+					// nothing
+				}
+			});
+		}
+	}
+
+	/**
+	 * The tests run without a screen, the stations created by this factory pretend to be
+	 * showing and do not ask for the size of the screen.
+	 */
+	private static class HeadlessControlFactory extends EfficientControlFactory{
+		@Override
+		public CommonDockStation<SplitDockStation, CSplitDockStation> createSplitDockStation( CommonStationDelegate<CSplitDockStation> delegate ){
+			return new CSplitDockStation( delegate ){
+				@Override
+				public boolean isShowing(){
+					return true;
+				}
+			};
+		}
+
+		@Override
+		public CommonDockStation<FlapDockStation, CFlapDockStation> createFlapDockStation( Component expansion, CommonStationDelegate<CFlapDockStation> delegate ){
+			return new CFlapDockStation( expansion, delegate ){
+				@Override
+				public void selfSetDirection(){
+					// ignore
+				}
+			};
+		}
+	}
+
+	private static class SingleFactory implements LazySingleCDockableFactory{
+		private int created = 0;
+
+		public boolean prepareProxy( String id, DefaultSingleCDockable proxy ){
+			proxy.setTitleText( id );
+			return true;
+		}
+
+		public SingleCDockable createBackup( String id ){
+			created++;
+			return new DefaultSingleCDockable( id );
+		}
+	}
+
+	private static class MultipleFactory implements LazyMultipleCDockableFactory<Item, Layout>{
+		private boolean lazy;
+		private int written = 0;
+
+		public MultipleFactory( boolean lazy ){
+			this.lazy = lazy;
+		}
+
+		public boolean prepareProxy( Layout layout, DefaultMultipleCDockable proxy ){
+			proxy.setTitleText( layout.value );
+			return lazy;
+		}
+
+		public Layout create(){
+			return new Layout( null );
+		}
+
+		public Item read( Layout layout ){
+			return new Item( this, layout.value );
+		}
+
+		public Layout write( Item dockable ){
+			written++;
+			return new Layout( dockable.value );
+		}
+
+		public boolean match( Item dockable, Layout layout ){
+			return false;
+		}
+	}
+
+	private static class Item extends DefaultMultipleCDockable{
+		private String value;
+
+		public Item( MultipleFactory factory, String value ){
+			super( factory );
+			this.value = value;
+			setTitleText( value );
+		}
+	}
+
+	private static class Layout implements MultipleCDockableLayout{
+		private String value;
+
+		public Layout( String value ){
+			this.value = value;
+		}
+
+		public void writeStream( DataOutputStream out ) throws IOException{
+			out.writeUTF( value );
+		}
+
+		public void readStream( DataInputStream in ) throws IOException{
+			value = in.readUTF();
+		}
+
+		public void writeXML( XElement element ){
+			element.setString( value );
+		}
+
+		public void readXML( XElement element ){
+			value = element.getString();
+		}
+	}
+}
@@ -122,7 +122,9 @@ public class FlatTheme extends BasicTheme {
 				return new FlatTabPane( station );
 			}
 		}, Priority.DEFAULT );
-		setMovingImageFactory( new ScreencaptureMovingImageFactory( new Dimension( 300, 200 ) ), Priority.DEFAULT );
+		ScreencaptureMovingImageFactory movingImageFactory = new ScreencaptureMovingImageFactory( new Dimension( 300, 200 ) );
+		movingImageFactory.setCached( true );
+		setMovingImageFactory( movingImageFactory, Priority.DEFAULT );
 		setTabPlacement( TabPlacement.BOTTOM_OF_DOCKABLE, Priority.DEFAULT );
 		setSpanFactory( new NoSpanFactory() );
 	}
@@ -27,14 +27,13 @@
 package bibliothek.extension.gui.dock.theme.bubble;
 
 import java.awt.Color;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.swing.Timer;
+import bibliothek.gui.dock.util.animation.Animation;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 
 /**
  * A <code>BubbleColorAnimation</code> has the ability to convert one or many color-pairs smoothly from source
@@ -42,17 +41,29 @@ import javax.swing.Timer;
  * Clients have to call {@link #putColor(String, Color)} to start an animation. They
  * can call {@link #getColor(String)} any time to get the current intermediate color. Adding a {@link #addTask(Runnable) task}
  * will allow a client to be informed whenever the colors change.<br>
- * The animation itself takes {@link #setDuration(int) duration} milliseconds.  
+ * The animation itself takes {@link #setDuration(int) duration} milliseconds and is driven by 
+ * the {@link AnimationScheduler#getDefault() default} {@link AnimationScheduler}, with one step
+ * every {@link #FRAME_DELAY} milliseconds.
  * @author Benjamin Sigg
  */
 public class BubbleColorAnimation {
+	/** The number of milliseconds between two steps of the animation */
+	public static final int FRAME_DELAY = 25;
+	
 	/** How long a transformation takes */
     private int duration = 1000;
     
     /** The color pairs that can be animated */
     private Map<String, Entry> colors = new HashMap<String, Entry>();
-    /** The timer that triggers steps of the animation */
-    private Timer timer;
+    /** Triggers steps of the animation */
+    private Animation ticker = new Animation(){
+    	public boolean tick( long now ){
+    		pulse();
+    		return running;
+    	}
+    };
+    /** Whether {@link #ticker} is currently registered at the {@link AnimationScheduler} */
+    private boolean running = false;
     /** The current time in milliseconds*/
     private long time = 0;
     
@@ -63,12 +74,7 @@ public class BubbleColorAnimation {
      * Creates a new animation.
      */
     public BubbleColorAnimation(){
-    	timer = new Timer( 25, new ActionListener(){
-            public void actionPerformed( ActionEvent e ) {
-                pulse();
-            }
-        });
-    	timer.setCoalesce( true );
+    	// nothing
     }
     
     /**
@@ -162,14 +168,15 @@ public class BubbleColorAnimation {
      *
      */
     public void stop(){
-        timer.stop();
+    	running = false;
+        AnimationScheduler.getDefault().stop( ticker );
     }
     
     /**
      * Immediately puts all colors to their final state and stops the animation.
      */
     public void kick(){
-        if( timer.isRunning() ){
+        if( running ){
             stop();
             for( Entry entry : colors.values() )
                 entry.kick();
@@ -183,9 +190,10 @@ public class BubbleColorAnimation {
      * Starts the animation if it is not yet running.
      */
     protected void start(){
-        if( !timer.isRunning() ){
+        if( !running ){
+        	running = true;
             time = System.currentTimeMillis();
-            timer.start();
+            AnimationScheduler.getDefault().start( ticker, FRAME_DELAY );
         }
     }
     
@@ -202,7 +210,7 @@ public class BubbleColorAnimation {
             run = entry.step( delta ) | run;
         
         if( !run )
-            timer.stop();
+            stop();
         
         for( Runnable task : tasks )
             task.run();
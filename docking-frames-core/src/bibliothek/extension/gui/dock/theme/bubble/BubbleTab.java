@@ -652,6 +652,8 @@ public class BubbleTab extends ConfiguredBackgroundPanel implements CombinedTab,
 	 * Ensures that the correct font modifier is used.
 	 */
 	public void updateFonts(){
+		FontModifier oldModifier = label.getFontModifier();
+		
 		if( !isEnabled() ){
 			label.setFontModifier( fontUnselected.value() );
 		}
@@ -664,6 +666,9 @@ public class BubbleTab extends ConfiguredBackgroundPanel implements CombinedTab,
 		else{
 			label.setFontModifier( fontUnselected.value() );
 		}
+		if( oldModifier != label.getFontModifier() ){
+			parent.tabsChanged();
+		}
 	}
 
 	public void setIcon( Icon icon ){
@@ -48,6 +48,8 @@ import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockElement;
 import bibliothek.gui.dock.action.DockAction;
+import bibliothek.gui.dock.action.DockActionSource;
+import bibliothek.gui.dock.event.DockActionSourceListener;
 import bibliothek.gui.dock.focus.DockFocusTraversalPolicy;
 import bibliothek.gui.dock.station.stack.tab.Tab;
 import bibliothek.gui.dock.station.stack.tab.TabComponentLayoutManager;
@@ -143,6 +145,16 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
     private ButtonPanel buttons;
     private EclipseDockActionSource actions;
     
+    /** informs {@link #pane} when the number of actions, and thus the size of this tab, changes */
+    private DockActionSourceListener actionsListener = new DockActionSourceListener(){
+    	public void actionsAdded( DockActionSource source, int firstIndex, int lastIndex ){
+    		pane.tabsChanged();
+    	}
+    	public void actionsRemoved( DockActionSource source, int firstIndex, int lastIndex ){
+    		pane.tabsChanged();
+    	}
+    };
+    
     private boolean hasFocus;
     private boolean isSelected;
     private EclipseTabPane pane;
@@ -313,7 +325,11 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
             font = fontUnselected;
         }
         
-        label.setFontModifier( font.font() );
+        FontModifier modifier = font.font();
+        if( label.getFontModifier() != modifier ){
+        	pane.tabsChanged();
+        }
+        label.setFontModifier( modifier );
     }
     
     /**
@@ -357,6 +373,7 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
     	else{
     		label.setIcon( null );
     	}
+    	pane.tabsChanged();
     	revalidate();
     	repaint();
     }
@@ -386,6 +403,7 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
         if( buttons != null ){
         	actions = new EclipseDockActionSource(
             		pane.getTheme(), dockable.getGlobalActionOffers(), this, true );
+            actions.addDockActionSourceListener( actionsListener );
             buttons.set( dockable, actions );
         }
         
@@ -411,6 +429,8 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
     
     public void unbind() {
     	bound = false;
+    	if( actions != null )
+    		actions.removeDockActionSourceListener( actionsListener );
         if( buttons != null )
             buttons.set( null );
         
@@ -744,6 +764,7 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
      */
     public void setLabelInsets( Insets labelInsets ){
     	layoutManager.setLabelInsets( labelInsets );
+    	pane.tabsChanged();
 		revalidate();
 	}
     
@@ -761,6 +782,7 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
      */
     public void setButtonInsets( Insets buttonInsets ){
     	layoutManager.setActionInsets( buttonInsets );
+    	pane.tabsChanged();
 		revalidate();
 	}
     
@@ -349,6 +349,9 @@ public class FlatTab extends ConfiguredBackgroundPanel implements CombinedTab, D
      * @param modifier the modifer
      */
     public void setFontModifier( FontModifier modifier ){
+    	if( label.getFontModifier() != modifier ){
+    		pane.tabsChanged();
+    	}
     	label.setFontModifier( modifier );
     }
     
@@ -29,18 +29,20 @@ package bibliothek.extension.gui.dock.theme.smooth;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
-import javax.swing.Timer;
+import bibliothek.gui.dock.util.animation.Animation;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 
 /**
  * A class which counts milliseconds from 0 to {@link #setDuration(int) duration}
  * or in the other direction. This class contains an array of states: one state is
  * counted upwards (the {@link #destination()}), all the other states are counted
  * downwards. Clients can use this class to smoothly switch between different states.<br>
- * This class works on the EDT, no new threads are created.
+ * This class works on the EDT, no new threads are created. The transitions are driven by 
+ * the {@link AnimationScheduler#getDefault() default} {@link AnimationScheduler}.
  * @author Benjamin Sigg
  *
  */
-public abstract class SmoothChanger implements ActionListener{
+public abstract class SmoothChanger implements ActionListener, Animation{
     /** the time at the last pulse */
     private long last;
     
@@ -50,9 +52,6 @@ public abstract class SmoothChanger implements ActionListener{
     /** the duration of the change */
     private int duration;
     
-    /** a timer which pulses this changer */
-    private Timer timer;
-    
     /**
      * Constructor, sets {@link #setDuration(int) duration} to 250 milliseconds.
      * @param states the number of states this changer can have
@@ -69,7 +68,6 @@ public abstract class SmoothChanger implements ActionListener{
      */
     public SmoothChanger( int duration, int states ){
         this.duration = duration;
-        timer = new Timer( 15, this );
         current = new int[ states ];
     }
     
@@ -111,7 +109,7 @@ public abstract class SmoothChanger implements ActionListener{
      * @return <code>true</code> if active, <code>false</code> if not
      */
     public boolean isRunning(){
-    	return timer.isRunning();
+    	return AnimationScheduler.getDefault().isRunning( this );
     }
     
     /**
@@ -127,11 +125,24 @@ public abstract class SmoothChanger implements ActionListener{
      * Starts a transition
      */
     public void trigger(){
-        timer.start();
-        last = System.currentTimeMillis();
+    	if( !isRunning() ){
+    		last = System.currentTimeMillis();
+    		AnimationScheduler.getDefault().start( this );
+    	}
     }
     
+    /**
+     * Executes one step of the transition. This method is called by the {@link AnimationScheduler},
+     * clients calling it directly advance the transition without waiting for the next frame.
+     * @param e ignored
+     */
     public void actionPerformed( ActionEvent e ){
+    	if( !tick( System.nanoTime() )){
+    		AnimationScheduler.getDefault().stop( this );
+    	}
+    }
+    
+    public boolean tick( long now ){
         long time = System.currentTimeMillis();
         int delta = (int)( time - last );
         last = time;
@@ -150,10 +161,7 @@ public abstract class SmoothChanger implements ActionListener{
         	}
         }
         
-        if( !incomplete ){
-        	timer.stop();
-        }
-                
         repaint( current );
+        return incomplete;
     }
 }
\ No newline at end of file
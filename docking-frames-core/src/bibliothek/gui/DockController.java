@@ -37,12 +37,16 @@ import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import javax.swing.Icon;
 import javax.swing.KeyStroke;
@@ -81,8 +85,12 @@ import bibliothek.gui.dock.control.focus.FocusController;
 import bibliothek.gui.dock.control.focus.FocusHistory;
 import bibliothek.gui.dock.control.focus.FocusRequest;
 import bibliothek.gui.dock.control.focus.MouseFocusObserver;
+import bibliothek.gui.dock.event.ComponentHierarchyObserverEvent;
+import bibliothek.gui.dock.event.ComponentHierarchyObserverListener;
 import bibliothek.gui.dock.event.ControllerSetupListener;
 import bibliothek.gui.dock.event.DockControllerRepresentativeListener;
+import bibliothek.gui.dock.event.DockHierarchyEvent;
+import bibliothek.gui.dock.event.DockHierarchyListener;
 import bibliothek.gui.dock.event.DockRegisterAdapter;
 import bibliothek.gui.dock.event.DockRegisterListener;
 import bibliothek.gui.dock.event.DockStationAdapter;
@@ -110,6 +118,7 @@ import bibliothek.gui.dock.util.UIScheme;
 import bibliothek.gui.dock.util.WindowProvider;
 import bibliothek.gui.dock.util.WindowProviderListener;
 import bibliothek.gui.dock.util.WindowProviderWrapper;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 import bibliothek.gui.dock.util.color.ColorManager;
 import bibliothek.gui.dock.util.extension.ExtensionManager;
 import bibliothek.gui.dock.util.font.FontManager;
@@ -120,6 +129,7 @@ import bibliothek.gui.dock.util.property.ConstantPropertyFactory;
 import bibliothek.gui.dock.util.text.DefaultTextScheme;
 import bibliothek.gui.dock.util.text.TextBridge;
 import bibliothek.gui.dock.util.text.TextValue;
+import bibliothek.util.ListenerList;
 import bibliothek.util.Todo;
 import bibliothek.util.Todo.Compatibility;
 import bibliothek.util.Todo.Version;
@@ -213,6 +223,18 @@ public class DockController {
     private List<ActionOffer> actionOffers = new ArrayList<ActionOffer>();
     /** A  list of sources for {@link DockActionSource DockActionSources} */
     private List<ActionGuard> guards = new ArrayList<ActionGuard>();
+    /** the results of {@link #listOffers(Dockable)} for the registered {@link Dockable}s */
+    private Map<Dockable, ActionOffersCache> actionOffersCache = new HashMap<Dockable, ActionOffersCache>();
+    /** removes the cached result of {@link #listOffers(Dockable)} of {@link Dockable}s that change their position */
+    private DockHierarchyListener actionOffersInvalidator = new DockHierarchyListener(){
+		public void hierarchyChanged( DockHierarchyEvent event ){
+			invalidateActionOffers( event.getDockable() );
+		}
+		
+		public void controllerChanged( DockHierarchyEvent event ){
+			invalidateActionOffers( event.getDockable() );
+		}
+	};
     /** The default source for a {@link DockActionSource} */
     private ActionOffer defaultActionOffer;
     /** A converter used to transform {@link DockAction actions} into views */
@@ -238,9 +260,18 @@ public class DockController {
     /** tells which {@link Component} represents which {@link DockElement} */
     private Map<Component, DockElementRepresentative> componentToDockElements = 
     	new HashMap<Component, DockElementRepresentative>();
+    /** the values of {@link #componentToDockElements} grouped by the identity of their {@link DockElementRepresentative#getElement() element} */
+    private Map<DockElement, List<DockElementRepresentative>> dockElementToRepresentatives =
+    	new IdentityHashMap<DockElement, List<DockElementRepresentative>>();
     /** a list of listeners listening for changes in {@link #componentToDockElements} */
-    private List<DockControllerRepresentativeListener> componentToDockElementsListeners =
-        new ArrayList<DockControllerRepresentativeListener>();
+    private ListenerList<DockControllerRepresentativeListener> componentToDockElementsListeners =
+        new ListenerList<DockControllerRepresentativeListener>( DockControllerRepresentativeListener.class );
+    /** 
+     * Results of {@link #searchElement(Component)}, only {@link Component}s known to the {@link #componentHierarchyObserver}
+     * are stored, the cache is cleared whenever the hierarchy or the set of representatives changes.
+     */
+    private Map<Component, DockElementRepresentative> searchElementCache =
+    	new WeakHashMap<Component, DockElementRepresentative>();
     
     /** the root window of the application */
     private WindowProviderWrapper rootWindowProvider;
@@ -250,6 +281,12 @@ public class DockController {
     /** ensurance against concurrent modifications */
     private DockHierarchyLock lock = new DockHierarchyLock();
     
+    /** how many calls to {@link #runBatch(Runnable)} are currently running */
+    private int batches = 0;
+    
+    /** work that was postponed until the current batch is completed, see {@link #runAfterBatch(Object, Runnable)} */
+    private Map<Object, Runnable> afterBatch = new LinkedHashMap<Object, Runnable>();
+    
     /** whether {@link #showCoreWarning()} actually opens a dialog */
     private static boolean showCoreWarning = true;
     
@@ -372,6 +409,12 @@ public class DockController {
 		register.addDockRegisterListener( dockTitleObserver );
 		addDockTitleBindingListener( dockTitleObserver );
 		register.addDockRegisterListener( new DockableSelectionObserver() );
+		register.addDockRegisterListener( new DockRegisterAdapter(){
+			@Override
+			public void dockableUnregistered( DockController controller, Dockable dockable ){
+				invalidateActionOffers( dockable );
+			}
+		});
 		
         relocator = factory.createRelocator( this, setup );
         
@@ -454,6 +497,8 @@ public class DockController {
 	    theme.kill();
 	    extensions.kill();
 	    mouseDispatcher.kill();
+	    invalidateActionOffers();
+	    searchElementCache.clear();
     }
     
     /**
@@ -526,6 +571,14 @@ public class DockController {
     public ComponentHierarchyObserver getComponentHierarchyObserver() {
         if( componentHierarchyObserver == null ){
             componentHierarchyObserver = new ComponentHierarchyObserver( this );
+            componentHierarchyObserver.addListener( new ComponentHierarchyObserverListener(){
+				public void added( ComponentHierarchyObserverEvent event ){
+					searchElementCache.clear();
+				}
+				public void removed( ComponentHierarchyObserverEvent event ){
+					searchElementCache.clear();
+				}
+			});
             if( rootWindow != null )
                 componentHierarchyObserver.add( rootWindow );
         }
@@ -651,6 +704,91 @@ public class DockController {
     	return register.isStalled();
     }
     
+    /**
+     * Executes <code>batch</code>, a piece of code that is going to make many changes in the layout, e.g. 
+     * remove or add hundreds of {@link Dockable}s. While <code>batch</code> runs, the layout is
+     * {@link #freezeLayout() frozen}, hence {@link DockRegisterListener}s are not informed about single
+     * changes. {@link DockStation}s postpone events and updates that can be summarized by calling
+     * {@link #runAfterBatch(Object, Runnable)}, e.g. a station fires only one event telling which
+     * children were repositioned instead of one event per removed child.<br>
+     * Batches can be nested, the postponed work is executed once the outermost batch is completed. If
+     * some postponed work throws an exception, then the remaining work is still executed and the first
+     * exception is rethrown afterwards, unless <code>batch</code> itself already threw an exception.
+     * @param batch the code to execute, not <code>null</code>
+     * @see #isBatchRunning()
+     */
+    public void runBatch( Runnable batch ){
+    	freezeLayout();
+    	batches++;
+    	boolean completed = false;
+    	try{
+    		batch.run();
+    		completed = true;
+    	}
+    	finally{
+    		batches--;
+    		try{
+	    		if( batches == 0 ){
+	    			Throwable failure = null;
+	    			while( !afterBatch.isEmpty() ){
+	    				List<Runnable> work = new ArrayList<Runnable>( afterBatch.values() );
+	    				afterBatch.clear();
+	    				for( Runnable next : work ){
+	    					try{
+	    						next.run();
+	    					}
+	    					catch( RuntimeException e ){
+	    						if( failure == null ){
+	    							failure = e;
+	    						}
+	    					}
+	    					catch( Error e ){
+	    						if( failure == null ){
+	    							failure = e;
+	    						}
+	    					}
+	    				}
+	    			}
+	    			if( failure != null && completed ){
+	    				if( failure instanceof Error ){
+	    					throw (Error)failure;
+	    				}
+	    				throw (RuntimeException)failure;
+	    			}
+	    		}
+    		}
+    		finally{
+    			meltLayout();
+    		}
+    	}
+    }
+    
+    /**
+     * Tells whether {@link #runBatch(Runnable)} is currently executing some code.
+     * @return <code>true</code> if a batch is running
+     */
+    public boolean isBatchRunning(){
+    	return batches > 0;
+    }
+    
+    /**
+     * Executes <code>work</code> once the current batch is completed, or executes <code>work</code>
+     * immediately if no {@link #isBatchRunning() batch is running}. If some work was already scheduled with
+     * a <code>key</code> equal to <code>key</code>, then <code>work</code> is ignored. This allows clients
+     * to call this method many times, but to execute the same work only once.
+     * @param key identifies <code>work</code>, not <code>null</code>
+     * @param work the work to execute, not <code>null</code>
+     * @see #runBatch(Runnable)
+     */
+    public void runAfterBatch( Object key, Runnable work ){
+    	if( batches == 0 ){
+    		work.run();
+    	}
+    	else if( !afterBatch.containsKey( key )){
+    		afterBatch.put( key, work );
+    	}
+    }
+    
     /**
      * Gets the behavior that tells which stations can have which children.
      * @return the behavior
@@ -744,6 +882,7 @@ public class DockController {
             throw new IllegalArgumentException();
                 
         this.defaultActionOffer = defaultActionOffer;
+        invalidateActionOffers();
     }
     
     /**
@@ -756,6 +895,7 @@ public class DockController {
         if( offer == null )
             throw new IllegalArgumentException();
         actionOffers.add( offer );
+        invalidateActionOffers();
     }
     
     /**
@@ -764,6 +904,7 @@ public class DockController {
      */
     public void removeActionOffer( ActionOffer offer ){
         actionOffers.remove( offer );
+        invalidateActionOffers();
     }
     
     /**
@@ -850,10 +991,14 @@ public class DockController {
      * @see #searchElement(Component)
      */
     public void addRepresentative( DockElementRepresentative representative ) {
-        DockControllerRepresentativeListener[] listeners = componentToDockElementsListeners
-                .toArray( new DockControllerRepresentativeListener[componentToDockElementsListeners.size()] );
+        DockControllerRepresentativeListener[] listeners = componentToDockElementsListeners.toArray();
         
         DockElementRepresentative old = componentToDockElements.put( representative.getComponent(), representative );
+        searchElementCache.clear();
+        if( old != null ){
+        	unindexRepresentative( old );
+        }
+        indexRepresentative( representative );
     	
     	if( old != null ){
     	    for( DockControllerRepresentativeListener listener : listeners ){
@@ -872,9 +1017,12 @@ public class DockController {
      * @see #addRepresentative(DockElementRepresentative)
      */
     public void removeRepresentative( DockElementRepresentative representative ){
-        if( componentToDockElements.remove( representative.getComponent() ) != null ){
-            DockControllerRepresentativeListener[] listeners = componentToDockElementsListeners
-                .toArray( new DockControllerRepresentativeListener[componentToDockElementsListeners.size()] );
+        DockElementRepresentative old = componentToDockElements.remove( representative.getComponent() );
+        if( old != null ){
+        	searchElementCache.clear();
+        	unindexRepresentative( old );
+        	
+            DockControllerRepresentativeListener[] listeners = componentToDockElementsListeners.toArray();
         
             for( DockControllerRepresentativeListener listener : listeners ){
                 listener.representativeRemoved( this, representative );
@@ -882,20 +1030,80 @@ public class DockController {
         }
     }
     
+    /**
+     * Stores <code>representative</code> in {@link #dockElementToRepresentatives}.
+     * @param representative the new representative
+     */
+    private void indexRepresentative( DockElementRepresentative representative ){
+    	DockElement element = representative.getElement();
+    	List<DockElementRepresentative> list = dockElementToRepresentatives.get( element );
+    	if( list == null ){
+    		list = new ArrayList<DockElementRepresentative>( 2 );
+    		dockElementToRepresentatives.put( element, list );
+    	}
+    	list.add( representative );
+    }
+    
+    /**
+     * Removes <code>representative</code> from {@link #dockElementToRepresentatives}.
+     * @param representative the removed representative
+     */
+    private void unindexRepresentative( DockElementRepresentative representative ){
+    	DockElement element = representative.getElement();
+    	List<DockElementRepresentative> list = dockElementToRepresentatives.get( element );
+    	if( list != null && list.remove( representative ) ){
+    		if( list.isEmpty() ){
+    			dockElementToRepresentatives.remove( element );
+    		}
+    		return;
+    	}
+    	
+    	// the element of representative changed since it was added
+    	Iterator<List<DockElementRepresentative>> lists = dockElementToRepresentatives.values().iterator();
+    	while( lists.hasNext() ){
+    		list = lists.next();
+    		if( list.remove( representative ) ){
+    			if( list.isEmpty() ){
+    				lists.remove();
+    			}
+    			return;
+    		}
+    	}
+    }
+    
     /**
      * Searches the element which is parent or equal to <code>representative</code>.
      * This method searches through all elements given by {@link #addRepresentative(DockElementRepresentative)}. 
-     * This also includes all {@link Dockable}s and all {@link DockTitle}s.
+     * This also includes all {@link Dockable}s and all {@link DockTitle}s.<br>
+     * Results for {@link Component}s that are observed by the {@link #getComponentHierarchyObserver() ComponentHierarchyObserver}
+     * are cached, repeated searches for the same {@link Component} do not need to walk through the tree of {@link Component}s. 
      * @param representative some component
      * @return the parent or <code>null</code>
      * @see #addRepresentative(DockElementRepresentative)
      */
     public DockElementRepresentative searchElement( Component representative ){
+    	if( representative == null ){
+    		return null;
+    	}
+    	
+    	DockElementRepresentative cached = searchElementCache.get( representative );
+    	if( cached != null ){
+    		if( cached.getElement().getController() == this ){
+    			return cached;
+    		}
+    		searchElementCache.remove( representative );
+    	}
+    	
+    	Component start = representative;
     	while( representative != null ){
     	    DockElementRepresentative element = componentToDockElements.get( representative );
     		if( element != null ){
-    		    if( element.getElement().getController() == this )
+    		    if( element.getElement().getController() == this ){
+    		    	if( componentHierarchyObserver != null && componentHierarchyObserver.getComponents().contains( start )){
+    		    		searchElementCache.put( start, element );
+    		    	}
     		        return element;
+    		    }
     		}
     		
     		representative = representative.getParent();
@@ -905,18 +1113,28 @@ public class DockController {
     }
     
     /**
-     * Searches all registered {@link DockElementRepresentative} whose element is <code>element</code>.
+     * Searches all registered {@link DockElementRepresentative} whose element is <code>element</code>. The
+     * representatives are indexed by their element, hence the time this method requires does not depend
+     * on the total number of representatives.
      * @param element the element whose {@link DockElementRepresentative} are searched
      * @return the representatives, may include <code>element</code> as well
      */
     public DockElementRepresentative[] getRepresentatives( DockElement element ){
-    	List<DockElementRepresentative> result = new ArrayList<DockElementRepresentative>();
-    	for( DockElementRepresentative representative : componentToDockElements.values() ){
-    		if( representative.getElement() == element ){
-    			result.add( representative );
-    		}
+    	List<DockElementRepresentative> list = dockElementToRepresentatives.get( element );
+    	if( list == null ){
+    		return new DockElementRepresentative[0];
     	}
-    	return result.toArray( new DockElementRepresentative[ result.size() ] );
+    	return list.toArray( new DockElementRepresentative[ list.size() ] );
+    }
+    
+    /**
+     * Tells whether there is at least one registered {@link DockElementRepresentative} whose element
+     * is <code>element</code>. This method runs in constant time.
+     * @param element the element to search
+     * @return <code>true</code> if {@link #getRepresentatives(DockElement)} would not return an empty array
+     */
+    public boolean hasRepresentatives( DockElement element ){
+    	return dockElementToRepresentatives.containsKey( element );
     }
     
     /**
@@ -1116,6 +1334,17 @@ public class DockController {
 		return dockTitles;
 	}
     
+    /**
+     * Gets the clock which drives the animations of the components that are used by this controller.
+     * The scheduler is shared by all controllers, because all animations run on the same <code>EventDispatchThread</code>.
+     * Clients can use the scheduler to run their own animations, or to monitor the frame rate and the cost of 
+     * the animations.
+     * @return the scheduler, not <code>null</code>
+     */
+    public AnimationScheduler getAnimationScheduler(){
+    	return AnimationScheduler.getDefault();
+    }
+    
     /**
      * Gets the set of icons which are used by this controller.
      * @return the set of icons
@@ -1272,6 +1501,7 @@ public class DockController {
             throw new IllegalArgumentException( "guard must not be null" );
         
         guards.add( guard );
+        invalidateActionOffers();
     }
     
     /**
@@ -1280,6 +1510,7 @@ public class DockController {
      */
     public void removeActionGuard( ActionGuard guard ){
         guards.remove( guard );
+        invalidateActionOffers();
     }
     
     /**
@@ -1287,11 +1518,20 @@ public class DockController {
      * affect {@link Dockable}.<br>
      * Clients might rather use {@link Dockable#getGlobalActionOffers()} to
      * get a list of actions for a specific Dockable. This method only uses
-     * the local information to compute a new source.
+     * the local information to compute a new source.<br>
+     * The result is cached for registered {@link Dockable}s until <code>dockable</code> or one
+     * of its parents changes its position, until {@link Dockable#getLocalActionOffers()} returns another
+     * source, until an {@link ActionOffer} or {@link ActionGuard} is added or removed, or until
+     * {@link #invalidateActionOffers(Dockable)} is called.
      * @param dockable a Dockable whose actions are demanded
      * @return a list of actions
      */
     public DockActionSource listOffers( Dockable dockable ){
+    	ActionOffersCache cached = actionOffersCache.get( dockable );
+    	if( cached != null && cached.local == dockable.getLocalActionOffers() ){
+    		return cached.source;
+    	}
+    	
         List<DockActionSource> guards = new ArrayList<DockActionSource>();
         List<DockActionSource> parents = new ArrayList<DockActionSource>();
         
@@ -1308,8 +1548,9 @@ public class DockController {
         }
         
         for( ActionGuard guard : this.guards ){
-            if( guard.react( dockable ))
+            if( guard.react( dockable )){
                 guards.add( guard.getSource( dockable ) );
+            }
         }        
         
         ActionOffer offer = getActionOffer( dockable );
@@ -1318,8 +1559,41 @@ public class DockController {
         if( dockable.getDockParent() != null )
         	parentSource = dockable.getDockParent().getDirectActionOffers( dockable );
         
-        return offer.getSource( dockable, dockable.getLocalActionOffers(), guards.toArray( new DockActionSource[guards.size()] ),
+        DockActionSource local = dockable.getLocalActionOffers();
+        DockActionSource result = offer.getSource( dockable, local, guards.toArray( new DockActionSource[guards.size()] ),
         		parentSource, parents.toArray( new DockActionSource[ parents.size() ] ));
+        
+        if( register.isRegistered( dockable )){
+        	if( actionOffersCache.put( dockable, new ActionOffersCache( result, local )) == null ){
+        		dockable.addDockHierarchyListener( actionOffersInvalidator );
+        	}
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Invalidates the cached result of {@link #listOffers(Dockable)} for <code>dockable</code>. This method
+     * must be called by any {@link ActionGuard}, {@link ActionOffer} or {@link DockStation} whose answer for
+     * <code>dockable</code> changes while <code>dockable</code> does not change its position. Sources that were
+     * already handed out are not affected.
+     * @param dockable the element whose actions may have changed
+     */
+    public void invalidateActionOffers( Dockable dockable ){
+    	if( actionOffersCache.remove( dockable ) != null ){
+    		dockable.removeDockHierarchyListener( actionOffersInvalidator );
+    	}
+    }
+    
+    /**
+     * Invalidates the cached results of {@link #listOffers(Dockable)} for all {@link Dockable}s.
+     * @see #invalidateActionOffers(Dockable)
+     */
+    public void invalidateActionOffers(){
+    	for( Dockable dockable : actionOffersCache.keySet() ){
+    		dockable.removeDockHierarchyListener( actionOffersInvalidator );
+    	}
+    	actionOffersCache.clear();
     }
     
     /**
@@ -1434,6 +1708,23 @@ public class DockController {
             listener.dockableSelected( event );
     }
     
+    /**
+     * A result of {@link DockController#listOffers(Dockable)} together with the local actions
+     * of the {@link Dockable} that were used to create the result.
+     * @author Benjamin Sigg
+     */
+    private static class ActionOffersCache{
+    	/** the cached result */
+    	private final DockActionSource source;
+    	/** the local actions of the dockable */
+    	private final DockActionSource local;
+    	
+    	public ActionOffersCache( DockActionSource source, DockActionSource local ){
+    		this.source = source;
+    		this.local = local;
+    	}
+    }
+    
     /**
      * An observer of the register and all {@link DockStation}s, informs when
      * a {@link DockStation} changes its selected {@link Dockable}.
@@ -26,6 +26,7 @@
 
 package bibliothek.gui;
 
+import java.awt.EventQueue;
 import java.awt.Window;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -74,6 +75,7 @@ import bibliothek.gui.dock.frontend.Setting;
 import bibliothek.gui.dock.frontend.SettingsBlop;
 import bibliothek.gui.dock.frontend.VetoManager;
 import bibliothek.gui.dock.layout.AdjacentDockFactory;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.layout.DockLayoutComposition;
 import bibliothek.gui.dock.layout.DockLayoutInfo;
 import bibliothek.gui.dock.layout.DockSituation;
@@ -97,10 +99,12 @@ import bibliothek.gui.dock.station.stack.StackDockPropertyFactory;
 import bibliothek.gui.dock.station.stack.StackDockStationFactory;
 import bibliothek.gui.dock.util.DirectWindowProvider;
 import bibliothek.gui.dock.util.DockProperties;
+import bibliothek.gui.dock.util.DockSwingUtilities;
 import bibliothek.gui.dock.util.DockUtilities;
 import bibliothek.gui.dock.util.NullWindowProvider;
 import bibliothek.gui.dock.util.PropertyKey;
 import bibliothek.gui.dock.util.PropertyValue;
+import bibliothek.gui.dock.util.TwoPhaseTask;
 import bibliothek.gui.dock.util.WindowProvider;
 import bibliothek.gui.dock.util.extension.ExtensionName;
 import bibliothek.util.Path;
@@ -110,6 +114,8 @@ import bibliothek.util.Todo.Priority;
 import bibliothek.util.Version;
 import bibliothek.util.xml.XAttribute;
 import bibliothek.util.xml.XElement;
+import bibliothek.util.xml.XElementReader;
+import bibliothek.util.xml.XElementWriter;
 import bibliothek.util.xml.XException;
 
 /**
@@ -587,6 +593,7 @@ public class DockFrontend {
             info = new DockInfo( dockable, id );
             dockables.put( id, info );    
         }
+        controller.invalidateActionOffers( dockable );
         
         DockLayoutComposition layout = info.getLayout();
         if( layout != null && !readingOldLayoutInformation && layoutChangeStrategy.shouldUpdateLayoutOnAdd(dockable) ){
@@ -860,6 +867,7 @@ public class DockFrontend {
                 dockables.remove( info.getKey() );
                 fireRemoved( dockable );
             }
+            controller.invalidateActionOffers( dockable );
         }
     }
 
@@ -2020,30 +2028,14 @@ public class DockFrontend {
      * @throws IOException if <code>in</code> cannot be read properbly
      */
     public SettingsBlop readBlop( DataInputStream in ) throws IOException{
-    	SettingsBlop blop = new SettingsBlop();
-    	
-    	Version version = Version.read( in );
-        version.checkCurrent();
-        
-        String currentSetting = null;
-        
-        if( in.readBoolean() )
-            currentSetting = in.readUTF();
-        
-        int count = in.readInt();
-        for( int i = 0; i < count; i++ ){
-            String key = in.readUTF();
-            Setting setting = read( true, in );
-            blop.put( key, setting );
-        }
-        
-        blop.setCurrent( currentSetting, read( false, in ) );
-        return blop;
+    	return new BlopReader().read( in );
     }
     
     /**
      * Calls first {@link #createSetting()} and then
-     * {@link Setting#read(DockSituation, PropertyTransformer, boolean, DataInputStream)}.
+     * {@link Setting#read(DockSituation, PropertyTransformer, boolean, DataInputStream)}. If this method is not called
+     * on the {@link EventQueue dispatch thread}, then the {@link Setting} and the {@link DockSituation} are created on the
+     * dispatch thread, and the situation is {@link DockSituation#setConcurrentReading(boolean) reading concurrently}.
      * @param entry whether the set of properties is used as ordinary entry,
      * or contains more data than usuall.
      * @param in the stream to read from
@@ -2052,12 +2044,9 @@ public class DockFrontend {
      * @see #createSetting()
      */
     protected Setting read( boolean entry, DataInputStream in ) throws IOException{
-        Setting setting = createSetting();
-        Internals internals = new Internals();
-        DockSituation situation = layoutChangeStrategy.createSituation( internals, entry );
-        PropertyTransformer properties = layoutChangeStrategy.createTransformer( internals );
-        setting.read( situation, properties, entry, in );
-        return setting;
+        SettingReader reader = new SettingReader( entry );
+        reader.setting.read( reader.situation, reader.properties, entry, in );
+        return reader.setting;
     }
     
     /**
@@ -2112,6 +2101,62 @@ public class DockFrontend {
         setting.writeXML( situation, properties, entry, element );
     }
     
+    /**
+     * Writes all properties of this frontend into the currently open element of <code>out</code>. The output
+     * is the same as the output of {@link #writeXML(XElement)}, but the layouts are written directly into
+     * <code>out</code> instead of being collected in a tree of {@link XElement}s first.
+     * @param out the writer to write into, the attributes of the currently open element are not changed
+     * @throws IOException if an I/O-error occurs
+     */
+    public void writeXML( XElementWriter out ) throws IOException{
+    	writeBlopXML( writeBlop(), out );
+    }
+    
+    /**
+     * Writes all the {@link Setting}s of <code>blop</code> into the currently open element of <code>out</code>.
+     * @param blop the settings to write
+     * @param out the writer to write into, the attributes of the currently open element are not changed
+     * @throws IOException if an I/O-error occurs
+     * @see #writeBlopXML(SettingsBlop, XElement)
+     */
+    public void writeBlopXML( SettingsBlop blop, XElementWriter out ) throws IOException{
+    	String[] names = blop.getNames();
+    	
+    	if( names.length > 0 ){
+    		out.start( "settings" );
+    		for( String name : names ){
+    			out.start( "setting" );
+    			out.addString( "name", name );
+    			writeXML( blop.getSetting( name ), true, out );
+    			out.end();
+    		}
+    		out.end();
+    	}
+    	
+    	out.start( "current" );
+    	String current = blop.getCurrentName();
+    	if( current != null )
+    		out.addString( "name", current );
+    	
+    	writeXML( blop.getCurrentSetting(), false, out );
+    	out.end();
+    }
+    
+    /**
+     * Calls {@link Setting#writeXML(DockSituation, PropertyTransformer, boolean, XElementWriter)}.
+     * @param setting the setting to write
+     * @param entry whether <code>setting</code> is an ordinary entry, or
+     * the final setting that contains more data.
+     * @param out the writer to write into, the attributes of the currently open element are not changed
+     * @throws IOException if an I/O-error occurs
+     */
+    protected void writeXML( Setting setting, boolean entry, XElementWriter out ) throws IOException{
+    	Internals internals = new Internals();
+    	DockSituation situation = layoutChangeStrategy.createSituation( internals, entry );
+    	PropertyTransformer properties = layoutChangeStrategy.createTransformer( internals );
+    	setting.writeXML( situation, properties, entry, out );
+    }
+    
     /**
      * Reads the contents of this frontend from an xml element. All existing settings
      * are deleted (see {@link #deleteAll()}) by this method.
@@ -2138,33 +2183,13 @@ public class DockFrontend {
      * @return all the layouts stored in <code>element</code>
      */
     public SettingsBlop readBlopXML( XElement element ){
-    	SettingsBlop blop = new SettingsBlop();
-    	
-        XElement xsettings = element.getElement( "settings" );
-        if( xsettings != null ){
-            for( XElement xsetting : xsettings.getElements( "setting" )){
-                String key = xsetting.getString( "name" );
-                Setting setting = readXML( true, xsetting );
-                blop.put( key, setting );
-            }
-        }
-        
-        XElement xcurrent = element.getElement( "current" );
-        if( xcurrent != null ){
-            XAttribute xname = xcurrent.getAttribute( "name" );
-            String name = null;
-            if( xname != null ){
-            	name = xname.getString();
-            }
-            
-            blop.setCurrent( name, readXML( false, xcurrent) );
-        }
-        return blop;
+    	return new BlopReader().readXML( element );
     }
     
     /**
      * Calls {@link #createSetting()} and then
-     * {@link Setting#readXML(DockSituation, PropertyTransformer, boolean, XElement)}.
+     * {@link Setting#readXML(DockSituation, PropertyTransformer, boolean, XElement)}. Can be called by
+     * any thread, see {@link #read(boolean, DataInputStream)}.
      * @param entry whether the set of properties is used as ordinary entry,
      * or contains more data than usuall.
      * @param element the xml element containg the data for the new setting
@@ -2172,12 +2197,60 @@ public class DockFrontend {
      * @see #createSetting()
      */
     protected Setting readXML( boolean entry, XElement element ){
-        Setting setting = createSetting();
-        Internals internals = new Internals();
-        DockSituation situation = layoutChangeStrategy.createSituation( internals, entry );
-        PropertyTransformer properties = layoutChangeStrategy.createTransformer( internals );
-        setting.readXML( situation, properties, entry, element );
-        return setting;
+        SettingReader reader = new SettingReader( entry );
+        reader.setting.readXML( reader.situation, reader.properties, entry, element );
+        return reader.setting;
+    }
+    
+    /**
+     * Reads the contents of this frontend from the element to which <code>in</code> currently points. All
+     * existing settings are deleted (see {@link #deleteAll()}) by this method.
+     * @param in the cursor pointing to the element to read, the element must neither be entered nor read
+     * @throws IOException if an I/O-error occurs or the file is malformed
+     * @see #readXML(XElement)
+     */
+    public void readXML( XElementReader in ) throws IOException{
+    	readXML( in, false );
+    }
+    
+    /**
+     * Reads the contents of this frontend from the element to which <code>in</code> currently points. Only
+     * the layout of one {@link DockElement} at a time is held in memory as {@link XElement}.
+     * @param in the cursor pointing to the element to read, the element must neither be entered nor read
+     * @param keepExistingSettings whether to keep or to delete (see {@link #deleteAll()}) the
+     * existing settings.
+     * @throws IOException if an I/O-error occurs or the file is malformed
+     */
+    public void readXML( XElementReader in, boolean keepExistingSettings ) throws IOException{
+    	readBlop( readBlopXML( in ), keepExistingSettings );
+    }
+    
+    /**
+     * Reads the contents of the element to which <code>in</code> currently points using all the factories
+     * installed on this {@link DockFrontend}, without actually changing any property of this frontend.
+     * @param in the cursor pointing to the element to read, the element must neither be entered nor read
+     * @return all the layouts stored in the element
+     * @throws IOException if an I/O-error occurs or the file is malformed
+     * @see #readBlopXML(XElement)
+     */
+    public SettingsBlop readBlopXML( XElementReader in ) throws IOException{
+    	return new BlopReader().readXML( in );
+    }
+    
+    /**
+     * Calls {@link #createSetting()} and then
+     * {@link Setting#readXML(DockSituation, PropertyTransformer, boolean, XElementReader)}. Can be called by
+     * any thread, see {@link #read(boolean, DataInputStream)}.
+     * @param entry whether the set of properties is used as ordinary entry,
+     * or contains more data than usual.
+     * @param in the cursor pointing to the element containing the data for the new setting
+     * @return the new setting
+     * @throws IOException if an I/O-error occurs or the file is malformed
+     */
+    protected Setting readXML( boolean entry, XElementReader in ) throws IOException{
+    	SettingReader reader = new SettingReader( entry );
+    	reader.setting.readXML( reader.situation, reader.properties, entry, in );
+    	return reader.setting;
     }
     
     /**
@@ -2212,6 +2285,69 @@ public class DockFrontend {
     	setSetting( blop.getCurrentSetting(), false );
     }
     
+    /**
+     * Creates a new {@link BlopReader} which can read layouts while not running on the 
+     * {@link EventQueue dispatch thread}.
+     * @return the new reader
+     */
+    public BlopReader createBlopReader(){
+    	return new BlopReader();
+    }
+    
+    /**
+     * Reads the settings stored in <code>in</code> in a background thread and applies them
+     * on the {@link EventQueue dispatch thread}, see {@link #read(DataInputStream, boolean)}. Only factories
+     * that are {@link ConcurrentDockFactory#isConcurrent() concurrent} are used in the background, other factories are called when
+     * the layout is applied. This method must be called on the dispatch thread.
+     * @param in the stream to read from, this stream will not be closed
+     * @param keepExistingSettings whether to keep or to delete (see {@link #deleteAll()}) the
+     * existing settings.
+     * @return the task that is reading and applying the settings, already started
+     */
+    public TwoPhaseTask<SettingsBlop> readInBackground( final DataInputStream in, final boolean keepExistingSettings ){
+    	final BlopReader reader = createBlopReader();
+    	TwoPhaseTask<SettingsBlop> task = new TwoPhaseTask<SettingsBlop>(){
+    		@Override
+    		protected SettingsBlop prepare() throws IOException{
+    			return reader.read( in );
+    		}
+    		
+    		@Override
+    		protected void apply( SettingsBlop prepared ){
+    			readBlop( prepared, keepExistingSettings );
+    		}
+    	};
+    	task.start();
+    	return task;
+    }
+    
+    /**
+     * Reads the settings stored in the element to which <code>in</code> points in a background thread and 
+     * applies them on the {@link EventQueue dispatch thread}, see {@link #readXML(XElementReader, boolean)}. 
+     * This method must be called on the dispatch thread.
+     * @param in the cursor pointing to the element to read, the element must neither be entered nor read
+     * @param keepExistingSettings whether to keep or to delete (see {@link #deleteAll()}) the
+     * existing settings.
+     * @return the task that is reading and applying the settings, already started
+     * @see #readInBackground(DataInputStream, boolean)
+     */
+    public TwoPhaseTask<SettingsBlop> readXMLInBackground( final XElementReader in, final boolean keepExistingSettings ){
+    	final BlopReader reader = createBlopReader();
+    	TwoPhaseTask<SettingsBlop> task = new TwoPhaseTask<SettingsBlop>(){
+    		@Override
+    		protected SettingsBlop prepare() throws IOException{
+    			return reader.readXML( in );
+    		}
+    		
+    		@Override
+    		protected void apply( SettingsBlop prepared ){
+    			readBlop( prepared, keepExistingSettings );
+    		}
+    	};
+    	task.start();
+    	return task;
+    }
+    
     /**
      * Creates the action that is added to all known dockables, and which
      * is called the "close"-action.
@@ -2451,6 +2587,158 @@ public class DockFrontend {
             listener.deleted( this, name );
     }
 
+    /**
+     * Reads {@link SettingsBlop}s without changing any property of this frontend. A reader can be used by 
+     * any thread, each {@link Setting} is read by {@link DockFrontend#read(boolean, DataInputStream)} or
+     * {@link DockFrontend#readXML(boolean, XElement)}. Outside the {@link EventQueue dispatch thread} these methods
+     * create {@link Setting}s and {@link DockSituation}s on the dispatch thread, and then read the layout in the
+     * current thread. Factories that are not {@link ConcurrentDockFactory#isConcurrent() concurrent} are not called
+     * in that case, their data remains in raw form until the {@link Setting} is applied.
+     * @author Benjamin Sigg
+     */
+    public class BlopReader{
+    	/**
+    	 * Creates a new reader.
+    	 */
+    	private BlopReader(){
+    		// nothing
+    	}
+    	
+    	/**
+    	 * Reads the contents of <code>in</code>.
+    	 * @param in the stream to read from
+    	 * @return the {@link Setting}s that were read
+    	 * @throws IOException if <code>in</code> cannot be read properly
+    	 * @see DockFrontend#readBlop(DataInputStream)
+    	 */
+    	public SettingsBlop read( DataInputStream in ) throws IOException{
+    		SettingsBlop blop = new SettingsBlop();
+        	
+        	Version version = Version.read( in );
+            version.checkCurrent();
+            
+            String currentSetting = null;
+            
+            if( in.readBoolean() )
+                currentSetting = in.readUTF();
+            
+            int count = in.readInt();
+            for( int i = 0; i < count; i++ ){
+                String key = in.readUTF();
+                Setting setting = readSetting( true, in );
+                blop.put( key, setting );
+            }
+            
+            blop.setCurrent( currentSetting, readSetting( false, in ) );
+            return blop;
+    	}
+    	
+    	/**
+    	 * Reads the contents of <code>element</code>.
+    	 * @param element the element to read
+    	 * @return all the layouts stored in <code>element</code>
+    	 * @see DockFrontend#readBlopXML(XElement)
+    	 */
+    	public SettingsBlop readXML( XElement element ){
+    		SettingsBlop blop = new SettingsBlop();
+        	
+            XElement xsettings = element.getElement( "settings" );
+            if( xsettings != null ){
+                for( XElement xsetting : xsettings.getElements( "setting" )){
+                    String key = xsetting.getString( "name" );
+                    Setting setting = readSettingXML( true, xsetting );
+                    blop.put( key, setting );
+                }
+            }
+            
+            XElement xcurrent = element.getElement( "current" );
+            if( xcurrent != null ){
+                XAttribute xname = xcurrent.getAttribute( "name" );
+                String name = null;
+                if( xname != null ){
+                	name = xname.getString();
+                }
+                
+                blop.setCurrent( name, readSettingXML( false, xcurrent) );
+            }
+            return blop;
+    	}
+    	
+    	/**
+    	 * Reads the contents of the element to which <code>in</code> currently points.
+    	 * @param in the cursor pointing to the element to read, the element must neither be entered nor read
+    	 * @return all the layouts stored in the element
+    	 * @throws IOException if an I/O-error occurs or the file is malformed
+    	 * @see DockFrontend#readBlopXML(XElementReader)
+    	 */
+    	public SettingsBlop readXML( XElementReader in ) throws IOException{
+    		SettingsBlop blop = new SettingsBlop();
+        	boolean currentRead = false;
+        	
+        	in.enter();
+        	while( in.next() ){
+        		String name = in.getName();
+        		if( name.equals( "settings" )){
+        			in.enter();
+        			while( in.next() ){
+        				if( in.getName().equals( "setting" )){
+        					String key = in.getString( "name" );
+        					blop.put( key, readSettingXML( true, in ) );
+        				}
+        			}
+        		}
+        		else if( name.equals( "current" ) && !currentRead ){
+        			currentRead = true;
+        			XAttribute xname = in.getAttribute( "name" );
+        			String current = null;
+        			if( xname != null ){
+        				current = xname.getString();
+        			}
+        			blop.setCurrent( current, readSettingXML( false, in ) );
+        		}
+        	}
+        	return blop;
+    	}
+    	
+    	private Setting readSetting( boolean entry, DataInputStream in ) throws IOException{
+    		return DockFrontend.this.read( entry, in );
+    	}
+    	
+    	private Setting readSettingXML( boolean entry, XElement element ){
+    		return DockFrontend.this.readXML( entry, element );
+    	}
+    	
+    	private Setting readSettingXML( boolean entry, XElementReader in ) throws IOException{
+    		return DockFrontend.this.readXML( entry, in );
+    	}
+    }
+    
+    /**
+     * Creates the objects required to read one {@link Setting} on the {@link EventQueue dispatch thread}.
+     * @author Benjamin Sigg
+     */
+    private class SettingReader implements Runnable{
+    	private final boolean entry;
+    	private final boolean concurrent;
+    	private Setting setting;
+    	private DockSituation situation;
+    	private PropertyTransformer properties;
+    	
+    	public SettingReader( boolean entry ){
+    		this.entry = entry;
+    		concurrent = !EventQueue.isDispatchThread();
+    		DockSwingUtilities.invokeAndWait( this );
+    	}
+    	
+    	public void run(){
+    		setting = createSetting();
+    		Internals internals = new Internals();
+    		situation = layoutChangeStrategy.createSituation( internals, entry );
+    		situation.setConcurrentReading( concurrent );
+    		properties = layoutChangeStrategy.createTransformer( internals );
+    	}
+    }
+    
     /**
      * Internal information about this frontend.
      * @author Benjamin Sigg
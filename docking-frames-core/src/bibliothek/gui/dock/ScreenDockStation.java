@@ -525,6 +525,10 @@ public class ScreenDockStation extends AbstractDockStation {
         if( this.fullscreenAction != null )
             throw new IllegalStateException( "The fullScreenAction can only be set once" );
         this.fullscreenAction = fullScreenAction;
+        DockController controller = getController();
+        if( controller != null ){
+            controller.invalidateActionOffers();
+        }
     }
 
     public DockActionSource getDirectActionOffers( Dockable dockable ) {
@@ -40,6 +40,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -129,6 +131,7 @@ import bibliothek.gui.dock.station.split.SplitFullScreenAction;
 import bibliothek.gui.dock.station.split.SplitLayoutManager;
 import bibliothek.gui.dock.station.split.SplitNode;
 import bibliothek.gui.dock.station.split.SplitNodeFactory;
+import bibliothek.gui.dock.station.split.SplitNodeIndex;
 import bibliothek.gui.dock.station.split.SplitNodeVisitor;
 import bibliothek.gui.dock.station.split.SplitPlaceholderConverter;
 import bibliothek.gui.dock.station.split.SplitPlaceholderSet;
@@ -169,6 +172,7 @@ import bibliothek.gui.dock.util.icon.DockIcon;
 import bibliothek.gui.dock.util.property.ConstantPropertyFactory;
 import bibliothek.gui.dock.util.property.DynamicPropertyFactory;
 import bibliothek.util.FrameworkOnly;
+import bibliothek.util.ListenerList;
 import bibliothek.util.Path;
 import bibliothek.util.Todo;
 import bibliothek.util.Todo.Compatibility;
@@ -241,7 +245,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	private DockTitleVersion title;
 
 	/** A list of {@link DockableListener} which will be invoked when something noticable happens */
-	private List<DockableListener> dockableListeners = new ArrayList<DockableListener>();
+	private ListenerList<DockableListener> dockableListeners = new ListenerList<DockableListener>( DockableListener.class );
 
 	/** All {@link DockableStateListener}s of this station */
 	private DockableStateListenerManager dockableStateListeners;
@@ -279,7 +283,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 			if( newValue == null )
 				newValue = "";
 
-			for( DockableListener listener : dockableListeners.toArray(new DockableListener[dockableListeners.size()]) )
+			for( DockableListener listener : dockableListeners.toArray() )
 				listener.titleTextChanged(SplitDockStation.this, oldValue, newValue);
 		}
 	};
@@ -291,7 +295,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	private PropertyValue<String> titleToolTip = new PropertyValue<String>(PropertyKey.DOCK_STATION_TOOLTIP){
 		@Override
 		protected void valueChanged( String oldValue, String newValue ){
-			for( DockableListener listener : dockableListeners.toArray(new DockableListener[dockableListeners.size()]) )
+			for( DockableListener listener : dockableListeners.toArray() )
 				listener.titleToolTipChanged(SplitDockStation.this, oldValue, newValue);
 		}
 	};
@@ -366,6 +370,9 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 
 	/** The list of {@link Dockable Dockables} which are shown on this station */
 	private List<StationChildHandle> dockables = new ArrayList<StationChildHandle>();
+	
+	/** The position of each handle in {@link #dockables}, <code>null</code> if the positions have to be collected again */
+	private Map<StationChildHandle, Integer> dockableIndices = new IdentityHashMap<StationChildHandle, Integer>();
 
 	/** The {@link Dockable} which has the focus */
 	private Dockable frontDockable;
@@ -439,6 +446,15 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 
 	/** If <code>true</code>, the components are resized while the split is dragged */
 	private boolean continousDisplay = false;
+	
+	/** 
+	 * If an update of the bounds while the split is dragged takes longer than this amount of milliseconds, 
+	 * then the components are only resized once the split is released. A value of <code>0</code> means no limit
+	 */
+	private int continousDisplayLimit = 0;
+	
+	/** whether {@link #updateBounds(SplitNode)} or {@link #moveDivider(Node, Runnable)} is currently running */
+	private boolean incrementalUpdate = false;
 
 	/** the configurable hints for the parent of this station */
 	private DockableDisplayerHints hints;
@@ -506,7 +522,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		
 		titleIcon = new DockStationIcon( "dockStation.default", this ){
 			protected void changed( Icon oldValue, Icon newValue ){
-				for( DockableListener listener : dockableListeners.toArray( new DockableListener[ dockableListeners.size()] )){
+				for( DockableListener listener : dockableListeners.toArray()){
 					listener.titleIconChanged( SplitDockStation.this, oldValue, newValue );
 				}
 			}
@@ -656,6 +672,10 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		if( this.fullScreenAction != null )
 			throw new IllegalStateException("The fullScreenAction can only be set once");
 		this.fullScreenAction = fullScreenAction;
+		DockController controller = getController();
+		if( controller != null ){
+			controller.invalidateActionOffers();
+		}
 	}
 
 	/**
@@ -1086,6 +1106,29 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		return continousDisplay;
 	}
 	
+	/**
+	 * Sets a limit for {@link #setContinousDisplay(boolean) continuous display}. If updating the dockables
+	 * while the split is dragged takes longer than <code>millis</code> milliseconds, then for the rest of the drag 
+	 * only the divider is painted and the dockables are resized once the split is released. This can be
+	 * useful if some of the children of this station are very expensive to layout.
+	 * @param millis the limit in milliseconds, <code>0</code> disables the limit
+	 */
+	public void setContinousDisplayLimit( int millis ){
+		if( millis < 0 ){
+			throw new IllegalArgumentException( "millis must not be negative: " + millis );
+		}
+		this.continousDisplayLimit = millis;
+	}
+	
+	/**
+	 * Gets the limit for {@link #setContinousDisplay(boolean) continuous display}.
+	 * @return the limit in milliseconds, <code>0</code> if there is no limit
+	 * @see #setContinousDisplayLimit(int)
+	 */
+	public int getContinousDisplayLimit(){
+		return continousDisplayLimit;
+	}
+	
 	/**
 	 * Sets the minimum size a {@link Leaf} can have. The default is 20/20.
 	 * @param minimumLeafSize the new minimum size in pixels, not <code>null</code>
@@ -1151,7 +1194,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		if( titles.contains(title) )
 			throw new IllegalArgumentException("Title is already bound");
 		titles.add(title);
-		for( DockableListener listener : dockableListeners.toArray(new DockableListener[dockableListeners.size()]) )
+		for( DockableListener listener : dockableListeners.toArray() )
 			listener.titleBound(this, title);
 	}
 
@@ -1159,7 +1202,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		if( !titles.contains(title) )
 			throw new IllegalArgumentException("Title is unknown");
 		titles.remove(title);
-		for( DockableListener listener : dockableListeners.toArray(new DockableListener[dockableListeners.size()]) )
+		for( DockableListener listener : dockableListeners.toArray() )
 			listener.titleUnbound(this, title);
 	}
 
@@ -2047,7 +2090,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		if( info.bestNode != null ){
 			double divider = info.getDivider( property );
 			
-			Placeholder placeholder = new Placeholder( access, -1 );
+			Placeholder placeholder = access.createPlaceholder( -1 );
 			placeholder.setPlaceholders( new Path[]{ request.getPlaceholder() } );
 			
 			createAside( info.bestNode, info.bestNodePut, placeholder, divider );
@@ -2558,7 +2601,9 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 
 	/**
 	 * Removes all children from this station and then adds the contents
-	 * that are stored in <code>tree</code>.
+	 * that are stored in <code>tree</code>. Children of this station that are
+	 * also part of <code>tree</code> are not removed, they are moved to their new
+	 * location and keep their {@link DockableDisplayer}.
 	 * @param tree the new set of children
 	 * @param checkValidity whether to ensure that the new elements are
 	 * accepted or not.
@@ -2579,11 +2624,13 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 			}
 
 			setFullScreen(null);
-			removeAllDockables();
+			Map<Dockable, StationChildHandle> retained = removeAllDockablesExcept( tree );
 
 			// ensure valid tree
 			for( Dockable dockable : tree.getDockables() ) {
-				DockUtilities.ensureTreeValidity(this, dockable);
+				if( !retained.containsKey( dockable ) ){
+					DockUtilities.ensureTreeValidity(this, dockable);
+				}
 			}
 
 			SplitDockTree<Dockable>.Key rootKey = tree.getRoot();
@@ -2591,10 +2638,24 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 				Map<Leaf, Dockable> linksToSet = new HashMap<Leaf, Dockable>();
 				root().evolve(rootKey, checkValidity, linksToSet);
 				for( Map.Entry<Leaf, Dockable> entry : linksToSet.entrySet() ) {
-					entry.getKey().setDockable( entry.getValue(), null );
+					Leaf leaf = entry.getKey();
+					StationChildHandle handle = retained.remove( entry.getValue() );
+					if( handle == null ){
+						leaf.setDockable( entry.getValue(), null );
+					}
+					else{
+						leaf.setHandle( handle );
+						access.getPlaceholderSet().set( leaf, handle.getDockable() );
+						access.repositioned( leaf );
+					}
 				}
 				updateBounds();
 			}
+			
+			// children that did not find a new leaf
+			for( StationChildHandle handle : retained.values() ){
+				removeHandle( handle, null );
+			}
 		}
 		finally {
 			treeLock--;
@@ -2605,6 +2666,36 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		}
 	}
 
+	/**
+	 * Removes all children from this station that are not part of <code>tree</code>. The
+	 * children that are part of <code>tree</code> are detached from their {@link Leaf}, but
+	 * their {@link StationChildHandle}s remain registered. The tree itself is cleared.
+	 * @param tree the tree that is about to be applied
+	 * @return the children that remain on this station and their handles
+	 */
+	private Map<Dockable, StationChildHandle> removeAllDockablesExcept( SplitDockTree<Dockable> tree ){
+		Set<Dockable> next = new HashSet<Dockable>();
+		for( Dockable dockable : tree.getDockables() ){
+			next.add( dockable );
+		}
+		
+		Map<Dockable, StationChildHandle> retained = new HashMap<Dockable, StationChildHandle>();
+		for( int i = getDockableCount() - 1; i >= 0; i-- ){
+			StationChildHandle handle = dockables.get( i );
+			Leaf leaf = getNodeIndex().getLeaf( handle.getDockable() );
+			if( leaf != null && next.contains( handle.getDockable() )){
+				retained.put( handle.getDockable(), handle );
+				leaf.setHandle( null );
+			}
+			else{
+				removeDisplayer( i, null );
+			}
+		}
+
+		root().setChild( null );
+		return retained;
+	}
+
 	/**
 	 * Gets the contents of this station as a {@link SplitDockTree}.
 	 * @return the tree
@@ -2661,7 +2752,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	 * @param title a title, can be <code>null</code>
 	 */
 	protected void fireTitleExchanged( DockTitle title ){
-		for( DockableListener listener : dockableListeners.toArray(new DockableListener[dockableListeners.size()]) )
+		for( DockableListener listener : dockableListeners.toArray() )
 			listener.titleExchanged(this, title);
 	}
 
@@ -2908,6 +2999,9 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 			}
 	
 			dockables.add(handle);
+			if( dockableIndices != null ){
+				dockableIndices.put( handle, dockables.size()-1 );
+			}
 			dockable.setDockParent(this);
 	
 			handle.updateDisplayer();
@@ -2958,11 +3052,30 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	 * @return the index or -1 if the child was not found
 	 */
 	public int indexOfDockable( Dockable dockable ){
-		for( int i = 0, n = dockables.size(); i < n; i++ )
-			if( dockables.get(i).getDockable() == dockable )
-				return i;
-
-		return -1;
+		if( root == null )
+			return -1;
+		
+		Leaf leaf = root().getLeaf( dockable );
+		if( leaf == null )
+			return -1;
+		
+		return indexOfHandle( leaf.getDockableHandle() );
+	}
+	
+	/**
+	 * Gets the position of <code>handle</code> in the list of children.
+	 * @param handle the handle to search
+	 * @return the index or -1 if <code>handle</code> is not a child of this station
+	 */
+	private int indexOfHandle( StationChildHandle handle ){
+		if( dockableIndices == null ){
+			dockableIndices = new IdentityHashMap<StationChildHandle, Integer>();
+			for( int i = 0, n = dockables.size(); i < n; i++ ){
+				dockableIndices.put( dockables.get( i ), i );
+			}
+		}
+		Integer index = dockableIndices.get( handle );
+		return index == null ? -1 : index.intValue();
 	}
 
 	/**
@@ -3027,40 +3140,38 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		removePlaceholders(placeholders);
 	}
 
+	/**
+	 * Gets the index which allows fast access to the {@link SplitNode}s of this station by their
+	 * id, {@link Dockable} or placeholder. Nodes report changes of these properties to this index.
+	 * @return the index of the current {@link #getRoot() root}, not <code>null</code>
+	 */
+	@FrameworkOnly
+	public SplitNodeIndex getNodeIndex(){
+		return root().getNodeIndex();
+	}
+	
 	/**
 	 * Searches the entire tree for all occurences of all placeholders in <code>placeholders</code>.
 	 * All placeholders are removed and the tree shrinks where possible.
 	 * @param placeholders the placeholders to remove
 	 */
-	public void removePlaceholders( final Set<Path> placeholders ){
+	public void removePlaceholders( Set<Path> placeholders ){
 		if( placeholders.isEmpty() )
 			return;
 
-		final List<SplitNode> nodesToDelete = new ArrayList<SplitNode>();
-		root().visit(new SplitNodeVisitor(){
-			public void handleRoot( Root root ){
-				handle(root);
-			}
-
-			public void handlePlaceholder( Placeholder placeholder ){
-				handle(placeholder);
-			}
-
-			public void handleNode( Node node ){
-				handle(node);
-			}
-
-			public void handleLeaf( Leaf leaf ){
-				handle(leaf);
-			}
-
-			private void handle( SplitNode node ){
-				node.removePlaceholders(placeholders);
-				if( !node.isOfUse() ) {
-					nodesToDelete.add(node);
-				}
+		SplitNodeIndex index = getNodeIndex();
+		Set<SplitNode> nodes = new LinkedHashSet<SplitNode>();
+		for( Path placeholder : placeholders ){
+			nodes.addAll( index.getPlaceholderNodes( placeholder ));
+		}
+		
+		List<SplitNode> nodesToDelete = new ArrayList<SplitNode>();
+		for( SplitNode node : nodes ){
+			node.removePlaceholders(placeholders);
+			if( !node.isOfUse() ) {
+				nodesToDelete.add(node);
 			}
-		});
+		}
 
 		for( SplitNode node : nodesToDelete ) {
 			node.delete(true);
@@ -3075,7 +3186,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
      * and this method will fire events, otherwise this methods is executed silently
 	 */
 	private void removeHandle( StationChildHandle handle, DockHierarchyLock.Token token ){
-		int index = dockables.indexOf( handle );
+		int index = indexOfHandle( handle );
 		if( index >= 0 ) {
 			removeDisplayer( index, token );
 		}
@@ -3108,6 +3219,13 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 				dockStationListeners.fireDockableRemoving(dockable);
 	
 			dockables.remove(index);
+			if( index == dockables.size() && dockableIndices != null ){
+				dockableIndices.remove( handle );
+			}
+			else{
+				// all the following handles moved
+				dockableIndices = null;
+			}
 	
 			DockableDisplayer displayer = handle.getDisplayer();
 	
@@ -3155,42 +3273,11 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	 * @param id the id to search
 	 * @return the node with the id <code>id</code>
 	 */
-	public SplitNode getNode( final long id ){
-		class Visitor implements SplitNodeVisitor {
-			private SplitNode result;
-
-			public void handleRoot( Root root ){
-				if( root.getId() == id ) {
-					result = root;
-				}
-			}
-
-			public void handleLeaf( Leaf leaf ){
-				if( leaf.getId() == id ) {
-					result = leaf;
-				}
-			}
-
-			public void handlePlaceholder( Placeholder placeholder ){
-				if( placeholder.getId() == id ) {
-					result = placeholder;
-				}
-			}
-
-			public void handleNode( Node node ){
-				if( node.getId() == id ) {
-					result = node;
-				}
-			}
-		}
-		;
-
+	public SplitNode getNode( long id ){
 		if( root == null )
 			return null;
 
-		Visitor visitor = new Visitor();
-		getRoot().visit(visitor);
-		return visitor.result;
+		return getRoot().getNode( id );
 	}
 
 	public String getFactoryID(){
@@ -3216,6 +3303,92 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		}
 	}
 	
+	/**
+	 * Updates the locations and sizes of the {@link Component Components} in the subtree of <code>node</code>,
+	 * assuming that the bounds of <code>node</code> itself did not change. Only displayers whose
+	 * bounds changed are laid out, and only the area of <code>node</code> is repainted. This method is used while 
+	 * the user drags a divider, calling {@link #updateBounds()} is always the safer choice.
+	 * @param node the root of the subtree to update, must be part of this station
+	 */
+	public void updateBounds( SplitNode node ){
+		if( node.getStation() != this ){
+			throw new IllegalArgumentException( "node is not a child of this station" );
+		}
+		
+		Insets insets = getContentPane().getInsets();
+		double factorW = getWidth() - insets.left - insets.right;
+		double factorH = getHeight() - insets.top - insets.bottom;
+		
+		if( factorW <= 0 || factorH <= 0 || node == root() || !isSubtreeUpdateSupported() ) {
+			updateBounds();
+			return;
+		}
+		
+		boolean previous = incrementalUpdate;
+		access.setIncrementalUpdate( true );
+		try{
+			node.updateBounds( node.getX(), node.getY(), node.getWidth(), node.getHeight(), factorW, factorH, true );
+		}
+		finally{
+			access.setIncrementalUpdate( previous );
+		}
+		
+		Rectangle bounds = node.getBounds();
+		getContentPane().repaint( bounds.x, bounds.y, bounds.width, bounds.height );
+	}
+	
+	/**
+	 * Tells whether {@link #updateBounds(SplitNode)} can update a subtree on its own. This is only the case
+	 * if the current {@link SplitLayoutManager} {@link SplitLayoutManager#isSubtreeUpdateSupported(SplitDockStation) supports}
+	 * it. Otherwise {@link #updateBounds(SplitNode)} updates the entire tree.
+	 * @return whether a single subtree can be updated
+	 */
+	public boolean isSubtreeUpdateSupported(){
+		return layoutManager.getValue().isSubtreeUpdateSupported( this );
+	}
+	
+	/**
+	 * Moves the divider of <code>node</code> and updates the bounds of its subtree. First <code>change</code>
+	 * is executed, it is expected to change the divider of <code>node</code>. While <code>change</code> runs, 
+	 * the nodes of this station do not revalidate the entire station. Afterwards {@link #updateBounds(SplitNode)}
+	 * is called. If subtree updates are not {@link #isSubtreeUpdateSupported() supported}, then <code>change</code>
+	 * is executed normally and the entire station is updated.
+	 * @param node the node whose divider changes, must be part of this station
+	 * @param change the code that changes the divider
+	 */
+	public void moveDivider( Node node, Runnable change ){
+		if( node.getStation() != this ){
+			throw new IllegalArgumentException( "node is not a child of this station" );
+		}
+		
+		if( isSubtreeUpdateSupported() ){
+			boolean previous = incrementalUpdate;
+			access.setIncrementalUpdate( true );
+			try{
+				change.run();
+			}
+			finally{
+				access.setIncrementalUpdate( previous );
+			}
+			updateBounds( node );
+		}
+		else{
+			change.run();
+			updateBounds();
+		}
+	}
+	
+	/**
+	 * Tells whether the bounds of a subtree are currently updated by {@link #updateBounds(SplitNode)}, or whether
+	 * a divider is moved by {@link #moveDivider(Node, Runnable)}. During that time the nodes must not revalidate
+	 * the entire station.
+	 * @return whether an incremental update is running
+	 */
+	@FrameworkOnly
+	public boolean isIncrementalUpdate(){
+		return incrementalUpdate;
+	}
+	
 	/**
 	 * Allows subclasses access to the internal working of this {@link SplitDockStation}. Subclasses
 	 * should be very careful when invoking methods of {@link Access}.
@@ -3359,6 +3532,8 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	protected class Access implements SplitDockAccess{
 		private long lastUniqueId = -1;
 		private int repositionedArm = 0;
+		/** whether {@link #fire()} is postponed until the current batch of the {@link DockController} is completed */
+		private boolean batchScheduled = false;
 		private Set<Dockable> repositioned = new HashSet<Dockable>();
 		private Dockable dockableSelected = null;
 		
@@ -3427,6 +3602,18 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 			}
 		}
 		
+		/**
+		 * Sets whether an incremental update is running. While the flag is set, the nodes of this station do
+		 * not revalidate the entire station, the caller is responsible for calling {@link SplitDockStation#updateBounds(SplitNode)}
+		 * afterwards.
+		 * @param incrementalUpdate whether an incremental update is running
+		 * @see SplitDockStation#isIncrementalUpdate()
+		 * @see SplitDockStation#moveDivider(Node, Runnable)
+		 */
+		public void setIncrementalUpdate( boolean incrementalUpdate ){
+			SplitDockStation.this.incrementalUpdate = incrementalUpdate;
+		}
+		
 		/**
 		 * Tells whether this {@link Access} currently is withholding events.
 		 * @return whether events are currently disabled
@@ -3452,9 +3639,27 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		}
 
 		/**
-		 * Fires an event to {@link DockStationListener#dockablesRepositioned(DockStation, Dockable[])}.
+		 * Fires an event to {@link DockStationListener#dockablesRepositioned(DockStation, Dockable[])}. If
+		 * a {@link DockController#isBatchRunning() batch is running}, then the event is postponed until the
+		 * batch is completed.
 		 */
 		public void fire(){
+			if( repositionedArm == 1 ){
+				if( batchScheduled ){
+					return;
+				}
+				DockController controller = getController();
+				if( controller != null && controller.isBatchRunning() ){
+					batchScheduled = true;
+					controller.runAfterBatch( this, new Runnable(){
+						public void run(){
+							batchScheduled = false;
+							fire();
+						}
+					});
+					return;
+				}
+			}
 			repositionedArm--;
 			if( repositionedArm == 0 ){
 				List<Dockable> dockables = new ArrayList<Dockable>();
@@ -3505,15 +3710,21 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		}
 		
 		public Leaf createLeaf( long id ){
-			return nodeFactory.createLeaf( this, id );
+			Leaf leaf = nodeFactory.createLeaf( this, id );
+			getNodeIndex().add( leaf );
+			return leaf;
 		}
 		
 		public Node createNode( long id ){
-			return nodeFactory.createNode( this, id );
+			Node node = nodeFactory.createNode( this, id );
+			getNodeIndex().add( node );
+			return node;
 		}
 		
 		public Placeholder createPlaceholder( long id ){
-			return nodeFactory.createPlaceholder( this, id );
+			Placeholder placeholder = nodeFactory.createPlaceholder( this, id );
+			getNodeIndex().add( placeholder );
+			return placeholder;
 		}
 		
 		/**
@@ -37,6 +37,7 @@ import java.awt.event.HierarchyEvent;
 import java.awt.event.HierarchyListener;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -333,6 +334,13 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
      */
     private Dockable lastSelectedDockable = null;
     
+    /** fires a selection event once the current batch of {@link DockController#runBatch(Runnable)} is completed */
+    private Runnable selectionBatch = new Runnable(){
+    	public void run(){
+    		fireDockableSelected();
+    	}
+    };
+    
     /**
      * Constructs a new StackDockStation
      */
@@ -788,8 +796,15 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
     /**
      * Informs all {@link DockStationListener}s that the selected element of this station changed. 
      * This method only fires if there really is a change, hence it can be safely called multiple times.
+     * If a {@link DockController#isBatchRunning() batch is running}, then the event is postponed until
+     * the batch is completed.
      */
     protected void fireDockableSelected(){
+    	DockController controller = getController();
+    	if( controller != null && controller.isBatchRunning() ){
+    		controller.runAfterBatch( selectionBatch, selectionBatch );
+    		return;
+    	}
     	Dockable selection = getFrontDockable();
     	if( lastSelectedDockable != selection ){
     		listeners.fireDockableSelected( lastSelectedDockable, selection );
@@ -895,16 +910,25 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
     }
     
     /**
-     * Sets all placeholders and children of this station.
+     * Sets all placeholders and children of this station. Children of this station that are
+     * also part of <code>children</code> are not removed, they are moved to their new
+     * location and keep their {@link DockableDisplayer}.
      * @param placeholders the new children and placeholders
      * @param children map to convert items to {@link Dockable}s
-     * @throws IllegalStateException if there are still children on this station
+     * @throws IllegalStateException if there are still children on this station which
+     * are not part of <code>children</code>
      */
     public void setPlaceholders( PlaceholderMap placeholders, final Map<Integer, Dockable> children ){
     	DockUtilities.checkLayoutLocked();
-    	if( getDockableCount() > 0 ){
+    	
+    	final Map<Dockable, StationChildHandle> retained = new HashMap<Dockable, StationChildHandle>();
+    	for( StationChildHandle handle : dockables.dockables() ){
+    		retained.put( handle.getDockable(), handle );
+    	}
+    	if( !children.values().containsAll( retained.keySet() )){
     		throw new IllegalStateException( "there are children on this station" );
     	}
+    	boolean reused = !retained.isEmpty();
     	
     	DockController controller = getController();
     	
@@ -913,6 +937,12 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
     			controller.freezeLayout();
     		}
     		
+    		if( reused ){
+    			visibleListener.ignoreSelectionChanges = true;
+    			stackComponent.removeAll();
+    			panel.removeAll();
+    		}
+    		
 	    	dockables.setStrategy( null );
 			dockables.unbind();
 			DockablePlaceholderList<StationChildHandle> next = new DockablePlaceholderList<StationChildHandle>();
@@ -930,20 +960,31 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
 	    				return null;
 	    			}
 	    			
+	    			StationChildHandle handle = retained.get( dockable );
+	    			if( handle != null ){
+	    				return handle;
+	    			}
+	    			
 	    			DockUtilities.ensureTreeValidity( StackDockStation.this, dockable );
 	    			token = DockHierarchyLock.acquireLinking( StackDockStation.this, dockable );
 	    			
 	    			listeners.fireDockableAdding( dockable );
 	    			dockable.addDockableListener( listener );
-	    			StationChildHandle handle = new StationChildHandle( StackDockStation.this, getDisplayers(), dockable, title );
+	    			handle = new StationChildHandle( StackDockStation.this, getDisplayers(), dockable, title );
 	    			
 	    			return handle;
 	    		}
 	    		
 	    		@Override
 	    		public void added( StationChildHandle handle ){
+	    			Dockable dockable = handle.getDockable();
+	    			if( retained.remove( dockable ) != null ){
+	    				addToPanel( handle, size, size );
+	    				size++;
+	    				return;
+	    			}
+	    			
 	    			try{
-		    			Dockable dockable = handle.getDockable();
 		    			dockable.setDockParent( StackDockStation.this );
 		    			handle.updateDisplayer();
 		    			addToPanel( handle, size, size );
@@ -960,12 +1001,34 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
 				dockables.bind();
 				dockables.setStrategy( getPlaceholderStrategy() );
 			}
+			
+			// children that did not find a new location
+			for( StationChildHandle handle : retained.values() ){
+				Dockable dockable = handle.getDockable();
+				DockHierarchyLock.Token token = DockHierarchyLock.acquireUnlinking( this, dockable );
+				try{
+					listeners.fireDockableRemoving( dockable );
+					dockable.removeDockableListener( listener );
+					handle.destroy();
+					dockable.setDockParent( null );
+					listeners.fireDockableRemoved( dockable );
+				}
+				finally{
+					token.release();
+				}
+			}
     	}
     	finally{
+    		visibleListener.ignoreSelectionChanges = false;
     		if( controller != null ){
     			controller.meltLayout();
     		}
     	}
+    	
+    	if( reused ){
+    		fireDockablesRepositioned( 0 );
+    		fireDockableSelected();
+    	}
     }
 
     /**
@@ -33,7 +33,10 @@ import bibliothek.gui.Dockable;
  * An ActionGuard is {@link DockController#addActionGuard(ActionGuard) added}
  * to a {@link DockController}, and whenever the {@link DockActionSource actions}
  * of a {@link Dockable} have to be determined, all known ActionGuards are
- * asked, if they may add some additional {@link DockActionSource actions}.
+ * asked, if they may add some additional {@link DockActionSource actions}.<br>
+ * The {@link DockController} caches the answers of its guards, if the answer of a guard
+ * changes for a {@link Dockable} that did not change its position, then the guard has to call 
+ * {@link DockController#invalidateActionOffers(Dockable)}.
  * @author Benjamin Sigg
  * @see DockController#addActionGuard(ActionGuard)
  * @see DockController#removeActionGuard(ActionGuard)
@@ -46,6 +46,12 @@ public class MultiDockActionSource extends AbstractDockActionSource {
     private boolean separateSources = false;
     private LocationHint hint;
     
+    /** 
+     * For each child source the index of its first action, the last entry is the total number of actions. This
+     * index is only stored while this source observes its children, otherwise it is <code>null</code>.
+     */
+    private int[] offsets;
+    
     /**
      * Constructs a new source. The <code>sources</code> are added as children
      * of this source.
@@ -116,6 +122,7 @@ public class MultiDockActionSource extends AbstractDockActionSource {
     		for( DockActionSource source : sources )
     			source.addDockActionSourceListener( this.listener );
     		updateSeparators();
+    		offsets = null;
     	}
     }
     
@@ -126,6 +133,7 @@ public class MultiDockActionSource extends AbstractDockActionSource {
     	if( !empty && listeners.isEmpty() ){
     		for( DockActionSource source : sources )
     			source.removeDockActionSourceListener( this.listener );
+    		offsets = null;
     	}
     }
     
@@ -185,6 +193,7 @@ public class MultiDockActionSource extends AbstractDockActionSource {
         sources.add( source );
         sources.add( separator );
         separators.add( separator );
+        offsets = null;
         
         if( !listeners.isEmpty() ){
         	source.addDockActionSourceListener( listener );
@@ -216,6 +225,7 @@ public class MultiDockActionSource extends AbstractDockActionSource {
     	sources.remove( index+1 );
     	sources.remove( index );
     	separators.remove( separator );
+    	offsets = null;
     	
     	if( !listeners.isEmpty() ){
     		source.removeDockActionSourceListener( listener );
@@ -223,7 +233,7 @@ public class MultiDockActionSource extends AbstractDockActionSource {
     	}
     	
     	if( length > 0 ){
-    		fireRemoved( actionIndex, index+length-1 );
+    		fireRemoved( actionIndex, actionIndex+length-1 );
     	}
     	
     	updateSeparators();
@@ -244,6 +254,7 @@ public class MultiDockActionSource extends AbstractDockActionSource {
     	}
     	separators.clear();
     	sources.clear();
+    	offsets = null;
     	
     	if( length > 0 ){
     		fireRemoved( 0, length-1 );
@@ -292,28 +303,67 @@ public class MultiDockActionSource extends AbstractDockActionSource {
     	if( allowUpdate && listeners.isEmpty() )
     		updateSeparators();
     	
-        int sum = 0;
-        
-        for( int i = 0; i < index; i++ )
-            sum += sources.get( i ).getDockActionCount();
-        
-        return sum;
+        return getOffsets()[ index ];
     }
 
     public DockAction getDockAction( int index ) {
     	if( listeners.isEmpty() )
     		updateSeparators();
     	
-    	int sum = 0;
-        for( int i = 0, n = sources.size(); i<n; i++ ){
-            int length = sources.get( i ).getDockActionCount();
-            if( sum <= index && index < sum + length )
-                return sources.get( i ).getDockAction( index - sum );
-            
-            sum += length;
-        }
-        
-        throw new ArrayIndexOutOfBoundsException();
+    	int[] offsets = getOffsets();
+    	if( index < 0 || index >= offsets[ offsets.length-1 ] )
+    		throw new ArrayIndexOutOfBoundsException();
+    	
+    	// search the last source starting at or before index, empty sources are skipped automatically
+    	int low = 0;
+    	int high = offsets.length-2;
+    	while( low < high ){
+    		int middle = (low + high + 1) >>> 1;
+    		if( offsets[ middle ] <= index )
+    			low = middle;
+    		else
+    			high = middle-1;
+    	}
+    	
+        return sources.get( low ).getDockAction( index - offsets[ low ] );
+    }
+    
+    /**
+     * Gets for each child source the index of its first action, the last entry of the array is the 
+     * total number of actions. If this source observes its children the array is cached and updated
+     * whenever a child changes, otherwise a new array is created. 
+     * @return the offsets of the children, must not be modified
+     */
+    private int[] getOffsets(){
+    	if( offsets != null )
+    		return offsets;
+    	
+    	int size = sources.size();
+    	int[] result = new int[ size+1 ];
+    	for( int i = 0; i < size; i++ )
+    		result[i+1] = result[i] + sources.get( i ).getDockActionCount();
+    	
+    	if( !listeners.isEmpty() )
+    		offsets = result;
+    	
+    	return result;
+    }
+    
+    /**
+     * Updates the cached {@link #offsets} after the number of actions of a child source changed. The 
+     * new number of actions is read directly from the child, hence the index remains correct even if
+     * it was built after the child changed but before the event reached this source.
+     * @param sourceIndex the index of the child whose actions changed
+     */
+    private void updateOffsets( int sourceIndex ){
+    	if( offsets != null && sourceIndex >= 0 ){
+    		int count = sources.get( sourceIndex ).getDockActionCount();
+    		int delta = count - (offsets[ sourceIndex+1 ] - offsets[ sourceIndex ]);
+    		if( delta != 0 ){
+	    		for( int i = sourceIndex+1; i < offsets.length; i++ )
+	    			offsets[i] += delta;
+    		}
+    	}
     }
     
     /**
@@ -334,13 +384,17 @@ public class MultiDockActionSource extends AbstractDockActionSource {
      */
     private class Listener implements DockActionSourceListener{
         public void actionsAdded( DockActionSource source, int firstIndex, int lastIndex ) {
-            int index = getDockActionCountUntil( sources.indexOf( source ), false );
+        	int sourceIndex = sources.indexOf( source );
+        	updateOffsets( sourceIndex );
+            int index = getDockActionCountUntil( sourceIndex, false );
             fireAdded( firstIndex + index, lastIndex + index );
             updateSeparators();
         }
 
         public void actionsRemoved( DockActionSource source, int firstIndex, int lastIndex ) {
-            int index = getDockActionCountUntil( sources.indexOf( source ), false );
+        	int sourceIndex = sources.indexOf( source );
+        	updateOffsets( sourceIndex );
+            int index = getDockActionCountUntil( sourceIndex, false );
             fireRemoved( firstIndex + index, lastIndex + index );
             updateSeparators();
         }
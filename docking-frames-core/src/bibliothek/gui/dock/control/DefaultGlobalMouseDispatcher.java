@@ -48,6 +48,9 @@ import bibliothek.gui.dock.util.PropertyValue;
 public class DefaultGlobalMouseDispatcher implements GlobalMouseDispatcher {
 	/** The listener to all AWT events*/
 	private AWTEventListener listener;
+	
+	/** the mask with which {@link #listener} is currently registered, <code>0</code> if not registered */
+	private long eventMask = 0;
 
 	private List<MouseListener> mouseListeners = new ArrayList<MouseListener>();
 	private MouseListener[] mouseListenersCache = null;
@@ -129,11 +132,13 @@ public class DefaultGlobalMouseDispatcher implements GlobalMouseDispatcher {
 	public synchronized void addMouseListener( MouseListener listener ){
 		mouseListeners.add( listener );
 		mouseListenersCache = null;
+		updateEventMask();
 	}
 
 	public synchronized void removeMouseListener( MouseListener listener ){
 		mouseListeners.remove( listener );
 		mouseListenersCache = null;
+		updateEventMask();
 	}
 
 	/**
@@ -150,11 +155,13 @@ public class DefaultGlobalMouseDispatcher implements GlobalMouseDispatcher {
 	public synchronized void addMouseMotionListener( MouseMotionListener listener ){
 		mouseMotionListeners.add( listener );
 		mouseMotionListenersCache = null;
+		updateEventMask();
 	}
 
 	public synchronized void removeMouseMotionListener( MouseMotionListener listener ){
 		mouseMotionListeners.remove( listener );
 		mouseMotionListenersCache = null;
+		updateEventMask();
 	}
 
 	/**
@@ -171,11 +178,13 @@ public class DefaultGlobalMouseDispatcher implements GlobalMouseDispatcher {
 	public synchronized void addMouseWheelListener( MouseWheelListener listener ){
 		mouseWheelListeners.add( listener );
 		mouseWheelListenersCache = null;
+		updateEventMask();
 	}
 
 	public synchronized void removeMouseWheelListener( MouseWheelListener listener ){
 		mouseWheelListeners.remove( listener );
 		mouseWheelListenersCache = null;
+		updateEventMask();
 	}
 
 	/**
@@ -194,32 +203,73 @@ public class DefaultGlobalMouseDispatcher implements GlobalMouseDispatcher {
 			if( !restricted.getValue() ) {
 				if( listener == null ) {
 					listener = createListener();
-
-					try {
-						Toolkit.getDefaultToolkit().addAWTEventListener( listener,
-								AWTEvent.MOUSE_EVENT_MASK |
-								AWTEvent.MOUSE_MOTION_EVENT_MASK |
-								AWTEvent.MOUSE_WHEEL_EVENT_MASK );
-					}
-					catch( SecurityException ex ) {
-						System.err.println( "Can't register AWTEventListener, support for global MouseEvents disabled" );
-						ex.printStackTrace();
-					}
+					updateEventMask();
 				}
 			}
 			else {
 				if( listener != null ) {
 					Toolkit.getDefaultToolkit().removeAWTEventListener( listener );
 					listener = null;
+					eventMask = 0;
 				}
 			}
 		}
 	}
+	
+	/**
+	 * Gets the kind of {@link AWTEvent}s this dispatcher needs to receive. The default implementation only
+	 * asks for those events that have at least one listener, e.g. the expensive stream of 
+	 * {@link MouseEvent#MOUSE_MOVED} events is only observed if there is at least one {@link MouseMotionListener}.
+	 * @return the mask that is used to register the {@link AWTEventListener}, <code>0</code> if no
+	 * events are required at all
+	 */
+	protected synchronized long getRequiredEventMask(){
+		long mask = 0;
+		if( !mouseListeners.isEmpty() ){
+			mask |= AWTEvent.MOUSE_EVENT_MASK;
+		}
+		if( !mouseMotionListeners.isEmpty() ){
+			mask |= AWTEvent.MOUSE_MOTION_EVENT_MASK;
+		}
+		if( !mouseWheelListeners.isEmpty() ){
+			mask |= AWTEvent.MOUSE_WHEEL_EVENT_MASK;
+		}
+		return mask;
+	}
+	
+	/**
+	 * Registers the {@link AWTEventListener} again if the {@link #getRequiredEventMask() required events} changed.
+	 */
+	private synchronized void updateEventMask(){
+		if( listener == null ){
+			return;
+		}
+		long mask = getRequiredEventMask();
+		if( mask == eventMask ){
+			return;
+		}
+		
+		Toolkit toolkit = Toolkit.getDefaultToolkit();
+		if( eventMask != 0 ){
+			toolkit.removeAWTEventListener( listener );
+		}
+		eventMask = mask;
+		if( mask != 0 ){
+			try {
+				toolkit.addAWTEventListener( listener, mask );
+			}
+			catch( SecurityException ex ) {
+				System.err.println( "Can't register AWTEventListener, support for global MouseEvents disabled" );
+				ex.printStackTrace();
+			}
+		}
+	}
 
 	public void kill(){
 		if( listener != null ) {
 			Toolkit.getDefaultToolkit().removeAWTEventListener( listener );
 			listener = null;
+			eventMask = 0;
 		}
 		restricted.setProperties( (DockController) null );
 	}
@@ -30,6 +30,7 @@ import java.util.*;
 import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.event.DockRegisterBatchListener;
 import bibliothek.gui.dock.event.DockRegisterListener;
 import bibliothek.gui.dock.event.DockStationAdapter;
 import bibliothek.gui.dock.event.DockStationListener;
@@ -47,9 +48,9 @@ public class DockRegister {
 	/** these protected stations can never be removed through a drag and drop operation */
 	private Set<DockStation> protectedStations = new HashSet<DockStation>();
 	/** the known stations */
-    private List<DockStation> stations = new ArrayList<DockStation>();
+    private DockRegisterIndex<DockStation> stations = new DockRegisterIndex<DockStation>();
     /** the known dockables */
-    private List<Dockable> dockables = new ArrayList<Dockable>();
+    private DockRegisterIndex<Dockable> dockables = new DockRegisterIndex<Dockable>();
     
     /** The controller for which the dockables and stations are stored */
     private DockController controller;
@@ -57,6 +58,9 @@ public class DockRegister {
     /** a list of registerListeners which are informed whenever the registered dockables and stations change */
     private List<DockRegisterListener> registerListeners = new ArrayList<DockRegisterListener>();
     
+    /** a copy of {@link #registerListeners}, <code>null</code> if the list changed since the copy was made */
+    private DockRegisterListener[] registerListenersSnapshot;
+    
     /** an observer of the stations */
     private StationListener stationListener = new StationListener();
     
@@ -68,6 +72,12 @@ public class DockRegister {
 	
 	/** the order in which the elements of {@link #changeMap} first appeared */
 	private LinkedList<Dockable> changeQueue = new LinkedList<Dockable>();
+	
+	/** if not <code>null</code>, then the {@link Dockable}s whose registration is not yet published to the {@link DockRegisterBatchListener}s */
+	private Set<Dockable> pendingRegistered;
+	
+	/** if not <code>null</code>, then the {@link Dockable}s whose unregistration is not yet published to the {@link DockRegisterBatchListener}s */
+	private Set<Dockable> pendingUnregistered;
     
     /**
      * Creates a new register.
@@ -97,6 +107,7 @@ public class DockRegister {
      */
     public void addDockRegisterListener( DockRegisterListener listener ){
     	registerListeners.add( listener );
+    	registerListenersSnapshot = null;
     }
     
     /**
@@ -106,6 +117,7 @@ public class DockRegister {
      */
     public void removeDockRegisterListener( DockRegisterListener listener ){
     	registerListeners.remove( listener );
+    	registerListenersSnapshot = null;
     }
     
     /**
@@ -113,8 +125,7 @@ public class DockRegister {
      * known to this register.
      */
     public void kill(){
-        List<DockStation> stations = new ArrayList<DockStation>( this.stations );
-        for( DockStation station : stations )
+        for( DockStation station : stations.toList() )
             remove( station );
     }
     
@@ -265,7 +276,7 @@ public class DockRegister {
      */
     public DockStation[] listRoots(){
         List<DockStation> list = new LinkedList<DockStation>();
-        for( DockStation station : stations ){
+        for( DockStation station : stations.toList() ){
             Dockable dockable = station.asDockable();
             if( dockable == null || dockable.getDockParent() == null )
                 list.add( station );
@@ -333,6 +344,22 @@ public class DockRegister {
     	return dockables.toArray( new Dockable[ dockables.size() ] );
     }
     
+    /**
+     * Gets a list of all {@link DockStation}s, the list is a copy and can be modified by the caller.
+     * @return the list of stations
+     */
+    public List<DockStation> getDockStations(){
+    	return stations.toList();
+    }
+    
+    /**
+     * Gets a list of all {@link Dockable}s, the list is a copy and can be modified by the caller.
+     * @return the list of dockables
+     */
+    public List<Dockable> getDockables(){
+    	return dockables.toList();
+    }
+    
     /**
      * Registers <code>dockable</code>, the associated controller will know the titles
      * of <code>dockable</code> to allow drag and drop operations.<br>
@@ -410,7 +437,10 @@ public class DockRegister {
      * @return the list of registerListeners
      */
     protected DockRegisterListener[] listDockRegisterListeners(){
-    	return registerListeners.toArray( new DockRegisterListener[ registerListeners.size() ] );
+    	if( registerListenersSnapshot == null ){
+    		registerListenersSnapshot = registerListeners.toArray( new DockRegisterListener[ registerListeners.size() ] );
+    	}
+    	return registerListenersSnapshot;
     }
     
     /**
@@ -427,8 +457,14 @@ public class DockRegister {
      * @param dockable the registered Dockable
      */
     protected void fireDockableRegistered( Dockable dockable ){
-        for( DockRegisterListener listener : listDockRegisterListeners() )
-            listener.dockableRegistered( controller, dockable );
+        for( DockRegisterListener listener : listDockRegisterListeners() ){
+        	if( pendingRegistered == null || !(listener instanceof DockRegisterBatchListener )){
+        		listener.dockableRegistered( controller, dockable );
+        	}
+        }
+        if( pendingRegistered != null ){
+        	pendingRegistered.add( dockable );
+        }
     }
 
     /**
@@ -437,8 +473,58 @@ public class DockRegister {
      * @param dockable the unregistered Dockable
      */
     protected void fireDockableUnregistered( Dockable dockable ){
-        for( DockRegisterListener listener : listDockRegisterListeners() )
-            listener.dockableUnregistered( controller, dockable );
+    	if( pendingRegistered != null && pendingRegistered.remove( dockable )){
+    		// the batch listeners must never see an unregistration before the registration
+    		fireDockablesRegistered( Collections.singleton( dockable ) );
+    	}
+    	
+        for( DockRegisterListener listener : listDockRegisterListeners() ){
+        	if( pendingUnregistered == null || !(listener instanceof DockRegisterBatchListener )){
+        		listener.dockableUnregistered( controller, dockable );
+        	}
+        }
+        if( pendingUnregistered != null ){
+        	pendingUnregistered.add( dockable );
+        }
+    }
+    
+    /**
+     * Informs all {@link DockRegisterBatchListener}s that all the elements of <code>dockables</code> have been registered.
+     * @param dockables the registered Dockables, must not be modified by the listeners
+     */
+    protected void fireDockablesRegistered( Collection<Dockable> dockables ){
+    	dockables = Collections.unmodifiableCollection( dockables );
+    	for( DockRegisterListener listener : listDockRegisterListeners() ){
+    		if( listener instanceof DockRegisterBatchListener ){
+    			((DockRegisterBatchListener)listener).dockablesRegistered( controller, dockables );
+    		}
+    	}
+    }
+    
+    /**
+     * Informs all {@link DockRegisterBatchListener}s that all the elements of <code>dockables</code> have been unregistered.
+     * @param dockables the unregistered Dockables, must not be modified by the listeners
+     */
+    protected void fireDockablesUnregistered( Collection<Dockable> dockables ){
+    	dockables = Collections.unmodifiableCollection( dockables );
+    	for( DockRegisterListener listener : listDockRegisterListeners() ){
+    		if( listener instanceof DockRegisterBatchListener ){
+    			((DockRegisterBatchListener)listener).dockablesUnregistered( controller, dockables );
+    		}
+    	}
+    }
+    
+    /**
+     * Tells whether at least one of the listeners is a {@link DockRegisterBatchListener}.
+     * @return whether batches of events need to be collected
+     */
+    private boolean hasBatchListeners(){
+    	for( DockRegisterListener listener : listDockRegisterListeners() ){
+    		if( listener instanceof DockRegisterBatchListener ){
+    			return true;
+    		}
+    	}
+    	return false;
     }
 
     /**
@@ -563,6 +649,11 @@ public class DockRegister {
                 try{
                     firing = true;
                     
+                    if( !changeQueue.isEmpty() && hasBatchListeners() ){
+                    	pendingRegistered = new LinkedHashSet<Dockable>();
+                    	pendingUnregistered = new LinkedHashSet<Dockable>();
+                    }
+                    
                     while( !changeQueue.isEmpty() ){
                     	Dockable next = changeQueue.removeFirst();
                     	Status status = changeMap.remove( next );
@@ -583,10 +674,29 @@ public class DockRegister {
                 }
                 finally{
                     firing = false;
+                    publishPending();
                 }
             }
         }
         
+        /**
+         * Fires the events that were collected in {@link DockRegister#pendingUnregistered} and 
+         * {@link DockRegister#pendingRegistered} while {@link #fire()} was running.
+         */
+        private void publishPending(){
+        	Set<Dockable> registered = pendingRegistered;
+        	Set<Dockable> unregistered = pendingUnregistered;
+        	pendingRegistered = null;
+        	pendingUnregistered = null;
+        	
+        	if( unregistered != null && !unregistered.isEmpty() ){
+        		fireDockablesUnregistered( unregistered );
+        	}
+        	if( registered != null && !registered.isEmpty() ){
+        		fireDockablesRegistered( registered );
+        	}
+        }
+        
         @Override
         public void dockableAdding( DockStation station, Dockable dockable ) {
             if( stalled > 0 ){
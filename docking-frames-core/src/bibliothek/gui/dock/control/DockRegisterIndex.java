@@ -0,0 +1,151 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An insertion ordered set used by the {@link DockRegister} to store its {@link bibliothek.gui.Dockable}s and
+ * {@link bibliothek.gui.DockStation}s. Membership tests, insertions and removals are answered by a hash table,
+ * removed elements leave a hole in the ordered list which is closed the next time an element is accessed by
+ * its index. Hence removing many elements in a row is cheap, while the order of the remaining elements is preserved.
+ * @author Benjamin Sigg
+ * @param <T> the kind of elements stored in this set
+ */
+class DockRegisterIndex<T> {
+	/** tells for each element where it is stored in {@link #elements} */
+	private Map<T, Integer> positions = new HashMap<T, Integer>();
+
+	/** all the elements in the order they were added, may contain <code>null</code> holes */
+	private List<T> elements = new ArrayList<T>();
+
+	/** the number of <code>null</code> entries in {@link #elements} */
+	private int holes = 0;
+
+	/**
+	 * Tells whether <code>element</code> is stored in this set.
+	 * @param element the element to search
+	 * @return <code>true</code> if <code>element</code> was found
+	 */
+	public boolean contains( T element ){
+		return positions.containsKey( element );
+	}
+
+	/**
+	 * Adds <code>element</code> at the end of this set.
+	 * @param element the new element, not <code>null</code>
+	 * @return <code>true</code> if <code>element</code> was added, <code>false</code> if it already was present
+	 */
+	public boolean add( T element ){
+		if( element == null ){
+			throw new IllegalArgumentException( "element must not be null" );
+		}
+		if( positions.containsKey( element )){
+			return false;
+		}
+		positions.put( element, elements.size() );
+		elements.add( element );
+		return true;
+	}
+
+	/**
+	 * Removes <code>element</code> from this set.
+	 * @param element the element to remove
+	 * @return <code>true</code> if <code>element</code> was found and removed
+	 */
+	public boolean remove( T element ){
+		Integer index = positions.remove( element );
+		if( index == null ){
+			return false;
+		}
+		int position = index.intValue();
+		if( position == elements.size()-1 ){
+			elements.remove( position );
+		}
+		else{
+			elements.set( position, null );
+			holes++;
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the number of elements stored in this set.
+	 * @return the number of elements
+	 */
+	public int size(){
+		return positions.size();
+	}
+
+	/**
+	 * Gets the <code>index</code>'th element of this set.
+	 * @param index the index of the element
+	 * @return the element, not <code>null</code>
+	 */
+	public T get( int index ){
+		compact();
+		return elements.get( index );
+	}
+
+	/**
+	 * Copies all elements of this set into <code>array</code>.
+	 * @param array an array with a length of at least {@link #size()}
+	 * @return <code>array</code>
+	 */
+	public T[] toArray( T[] array ){
+		compact();
+		return elements.toArray( array );
+	}
+
+	/**
+	 * Gets a copy of all the elements of this set, in the order in which they were added.
+	 * @return the new list
+	 */
+	public List<T> toList(){
+		compact();
+		return new ArrayList<T>( elements );
+	}
+
+	/**
+	 * Removes all the holes from {@link #elements} and updates {@link #positions}.
+	 */
+	private void compact(){
+		if( holes > 0 ){
+			List<T> next = new ArrayList<T>( positions.size() );
+			for( T element : elements ){
+				if( element != null ){
+					positions.put( element, next.size() );
+					next.add( element );
+				}
+			}
+			elements = next;
+			holes = 0;
+		}
+	}
+}
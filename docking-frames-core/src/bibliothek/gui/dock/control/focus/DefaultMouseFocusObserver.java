@@ -82,6 +82,18 @@ public class DefaultMouseFocusObserver implements MouseFocusObserver{
 	
 	/** Listener added to the {@link GlobalMouseDispatcher} for registering any {@link MouseEvent} */
 	private GlobalMouseListener listener = new GlobalMouseListener();
+	
+	/** how many events passed {@link #interact(AWTEvent)} */
+	private int processedEvents = 0;
+	
+	/** how many events were rejected by {@link #interact(AWTEvent)} */
+	private int skippedEvents = 0;
+	
+	/** whether {@link #listener} receives {@link MouseEvent#MOUSE_MOVED} and {@link MouseEvent#MOUSE_DRAGGED} events */
+	private boolean observingMouseMotion;
+	
+	/** whether {@link #listener} is currently added to the {@link GlobalMouseDispatcher} */
+	private boolean installed = false;
 
     /**
      * Creates a new FocusController.
@@ -92,13 +104,17 @@ public class DefaultMouseFocusObserver implements MouseFocusObserver{
      */
     public DefaultMouseFocusObserver( DockController controller, ControllerSetupCollection setup ){
         this.controller = controller;
+        observingMouseMotion = getClass() != DefaultMouseFocusObserver.class;
         setup.add( new ControllerSetupListener(){
             public void done( DockController controller ) {
                 controller.getRelocator().addVetoableDockRelocatorListener( relocatorListener );
                 GlobalMouseDispatcher dispatcher = controller.getGlobalMouseDispatcher();
                 dispatcher.addMouseListener( listener );
-                dispatcher.addMouseMotionListener( listener );
+                if( observingMouseMotion ){
+                	dispatcher.addMouseMotionListener( listener );
+                }
                 dispatcher.addMouseWheelListener( listener );
+                installed = true;
             }
         });
     }
@@ -113,6 +129,67 @@ public class DefaultMouseFocusObserver implements MouseFocusObserver{
         dispatcher.removeMouseListener( listener );
         dispatcher.removeMouseMotionListener( listener );
         dispatcher.removeMouseWheelListener( listener );
+        installed = false;
+    }
+    
+    /**
+     * Sets whether this observer receives {@link MouseEvent#MOUSE_MOVED} and {@link MouseEvent#MOUSE_DRAGGED}
+     * events. The default implementation of {@link #interact(AWTEvent)} ignores these events anyway, not listening to
+     * them allows the {@link GlobalMouseDispatcher} to ignore them as well. A {@link DefaultMouseFocusObserver} does not
+     * observe motion events by default. Subclasses observe motion events by default, because they may override
+     * {@link #interact(AWTEvent)} or {@link #check(MouseEvent)} and expect these events.
+     * @param observingMouseMotion whether motion events should be forwarded to {@link #check(MouseEvent)}
+     */
+    public void setObservingMouseMotion( boolean observingMouseMotion ){
+    	if( this.observingMouseMotion != observingMouseMotion ){
+    		this.observingMouseMotion = observingMouseMotion;
+    		if( installed ){
+    			GlobalMouseDispatcher dispatcher = controller.getGlobalMouseDispatcher();
+    			if( observingMouseMotion ){
+    				dispatcher.addMouseMotionListener( listener );
+    			}
+    			else{
+    				dispatcher.removeMouseMotionListener( listener );
+    			}
+    		}
+    	}
+    }
+    
+    /**
+     * Tells whether this observer receives motion events.
+     * @return whether motion events are forwarded to {@link #check(MouseEvent)}
+     * @see #setObservingMouseMotion(boolean)
+     */
+    public boolean isObservingMouseMotion(){
+    	return observingMouseMotion;
+    }
+    
+    /**
+     * Gets the number of events that were accepted by {@link #interact(AWTEvent)} and were
+     * searched for a {@link Dockable} to focus.
+     * @return the number of processed events
+     */
+    public int getProcessedEventCount(){
+    	return processedEvents;
+    }
+    
+    /**
+     * Gets the number of events that were rejected by {@link #interact(AWTEvent)} before any 
+     * {@link Dockable} was searched. Only events that reach this observer are counted: motion events
+     * are not part of this number unless this observer is {@link #isObservingMouseMotion() observing} them.
+     * @return the number of skipped events
+     */
+    public int getSkippedEventCount(){
+    	return skippedEvents;
+    }
+    
+    /**
+     * Sets the {@link #getProcessedEventCount() processed} and {@link #getSkippedEventCount() skipped}
+     * counters back to <code>0</code>.
+     */
+    public void resetStatistics(){
+    	processedEvents = 0;
+    	skippedEvents = 0;
     }
     
     /**
@@ -133,8 +210,12 @@ public class DefaultMouseFocusObserver implements MouseFocusObserver{
      */
     public void check( MouseEvent event ){
     	if( interact( event )){
+    		processedEvents++;
     		check( (AWTEvent)event );
     	}
+    	else{
+    		skippedEvents++;
+    	}
     }
     
     /**
@@ -147,8 +228,12 @@ public class DefaultMouseFocusObserver implements MouseFocusObserver{
      */
     public void check( MouseWheelEvent event ){
     	if( interact( event )){
+    		processedEvents++;
     		check( (AWTEvent)event );
     	}
+    	else{
+    		skippedEvents++;
+    	}
     }
     
     /**
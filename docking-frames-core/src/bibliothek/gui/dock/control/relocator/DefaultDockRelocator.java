@@ -38,6 +38,7 @@ import java.awt.event.ComponentListener;
 import java.awt.event.InputEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -93,6 +94,17 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
 			new PropertyKey<Boolean>( "dock.default.relocator.autodrop", 
 					new ConstantPropertyFactory<Boolean>( true ), true );
 	
+	/**
+	 * If <code>true</code>, then the {@link DockStation}s which may be the target of a drag and drop operation
+	 * are searched only once and stored in a {@link DropTargetIndex}, the index is updated whenever a station
+	 * is added, removed, shown or hidden.<br>
+	 * If <code>false</code>, then all {@link DockStation}s are checked again for each mouse event.<br>
+	 * The default value is <code>true</code>.
+	 */
+	public static final PropertyKey<Boolean> INDEXED_DROP_TARGET_SEARCH =
+			new PropertyKey<Boolean>( "dock.default.relocator.indexed", 
+					new ConstantPropertyFactory<Boolean>( true ), true );
+	
 	/** Path of an {@link ExtensionName} that adds new {@link Merger}s */
 	public static final Path MERGE_EXTENSION = new Path( "dock.merger" );
 	
@@ -128,6 +140,9 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
     /** The {@link DockControllerRepresentativeListener} that creates all the {@link MouseListener}s */
     private Listener listeners;
     
+    /** caches the stations that may be the target of the current drag and drop operation */
+    private DropTargetIndex dropTargetIndex = new DropTargetIndex( this );
+    
 	/**
 	 * Creates a new manager.
 	 * @param controller the controller whose dockables are moved
@@ -401,25 +416,44 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
     protected List<DockStation> listStationsOrdered( int x, int y, Dockable moved ){
     	DockController controller = getController();
     	DisablingStrategy disabling = controller.getProperties().get( DisablingStrategy.STRATEGY );
-    	DockStationDropLayerFactory dropLayerFactory = controller.getProperties().get( DockStationDropLayerFactory.DROP_LAYER_FACTORY );
-    	
-    	OrderedLayerCollection collection = new OrderedLayerCollection( dropLayerFactory );
     	
     	if( disabling == null || !disabling.isDisabled( moved )){
-	        DockStation movedStation = moved.asDockStation();
 	        if( !isCancelLocation( x, y, moved )){
+	        	if( controller.getProperties().get( INDEXED_DROP_TARGET_SEARCH )){
+	        		return dropTargetIndex.listStationsOrdered( x, y, moved );
+	        	}
+	        	
+	        	DockStationDropLayerFactory dropLayerFactory = controller.getProperties().get( DockStationDropLayerFactory.DROP_LAYER_FACTORY );
+	        	OrderedLayerCollection collection = new OrderedLayerCollection( dropLayerFactory );
+	        	
 	        	for( DockStation station : controller.getRegister().listDockStations() ){
-	        		if( disabling == null || !disabling.isDisabled( station )){
-		        		if( movedStation == null || (!DockUtilities.isAncestor( movedStation, station ) && movedStation != station )){
-		        			if( station.isStationShowing() && isStationValid( station ) ){
-		        				collection.add( station );
-			                }
-			            }
+	        		if( isDropTargetCandidate( station, moved, disabling )){
+	        			collection.add( station );
 	        		}
 		        }
+	        	return collection.sort( x, y );
 	        }
     	}
-	    return collection.sort( x, y );
+	    return new ArrayList<DockStation>();
+    }
+    
+    /**
+     * Tells whether <code>station</code> could be the new parent of <code>moved</code>, this method does
+     * not take into account the location of the mouse.
+     * @param station the station to check
+     * @param moved the element that is moved around
+     * @param disabling the strategy telling which elements are disabled, can be <code>null</code>
+     * @return <code>true</code> if <code>station</code> is enabled, visible, valid and not a child of <code>moved</code>
+     */
+    boolean isDropTargetCandidate( DockStation station, Dockable moved, DisablingStrategy disabling ){
+    	if( disabling != null && disabling.isDisabled( station )){
+    		return false;
+    	}
+    	DockStation movedStation = moved.asDockStation();
+    	if( movedStation != null && (DockUtilities.isAncestor( movedStation, station ) || movedStation == station )){
+    		return false;
+    	}
+    	return station.isStationShowing() && isStationValid( station );
     }
     
     /**
@@ -907,6 +941,7 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
             movingImageWindow = null;
             pressPointScreen = null;
             pressPointLocal = null;
+            dropTargetIndex.clear();
         }
         
         if( dropped != null ){
@@ -976,6 +1011,7 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
 	        movingImageWindow = null;
 	        pressPointScreen = null;
 	        pressPointLocal = null;
+	        dropTargetIndex.clear();
     	}
     }
     
@@ -0,0 +1,294 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control.relocator;
+
+import java.awt.Component;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DockElement;
+import bibliothek.gui.dock.disable.DisablingStrategy;
+import bibliothek.gui.dock.disable.DisablingStrategyListener;
+import bibliothek.gui.dock.event.DockHierarchyEvent;
+import bibliothek.gui.dock.event.DockHierarchyListener;
+import bibliothek.gui.dock.event.DockRegisterAdapter;
+import bibliothek.gui.dock.event.DockStationAdapter;
+import bibliothek.gui.dock.event.DockStationListener;
+import bibliothek.gui.dock.event.DockableSelectionEvent;
+import bibliothek.gui.dock.event.DockableSelectionListener;
+import bibliothek.gui.dock.station.layer.DockStationDropLayerFactory;
+import bibliothek.gui.dock.station.layer.OrderedLayerCollection;
+
+/**
+ * The {@link DropTargetIndex} is used by the {@link DefaultDockRelocator} to find the {@link DockStation}s
+ * that may be the target of a drag and drop operation. The index remembers which stations are candidates
+ * for the currently moved {@link Dockable} and keeps their {@link bibliothek.gui.dock.station.layer.DockStationDropLayer}s,
+ * hence each mouse event only has to check which layers are under the mouse.<br>
+ * The index is invalidated whenever a {@link DockStation} is added or removed, a station gets a new parent, the
+ * children of a station change or are reordered, a selection changes, a component of a station is shown, hidden
+ * or moved to another parent, or when the {@link DisablingStrategy} changes.
+ * @author Benjamin Sigg
+ */
+public class DropTargetIndex {
+	/** the relocator using this index */
+	private DefaultDockRelocator relocator;
+
+	/** the element that is currently moved, the candidates are valid only for this element */
+	private Dockable moved;
+
+	/** the stations which may be the target of a drop operation, <code>null</code> if the index is invalid */
+	private OrderedLayerCollection collection;
+
+	/** the factory that was used to create {@link #collection} */
+	private DockStationDropLayerFactory factory;
+
+	/** the strategy that was used to filter the stations of {@link #collection} */
+	private DisablingStrategy disabling;
+
+	/** the components which are observed by {@link #hierarchyListener} */
+	private List<Component> observed = new ArrayList<Component>();
+
+	/** the stations which are observed by {@link #stationListener} */
+	private List<DockStation> observedStations = new ArrayList<DockStation>();
+
+	/** the stations which are observed by {@link #dockHierarchyListener} */
+	private List<Dockable> observedDockables = new ArrayList<Dockable>();
+
+	/** whether the listeners are currently added to the {@link DockController} */
+	private boolean bound = false;
+
+	/** invalidates this index if a component is shown, hidden or moved */
+	private HierarchyListener hierarchyListener = new HierarchyListener(){
+		public void hierarchyChanged( HierarchyEvent e ){
+			if( (e.getChangeFlags() & (HierarchyEvent.SHOWING_CHANGED | HierarchyEvent.PARENT_CHANGED)) != 0 ){
+				invalidate();
+			}
+		}
+	};
+
+	/** invalidates this index if a station gets a new parent */
+	private DockHierarchyListener dockHierarchyListener = new DockHierarchyListener(){
+		public void hierarchyChanged( DockHierarchyEvent event ){
+			invalidate();
+		}
+		public void controllerChanged( DockHierarchyEvent event ){
+			invalidate();
+		}
+	};
+
+	/** invalidates this index if the children of a station change or are reordered */
+	private DockStationListener stationListener = new DockStationAdapter(){
+		@Override
+		public void dockableAdded( DockStation station, Dockable dockable ){
+			invalidate();
+		}
+		@Override
+		public void dockableRemoved( DockStation station, Dockable dockable ){
+			invalidate();
+		}
+		@Override
+		public void dockablesRepositioned( DockStation station, Dockable[] dockables ){
+			invalidate();
+		}
+		@Override
+		public void dockableShowingChanged( DockStation station, Dockable dockable, boolean visible ){
+			invalidate();
+		}
+	};
+
+	/** invalidates this index if a station is added or removed */
+	private DockRegisterAdapter registerListener = new DockRegisterAdapter(){
+		@Override
+		public void dockStationRegistered( DockController controller, DockStation station ){
+			invalidate();
+		}
+		@Override
+		public void dockStationUnregistered( DockController controller, DockStation station ){
+			invalidate();
+		}
+		@Override
+		public void dockableCycledRegister( DockController controller, Dockable dockable ){
+			invalidate();
+		}
+	};
+
+	/** invalidates this index if the selection of a station changes, and with the selection the visibility of its children */
+	private DockableSelectionListener selectionListener = new DockableSelectionListener(){
+		public void dockableSelected( DockableSelectionEvent event ){
+			invalidate();
+		}
+	};
+
+	/** invalidates this index if an element gets enabled or disabled */
+	private DisablingStrategyListener disablingListener = new DisablingStrategyListener(){
+		public void changed( DockElement item ){
+			invalidate();
+		}
+	};
+
+	/**
+	 * Creates a new index.
+	 * @param relocator the relocator which is going to use this index, not <code>null</code>
+	 */
+	public DropTargetIndex( DefaultDockRelocator relocator ){
+		if( relocator == null ){
+			throw new IllegalArgumentException( "relocator must not be null" );
+		}
+		this.relocator = relocator;
+	}
+
+	/**
+	 * Gets a list of all the {@link DockStation}s which may be the target of a drop operation, the list is
+	 * ordered such that the first station has the highest priority.
+	 * @param x the x-coordinate of the mouse on the screen
+	 * @param y the y-coordinate of the mouse on the screen
+	 * @param moved the element that is moved around
+	 * @return the ordered list of stations
+	 * @see DefaultDockRelocator#listStationsOrdered(int, int, Dockable)
+	 */
+	public List<DockStation> listStationsOrdered( int x, int y, Dockable moved ){
+		DockController controller = relocator.getController();
+		DockStationDropLayerFactory factory = controller.getProperties().get( DockStationDropLayerFactory.DROP_LAYER_FACTORY );
+		DisablingStrategy disabling = controller.getProperties().get( DisablingStrategy.STRATEGY );
+
+		if( collection == null || this.moved != moved || this.factory != factory || this.disabling != disabling ){
+			build( moved, factory, disabling );
+		}
+		return collection.sort( x, y );
+	}
+
+	/**
+	 * Marks this index as invalid, the next call to {@link #listStationsOrdered(int, int, Dockable)} will search
+	 * all the candidates again.
+	 */
+	public void invalidate(){
+		collection = null;
+	}
+
+	/**
+	 * Tells whether the candidates of this index are still valid.
+	 * @return <code>false</code> if the next call to {@link #listStationsOrdered(int, int, Dockable)} searches
+	 * the candidates again
+	 */
+	public boolean isValid(){
+		return collection != null;
+	}
+
+	/**
+	 * Invalidates this index and removes all the listeners this index added to other objects. This method
+	 * should be called once a drag and drop operation is finished.
+	 */
+	public void clear(){
+		invalidate();
+		moved = null;
+		unbind();
+	}
+
+	/**
+	 * Searches all {@link DockStation}s that are candidates for dropping <code>moved</code>.
+	 * @param moved the element that is moved around
+	 * @param factory the factory creating the {@link bibliothek.gui.dock.station.layer.DockStationDropLayer}s
+	 * @param disabling the current strategy telling which elements are disabled, can be <code>null</code>
+	 */
+	private void build( Dockable moved, DockStationDropLayerFactory factory, DisablingStrategy disabling ){
+		unbind();
+
+		this.moved = moved;
+		this.factory = factory;
+		this.disabling = disabling;
+
+		DockController controller = relocator.getController();
+		collection = new OrderedLayerCollection( factory );
+
+		for( DockStation station : controller.getRegister().listDockStations() ){
+			if( relocator.isDropTargetCandidate( station, moved, disabling )){
+				collection.add( station );
+			}
+			station.addDockStationListener( stationListener );
+			observedStations.add( station );
+			Dockable dockable = station.asDockable();
+			if( dockable != null ){
+				dockable.addDockHierarchyListener( dockHierarchyListener );
+				observedDockables.add( dockable );
+				Component component = dockable.getComponent();
+				if( component != null ){
+					component.addHierarchyListener( hierarchyListener );
+					observed.add( component );
+				}
+			}
+		}
+
+		bind();
+	}
+
+	/**
+	 * Adds all the listeners to the {@link DockController}.
+	 */
+	private void bind(){
+		if( !bound ){
+			bound = true;
+			DockController controller = relocator.getController();
+			controller.getRegister().addDockRegisterListener( registerListener );
+			controller.addDockableSelectionListener( selectionListener );
+			if( disabling != null ){
+				disabling.addDisablingStrategyListener( disablingListener );
+			}
+		}
+	}
+
+	/**
+	 * Removes all the listeners this index added to any object.
+	 */
+	private void unbind(){
+		for( Component component : observed ){
+			component.removeHierarchyListener( hierarchyListener );
+		}
+		observed.clear();
+		for( DockStation station : observedStations ){
+			station.removeDockStationListener( stationListener );
+		}
+		observedStations.clear();
+		for( Dockable dockable : observedDockables ){
+			dockable.removeDockHierarchyListener( dockHierarchyListener );
+		}
+		observedDockables.clear();
+
+		if( bound ){
+			bound = false;
+			DockController controller = relocator.getController();
+			controller.getRegister().removeDockRegisterListener( registerListener );
+			controller.removeDockableSelectionListener( selectionListener );
+			if( disabling != null ){
+				disabling.removeDisablingStrategyListener( disablingListener );
+			}
+		}
+	}
+}
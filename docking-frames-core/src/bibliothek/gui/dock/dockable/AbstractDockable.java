@@ -30,7 +30,6 @@ import java.awt.Component;
 import java.awt.Point;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -58,6 +57,7 @@ import bibliothek.gui.dock.util.DockProperties;
 import bibliothek.gui.dock.util.PropertyKey;
 import bibliothek.gui.dock.util.PropertyValue;
 import bibliothek.gui.dock.util.icon.DockIcon;
+import bibliothek.util.ListenerList;
 import bibliothek.util.Todo;
 import bibliothek.util.Todo.Compatibility;
 import bibliothek.util.Todo.Priority;
@@ -81,14 +81,14 @@ public abstract class AbstractDockable implements Dockable {
     private DockController controller;
     
     /** a list of dockableListeners which will be informed when some properties changes */
-    private List<DockableListener> dockableListeners = new ArrayList<DockableListener>();
+    private ListenerList<DockableListener> dockableListeners = new ListenerList<DockableListener>( DockableListener.class );
     /** a listener to the hierarchy of the parent */
     private DockHierarchyObserver hierarchyObserver;
     /** a listener for monitoring the location of this dockable */
     private DockableStateListenerManager dockableStateListeners;
     
     /** the list of {@link KeyListener}s of this dockable */
-    private List<KeyListener> keyListeners = new ArrayList<KeyListener>();
+    private ListenerList<KeyListener> keyListeners = new ListenerList<KeyListener>( KeyListener.class );
     /** the listener dispatching events to {@link #keyListeners} */
     private KeyboardListener keyboardListener;
     
@@ -330,7 +330,7 @@ public abstract class AbstractDockable implements Dockable {
     }
     
     private KeyListener[] getKeyListeners(){
-    	return keyListeners.toArray( new KeyListener[ keyListeners.size() ] );
+    	return keyListeners.toArray();
     }
     
     private void registerKeyboardListener(){
@@ -554,7 +554,7 @@ public abstract class AbstractDockable implements Dockable {
      * @param newTitle the new title
      */
     protected void fireTitleTextChanged( String oldTitle, String newTitle ){
-        for( DockableListener listener : dockableListeners.toArray( new DockableListener[ dockableListeners.size()] ))
+        for( DockableListener listener : dockableListeners.toArray())
             listener.titleTextChanged( this, oldTitle, newTitle );
     }
     
@@ -565,7 +565,7 @@ public abstract class AbstractDockable implements Dockable {
      * @param newTooltip the new value
      */
     protected void fireTitleTooltipChanged( String oldTooltip, String newTooltip ){
-        for( DockableListener listener : dockableListeners.toArray( new DockableListener[ dockableListeners.size()] ))
+        for( DockableListener listener : dockableListeners.toArray())
             listener.titleToolTipChanged( this, oldTooltip, newTooltip );
     }
 
@@ -577,7 +577,7 @@ public abstract class AbstractDockable implements Dockable {
      */
     protected void fireTitleIconChanged( Icon oldIcon, Icon newIcon ){
     	currentTitleIcon = newIcon;
-        for( DockableListener listener : dockableListeners.toArray( new DockableListener[ dockableListeners.size()] ))
+        for( DockableListener listener : dockableListeners.toArray())
             listener.titleIconChanged( this, oldIcon, newIcon );
     }
     
@@ -586,7 +586,7 @@ public abstract class AbstractDockable implements Dockable {
      * @param title the title which was bound
      */
     protected void fireTitleBound( DockTitle title ){
-        for( DockableListener listener : dockableListeners.toArray( new DockableListener[ dockableListeners.size()] ))
+        for( DockableListener listener : dockableListeners.toArray())
             listener.titleBound( this, title );
     }
     
@@ -595,7 +595,7 @@ public abstract class AbstractDockable implements Dockable {
      * @param title the title which was unbound
      */
     protected void fireTitleUnbound( DockTitle title ){
-        for( DockableListener listener : dockableListeners.toArray( new DockableListener[ dockableListeners.size()] ))
+        for( DockableListener listener : dockableListeners.toArray())
             listener.titleUnbound( this, title );
     }
     
@@ -605,7 +605,7 @@ public abstract class AbstractDockable implements Dockable {
      * @param title a title, can be <code>null</code>
      */
     protected void fireTitleExchanged( DockTitle title ){
-        for( DockableListener listener : dockableListeners.toArray( new DockableListener[ dockableListeners.size()] ))
+        for( DockableListener listener : dockableListeners.toArray())
             listener.titleExchanged( this, title );
     }
     
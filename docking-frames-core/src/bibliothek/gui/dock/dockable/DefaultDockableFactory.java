@@ -34,6 +34,7 @@ import java.util.Map;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DefaultDockable;
 import bibliothek.gui.dock.DockFactory;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.layout.LocationEstimationMap;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
 import bibliothek.gui.dock.station.support.PlaceholderStrategy;
@@ -47,7 +48,7 @@ import bibliothek.util.xml.XElement;
  * DefaultDockable.
  * @author Benjamin Sigg
  */
-public class DefaultDockableFactory implements DockFactory<DefaultDockable, DefaultDockablePerspective, Object> {
+public class DefaultDockableFactory implements DockFactory<DefaultDockable, DefaultDockablePerspective, Object>, ConcurrentDockFactory {
     /** The unique id of this factory */
     public static final String ID = "DefaultDockableFactory";
     
@@ -72,6 +73,10 @@ public class DefaultDockableFactory implements DockFactory<DefaultDockable, Defa
         return id;
     }
 
+    public boolean isConcurrent() {
+        return getClass() == DefaultDockableFactory.class;
+    }
+
     public void estimateLocations( Object layout, LocationEstimationMap children ){
     	// nothing to do
     }
@@ -0,0 +1,479 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.dockable;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.EventQueue;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ContainerEvent;
+import java.awt.event.ContainerListener;
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.util.TwoPhaseTask;
+import bibliothek.gui.dock.util.TwoPhaseTaskListener;
+import bibliothek.gui.dock.util.TwoPhaseTask.State;
+
+/**
+ * A cache of the images a {@link ScreencaptureMovingImageFactory} creates for its {@link Dockable}s. Painting
+ * a large {@link Component} can take a long time, with a cache a drag and drop operation can show the last
+ * image of a {@link Dockable} immediately.<br>
+ * An image is invalidated if the {@link Component} of its {@link Dockable} is repainted, resized or changes its
+ * children. Invalid images are painted again once the {@link Component} did not change for a {@link #setDelay(int) delay},
+ * and only if the {@link Component} is showing. The {@link Component} itself is painted on the {@link EventQueue dispatch thread}
+ * into a reused buffer, the buffer is then reduced to the size of the final image in a background thread. A
+ * {@link TrueMovingImage} that shows an outdated image is updated as soon as the new image is ready.<br>
+ * Only {@link Dockable}s that were moved at least once are stored in the cache. Repaints are observed by replacing the 
+ * default {@link javax.swing.RepaintManager}, if the application uses its own manager only resizing and changing children
+ * are detected, clients can call {@link #invalidate(Dockable)} if the content changes in another way.
+ * @author Benjamin Sigg
+ */
+public class MovingImageCache {
+	/** how many times longer than painting an image this cache waits before painting the same image again */
+	private static final int COST_FACTOR = 20;
+	
+	/** how many buffers are kept for painting {@link Component}s */
+	private static final int POOL_SIZE = 2;
+	
+	/** the factory painting the images */
+	private ScreencaptureMovingImageFactory factory;
+	
+	/** all the images that are currently stored */
+	private Map<Component, Entry> entries = new WeakHashMap<Component, Entry>();
+	
+	/** buffers that can be painted over */
+	private List<BufferedImage> pool = new ArrayList<BufferedImage>( POOL_SIZE );
+	
+	/** paints invalid images */
+	private Timer timer;
+	
+	/** the minimal time in milliseconds between the last change of a {@link Component} and painting it again */
+	private int delay = 500;
+	
+	/** whether a {@link Component} is currently painted by this cache */
+	private boolean painting = false;
+	
+	/** whether this cache is registered at the {@link MovingImageRepaintManager} */
+	private boolean observingRepaints = false;
+	
+	/**
+	 * Creates a new cache.
+	 * @param factory the factory that is used to paint the images, not <code>null</code>
+	 */
+	public MovingImageCache( ScreencaptureMovingImageFactory factory ){
+		if( factory == null ){
+			throw new IllegalArgumentException( "factory must not be null" );
+		}
+		this.factory = factory;
+		timer = new Timer( delay, new ActionListener(){
+			public void actionPerformed( ActionEvent e ){
+				paintInvalid();
+			}
+		});
+	}
+	
+	/**
+	 * Sets the minimal time between the last change of a {@link Component} and painting its image again. The 
+	 * actual time is longer for {@link Component}s that take long to paint.
+	 * @param delay the delay in milliseconds, at least <code>1</code>
+	 */
+	public void setDelay( int delay ){
+		if( delay < 1 ){
+			throw new IllegalArgumentException( "delay must be at least 1: " + delay );
+		}
+		this.delay = delay;
+		timer.setDelay( delay );
+	}
+	
+	/**
+	 * Gets the minimal time between the last change of a {@link Component} and painting its image again.
+	 * @return the delay in milliseconds
+	 */
+	public int getDelay(){
+		return delay;
+	}
+	
+	/**
+	 * Gets the image that was painted for <code>dockable</code>. The image may be outdated if the content of 
+	 * <code>dockable</code> was repainted, in this case <code>target</code> is updated as soon as the new image is ready.
+	 * @param controller the controller in whose realm the image is needed
+	 * @param dockable the element whose image is searched
+	 * @param target the image that is going to show the result, can be <code>null</code>
+	 * @return the image or <code>null</code> if there is no image with the current size of <code>dockable</code>
+	 */
+	public BufferedImage get( DockController controller, Dockable dockable, TrueMovingImage target ){
+		Entry entry = entries.get( dockable.getComponent() );
+		if( entry == null ){
+			return null;
+		}
+		entry.setController( controller );
+		BufferedImage image = entry.getImage();
+		if( image != null && entry.isInvalid() && target != null ){
+			entry.addTarget( target );
+		}
+		return image;
+	}
+	
+	/**
+	 * Stores the image that was painted for <code>dockable</code>.
+	 * @param controller the controller in whose realm the image was painted
+	 * @param dockable the element whose image was painted
+	 * @param image the new image, can be <code>null</code>
+	 */
+	public void put( DockController controller, Dockable dockable, BufferedImage image ){
+		Component component = dockable.getComponent();
+		Entry entry = entries.get( component );
+		if( entry == null ){
+			entry = new Entry( component );
+			entries.put( component, entry );
+			if( !observingRepaints ){
+				observingRepaints = MovingImageRepaintManager.install( this );
+			}
+		}
+		entry.setController( controller );
+		entry.setImage( image, component.getSize() );
+	}
+	
+	/**
+	 * Tells whether the image of <code>dockable</code> is missing or outdated.
+	 * @param dockable the element whose image is checked
+	 * @return <code>true</code> if there is no image or if the image needs to be painted again
+	 */
+	public boolean isInvalid( Dockable dockable ){
+		Entry entry = entries.get( dockable.getComponent() );
+		return entry == null || entry.getImage() == null || entry.isInvalid();
+	}
+	
+	/**
+	 * Marks the image of <code>dockable</code> as outdated, the image will be painted again.
+	 * @param dockable the element whose image is no longer valid
+	 */
+	public void invalidate( Dockable dockable ){
+		Entry entry = entries.get( dockable.getComponent() );
+		if( entry != null ){
+			entry.invalidate();
+		}
+	}
+	
+	/**
+	 * Removes all images from this cache.
+	 */
+	public void clear(){
+		for( Entry entry : entries.values() ){
+			entry.destroy();
+		}
+		entries.clear();
+		pool.clear();
+		timer.stop();
+		if( observingRepaints ){
+			observingRepaints = false;
+			MovingImageRepaintManager.uninstall( this );
+		}
+	}
+	
+	/**
+	 * Called by the {@link MovingImageRepaintManager} if <code>component</code> is repainted, invalidates
+	 * the images of all {@link Component}s containing <code>component</code>.
+	 * @param component the component that is repainted
+	 */
+	void repainted( JComponent component ){
+		if( painting || entries.isEmpty() ){
+			return;
+		}
+		for( Component parent = component; parent != null; parent = parent.getParent() ){
+			Entry entry = entries.get( parent );
+			if( entry != null ){
+				entry.invalidate();
+			}
+		}
+	}
+	
+	/**
+	 * Paints all images that are invalid and whose {@link Component}s did not change for a while. 
+	 */
+	private void paintInvalid(){
+		long now = System.currentTimeMillis();
+		boolean pending = false;
+		for( Entry entry : new ArrayList<Entry>( entries.values() )){
+			if( entry.isInvalid() ){
+				if( entry.isShowing() ){
+					if( entry.isReady( now )){
+						entry.paint();
+					}
+					else{
+						pending = true;
+					}
+				}
+			}
+		}
+		if( !pending ){
+			timer.stop();
+		}
+	}
+	
+	/**
+	 * Gets a buffer from the pool.
+	 * @param width the width of the buffer
+	 * @param height the height of the buffer
+	 * @return a buffer of the required size, or <code>null</code>
+	 */
+	private BufferedImage takeBuffer( int width, int height ){
+		for( int i = 0, n = pool.size(); i < n; i++ ){
+			BufferedImage buffer = pool.get( i );
+			if( buffer.getWidth() == width && buffer.getHeight() == height ){
+				return pool.remove( i );
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Puts a buffer back into the pool, the oldest buffer is dropped if the pool is full.
+	 * @param buffer the buffer that is no longer used
+	 */
+	private void releaseBuffer( BufferedImage buffer ){
+		if( pool.size() >= POOL_SIZE ){
+			pool.remove( 0 );
+		}
+		pool.add( buffer );
+	}
+	
+	/**
+	 * The image of one {@link Component}.
+	 * @author Benjamin Sigg
+	 */
+	private class Entry extends ComponentAdapter implements ContainerListener{
+		/** the {@link Component} of the {@link Dockable} whose image is stored */
+		private WeakReference<Component> component;
+		
+		/** the controller which was used to paint the image */
+		private WeakReference<DockController> controller;
+		
+		/** the image or <code>null</code> */
+		private BufferedImage image;
+		
+		/** the size {@link #component} had when {@link #image} was painted */
+		private Dimension size;
+		
+		/** whether {@link #image} is outdated */
+		private boolean invalid = false;
+		
+		/** the earliest time when {@link #image} can be painted again */
+		private long ready;
+		
+		/** how long it took to paint {@link #component} the last time */
+		private long cost;
+		
+		/** incremented each time {@link #image} is invalidated */
+		private int changes = 0;
+		
+		/** incremented each time {@link #image} is replaced by {@link #setImage(BufferedImage, Dimension)} */
+		private int images = 0;
+		
+		/** whether a new image is currently reduced in a background thread */
+		private boolean rendering = false;
+		
+		/** images that need to be updated once the new image is ready */
+		private List<TrueMovingImage> targets = new ArrayList<TrueMovingImage>();
+		
+		/**
+		 * Creates a new entry and starts observing <code>component</code>.
+		 * @param component the component whose image is stored
+		 */
+		public Entry( Component component ){
+			this.component = new WeakReference<Component>( component );
+			
+			component.addComponentListener( this );
+			if( component instanceof Container ){
+				((Container)component).addContainerListener( this );
+			}
+		}
+		
+		public Component getComponent(){
+			return component.get();
+		}
+		
+		public void setController( DockController controller ){
+			if( this.controller == null || this.controller.get() != controller ){
+				this.controller = new WeakReference<DockController>( controller );
+			}
+		}
+		
+		public void setImage( BufferedImage image, Dimension size ){
+			this.image = image;
+			this.size = size;
+			invalid = false;
+			images++;
+			targets.clear();
+		}
+		
+		public BufferedImage getImage(){
+			Component component = getComponent();
+			if( image == null || component == null || !component.getSize().equals( size )){
+				return null;
+			}
+			return image;
+		}
+		
+		public void addTarget( TrueMovingImage target ){
+			if( !targets.contains( target )){
+				targets.add( target );
+			}
+		}
+		
+		public boolean isInvalid(){
+			return invalid;
+		}
+		
+		public boolean isShowing(){
+			Component component = getComponent();
+			return component != null && component.isShowing();
+		}
+		
+		public boolean isReady( long now ){
+			return !rendering && now >= ready;
+		}
+		
+		public void invalidate(){
+			invalid = true;
+			changes++;
+			ready = System.currentTimeMillis() + Math.max( delay, COST_FACTOR * cost );
+			if( !timer.isRunning() ){
+				timer.start();
+			}
+		}
+		
+		/**
+		 * Paints {@link #component} into a buffer, and reduces the size of the buffer in a background thread.
+		 */
+		public void paint(){
+			final Component component = getComponent();
+			DockController controller = this.controller == null ? null : this.controller.get();
+			if( component == null || controller == null ){
+				return;
+			}
+			
+			final Dimension size = component.getSize();
+			final BufferedImage buffer;
+			long start = System.currentTimeMillis();
+			painting = true;
+			try{
+				buffer = factory.paintImageFrom( controller, component, takeBuffer( size.width, size.height ) );
+			}
+			finally{
+				painting = false;
+			}
+			cost = System.currentTimeMillis() - start;
+			invalid = false;
+			
+			if( buffer == null ){
+				image = null;
+				this.size = size;
+				targets.clear();
+				return;
+			}
+			
+			final int paintedChanges = changes;
+			final int paintedImages = images;
+			rendering = true;
+			TwoPhaseTask<BufferedImage> task = new TwoPhaseTask<BufferedImage>(){
+				@Override
+				protected BufferedImage prepare() throws Exception{
+					return factory.scaleImage( buffer );
+				}
+				
+				@Override
+				protected void apply( BufferedImage prepared ) throws Exception{
+					rendering = false;
+					if( prepared != buffer ){
+						releaseBuffer( buffer );
+					}
+					if( paintedImages == images && component.getSize().equals( size )){
+						image = prepared;
+						Entry.this.size = size;
+						for( TrueMovingImage target : targets ){
+							target.setImage( prepared );
+						}
+						if( paintedChanges == changes ){
+							targets.clear();
+						}
+					}
+				}
+			};
+			task.addListener( new TwoPhaseTaskListener(){
+				public void stateChanged( TwoPhaseTask<?> task, State oldState, State newState ){
+					if( newState == State.FAILED ){
+						rendering = false;
+					}
+				}
+				
+				public void progressChanged( TwoPhaseTask<?> task, double progress ){
+					// ignore
+				}
+			});
+			task.start();
+		}
+		
+		public void destroy(){
+			image = null;
+			targets.clear();
+			Component component = getComponent();
+			if( component != null ){
+				component.removeComponentListener( this );
+				if( component instanceof Container ){
+					((Container)component).removeContainerListener( this );
+				}
+			}
+		}
+		
+		@Override
+		public void componentResized( ComponentEvent e ){
+			invalidate();
+		}
+		
+		public void componentAdded( ContainerEvent e ){
+			invalidate();
+		}
+		
+		public void componentRemoved( ContainerEvent e ){
+			invalidate();
+		}
+	}
+}
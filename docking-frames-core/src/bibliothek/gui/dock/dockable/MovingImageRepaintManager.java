@@ -0,0 +1,118 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.dockable;
+
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.swing.JComponent;
+import javax.swing.RepaintManager;
+
+/**
+ * A {@link RepaintManager} that tells the {@link MovingImageCache}s which {@link JComponent}s are repainted. This
+ * manager only replaces the default {@link RepaintManager} of Swing, custom managers installed by the application
+ * or by a look and feel are never replaced.
+ * @author Benjamin Sigg
+ */
+class MovingImageRepaintManager extends RepaintManager{
+	/** the caches that are informed about repaints */
+	private List<MovingImageCache> caches = new CopyOnWriteArrayList<MovingImageCache>();
+	
+	/**
+	 * Makes sure that <code>cache</code> is informed about repaints. This method must be called on the
+	 * {@link EventQueue dispatch thread}.
+	 * @param cache the cache to inform
+	 * @return <code>true</code> if repaints are observed, <code>false</code> if the current {@link RepaintManager}
+	 * is a custom manager and was not replaced
+	 */
+	public static boolean install( MovingImageCache cache ){
+		RepaintManager current = RepaintManager.currentManager( (Component)null );
+		MovingImageRepaintManager manager;
+		if( current instanceof MovingImageRepaintManager ){
+			manager = (MovingImageRepaintManager)current;
+		}
+		else if( current.getClass() == RepaintManager.class ){
+			manager = new MovingImageRepaintManager();
+			manager.setDoubleBufferingEnabled( current.isDoubleBufferingEnabled() );
+			manager.setDoubleBufferMaximumSize( current.getDoubleBufferMaximumSize() );
+			RepaintManager.setCurrentManager( manager );
+		}
+		else{
+			return false;
+		}
+		
+		if( !manager.caches.contains( cache )){
+			manager.caches.add( cache );
+		}
+		return true;
+	}
+	
+	/**
+	 * Makes sure that <code>cache</code> is no longer informed about repaints. The default {@link RepaintManager}
+	 * is restored once no cache needs to be informed anymore. This method must be called on the 
+	 * {@link EventQueue dispatch thread}.
+	 * @param cache the cache that is no longer interested in repaints
+	 */
+	public static void uninstall( MovingImageCache cache ){
+		RepaintManager current = RepaintManager.currentManager( (Component)null );
+		if( current instanceof MovingImageRepaintManager ){
+			MovingImageRepaintManager manager = (MovingImageRepaintManager)current;
+			manager.caches.remove( cache );
+			if( manager.caches.isEmpty() ){
+				RepaintManager.setCurrentManager( null );
+			}
+		}
+	}
+	
+	@Override
+	public void addDirtyRegion( JComponent c, int x, int y, int w, int h ){
+		super.addDirtyRegion( c, x, y, w, h );
+		if( w > 0 && h > 0 && !caches.isEmpty() ){
+			repainted( c );
+		}
+	}
+	
+	/**
+	 * Informs all caches that <code>component</code> is repainted.
+	 * @param component the component that is repainted
+	 */
+	private void repainted( final JComponent component ){
+		if( EventQueue.isDispatchThread() ){
+			for( MovingImageCache cache : caches ){
+				cache.repainted( component );
+			}
+		}
+		else{
+			EventQueue.invokeLater( new Runnable(){
+				public void run(){
+					repainted( component );
+				}
+			});
+		}
+	}
+}
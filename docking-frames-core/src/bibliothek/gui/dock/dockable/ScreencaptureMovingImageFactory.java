@@ -25,9 +25,9 @@
  */
 package bibliothek.gui.dock.dockable;
 
+import java.awt.AlphaComposite;
 import java.awt.Component;
 import java.awt.Dimension;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
@@ -52,6 +52,9 @@ public class ScreencaptureMovingImageFactory implements DockableMovingImageFacto
     
     /** the transparency */
     private float alpha;
+    
+    /** the images that were already painted, can be <code>null</code> */
+    private MovingImageCache cache;
 
     /**
      * Creates a new factory.
@@ -94,15 +97,58 @@ public class ScreencaptureMovingImageFactory implements DockableMovingImageFacto
 		return alpha;
 	}
 
+    /**
+     * Sets whether this factory keeps the images it creates in a {@link MovingImageCache}. If cached, a drag and drop
+     * operation shows the last image of a {@link Dockable} immediately, and the image is painted again in the 
+     * background whenever the {@link Dockable} is repainted or resized. The cache is disabled by default.
+     * @param cached whether to use a cache
+     */
+    public void setCached( boolean cached ){
+        if( cached && cache == null ){
+            cache = new MovingImageCache( this );
+        }
+        else if( !cached && cache != null ){
+            cache.clear();
+            cache = null;
+        }
+    }
+    
+    /**
+     * Tells whether this factory keeps the images it creates in a cache.
+     * @return whether a cache is used
+     * @see #setCached(boolean)
+     */
+    public boolean isCached(){
+        return cache != null;
+    }
+    
+    /**
+     * Gets the cache of images used by this factory.
+     * @return the cache or <code>null</code> if this factory is not {@link #setCached(boolean) cached}
+     */
+    public MovingImageCache getCache(){
+        return cache;
+    }
+    
     public MovingImage create( DockController controller, DockTitle snatched ) {
         return create( controller, snatched.getDockable() );
     }
 
     public MovingImage create( DockController controller, Dockable dockable ) {
-        BufferedImage image = createImageFrom( controller, dockable );
-
         TrueMovingImage moving = new TrueMovingImage();
         moving.setAlpha( alpha );
+        
+        BufferedImage image = null;
+        if( cache != null ){
+            image = cache.get( controller, dockable, moving );
+        }
+        if( image == null ){
+            image = createImageFrom( controller, dockable );
+            if( cache != null ){
+                cache.put( controller, dockable, image );
+            }
+        }
+        
         moving.setImage( image );
         return moving;
     }
@@ -146,48 +192,83 @@ public class ScreencaptureMovingImageFactory implements DockableMovingImageFacto
      * @see AWTComponentCaptureStrategy
      */
     public BufferedImage createImageFrom( DockController controller, Component c ){
-        Dimension size = new Dimension( 
-                Math.max( 1, c.getWidth() ),
-                Math.max( 1, c.getHeight() ));
-
-        BufferedImage image = null;
+        BufferedImage image = paintImageFrom( controller, c, null );
+        if( image == null ){
+            return null;
+        }
+        return scaleImage( image );
+    }
+    
+    /**
+     * Paints <code>c</code> with its original size. This method must be called on the
+     * {@link java.awt.EventQueue dispatch thread}.
+     * @param controller the controller for which the image is made
+     * @param c the {@link Component} whose image should be taken
+     * @param buffer an image that can be painted over if it has the same size as <code>c</code>, can be <code>null</code>
+     * @return an image of <code>c</code>, either <code>buffer</code> or a new image, <code>null</code> if <code>c</code>
+     * is too small or cannot be captured
+     */
+    protected BufferedImage paintImageFrom( DockController controller, Component c, BufferedImage buffer ){
+        int width = Math.max( 1, c.getWidth() );
+        int height = Math.max( 1, c.getHeight() );
         
-        if( size.width >= 10 && size.height >= 10 ){
-            if( DockSwingUtilities.containsAWTComponents( c )){
-                image = controller.getProperties().get( AWTComponentCaptureStrategy.STRATEGY ).createCapture( controller, c );
-            }
-            else{
-                image = new BufferedImage( size.width, size.height, BufferedImage.TYPE_INT_ARGB );
-                Graphics g = image.createGraphics();
-                c.paint( g );
-                g.dispose();
-            }
-            
-            if( image != null ){
-                double factor = 1.0;
-                if( max != null ){
-                	factor = Math.min( 
-                        max.getWidth() / size.getWidth(), 
-                        max.getHeight() / size.getHeight() );
-                }
+        if( width < 10 || height < 10 ){
+            return null;
+        }
+        
+        if( DockSwingUtilities.containsAWTComponents( c )){
+            return controller.getProperties().get( AWTComponentCaptureStrategy.STRATEGY ).createCapture( controller, c );
+        }
+        
+        BufferedImage image = buffer;
+        if( image == null || image.getWidth() != width || image.getHeight() != height || image.getType() != BufferedImage.TYPE_INT_ARGB ){
+            image = new BufferedImage( width, height, BufferedImage.TYPE_INT_ARGB );
+        }
+        
+        Graphics2D g = image.createGraphics();
+        if( image == buffer ){
+            g.setComposite( AlphaComposite.Clear );
+            g.fillRect( 0, 0, width, height );
+            g.setComposite( AlphaComposite.SrcOver );
+        }
+        c.paint( g );
+        g.dispose();
+        return image;
+    }
+    
+    /**
+     * Reduces the size of <code>image</code> such that it is not larger than the maximum {@link Dimension}
+     * that was given to this factory in the constructor. This method does not access any {@link Component} 
+     * and can be called by any thread.
+     * @param image the image to scale
+     * @return the scaled image, or <code>image</code> if no scaling was necessary
+     */
+    protected BufferedImage scaleImage( BufferedImage image ){
+        int width = image.getWidth();
+        int height = image.getHeight();
+        
+        double factor = 1.0;
+        if( max != null ){
+        	factor = Math.min( 
+                max.getWidth() / width, 
+                max.getHeight() / height );
+        }
 
-                if( factor < 1.0 ){
-                    int w = (int)( factor * size.getWidth() );
-                    int h = (int)( factor * size.getHeight() );
+        if( factor < 1.0 ){
+            int w = (int)( factor * width );
+            int h = (int)( factor * height );
 
-                    w = Math.max( w, 1 );
-                    h = Math.max( h, 1 );
+            w = Math.max( w, 1 );
+            h = Math.max( h, 1 );
 
-                    if( w != size.width || h != size.height ){
-                        BufferedImage small = new BufferedImage( w, h, image.getType() );
-                        Graphics2D g = small.createGraphics();
-                        g.setRenderingHint( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC );
-                        g.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
-                        g.drawImage( image, 0, 0, w, h, 0, 0, size.width, size.height, null );
-                        g.dispose();
-                        image = small;
-                    }
-                }
+            if( w != width || h != height ){
+                BufferedImage small = new BufferedImage( w, h, image.getType() );
+                Graphics2D g = small.createGraphics();
+                g.setRenderingHint( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC );
+                g.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
+                g.drawImage( image, 0, 0, w, h, 0, 0, width, height, null );
+                g.dispose();
+                return small;
             }
         }
         
@@ -100,6 +100,14 @@ public class TrueMovingImage extends JPanel implements MovingImage{
         repaint();
     }
     
+    /**
+     * Gets the image that this component paints.
+     * @return the image, can be <code>null</code>
+     */
+    public BufferedImage getImage(){
+		return image;
+	}
+    
     public Point getOffset( Point pressPoint ){
     	return null;
     }
@@ -0,0 +1,52 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.event;
+
+import java.util.Collection;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+
+/**
+ * A {@link DockRegisterBatchListener} that contains only empty methods. The batch methods
+ * forward each {@link Dockable} to {@link #dockableRegistered(DockController, Dockable)} respectively
+ * {@link #dockableUnregistered(DockController, Dockable)}, subclasses should override them
+ * if they can handle many {@link Dockable}s faster at once.
+ * @author Benjamin Sigg
+ */
+public class DockRegisterBatchAdapter extends DockRegisterAdapter implements DockRegisterBatchListener{
+	public void dockablesRegistered( DockController controller, Collection<Dockable> dockables ){
+		for( Dockable dockable : dockables ){
+			dockableRegistered( controller, dockable );
+		}
+	}
+	
+	public void dockablesUnregistered( DockController controller, Collection<Dockable> dockables ){
+		for( Dockable dockable : dockables ){
+			dockableUnregistered( controller, dockable );
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.event;
+
+import java.util.Collection;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.control.DockRegister;
+
+/**
+ * An extended {@link DockRegisterListener} which is informed about many {@link Dockable}s at once. When
+ * a {@link DockRegister} is no longer {@link DockRegister#setStalled(boolean) stalled} it publishes its pending
+ * events. Listeners implementing this interface receive these events as one collection instead of one
+ * call to {@link #dockableRegistered(DockController, Dockable) dockableRegistered} or 
+ * {@link #dockableUnregistered(DockController, Dockable) dockableUnregistered} per {@link Dockable}.<br>
+ * Outside of a stalled phase this listener still receives single events. A {@link DockRegister} always
+ * publishes the unregistered {@link Dockable}s before the registered {@link Dockable}s.
+ * @author Benjamin Sigg
+ * @see DockRegisterBatchAdapter
+ */
+public interface DockRegisterBatchListener extends DockRegisterListener{
+    /**
+     * Invoked after a whole set of {@link Dockable}s has been registered at once. This method is called
+     * instead of {@link #dockableRegistered(DockController, Dockable)}.
+     * @param controller the controller where <code>dockables</code> were added
+     * @param dockables the {@link Dockable}s that were added, in the order in which they were registered,
+     * the collection must not be modified
+     */
+    public void dockablesRegistered( DockController controller, Collection<Dockable> dockables );
+    
+    /**
+     * Invoked after a whole set of {@link Dockable}s has been unregistered at once. This method is called
+     * instead of {@link #dockableUnregistered(DockController, Dockable)}.
+     * @param controller the controller from where <code>dockables</code> were removed
+     * @param dockables the {@link Dockable}s that were removed, in the order in which they were unregistered,
+     * the collection must not be modified
+     */
+    public void dockablesUnregistered( DockController controller, Collection<Dockable> dockables );
+}
@@ -25,14 +25,19 @@
  */
 package bibliothek.gui.dock.frontend;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import bibliothek.gui.DockFrontend;
 import bibliothek.gui.DockStation;
@@ -41,6 +46,8 @@ import bibliothek.gui.DockFrontend.DockInfo;
 import bibliothek.gui.DockFrontend.RootInfo;
 import bibliothek.gui.dock.DockElement;
 import bibliothek.gui.dock.DockFactory;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
 import bibliothek.gui.dock.layout.AdjacentDockFactory;
 import bibliothek.gui.dock.layout.DockLayoutComposition;
 import bibliothek.gui.dock.layout.DockSituation;
@@ -58,12 +65,58 @@ import bibliothek.util.xml.XException;
 
 /**
  * This default implementation of a {@link LayoutChangeStrategy} heavily depends on the methods of {@link PredefinedDockSituation}. It
- * also offers a set of methods that may be interesting for subclasses which do not use a {@link PredefinedDockSituation}.
+ * also offers a set of methods that may be interesting for subclasses which do not use a {@link PredefinedDockSituation}.<br>
+ * If {@link #isIncremental() incremental} updates are enabled, then the root stations whose layout would not change
+ * are neither cleaned nor rebuilt, their children and the {@link bibliothek.gui.dock.station.DockableDisplayer}s and
+ * {@link bibliothek.gui.dock.title.DockTitle}s of these children remain untouched. Inside the roots that do change,
+ * {@link Dockable}s that stay on the same {@link SplitDockStation} or {@link StackDockStation} are not removed, the
+ * station only moves them to their new location.
  * @author Benjamin Sigg
  */
 public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
 	private boolean updatingFullLayout = false;
 	
+	/** whether roots with an unchanged layout are skipped */
+	private boolean incremental = false;
+	
+	/** the names of the roots which are not touched by the layout that is currently applied */
+	private Set<String> unchangedRoots = Collections.emptySet();
+	
+	/** the binary form of the layouts that are currently applied, the keys are the names of the roots */
+	private Map<String, byte[]> targets = new HashMap<String, byte[]>();
+	
+	/** the children that remain on their parent while the current layout is applied */
+	private Set<Dockable> retainedChildren = Collections.emptySet();
+	
+	/** the last layouts that were applied to the roots and the layouts the roots had afterwards */
+	private Map<DockStation, AppliedLayout> appliedLayouts = new WeakHashMap<DockStation, AppliedLayout>();
+	
+	/**
+	 * Sets whether this strategy compares the current layout of each root station with the new layout, and leaves
+	 * the roots that would not change alone. The comparison is exact: the layouts are written with the
+	 * {@link DockSituation} that is used to apply the new layout, and only roots with the exact same data are skipped.
+	 * Since a station may not report its layout in the same form as it was applied, this strategy also remembers
+	 * the last layout that was applied to a root together with the layout the root reported afterwards.<br>
+	 * If the layout of a root does change, then the {@link Dockable}s whose parent does not change are left on
+	 * their parent, as long as the parent is a predefined {@link SplitDockStation} or {@link StackDockStation}. These
+	 * stations move their remaining children instead of replacing them, so the children keep their
+	 * {@link bibliothek.gui.dock.station.DockableDisplayer}s. Dockables that are {@link DockStation}s themselves are
+	 * always rebuilt.
+	 * @param incremental whether to skip unchanged roots and children, the default value is <code>false</code>
+	 */
+	public void setIncremental( boolean incremental ){
+		this.incremental = incremental;
+	}
+	
+	/**
+	 * Tells whether roots whose layout does not change are skipped.
+	 * @return whether incremental updates are enabled
+	 * @see #setIncremental(boolean)
+	 */
+	public boolean isIncremental(){
+		return incremental;
+	}
+	
 	public boolean setLayout( DockFrontendInternals frontend, Setting setting, boolean entry ) throws IOException, XException{
 		try{
 			updatingFullLayout = true;
@@ -106,16 +159,198 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
         	return false;
         }
         
-        // split up all child parent relations
-        frontend.clean( ignore );
+        Set<String> unchanged = listUnchangedRoots( frontend, situation, access );
+        Set<Dockable> retained = listRetainedChildren( frontend, situation, access, unchanged );
+        if( !unchanged.isEmpty() || !retained.isEmpty() ){
+        	ignore = new IncrementalIgnore( frontend, ignore, unchanged, retained );
+        }
         
-        // apply the new layout
-        applyLayout( frontend, situation, access, entry );
-        applyInvisibleLayout( frontend, situation, access );
+        try{
+        	unchangedRoots = unchanged;
+        	retainedChildren = retained;
+        	
+	        // split up all child parent relations
+	        frontend.clean( ignore );
+	        
+	        // apply the new layout
+	        applyLayout( frontend, situation, access, entry );
+	        applyInvisibleLayout( frontend, situation, access );
+	        
+	        rememberAppliedLayouts( frontend, situation );
+        }
+        finally{
+        	unchangedRoots = Collections.emptySet();
+        	retainedChildren = Collections.emptySet();
+        	targets.clear();
+        }
         
         return true;
 	}
 	
+	/**
+	 * Searches all the roots of <code>frontend</code> whose current layout is equal to the layout that is stored
+	 * in <code>setting</code>, or whose layout did not change since the same layout was applied the last time.
+	 * These roots are neither cleaned nor updated while the new layout is applied. 
+	 * @param frontend the caller of this method
+	 * @param situation the situation that will convert the layout
+	 * @param setting the new layout
+	 * @return the names of the roots that do not change, may be empty, not <code>null</code>
+	 */
+	protected Set<String> listUnchangedRoots( DockFrontendInternals frontend, DockSituation situation, SettingAccess setting ){
+		if( !incremental ){
+			return Collections.emptySet();
+		}
+		
+		Set<String> result = new HashSet<String>();
+		for( RootInfo info : frontend.getRoots() ){
+			DockLayoutComposition layout = setting.getRoot( info.getName() );
+			if( layout != null ){
+				try{
+					byte[] newData = fingerprint( situation, situation.fillMissing( layout ) );
+					targets.put( info.getName(), newData );
+					
+					DockLayoutComposition current = situation.convert( info.getStation() );
+					if( current != null ){
+						byte[] currentData = fingerprint( situation, current );
+						if( Arrays.equals( currentData, newData )){
+							result.add( info.getName() );
+						}
+						else{
+							AppliedLayout applied = appliedLayouts.get( info.getStation() );
+							if( applied != null && Arrays.equals( applied.layout, newData ) && Arrays.equals( applied.result, currentData )){
+								result.add( info.getName() );
+							}
+						}
+					}
+				}
+				catch( IOException e ){
+					// the layouts cannot be compared, the root is treated as changed
+				}
+				catch( XException e ){
+					// the layouts cannot be compared, the root is treated as changed
+				}
+				catch( IllegalArgumentException e ){
+					// some factory is missing, the root is treated as changed
+				}
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Searches all the {@link Dockable}s which are children of a {@link SplitDockStation} or of a {@link StackDockStation}
+	 * and which remain children of the same station once <code>setting</code> is applied. These dockables are not
+	 * removed while the new layout is applied, they are only moved by their parent. Only stations and dockables that
+	 * are known to <code>frontend</code> are considered, and only dockables that are not stations themselves.
+	 * @param frontend the caller of this method
+	 * @param situation the situation that will convert the layout
+	 * @param setting the new layout
+	 * @param unchangedRoots the roots that are not updated at all
+	 * @return the dockables that stay where they are, may be empty, not <code>null</code>
+	 */
+	protected Set<Dockable> listRetainedChildren( DockFrontendInternals frontend, DockSituation situation, SettingAccess setting, Set<String> unchangedRoots ){
+		if( !incremental ){
+			return Collections.emptySet();
+		}
+		
+		Map<String, DockElement> elements = new HashMap<String, DockElement>();
+		for( RootInfo info : frontend.getRoots() ){
+			elements.put( DockFrontend.ROOT_KEY_PREFIX + info.getName(), info.getStation() );
+		}
+		for( DockInfo info : frontend.getDockables() ){
+			if( info.getDockable() != null && shouldPredefine( info.getDockable() )){
+				elements.put( DockFrontend.DOCKABLE_KEY_PREFIX + info.getKey(), info.getDockable() );
+			}
+		}
+		
+		Map<String, String> parents = new HashMap<String, String>();
+		for( RootInfo info : frontend.getRoots() ){
+			if( !unchangedRoots.contains( info.getName() )){
+				DockLayoutComposition layout = setting.getRoot( info.getName() );
+				if( layout != null ){
+					listParents( situation, layout, parents );
+				}
+			}
+		}
+		
+		Set<Dockable> result = new HashSet<Dockable>();
+		for( Map.Entry<String, String> entry : parents.entrySet() ){
+			DockElement child = elements.get( entry.getKey() );
+			DockElement parent = elements.get( entry.getValue() );
+			if( child != null && parent != null ){
+				Dockable dockable = child.asDockable();
+				DockStation station = parent.asDockStation();
+				if( dockable != null && dockable.asDockStation() == null && station != null && dockable.getDockParent() == station ){
+					if( station instanceof SplitDockStation || station instanceof StackDockStation ){
+						result.add( dockable );
+					}
+				}
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Stores for each predefined element in <code>composition</code> the identifier of its predefined parent.
+	 * @param situation the situation that knows the identifiers
+	 * @param composition the layout to search
+	 * @param parents the map to fill, the keys are children, the values are parents
+	 */
+	private void listParents( DockSituation situation, DockLayoutComposition composition, Map<String, String> parents ){
+		if( composition.isIgnoreChildren() ){
+			return;
+		}
+		String parent = situation.getIdentifier( composition );
+		for( DockLayoutComposition child : composition.getChildren() ){
+			String key = situation.getIdentifier( child );
+			if( parent != null && key != null ){
+				parents.put( key, parent );
+			}
+			listParents( situation, child, parents );
+		}
+	}
+	
+	/**
+	 * Stores the layouts that were just applied to the roots, and the layouts the roots report now. 
+	 * @param frontend the caller of this method
+	 * @param situation the situation that converted the layout
+	 */
+	private void rememberAppliedLayouts( DockFrontendInternals frontend, DockSituation situation ){
+		for( RootInfo info : frontend.getRoots() ){
+			byte[] layout = targets.get( info.getName() );
+			if( layout != null && !unchangedRoots.contains( info.getName() )){
+				appliedLayouts.remove( info.getStation() );
+				try{
+					DockLayoutComposition current = situation.convert( info.getStation() );
+					if( current != null ){
+						appliedLayouts.put( info.getStation(), new AppliedLayout( layout, fingerprint( situation, current ) ) );
+					}
+				}
+				catch( IOException e ){
+					// the root is treated as changed the next time
+				}
+				catch( IllegalArgumentException e ){
+					// the root is treated as changed the next time
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Writes <code>composition</code> into a byte array, two compositions with the same array describe the same layout.
+	 * @param situation the situation used to write the composition
+	 * @param composition the composition to write
+	 * @return the binary representation of <code>composition</code>
+	 * @throws IOException if <code>composition</code> cannot be written
+	 */
+	private byte[] fingerprint( DockSituation situation, DockLayoutComposition composition ) throws IOException{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream( bytes );
+		situation.writeComposition( composition, out );
+		out.flush();
+		return bytes.toByteArray();
+	}
+	
 	/**
 	 * Creates a wrapper around <code>setting</code> that allows the algorithm of this 
 	 * {@link LayoutChangeStrategy} to access the setting.
@@ -164,6 +399,11 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
                 return true;
             }
             
+            @Override
+            protected boolean shouldDetach( Dockable dockable, DockLayoutComposition composition ){
+            	return !retainedChildren.contains( dockable );
+            }
+            
             @Override
             protected boolean shouldLayout( PerspectiveElement element, PredefinedPerspective perspective ) {
             	if( entry ){
@@ -278,7 +518,8 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
     /**
      * Applies the layout described in <code>setting</code> to the visible elements. 
      * This implementation tries to estimate the location of missing dockables using
-     * {@link #listEstimateLocations(DockSituation, DockLayoutComposition)}. 
+     * {@link #listEstimateLocations(DockSituation, DockLayoutComposition)}. Roots that
+     * were found by {@link #listUnchangedRoots(DockFrontendInternals, DockSituation, SettingAccess)} are skipped.
      * @param frontend the caller of this method
      * @param situation used to convert the layout
      * @param setting the new layout
@@ -291,6 +532,10 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
     	MissingDockableStrategy missingDockable = frontend.getMissingDockableStrategy();
     	
     	for( RootInfo info : frontend.getRoots() ){
+    		if( unchangedRoots.contains( info.getName() )){
+    			continue;
+    		}
+    		
             DockLayoutComposition layout = setting.getRoot( info.getName() );
             if( layout != null ){
                 layout = situation.fillMissing( layout );
@@ -625,4 +870,65 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
             setting.fillMissing( situation );
         }
     }
+    
+    /**
+     * The binary form of a layout that was applied to a root station, and the binary form of
+     * the layout the station reported afterwards.
+     * @author Benjamin Sigg
+     */
+    private static class AppliedLayout{
+    	private byte[] layout;
+    	private byte[] result;
+    	
+    	public AppliedLayout( byte[] layout, byte[] result ){
+    		this.layout = layout;
+    		this.result = result;
+    	}
+    }
+    
+    /**
+     * A {@link DockSituationIgnore} that ignores the root stations whose layout does not change and the
+     * children that remain on their parent,
+     * and otherwise forwards all calls to another {@link DockSituationIgnore}.
+     * @author Benjamin Sigg
+     */
+    private static class IncrementalIgnore implements DockSituationIgnore{
+    	private DockSituationIgnore delegate;
+    	private Set<DockStation> roots = new HashSet<DockStation>();
+    	private Set<Dockable> retained;
+    	
+    	public IncrementalIgnore( DockFrontendInternals frontend, DockSituationIgnore delegate, Set<String> unchanged, Set<Dockable> retained ){
+    		this.delegate = delegate;
+    		this.retained = retained;
+    		for( RootInfo info : frontend.getRoots() ){
+    			if( unchanged.contains( info.getName() )){
+    				roots.add( info.getStation() );
+    			}
+    		}
+    	}
+    	
+    	public boolean ignoreElement( DockElement element ){
+    		DockStation station = element.asDockStation();
+    		if( station != null && roots.contains( station )){
+    			return true;
+    		}
+    		Dockable dockable = element.asDockable();
+    		if( dockable != null && retained.contains( dockable )){
+    			return true;
+    		}
+    		return delegate.ignoreElement( element );
+    	}
+    	
+    	public boolean ignoreChildren( DockStation station ){
+    		return delegate.ignoreChildren( station );
+    	}
+    	
+    	public boolean ignoreElement( PerspectiveElement element ){
+    		return delegate.ignoreElement( element );
+    	}
+    	
+    	public boolean ignoreChildren( PerspectiveStation station ){
+    		return delegate.ignoreChildren( station );
+    	}
+    }
 }
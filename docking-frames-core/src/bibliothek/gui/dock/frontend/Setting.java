@@ -35,6 +35,8 @@ import bibliothek.gui.dock.layout.*;
 import bibliothek.util.Version;
 import bibliothek.util.xml.XAttribute;
 import bibliothek.util.xml.XElement;
+import bibliothek.util.xml.XElementReader;
+import bibliothek.util.xml.XElementWriter;
 import bibliothek.util.xml.XException;
 
 
@@ -256,6 +258,61 @@ public class Setting{
         }
     }
     
+    /**
+     * Writes the properties of this setting in xml format. The output is the same as the output of
+     * {@link #writeXML(DockSituation, PropertyTransformer, boolean, XElement)}, but the layouts are written
+     * directly into <code>out</code>. Subclasses overriding {@link #writeXML(DockSituation, PropertyTransformer, boolean, XElement)}
+     * should override this method as well.
+     * @param situation can be used to write {@link DockLayout}s
+     * @param transformer can be used to write {@link DockableProperty}s
+     * @param entry if <code>true</code>, then this setting is used as one of
+     * the settings a user can choose. If <code>false</code> then this setting
+     * is used as the final setting that is written when the application
+     * shuts down.
+     * @param out the writer to write into, the attributes of the currently open element are not changed
+     * @throws IOException if an I/O-error occurs
+     */
+    public void writeXML( DockSituation situation, PropertyTransformer transformer, boolean entry, XElementWriter out ) throws IOException{
+        out.start( "roots" );
+        for( String root : getRootKeys() ){
+            out.start( "root" );
+            out.addString( "name", root );
+            situation.writeCompositionXML( getRoot( root ), out );
+            out.end();
+        }
+        out.end();
+        
+        out.start( "children" );
+        for( int i = 0, n = getInvisibleCount(); i<n; i++ ){
+            out.start( "child" );
+            out.addString( "key", getInvisibleKey( i ) );
+            String root = getInvisibleRoot( i );
+            if( root != null ){
+                out.addString( "root", root );
+            }
+            
+            DockableProperty location = getInvisibleLocation( i );
+            if( location == null ){
+                out.addBoolean( "location", false );
+            }
+            else{
+                out.addBoolean( "location", true );
+                XElement xlocation = new XElement( "location" );
+                transformer.writeXML( location, xlocation );
+                out.write( xlocation );
+            }
+            
+            DockLayoutComposition layout = getInvisibleLayout( i );
+            if( layout != null ){
+                out.start( "layout" );
+                situation.writeCompositionXML( layout, out );
+                out.end();
+            }
+            out.end();
+        }
+        out.end();
+    }
+    
     /**
      * Reads the properties of this setting. Old properties are deleted without
      * further notice.
@@ -391,6 +448,96 @@ public class Setting{
         }
     }
     
+    /**
+     * Reads the properties of this setting from the element to which <code>in</code> currently points.
+     * This method reads the same format as {@link #readXML(DockSituation, PropertyTransformer, boolean, XElement)},
+     * but only the layout of one {@link bibliothek.gui.dock.DockElement} at a time is held in memory. Subclasses
+     * overriding {@link #readXML(DockSituation, PropertyTransformer, boolean, XElement)} should override this method as well.
+     * @param situation can be used to read {@link DockLayout}s
+     * @param transformer can be used to read {@link DockableProperty}s
+     * @param entry if <code>true</code>, then this setting is used as one of
+     * the settings a user can choose. If <code>false</code> then this setting
+     * is used as the first setting that is read when the application
+     * starts up.
+     * @param in the cursor pointing to the element to read, the element must neither be entered nor read
+     * @throws IOException if an I/O-error occurs or the file is malformed
+     */
+    public void readXML( DockSituation situation, PropertyTransformer transformer, boolean entry, XElementReader in ) throws IOException{
+        roots.clear();
+        dockables.clear();
+        
+        in.enter();
+        while( in.next() ){
+            String name = in.getName();
+            if( name.equals( "roots" )){
+                in.enter();
+                while( in.next() ){
+                    if( in.getName().equals( "root" )){
+                        String root = in.getString( "name" );
+                        DockLayoutComposition composition = situation.readCompositionXML( in );
+                        if( composition != null ){
+                            putRoot( root, composition );
+                        }
+                    }
+                }
+            }
+            else if( name.equals( "children" )){
+                in.enter();
+                while( in.next() ){
+                    if( in.getName().equals( "child" )){
+                        readInvisibleXML( situation, transformer, in );
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Reads one invisible element from the element to which <code>in</code> currently points.
+     * @param situation used to read {@link DockLayout}s
+     * @param transformer used to read {@link DockableProperty}s
+     * @param in the cursor pointing to the element to read
+     * @throws IOException if an I/O-error occurs or the file is malformed
+     */
+    private void readInvisibleXML( DockSituation situation, PropertyTransformer transformer, XElementReader in ) throws IOException{
+        String key = in.getString( "key" );
+        String root = null;
+        
+        XAttribute aroot = in.getAttribute( "root" );
+        if( aroot != null ){
+            root = aroot.getString();
+        }
+        
+        XAttribute alocation = in.getAttribute( "location" );
+        
+        DockableProperty location = null;
+        DockLayoutComposition layout = null;
+        
+        if( alocation == null ){
+            location = transformer.readXML( in.read() );
+        }
+        else{
+            boolean hasLocation = alocation.getBoolean();
+            boolean locationRead = false;
+            boolean layoutRead = false;
+            
+            in.enter();
+            while( in.next() ){
+                String name = in.getName();
+                if( name.equals( "location" ) && hasLocation && !locationRead ){
+                    locationRead = true;
+                    location = transformer.readXML( in.read() );
+                }
+                else if( name.equals( "layout" ) && !layoutRead ){
+                    layoutRead = true;
+                    layout = situation.readCompositionXML( in );
+                }
+            }
+        }
+        
+        addInvisible( key, root, layout, location );
+    }
+    
     /**
      * Describes the location of an invisible element.
      * @author Benjamin Sigg
@@ -0,0 +1,188 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.layout;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link DataInputStream} used by the {@link DockSituation} to read layouts that were written
+ * by a {@link CompactLayoutOutputStream}.
+ * @author Benjamin Sigg
+ */
+class CompactLayoutInputStream extends DataInputStream{
+	/** all the strings that were read so far */
+	private List<String> dictionary = new ArrayList<String>();
+	
+	/**
+	 * Creates a new stream.
+	 * @param in the stream to read from
+	 */
+	public CompactLayoutInputStream( InputStream in ){
+		super( in );
+	}
+	
+	/**
+	 * Reads an integer that was written by {@link CompactLayoutOutputStream#writeVarInt(int)}.
+	 * @return the value that was read
+	 * @throws IOException if an I/O-error occurs or if the data is malformed
+	 */
+	public int readVarInt() throws IOException{
+		return readVarInt( this );
+	}
+	
+	/**
+	 * Reads an integer that was written by {@link CompactLayoutOutputStream#writeVarInt(DataOutputStream, int)}.
+	 * @param in the stream to read from
+	 * @return the value that was read
+	 * @throws IOException if an I/O-error occurs or if the data is malformed
+	 */
+	public static int readVarInt( DataInputStream in ) throws IOException{
+		int result = 0;
+		for( int shift = 0; shift < 35; shift += 7 ){
+			int next = in.readUnsignedByte();
+			result |= (next & 0x7F) << shift;
+			if( (next & 0x80) == 0 ){
+				if( result < 0 ){
+					throw new IOException( "malformed integer" );
+				}
+				return result;
+			}
+		}
+		throw new IOException( "malformed integer" );
+	}
+	
+	/**
+	 * Creates a stream that reads exactly <code>length</code> bytes from <code>in</code>. Closing the
+	 * new stream skips any bytes that were not yet read, but does not close <code>in</code>.
+	 * @param in the stream to read from
+	 * @param length the number of bytes that belong to the section
+	 * @return the new stream
+	 */
+	public static InputStream section( InputStream in, int length ){
+		return new Section( in, length );
+	}
+	
+	/**
+	 * Reads a string that was written by {@link CompactLayoutOutputStream#writeString(String)}.
+	 * @return the string, can be <code>null</code>
+	 * @throws IOException if an I/O-error occurs or if the data is malformed
+	 */
+	public String readString() throws IOException{
+		int index = readVarInt();
+		if( index == 0 ){
+			return null;
+		}
+		int size = dictionary.size();
+		if( index <= size ){
+			return dictionary.get( index-1 );
+		}
+		if( index == size+1 ){
+			String value = readUTF();
+			dictionary.add( value );
+			return value;
+		}
+		throw new IOException( "unknown string: " + index );
+	}
+	
+	/**
+	 * A stream reading a limited number of bytes from another stream.
+	 * @author Benjamin Sigg
+	 */
+	private static class Section extends FilterInputStream{
+		/** how many bytes are left in this section */
+		private int remaining;
+		
+		/**
+		 * Creates a new section.
+		 * @param in the stream to read from
+		 * @param length the number of bytes that belong to the section
+		 */
+		public Section( InputStream in, int length ){
+			super( in );
+			this.remaining = length;
+		}
+		
+		@Override
+		public int read() throws IOException{
+			if( remaining <= 0 ){
+				return -1;
+			}
+			int result = in.read();
+			if( result < 0 ){
+				throw new EOFException();
+			}
+			remaining--;
+			return result;
+		}
+		
+		@Override
+		public int read( byte[] b, int off, int len ) throws IOException{
+			if( remaining <= 0 ){
+				return -1;
+			}
+			int result = in.read( b, off, Math.min( len, remaining ) );
+			if( result < 0 ){
+				throw new EOFException();
+			}
+			remaining -= result;
+			return result;
+		}
+		
+		@Override
+		public long skip( long n ) throws IOException{
+			long result = in.skip( Math.min( n, remaining ) );
+			remaining -= result;
+			return result;
+		}
+		
+		@Override
+		public int available() throws IOException{
+			return Math.min( in.available(), remaining );
+		}
+		
+		@Override
+		public boolean markSupported(){
+			return false;
+		}
+		
+		@Override
+		public void close() throws IOException{
+			while( remaining > 0 ){
+				if( skip( remaining ) <= 0 ){
+					if( read() < 0 ){
+						throw new EOFException();
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.layout;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link DataOutputStream} used by the {@link DockSituation} to write layouts in the compact binary
+ * format. This stream offers variable length integers and a dictionary of {@link String}s: a string
+ * is written only the first time it is used, afterwards only its index is written.
+ * @author Benjamin Sigg
+ * @see CompactLayoutInputStream
+ */
+class CompactLayoutOutputStream extends DataOutputStream{
+	/** all the strings that were written so far, and their index */
+	private Map<String, Integer> dictionary = new HashMap<String, Integer>();
+	
+	/**
+	 * Creates a new stream.
+	 * @param out the stream to write into
+	 */
+	public CompactLayoutOutputStream( OutputStream out ){
+		super( out );
+	}
+	
+	/**
+	 * Writes a non-negative integer using 1 to 5 bytes, small numbers require fewer bytes.
+	 * @param value the value to write, must not be negative
+	 * @throws IOException if an I/O-error occurs
+	 */
+	public void writeVarInt( int value ) throws IOException{
+		if( value < 0 ){
+			throw new IllegalArgumentException( "value must not be negative: " + value );
+		}
+		writeVarInt( this, value );
+	}
+	
+	/**
+	 * Writes a non-negative integer using 1 to 5 bytes into <code>out</code>.
+	 * @param out the stream to write into
+	 * @param value the value to write, must not be negative
+	 * @throws IOException if an I/O-error occurs
+	 */
+	public static void writeVarInt( DataOutputStream out, int value ) throws IOException{
+		while( (value & ~0x7F) != 0 ){
+			out.writeByte( (value & 0x7F) | 0x80 );
+			value >>>= 7;
+		}
+		out.writeByte( value );
+	}
+	
+	/**
+	 * Writes <code>value</code>, if <code>value</code> was written before, then only its index
+	 * in the dictionary is written.
+	 * @param value the value to write, can be <code>null</code>
+	 * @throws IOException if an I/O-error occurs
+	 */
+	public void writeString( String value ) throws IOException{
+		if( value == null ){
+			writeVarInt( 0 );
+		}
+		else{
+			Integer index = dictionary.get( value );
+			if( index == null ){
+				int size = dictionary.size();
+				dictionary.put( value, size );
+				writeVarInt( size+1 );
+				writeUTF( value );
+			}
+			else{
+				writeVarInt( index.intValue()+1 );
+			}
+		}
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.layout;
+
+import java.awt.EventQueue;
+
+import bibliothek.gui.dock.DockFactory;
+import bibliothek.gui.dock.station.support.PlaceholderStrategy;
+
+/**
+ * An interface for {@link DockFactory}s and {@link AdjacentDockFactory}s whose <code>read</code> methods 
+ * can be called by any thread if {@link #isConcurrent()} returns <code>true</code>. These methods must only
+ * parse their input, they must neither access any {@link java.awt.Component} nor any other object that is
+ * not thread safe.<br>
+ * A {@link DockSituation} that is {@link DockSituation#setConcurrentReading(boolean) reading concurrently} uses
+ * only factories whose {@link #isConcurrent()} method returns <code>true</code>. The data of all other factories
+ * is kept in its raw form and read later by {@link DockSituation#fillMissing(DockLayoutComposition)}, which usually
+ * is called on the {@link EventQueue dispatch thread}.<br>
+ * A {@link PlaceholderStrategy} is usually not thread safe, hence the factories are only called outside the
+ * dispatch thread if the {@link DockSituation#getIntermediatePlaceholders() intermediate strategy} is <code>null</code>.
+ * A factory reading concurrently therefore always gets <code>null</code> as {@link PlaceholderStrategy}.
+ * @author Benjamin Sigg
+ */
+public interface ConcurrentDockFactory {
+	/**
+	 * Tells whether the <code>read</code> methods of this factory can be called by any thread. A subclass
+	 * of a thread safe factory may override the <code>read</code> methods with code that is not thread safe,
+	 * hence implementations should only return <code>true</code> for their exact class, e.g. by checking
+	 * <code>getClass() == MyFactory.class</code>. Subclasses that are thread safe as well have to override
+	 * this method.
+	 * @return whether the <code>read</code> methods are thread safe
+	 */
+	public boolean isConcurrent();
+}
@@ -26,6 +26,7 @@
 
 package bibliothek.gui.dock.layout;
 
+import java.awt.EventQueue;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
@@ -37,6 +38,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
@@ -55,7 +58,10 @@ import bibliothek.gui.dock.station.screen.ScreenDockStationFactory;
 import bibliothek.gui.dock.station.split.SplitDockStationFactory;
 import bibliothek.gui.dock.station.stack.StackDockStationFactory;
 import bibliothek.gui.dock.station.support.PlaceholderStrategy;
+import bibliothek.gui.dock.util.DockSwingUtilities;
 import bibliothek.gui.dock.util.DockUtilities;
+import bibliothek.gui.dock.util.PropertyKey;
+import bibliothek.gui.dock.util.property.ConstantPropertyFactory;
 import bibliothek.gui.dock.util.extension.ExtensionManager;
 import bibliothek.gui.dock.util.extension.ExtensionName;
 import bibliothek.util.Path;
@@ -65,6 +71,8 @@ import bibliothek.util.Todo.Compatibility;
 import bibliothek.util.Todo.Priority;
 import bibliothek.util.xml.XAttribute;
 import bibliothek.util.xml.XElement;
+import bibliothek.util.xml.XElementReader;
+import bibliothek.util.xml.XElementWriter;
 import bibliothek.util.xml.XException;
 
 /**
@@ -83,6 +91,26 @@ public class DockSituation {
 	/** Name of a parameter of an {@link ExtensionName} pointing to <code>this</code> */
 	public static final String EXTENSION_PARAM = "situation";
 	
+	/** 
+	 * Whether {@link DockSituation}s created with a {@link DockController} use the compact binary format
+	 * to write layouts, see {@link #setCompactFormat(boolean)}. The default value is <code>false</code>.
+	 */
+	public static final PropertyKey<Boolean> COMPACT_BINARY_FORMAT = new PropertyKey<Boolean>( "dock.layout.compactBinaryFormat",
+			new ConstantPropertyFactory<Boolean>( false ), true );
+	
+	/**
+	 * Whether {@link DockSituation}s created with a {@link DockController} compress layouts that are written
+	 * in the compact binary format, see {@link #setCompressedFormat(boolean)}. The default value is <code>false</code>.
+	 */
+	public static final PropertyKey<Boolean> COMPRESSED_BINARY_FORMAT = new PropertyKey<Boolean>( "dock.layout.compressedBinaryFormat",
+			new ConstantPropertyFactory<Boolean>( false ), true );
+	
+	/**
+	 * The version written in front of layouts that use the compact binary format. This version is independent
+	 * of {@link Version#CURRENT}, older versions of this library reject it as a version "from the future".
+	 */
+	public static final Version COMPACT_FORMAT_VERSION = new Version( 1, 1, 2, "compact" );
+	
     /** the factories used to create new {@link DockElement elements}*/
     private Map<String, DockFactory<?,?,?>> factories = new HashMap<String, DockFactory<?,?,?>>();
 
@@ -103,6 +131,15 @@ public class DockSituation {
     
     /** strategy used to filter placeholders when converting the intermediate format to real {@link DockElement}s */
     private PlaceholderStrategy placeholders;
+    
+    /** whether {@link #writeComposition(DockLayoutComposition, DataOutputStream)} uses the compact binary format */
+    private boolean compactFormat = false;
+    
+    /** whether the compact binary format is compressed */
+    private boolean compressedFormat = false;
+    
+    /** whether only {@link ConcurrentDockFactory#isConcurrent() concurrent} factories are used to read layouts */
+    private boolean concurrentReading = false;
 
     /**
      * Constructs a new DockSituation and sets some factories which are
@@ -140,6 +177,9 @@ public class DockSituation {
         for( AdjacentDockFactory<?> factory : adjacent ){
         	addAdjacent( factory );
         }
+        
+        setCompactFormat( controller.getProperties().get( COMPACT_BINARY_FORMAT ) );
+        setCompressedFormat( controller.getProperties().get( COMPRESSED_BINARY_FORMAT ) );
     }
 
     /**
@@ -164,6 +204,44 @@ public class DockSituation {
 		};
     }
     
+    /**
+     * Sets whether {@link #writeComposition(DockLayoutComposition, DataOutputStream)} uses the compact binary
+     * format. In the compact format the identifiers of factories and the placeholders are stored only once
+     * and all the numbers are written with a variable length. Layouts written in the compact format cannot be
+     * read by older versions of this library. {@link #readComposition(DataInputStream)} always reads both formats.
+     * @param compactFormat whether to use the compact format
+     */
+    public void setCompactFormat( boolean compactFormat ){
+		this.compactFormat = compactFormat;
+	}
+    
+    /**
+     * Tells whether the compact binary format is used to write layouts.
+     * @return whether the compact format is used
+     * @see #setCompactFormat(boolean)
+     */
+    public boolean isCompactFormat(){
+		return compactFormat;
+	}
+    
+    /**
+     * Sets whether layouts written in the {@link #setCompactFormat(boolean) compact format} are compressed
+     * using the deflate algorithm. This property has no effect if the compact format is not used.
+     * @param compressedFormat whether to compress the layouts
+     */
+    public void setCompressedFormat( boolean compressedFormat ){
+		this.compressedFormat = compressedFormat;
+	}
+    
+    /**
+     * Tells whether layouts written in the compact format are compressed.
+     * @return whether the layouts are compressed
+     * @see #setCompressedFormat(boolean)
+     */
+    public boolean isCompressedFormat(){
+		return compressedFormat;
+	}
+    
     /**
      * Sets a filter which decides, which elements (stations and dockables)
      * are stored.
@@ -181,6 +259,43 @@ public class DockSituation {
         return ignore;
     }
     
+    /**
+     * Sets whether this situation is used to read layouts by a thread other than the 
+     * {@link EventQueue dispatch thread}. If set, then only {@link ConcurrentDockFactory#isConcurrent() concurrent} factories are
+     * used while reading. The data of all other {@link DockFactory}s, and of the {@link #getMissingFactory() missing factory},
+     * is kept in its raw form, and needs to be read by calling {@link #fillMissing(DockLayoutComposition)} on the
+     * dispatch thread later. {@link AdjacentDockFactory}s that are not thread safe are called on the dispatch
+     * thread, the reading thread waits for them.<br>
+     * {@link #fillMissing(DockLayoutComposition)} always uses all the factories, regardless of this setting.
+     * @param concurrentReading whether reading happens in a background thread
+     */
+    public void setConcurrentReading( boolean concurrentReading ){
+		this.concurrentReading = concurrentReading;
+	}
+    
+    /**
+     * Tells whether only thread safe factories are used for reading layouts.
+     * @return whether reading happens in a background thread
+     * @see #setConcurrentReading(boolean)
+     */
+    public boolean isConcurrentReading(){
+		return concurrentReading;
+	}
+    
+    /**
+     * Tells whether <code>factory</code> can be used to read a layout right now.
+     * @param factory some {@link DockFactory}, {@link AdjacentDockFactory} or {@link MissingDockFactory}
+     * @return <code>true</code> if <code>factory</code> can be called by the current thread
+     * @see #setConcurrentReading(boolean)
+     */
+    protected boolean isReadable( Object factory ){
+    	if( !concurrentReading || EventQueue.isDispatchThread() ){
+    		return true;
+    	}
+    	// a PlaceholderStrategy usually is not thread safe, it must only be called on the dispatch thread
+    	return factory instanceof ConcurrentDockFactory && ((ConcurrentDockFactory)factory).isConcurrent() && intermediatePlaceholders == null;
+    }
+    
     /**
      * Sets a strategy for deleting invalid placeholders.
      * @param placeholders the strategy, <code>null</code> for keeping all placeholders
@@ -392,7 +507,7 @@ public class DockSituation {
                     Dockable dockable = child.asDockable();
                     if( dockable != null ){
                         children.put( index, dockable );
-                        if( dockable.getDockParent() != null ){
+                        if( dockable.getDockParent() != null && shouldDetach( dockable, composition ) ){
                         	dockable.getDockParent().drag( dockable );
                         }
                     }
@@ -434,8 +549,29 @@ public class DockSituation {
      * @throws IOException if an I/O-error occurs
      */
     public void writeComposition( DockLayoutComposition composition, DataOutputStream out ) throws IOException{
-        Version.write( out, Version.VERSION_1_0_8 );
-        writeCompositionStream( composition, out );
+    	if( compactFormat ){
+    		Version.write( out, COMPACT_FORMAT_VERSION );
+    		out.writeBoolean( compressedFormat );
+    		if( compressedFormat ){
+    			ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    			DeflaterOutputStream zout = new DeflaterOutputStream( bout );
+    			CompactLayoutOutputStream cout = new CompactLayoutOutputStream( zout );
+    			writeCompactStream( composition, cout );
+    			cout.close();
+    			
+    			CompactLayoutOutputStream.writeVarInt( out, bout.size() );
+    			bout.writeTo( out );
+    		}
+    		else{
+    			CompactLayoutOutputStream cout = new CompactLayoutOutputStream( out );
+    			writeCompactStream( composition, cout );
+    			cout.flush();
+    		}
+    	}
+    	else{
+    		Version.write( out, Version.VERSION_1_0_8 );
+    		writeCompositionStream( composition, out );
+    	}
     }
 
     /**
@@ -520,16 +656,172 @@ public class DockSituation {
     }
 
     /**
-     * Reads one {@link DockLayoutComposition} and all its children.
+     * Writes the contents of <code>composition</code> and all its children
+     * to <code>out</code> using the compact binary format.
+     * @param composition the composition to write
+     * @param out the stream to write into
+     * @throws IOException if an I/O-error occurs
+     */
+    @SuppressWarnings("unchecked")
+    private void writeCompactStream( DockLayoutComposition composition, CompactLayoutOutputStream out ) throws IOException{
+        DockLayoutInfo info = composition.getLayout();
+        
+        // placeholder
+        Path placeholder = info.getPlaceholder();
+        out.writeString( placeholder == null ? null : placeholder.toString() );
+        
+        if( info.getKind() == DockLayoutInfo.Data.BYTE ){
+        	// data, the entry was stored in the old format
+        	DataInputStream entryIn = new DataInputStream( new ByteArrayInputStream( info.getDataByte() ) );
+        	out.writeString( entryIn.readUTF() );
+        	int count = entryIn.readInt();
+        	out.writeVarInt( count );
+        	byte[] data = new byte[ count ];
+        	entryIn.readFully( data );
+        	out.write( data );
+        }
+        else if( info.getKind() == DockLayoutInfo.Data.DOCK_LAYOUT ){
+            DockLayout<?> layout = info.getDataLayout();
+            DockFactory<DockElement,?,Object> factory = (DockFactory<DockElement,?,Object>)getFactory( layout.getFactoryID() );
+            if( factory == null )
+                throw new IOException( "Missing factory: " + layout.getFactoryID() );
+            
+            // factory
+            out.writeString( getID( factory ) );
+            
+            // contents
+            ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            DataOutputStream dout = new DataOutputStream( bout );
+            factory.write( layout.getData(), dout );
+            dout.close();
+
+            out.writeVarInt( bout.size() );
+            bout.writeTo( out );
+        }
+        else{
+            // there is nothing to write...
+            throw new IllegalArgumentException( "Cannot store layout in stream: it was never translated and its raw format is not a byte stream" );
+        }
+
+        // adjacent
+        List<DockLayout<?>> adjacentLayouts = composition.getAdjacent();
+        if( adjacentLayouts == null ){
+            out.writeVarInt( 0 );
+        }
+        else{
+            out.writeVarInt( adjacentLayouts.size() );
+            for( DockLayout<?> adjacentLayout : adjacentLayouts ){
+                AdjacentDockFactory<Object> adjacentFactory = (AdjacentDockFactory<Object>)getAdjacentFactory( adjacentLayout.getFactoryID() );
+                if( adjacentFactory == null )
+                    throw new IOException( "Missing adjacent factory: " + adjacentLayout.getFactoryID() );
+
+                ByteArrayOutputStream adjacentBOut = new ByteArrayOutputStream();
+                DataOutputStream adjacentOut = new DataOutputStream( adjacentBOut );
+                adjacentFactory.write( adjacentLayout.getData(), adjacentOut );
+                adjacentOut.close();
+
+                out.writeString( getAdjacentID( adjacentFactory ) );
+                out.writeVarInt( adjacentBOut.size() );
+                adjacentBOut.writeTo( out );
+            }
+        }
+
+        // ignore
+        out.writeBoolean( composition.isIgnoreChildren() );
+
+        // children
+        List<DockLayoutComposition> children = composition.getChildren();
+        out.writeVarInt( children.size() );
+        for( DockLayoutComposition child : children ){
+            writeCompactStream( child, out );
+        }
+    }
+    
+    /**
+     * Reads one {@link DockLayoutComposition} and all its children. This method reads the
+     * compact binary format as well as the older formats.
      * @param in the stream to read from
      * @return the new composition or <code>null</code> if the factory was missing
      * @throws IOException if an I/O-error occurs
      */
     public DockLayoutComposition readComposition( DataInputStream in ) throws IOException{
         Version version = Version.read( in );
+        
+        if( COMPACT_FORMAT_VERSION.equals( version ) ){
+        	boolean compressed = in.readBoolean();
+        	if( compressed ){
+        		int length = CompactLayoutInputStream.readVarInt( in );
+        		CompactLayoutInputStream cin = new CompactLayoutInputStream( new InflaterInputStream( CompactLayoutInputStream.section( in, length ) ) );
+        		DockLayoutComposition result = readCompactStream( cin );
+        		cin.close();
+        		return result;
+        	}
+        	else{
+        		return readCompactStream( new CompactLayoutInputStream( in ) );
+        	}
+        }
+        
         version.checkCurrent();
         return readCompositionStream( in, version );
     }
+    
+    /**
+     * Reads one {@link DockLayoutComposition} and all its children from a stream that was
+     * written using the compact binary format.
+     * @param in the stream to read from
+     * @return the new composition
+     * @throws IOException if an I/O-error occurs
+     */
+    private DockLayoutComposition readCompactStream( CompactLayoutInputStream in ) throws IOException{
+    	// placeholder
+    	String placeholder = in.readString();
+    	Path entryPlaceholder = placeholder == null ? null : new Path( placeholder );
+    	
+    	// factory, converted into the old format of an entry
+    	String factoryId = in.readString();
+    	if( factoryId == null ){
+    		throw new IOException( "missing factory identifier" );
+    	}
+    	int count = in.readVarInt();
+    	ByteArrayOutputStream bout = new ByteArrayOutputStream( factoryId.length() + 6 );
+    	DataOutputStream dout = new DataOutputStream( bout );
+    	dout.writeUTF( factoryId );
+    	dout.writeInt( count );
+    	dout.close();
+    	
+    	// the payload is read directly into the entry, behind the header
+    	int header = bout.size();
+    	byte[] entry = new byte[ header + count ];
+    	System.arraycopy( bout.toByteArray(), 0, entry, 0, header );
+    	in.readFully( entry, header, count );
+    	
+    	DockLayoutInfo info = readEntry( entry, entryPlaceholder );
+    	
+    	// adjacent
+    	List<DockLayout<?>> adjacentLayouts = null;
+    	int layoutCount = in.readVarInt();
+    	if( layoutCount > 0 ){
+    		adjacentLayouts = new ArrayList<DockLayout<?>>( layoutCount );
+    		for( int i = 0; i < layoutCount; i++ ){
+    			String adjacentFactoryId = in.readString();
+    			int adjacentCount = in.readVarInt();
+    			readAdjacentStream( in, adjacentFactoryId, adjacentCount, adjacentLayouts );
+    		}
+    	}
+    	
+        // ignore
+        boolean ignore = in.readBoolean();
+
+        // children
+        int childCount = in.readVarInt();
+        List<DockLayoutComposition> children = new ArrayList<DockLayoutComposition>( childCount );
+        for( int i = 0; i < childCount; i++ ){
+            children.add( readCompactStream( in ) );
+        }
+
+        // result
+        return new DockLayoutComposition( info, adjacentLayouts, children, ignore );
+    }
 
     /**
      * Reads one {@link DockLayoutComposition} and all its children.
@@ -538,7 +830,6 @@ public class DockSituation {
      * @return the new composition or <code>null</code> if the factory was missing
      * @throws IOException if an I/O-error occurs
      */
-    @SuppressWarnings("unchecked")
     private DockLayoutComposition readCompositionStream( DataInputStream in, Version version ) throws IOException{
         // factory
     	Path entryPlaceholder = null;
@@ -563,35 +854,7 @@ public class DockSituation {
                 for( int i = 0; i < layoutCount; i++ ){
                     String adjacentFactoryId = in.readUTF();
                     int adjacentCount = in.readInt();
-                    AdjacentDockFactory<Object> adjacentFactory = (AdjacentDockFactory<Object>)getAdjacentFactory( adjacentFactoryId );
-                    if( adjacentFactory == null ){
-                        if( missingAdjacent == null ){
-                            // skip
-                            while( adjacentCount > 0 ){
-                                int skipped = (int)in.skip( adjacentCount );
-                                if( skipped <= 0 )
-                                    throw new EOFException();
-                                adjacentCount -= skipped;
-                            }
-                        }
-                        else{
-                            DataInputStream din = readBuffer( in, adjacentCount );
-                            Object data = missingAdjacent.read( getAdjacentFactoryID( adjacentFactoryId ), din, adjacentCount );
-                            if( data != null ){
-                                adjacentLayouts.add( new DockLayout<Object>( adjacentFactoryId, data ) );
-                            }
-                            din.close();
-                        }
-                    }
-                    else{
-                        DataInputStream din = readBuffer( in, adjacentCount );
-                        Object data = adjacentFactory.read( din, intermediatePlaceholders );
-                        if( data != null ){
-                            adjacentLayouts.add( new DockLayout<Object>( adjacentFactoryId, data ) );
-                        }
-
-                        din.close();
-                    }
+                    readAdjacentStream( in, adjacentFactoryId, adjacentCount, adjacentLayouts );
                 }
             }
         }
@@ -610,6 +873,70 @@ public class DockSituation {
         return new DockLayoutComposition( info, adjacentLayouts, children, ignore );
     }
 
+    /**
+     * Reads the layout of one {@link AdjacentDockFactory}. If the factory is missing, then
+     * the layout is either given to the {@link #setMissingAdjacentFactory(MissingDockFactory) missing factory}
+     * or skipped.
+     * @param in the stream to read from
+     * @param adjacentFactoryId the unique identifier of the factory
+     * @param adjacentCount the number of bytes that belong to the layout
+     * @param adjacentLayouts the list to which the new layout is added
+     * @throws IOException if an I/O-error occurs
+     */
+    @SuppressWarnings("unchecked")
+    private void readAdjacentStream( DataInputStream in, final String adjacentFactoryId, final int adjacentCount, final List<DockLayout<?>> adjacentLayouts ) throws IOException{
+        AdjacentDockFactory<Object> adjacentFactory = (AdjacentDockFactory<Object>)getAdjacentFactory( adjacentFactoryId );
+        Object reader = adjacentFactory == null ? missingAdjacent : adjacentFactory;
+        if( reader != null && !isReadable( reader )){
+        	final DataInputStream buffer = readBuffer( in, adjacentCount );
+        	final IOException[] failure = new IOException[1];
+        	DockSwingUtilities.invokeAndWait( new Runnable(){
+				public void run(){
+					try{
+						readAdjacentStream( buffer, adjacentFactoryId, adjacentCount, adjacentLayouts );
+					}
+					catch( IOException ex ){
+						failure[0] = ex;
+					}
+				}
+			});
+        	if( failure[0] != null ){
+        		throw failure[0];
+        	}
+        	return;
+        }
+        
+        if( adjacentFactory == null ){
+            if( missingAdjacent == null ){
+                // skip
+                int remaining = adjacentCount;
+                while( remaining > 0 ){
+                    int skipped = (int)in.skip( remaining );
+                    if( skipped <= 0 )
+                        throw new EOFException();
+                    remaining -= skipped;
+                }
+            }
+            else{
+                DataInputStream din = readBuffer( in, adjacentCount );
+                Object data = missingAdjacent.read( getAdjacentFactoryID( adjacentFactoryId ), din, adjacentCount );
+                if( data != null ){
+                    adjacentLayouts.add( new DockLayout<Object>( adjacentFactoryId, data ) );
+                }
+                din.close();
+            }
+        }
+        else{
+            DataInputStream din = readBuffer( in, adjacentCount );
+            Object data = adjacentFactory.read( din, intermediatePlaceholders );
+            if( data != null ){
+                adjacentLayouts.add( new DockLayout<Object>( adjacentFactoryId, data ) );
+            }
+
+            din.close();
+        }
+    }
+    
     /**
      * Tries to read <code>entry</code>. Entry will be read by a {@link DataInputStream},
      * it must start with an utf-String used as id for a {@link DockFactory},
@@ -627,6 +954,12 @@ public class DockSituation {
         String factoryId = entryIn.readUTF();
         
         DockFactory<DockElement,?,Object> factory = (DockFactory<DockElement,?,Object>)getFactory( factoryId );
+        if( factory != null && !isReadable( factory )){
+        	// read later by fillMissing
+        	DockLayoutInfo info = new DockLayoutInfo( entry );
+        	info.setPlaceholder( placeholder );
+        	return info;
+        }
 
         // contents
         DockLayoutInfo info;
@@ -636,7 +969,7 @@ public class DockSituation {
             // try read
             info = null;
 
-            if( missingFactory != null ){
+            if( missingFactory != null && isReadable( missingFactory )){
                 Object data = missingFactory.read( getFactoryID( factoryId ), entryIn, count );
                 entryIn.close();
 
@@ -839,11 +1172,61 @@ public class DockSituation {
      * @param element the element to write into
      * @throws IllegalArgumentException if a factory is missing
      */
-    @SuppressWarnings("unchecked")
     public void writeCompositionXML( DockLayoutComposition composition, XElement element ){
-        DockLayoutInfo info = composition.getLayout();
+        element.addElement( createLayoutXML( composition.getLayout() ) );
+
+        XElement xadjacent = createAdjacentXML( composition.getAdjacent() );
+        if( xadjacent != null ){
+            element.addElement( xadjacent );
+        }
+
+        XElement xchildren = element.addElement( "children" );
+        xchildren.addBoolean( "ignore", composition.isIgnoreChildren() );
+
+        for( DockLayoutComposition child : composition.getChildren() ){
+            XElement xchild = xchildren.addElement( "child" );
+            writeCompositionXML( child, xchild );
+        }
+    }
+
+    /**
+     * Writes the contents of <code>composition</code> into the currently open element of <code>out</code>.
+     * The output is the same as the output of {@link #writeCompositionXML(DockLayoutComposition, XElement)}, but
+     * only the layout of one {@link DockElement} at a time is held in memory.
+     * @param composition the composition to write
+     * @param out the writer to write into, the attributes of the currently open element are not changed
+     * @throws IOException if an I/O-error occurs
+     * @throws IllegalArgumentException if a factory is missing
+     */
+    public void writeCompositionXML( DockLayoutComposition composition, XElementWriter out ) throws IOException{
+        out.write( createLayoutXML( composition.getLayout() ) );
+
+        XElement xadjacent = createAdjacentXML( composition.getAdjacent() );
+        if( xadjacent != null ){
+            out.write( xadjacent );
+        }
+
+        out.start( "children" );
+        out.addBoolean( "ignore", composition.isIgnoreChildren() );
+
+        for( DockLayoutComposition child : composition.getChildren() ){
+            out.start( "child" );
+            writeCompositionXML( child, out );
+            out.end();
+        }
+        out.end();
+    }
+
+    /**
+     * Converts <code>info</code> into an element called "layout".
+     * @param info the layout to convert
+     * @return the xml representation of <code>info</code>
+     * @throws IllegalArgumentException if a factory is missing
+     */
+    @SuppressWarnings("unchecked")
+    private XElement createLayoutXML( DockLayoutInfo info ){
         if( info.getKind() == DockLayoutInfo.Data.XML ){
-            element.addElement( info.getDataXML() );
+            return info.getDataXML();
         }
         else if( info.getKind() == DockLayoutInfo.Data.DOCK_LAYOUT ){
             DockLayout<?> layout = info.getDataLayout();
@@ -852,41 +1235,45 @@ public class DockSituation {
             if( factory == null )
                 throw new IllegalArgumentException( "Missing factory: " + layout.getFactoryID() );
 
-            XElement xfactory = element.addElement( "layout" );
+            XElement xfactory = new XElement( "layout" );
             xfactory.addString( "factory", getID( factory ) );
             Path placeholder = info.getPlaceholder();
             if( placeholder != null ){
             	xfactory.addString( "placeholder", placeholder.toString() );
             }
             factory.write( layout.getData(), xfactory );
+            return xfactory;
         }
         else{
             // there is nothing to write...
             throw new IllegalArgumentException( "Cannot store layout as XML: it was never translated and its raw format is not XML" );
         }
+    }
 
-        List<DockLayout<?>> adjacentLayouts = composition.getAdjacent();
-        if( adjacentLayouts != null ){
-            XElement xadjacent = element.addElement( "adjacent" );
-
-            for( DockLayout<?> adjacentLayout : adjacentLayouts ){
-                AdjacentDockFactory<Object> adjacentFactory = (AdjacentDockFactory<Object>)getAdjacentFactory( adjacentLayout.getFactoryID() );
-                if( adjacentFactory == null )
-                    throw new IllegalArgumentException( "Missing adjacent factory: " + adjacentLayout.getFactoryID() );
-
-                XElement xlayout = xadjacent.addElement( "layout" );
-                xlayout.addString( "factory", getAdjacentID( adjacentFactory ) );
-                adjacentFactory.write( adjacentLayout.getData(), xlayout );
-            }
+    /**
+     * Converts <code>adjacentLayouts</code> into an element called "adjacent".
+     * @param adjacentLayouts the layouts to convert, can be <code>null</code>
+     * @return the xml representation of the layouts or <code>null</code> if <code>adjacentLayouts</code> is <code>null</code>
+     * @throws IllegalArgumentException if a factory is missing
+     */
+    @SuppressWarnings("unchecked")
+    private XElement createAdjacentXML( List<DockLayout<?>> adjacentLayouts ){
+        if( adjacentLayouts == null ){
+            return null;
         }
 
-        XElement xchildren = element.addElement( "children" );
-        xchildren.addBoolean( "ignore", composition.isIgnoreChildren() );
+        XElement xadjacent = new XElement( "adjacent" );
 
-        for( DockLayoutComposition child : composition.getChildren() ){
-            XElement xchild = xchildren.addElement( "child" );
-            writeCompositionXML( child, xchild );
+        for( DockLayout<?> adjacentLayout : adjacentLayouts ){
+            AdjacentDockFactory<Object> adjacentFactory = (AdjacentDockFactory<Object>)getAdjacentFactory( adjacentLayout.getFactoryID() );
+            if( adjacentFactory == null )
+                throw new IllegalArgumentException( "Missing adjacent factory: " + adjacentLayout.getFactoryID() );
+
+            XElement xlayout = xadjacent.addElement( "layout" );
+            xlayout.addString( "factory", getAdjacentID( adjacentFactory ) );
+            adjacentFactory.write( adjacentLayout.getData(), xlayout );
         }
+        return xadjacent;
     }
 
     /**
@@ -895,7 +1282,6 @@ public class DockSituation {
      * @return the composition that was read
      * @throws XException if something is missing or malformed in <code>element</code>
      */
-    @SuppressWarnings("unchecked")
     public DockLayoutComposition readCompositionXML( XElement element ){
         XElement xfactory = element.getElement( "layout" );
         DockLayoutInfo layout = readEntry( xfactory );
@@ -906,20 +1292,7 @@ public class DockSituation {
             adjacentLayouts = new ArrayList<DockLayout<?>>();
 
             for( XElement xlayout : xadjacent.getElements( "layout" )){
-                String factoryId = xlayout.getString( "factory" );
-                AdjacentDockFactory<Object> adjacentFactory = (AdjacentDockFactory<Object>)getAdjacentFactory( factoryId );
-                if( adjacentFactory != null ){
-                    Object data = adjacentFactory.read( xlayout, intermediatePlaceholders );
-                    if( data != null ){
-                        adjacentLayouts.add( new DockLayout<Object>( factoryId, data ));
-                    }
-                }
-                else if( missingAdjacent != null ){
-                    Object data = missingAdjacent.readXML( getAdjacentFactoryID( factoryId ), xlayout );
-                    if( data != null ){
-                        adjacentLayouts.add( new DockLayout<Object>( factoryId, data ) );
-                    }
-                }
+                readAdjacentEntry( xlayout, adjacentLayouts );
             }
         }
 
@@ -937,6 +1310,86 @@ public class DockSituation {
         return new DockLayoutComposition( layout, adjacentLayouts, children, ignore );
     }
 
+    /**
+     * Reads a {@link DockLayoutComposition} from the element to which <code>in</code> currently points. This
+     * method reads the same format as {@link #readCompositionXML(XElement)}, but only the layout of one
+     * {@link DockElement} at a time is held in memory. Afterwards <code>in</code> points to the end of
+     * the element.
+     * @param in the cursor pointing to the element to read, the element must neither be entered nor read
+     * @return the composition that was read
+     * @throws IOException if an I/O-error occurs or the file is malformed
+     * @throws XException if something is missing or malformed in the element
+     */
+    public DockLayoutComposition readCompositionXML( XElementReader in ) throws IOException{
+        DockLayoutInfo layout = null;
+        boolean layoutRead = false;
+        List<DockLayout<?>> adjacentLayouts = null;
+        boolean ignore = true;
+        List<DockLayoutComposition> children = new ArrayList<DockLayoutComposition>();
+
+        in.enter();
+        while( in.next() ){
+            String name = in.getName();
+            if( name.equals( "layout" ) && !layoutRead ){
+                layoutRead = true;
+                layout = readEntry( in.read() );
+            }
+            else if( name.equals( "adjacent" ) && adjacentLayouts == null ){
+                adjacentLayouts = new ArrayList<DockLayout<?>>();
+                in.enter();
+                while( in.next() ){
+                    if( in.getName().equals( "layout" )){
+                        readAdjacentEntry( in.read(), adjacentLayouts );
+                    }
+                }
+            }
+            else if( name.equals( "children" )){
+                ignore = in.getBoolean( "ignore" );
+                in.enter();
+                while( in.next() ){
+                    if( in.getName().equals( "child" )){
+                        children.add( readCompositionXML( in ));
+                    }
+                }
+            }
+        }
+
+        return new DockLayoutComposition( layout, adjacentLayouts, children, ignore );
+    }
+
+    /**
+     * Reads the layout of an {@link AdjacentDockFactory} that was stored in xml format.
+     * @param xlayout the element to read
+     * @param adjacentLayouts the list to which the new layout will be added
+     */
+    @SuppressWarnings("unchecked")
+    private void readAdjacentEntry( final XElement xlayout, final List<DockLayout<?>> adjacentLayouts ){
+        String factoryId = xlayout.getString( "factory" );
+        AdjacentDockFactory<Object> adjacentFactory = (AdjacentDockFactory<Object>)getAdjacentFactory( factoryId );
+        Object reader = adjacentFactory == null ? missingAdjacent : adjacentFactory;
+        if( reader != null && !isReadable( reader )){
+        	DockSwingUtilities.invokeAndWait( new Runnable(){
+				public void run(){
+					readAdjacentEntry( xlayout, adjacentLayouts );
+				}
+			});
+        	return;
+        }
+        
+        if( adjacentFactory != null ){
+            Object data = adjacentFactory.read( xlayout, intermediatePlaceholders );
+            if( data != null ){
+                adjacentLayouts.add( new DockLayout<Object>( factoryId, data ));
+            }
+        }
+        else if( missingAdjacent != null ){
+            Object data = missingAdjacent.readXML( getAdjacentFactoryID( factoryId ), xlayout );
+            if( data != null ){
+                adjacentLayouts.add( new DockLayout<Object>( factoryId, data ) );
+            }
+        }
+    }
+
     /**
      * Reads an entry that was stored in xml format. The entry should have
      * one attribute <code>factory</code>.
@@ -954,7 +1407,12 @@ public class DockSituation {
             	placeholder = new Path( xplaceholder.getString() );
             }
             DockFactory<DockElement,?,Object> factory = (DockFactory<DockElement,?,Object>)getFactory( factoryId );
-            if( factory != null ){
+            if( factory != null && !isReadable( factory )){
+            	// read later by fillMissing
+            	layout = new DockLayoutInfo( element );
+            	layout.setPlaceholder( placeholder );
+            }
+            else if( factory != null ){
                 Object data = factory.read( element, intermediatePlaceholders );
                 if( data != null ){
                     layout = new DockLayoutInfo( new DockLayout<Object>( factoryId, data ) );
@@ -964,7 +1422,7 @@ public class DockSituation {
             else{
                 layout = null;
 
-                if( missingFactory != null ){
+                if( missingFactory != null && isReadable( missingFactory )){
                     Object data = missingFactory.readXML( getFactoryID( factoryId ), element );
                     if( data != null ){
                         layout = new DockLayoutInfo( new DockLayout<Object>( factoryId, data ) );
@@ -1012,6 +1470,42 @@ public class DockSituation {
             writeCompositionXML( entry.getValue(), xchild );
         }
     }
+
+    /**
+     * Writes all locations and relationships of the {@link DockStation}s <code>stations</code> and their
+     * children into the currently open element of <code>out</code>.
+     * @param stations The stations to store, only the roots are needed.
+     * @param out the writer to write into, the attributes of the currently open element are not changed
+     * @throws IOException if an I/O-error occurs
+     * @see #writeXML(Map, XElement)
+     */
+    public void writeXML( Map<String, DockStation> stations, XElementWriter out ) throws IOException{
+    	for( Map.Entry<String, DockStation> entry : stations.entrySet() ){
+    		DockLayoutComposition composition = convert( entry.getValue() );
+    		if( composition != null ){
+    			out.start( "element" );
+    			out.addString( "name", entry.getKey() );
+    			writeCompositionXML( composition, out );
+    			out.end();
+    		}
+    	}
+    }
+
+    /**
+     * Writes the contents of <code>stations</code> into the currently open element of <code>out</code>.
+     * @param stations the items to write
+     * @param out the writer to write into, the attributes of the currently open element are not changed
+     * @throws IOException if an I/O-error occurs
+     * @see #writeCompositionsXML(Map, XElement)
+     */
+    public void writeCompositionsXML( Map<String, DockLayoutComposition> stations, XElementWriter out ) throws IOException{
+    	for( Map.Entry<String, DockLayoutComposition> entry : stations.entrySet() ){
+    		out.start( "element" );
+    		out.addString( "name", entry.getKey() );
+    		writeCompositionXML( entry.getValue(), out );
+    		out.end();
+    	}
+    }
     
     /**
      * Reads a set of {@link DockStation}s that were stored earlier.
@@ -1047,6 +1541,47 @@ public class DockSituation {
         }
         return result;
     }
+
+    /**
+     * Reads a set of {@link DockStation}s that were stored earlier.
+     * @param in the cursor pointing to the element from which to read, the element must neither be entered nor read
+     * @return the set of station
+     * @throws IOException if an I/O-error occurs or the file is malformed
+     * @see #readXML(XElement)
+     */
+    public Map<String, DockStation> readXML( XElementReader in ) throws IOException{
+    	Map<String, DockStation> result = new HashMap<String, DockStation>();
+    	for( Map.Entry<String, DockLayoutComposition> entry : readCompositionsXML( in ).entrySet() ){
+    		DockElement element = convert( entry.getValue() );
+    		DockStation station = element == null ? null : element.asDockStation();
+    		if( station != null ){
+    			result.put( entry.getKey(), station );
+    		}
+    	}
+    	return result;
+    }
+
+    /**
+     * Reads a set of {@link DockLayoutComposition}s that were stored earlier.
+     * @param in the cursor pointing to the element from which to read, the element must neither be entered nor read
+     * @return the set of compositions
+     * @throws IOException if an I/O-error occurs or the file is malformed
+     * @see #readCompositionsXML(XElement)
+     */
+    public Map<String, DockLayoutComposition> readCompositionsXML( XElementReader in ) throws IOException{
+    	Map<String, DockLayoutComposition> result = new HashMap<String, DockLayoutComposition>();
+    	in.enter();
+    	while( in.next() ){
+    		if( in.getName().equals( "element" )){
+    			String name = in.getString( "name" );
+    			DockLayoutComposition composition = readCompositionXML( in );
+    			if( composition != null ){
+    				result.put( name, composition );
+    			}
+    		}
+    	}
+    	return result;
+    }
     
     /**
      * Using the factories currently known to this {@link DockSituation}, this
@@ -1062,23 +1597,42 @@ public class DockSituation {
      * @throws XException if some xml element was found but cannot be read
      */
     public DockLayoutComposition fillMissing( DockLayoutComposition composition ) throws IOException, XException{
+    	boolean concurrent = concurrentReading;
+    	try{
+    		concurrentReading = false;
+    		return fillMissingComposition( composition );
+    	}
+    	finally{
+    		concurrentReading = concurrent;
+    	}
+    }
+    
+    /**
+     * Implementation of {@link #fillMissing(DockLayoutComposition)}, always called with {@link #isConcurrentReading()}
+     * being <code>false</code>.
+     * @param composition the composition to read
+     * @return either <code>composition</code> or a new composition
+     * @throws IOException if some stream was opened but cannot be read
+     * @throws XException if some xml element was found but cannot be read
+     */
+    private DockLayoutComposition fillMissingComposition( DockLayoutComposition composition ) throws IOException, XException{
         DockLayoutInfo info = composition.getLayout();
         DockLayoutInfo original = info;
 
-        if( info.getKind() == DockLayoutInfo.Data.BYTE ){
+        if( info != null && info.getKind() == DockLayoutInfo.Data.BYTE ){
             info = readEntry( info.getDataByte(), info.getPlaceholder() );
             if( info != null && info.getKind() == DockLayoutInfo.Data.BYTE ){
                 info = original;
             }
         }
-        else if( info.getKind() == DockLayoutInfo.Data.XML ){
+        else if( info != null && info.getKind() == DockLayoutInfo.Data.XML ){
             info = readEntry( info.getDataXML() );
             if( info != null && info.getKind() == DockLayoutInfo.Data.XML ){
                 info = original;
             }
         }
         
-        if( info.getKind() == DockLayoutInfo.Data.DOCK_LAYOUT ){
+        if( info != null && info.getKind() == DockLayoutInfo.Data.DOCK_LAYOUT ){
             info = fillMissing( info );
         }
 
@@ -1090,7 +1644,7 @@ public class DockSituation {
             newChildren = new ArrayList<DockLayoutComposition>( children.size() );
 
             for( DockLayoutComposition child : children ){
-                DockLayoutComposition filled = fillMissing( child );
+                DockLayoutComposition filled = fillMissingComposition( child );
                 newChildren.add( filled );
                 if( child != filled ){
                     createNew = true;
@@ -1225,6 +1779,21 @@ public class DockSituation {
         return ignore.ignoreElement( element );
     }
 
+    /**
+     * Tells whether <code>dockable</code> has to be removed from its current parent before
+     * the element described by <code>composition</code> is created. A {@link Dockable} that
+     * is not removed is handed over to the {@link DockFactory} of <code>composition</code> while
+     * still being a child of its old parent. This implementation always returns <code>true</code>,
+     * subclasses may return <code>false</code> if they know that the parent will not change and
+     * that the factory can handle children that are already in place.
+     * @param dockable a child of the element that is about to be created
+     * @param composition the element that is about to be created
+     * @return <code>true</code> if <code>dockable</code> has to be removed from its parent
+     */
+    protected boolean shouldDetach( Dockable dockable, DockLayoutComposition composition ){
+    	return true;
+    }
+
     /**
      * Tells whether to ignore the children of the station when saving or not. If the children
      * are ignored, no factories are needed for them. This implementation forwards
@@ -560,10 +560,12 @@ public class PredefinedDockSituation extends DockSituation {
     /**
      * A factory which uses other factories as delegate. This factory does
      * not always use the delegates, sometimes it does just read an element
-     * which was predefined in {@link PredefinedDockSituation}.
+     * which was predefined in {@link PredefinedDockSituation}. If a delegate
+     * cannot be used by the current thread, then its data is kept in the raw 
+     * form, and read by {@link PredefinedDockSituation#fillMissing(DockLayoutInfo)}.
      * @author Benjamin Sigg
      */
-    private class PreloadFactory implements DockFactory<DockElement,PerspectiveElement,PredefinedLayout>{
+    private class PreloadFactory implements DockFactory<DockElement,PerspectiveElement,PredefinedLayout>, ConcurrentDockFactory{
     	private PredefinedPerspective perspective;
     	
     	/**
@@ -584,6 +586,10 @@ public class PredefinedDockSituation extends DockSituation {
         public String getID() {
             return KNOWN;
         }
+        
+        public boolean isConcurrent(){
+        	return true;
+        }
 
         @SuppressWarnings("unchecked")
         public void estimateLocations( PredefinedLayout layout, LocationEstimationMap children ){
@@ -837,8 +843,12 @@ public class PredefinedDockSituation extends DockSituation {
                 String factoryId = in.readUTF();
 
                 DockFactory<DockElement,?,Object> factory = (DockFactory<DockElement,?,Object>)getFactory( factoryId );
-                if( factory == null ){
-                    DockFactory backup = getBackup( factoryId );
+                DockFactory backup = factory == null ? getBackup( factoryId ) : null;
+                
+                if( (factory != null && !isReadable( factory )) || (backup != null && !isReadable( backup )) ){
+                	info = new DockLayoutInfo( readRemaining( factoryId, in ) );
+                }
+                else if( factory == null ){
                     if( backup != null ){
                         BackupFactoryData<Object> data = (BackupFactoryData<Object>)backup.read( in, placeholders );
                         if( data != null && data.getData() != null ){
@@ -847,17 +857,7 @@ public class PredefinedDockSituation extends DockSituation {
                     }
                     else{
                         // store as byte[]
-                        ByteArrayOutputStream out = new ByteArrayOutputStream();
-                        DataOutputStream dout = new DataOutputStream( out );
-                        dout.writeUTF( factoryId );
-
-                        int read;
-                        while( (read = in.read()) != -1 ){
-                            dout.write( read );
-                        }
-
-                        dout.close();
-                        info = new DockLayoutInfo( out.toByteArray() );
+                        info = new DockLayoutInfo( readRemaining( factoryId, in ) );
                     }
                 }
                 else{
@@ -873,6 +873,28 @@ public class PredefinedDockSituation extends DockSituation {
 
             return new PredefinedLayout( preloaded, info );
         }
+        
+        /**
+         * Reads all the remaining bytes of <code>in</code> and stores them together with <code>factoryId</code>
+         * in an array, {@link PredefinedDockSituation#fillMissingStream(PredefinedLayout)} can read this array.
+         * @param factoryId the identifier of the factory that should read the bytes
+         * @param in the stream to read
+         * @return the raw data
+         * @throws IOException if <code>in</code> cannot be read
+         */
+        private byte[] readRemaining( String factoryId, DataInputStream in ) throws IOException{
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            DataOutputStream dout = new DataOutputStream( out );
+            dout.writeUTF( factoryId );
+
+            int read;
+            while( (read = in.read()) != -1 ){
+                dout.write( read );
+            }
+
+            dout.close();
+            return out.toByteArray();
+        }
 
         @SuppressWarnings("unchecked")
         public void write( PredefinedLayout layout, XElement element ) {
@@ -917,13 +939,13 @@ public class PredefinedDockSituation extends DockSituation {
             DockFactory<DockElement,?,Object> factory = (DockFactory<DockElement,?,Object>)getFactory( factoryId );
             if( factory == null ){
                 DockFactory backup = getBackup( factoryId );
-                if( backup != null ){
+                if( backup != null && isReadable( backup )){
                     BackupFactoryData<Object> data = (BackupFactoryData<Object>)backup.read( xdelegate, placeholders );
                     if( data != null )
                         delegate = data.getData();
                 }
             }
-            else{
+            else if( isReadable( factory )){
                 delegate = factory.read( xdelegate, placeholders );
             }
 
@@ -71,6 +71,9 @@ public abstract class AbstractDockableStation extends AbstractDockable implement
 	
 	/** The theme of this station */
 	private DockTheme theme;
+	
+	/** collects {@link DockStationListener#dockablesRepositioned(DockStation, Dockable[]) repositioned} events while a batch is running */
+	private RepositionedBatch repositionedBatch = new RepositionedBatch();
     
 	/**
 	 * Constructs a new station, but does nothing more
@@ -226,11 +229,22 @@ public abstract class AbstractDockableStation extends AbstractDockable implement
     
     /**
      * Invokes {@link DockStationListenerManager#fireDockablesRepositioned(Dockable...)} for
-     * all children starting at index <code>fromIndex</code> to index <code>toIndex</code>.
+     * all children starting at index <code>fromIndex</code> to index <code>toIndex</code>. If
+     * a {@link DockController#isBatchRunning() batch is running}, then the event is postponed and
+     * merged with other events until the batch is completed.
      * @param fromIndex the index of the first moved child
      * @param toIndex the index of the last moved child
      */
     protected void fireDockablesRepositioned( int fromIndex, int toIndex ){
+    	DockController controller = getController();
+    	if( controller != null && controller.isBatchRunning() ){
+    		if( repositionedBatch.fromIndex == -1 || repositionedBatch.fromIndex > fromIndex ){
+    			repositionedBatch.fromIndex = fromIndex;
+    		}
+    		controller.runAfterBatch( repositionedBatch, repositionedBatch );
+    		return;
+    	}
+    	
         int count = toIndex - fromIndex + 1;
         if( count > 0 ){
         	Dockable[] moved = new Dockable[count];
@@ -241,6 +255,24 @@ public abstract class AbstractDockableStation extends AbstractDockable implement
         }
     }
     
+    /**
+     * Fires the {@link DockStationListener#dockablesRepositioned(DockStation, Dockable[]) repositioned} events that were
+     * postponed while a batch was running. 
+     * @author Benjamin Sigg
+     */
+    private class RepositionedBatch implements Runnable{
+    	/** the smallest index of all the children that were moved, -1 if nothing was moved */
+    	private int fromIndex = -1;
+    	
+    	public void run(){
+    		int index = fromIndex;
+    		fromIndex = -1;
+    		if( index >= 0 ){
+    			fireDockablesRepositioned( index, getDockableCount()-1 );
+    		}
+    	}
+    }
+    
     /**
      * Creates a generic set of algorithms.
      * @return the algorithms, not <code>null</code>
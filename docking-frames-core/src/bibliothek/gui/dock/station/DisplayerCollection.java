@@ -33,10 +33,12 @@ import java.util.List;
 
 import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
+import bibliothek.gui.DockTheme;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.displayer.DisplayerRequest;
 import bibliothek.gui.dock.themes.DefaultDisplayerFactoryValue;
 import bibliothek.gui.dock.title.DockTitle;
+import bibliothek.gui.dock.util.ResourcePool;
 import bibliothek.gui.dock.util.extension.Extension;
 
 /**
@@ -44,7 +46,11 @@ import bibliothek.gui.dock.util.extension.Extension;
  * {@link #fetch(Dockable, DockTitle) fetch} a new displayer at any time. They
  * should {@link #release(DockableDisplayer) release} a displayer which
  * is no longer used. The collection ensures that various properties of the
- * displayers are set in the proper order.
+ * displayers are set in the proper order.<br>
+ * Displayers whose {@link Dockable} was removed from the station can be {@link #recycle(DockableDisplayer) recycled}.
+ * Recycled displayers are stored in a {@link DisplayerPool} that is shared by all the collections of a {@link DockController}.
+ * If the same {@link Dockable} is added again to this station, or to another station of the same type, and neither
+ * the {@link DockTheme} nor the factory changed in the meantime, then the old displayer is reused.
  * @author Benjamin Sigg
  */
 public class DisplayerCollection implements Iterable<DockableDisplayer>{
@@ -57,6 +63,12 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
     /** a factory used to create new displayers */
     private DisplayerFactory factory;
     
+    /** if not <code>null</code>, then the source of the factory which is actually used to create displayers */
+    private DefaultDisplayerFactoryValue factoryValue;
+    
+    /** displayers that are no longer shown, but which may be used again, <code>null</code> if there is no {@link #controller} */
+    private DisplayerPool pool;
+    
     /** the set of displayers that are fetched but not released */
     private List<Handle> displayers = new ArrayList<Handle>();
     
@@ -101,6 +113,7 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
     			factory.request( request );
 			}
 		}, displayerId );
+    	this.factoryValue = factory;
     }
     
     /**
@@ -173,7 +186,13 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
      * @return the new displayer
      */
     public DockableDisplayer fetch(  Dockable dockable, DockTitle title ){
-    	Handle handle = new Handle( dockable );
+    	Handle handle = new Handle( dockable, currentTheme(), currentFactory() );
+    	if( pool != null ){
+    		handle.recycled = pool.take( handle.key( title ) );
+    		if( handle.recycled != null ){
+    			handle.recycled.setDockable( dockable );
+    		}
+    	}
     	handle.setController( controller );
     	handle.request( title );
     	DockableDisplayer displayer = handle.getAnswer();
@@ -194,14 +213,60 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
      * @param displayer the displayer to release
      */
     public void release( DockableDisplayer displayer ){
+    	remove( displayer );
+    }
+    
+    /**
+     * Releases a displayer that was created by this collection, and stores it in the {@link #getPool() pool}. If
+     * the same {@link Dockable} is {@link #fetch(Dockable, DockTitle) fetched} again by this or by another collection
+     * of a station of the same type, then <code>displayer</code> may be reused. Clients should only recycle a displayer
+     * if its {@link Dockable} was removed from the station, a displayer that needs to be replaced, e.g. because some
+     * property changed, should be {@link #release(DockableDisplayer) released}. 
+     * @param displayer the displayer to recycle
+     */
+    public void recycle( DockableDisplayer displayer ){
+    	DockTitle title = displayer.getTitle();
+    	
+    	Handle handle = remove( displayer );
+    	if( handle != null ){
+    		handle.setController( null );
+    		if( pool != null ){
+    			pool.put( handle.key( title ), displayer );
+    		}
+    	}
+    }
+    
+    /**
+     * Gets the pool of displayers that were {@link #recycle(DockableDisplayer) recycled}. The pool is shared
+     * by all the collections of the current {@link DockController}. Clients can use the pool to read how often
+     * displayers were reused, to change the {@link ResourcePool#setCapacity(int) capacity} of the pool, or
+     * to {@link ResourcePool#clear() clear} the pool.
+     * @return the pool, <code>null</code> if this collection is not connected to a {@link DockController}
+     */
+    public ResourcePool<?, ?> getPool(){
+		return pool;
+	}
+    
+    private DockTheme currentTheme(){
+    	return controller == null ? null : controller.getTheme();
+    }
+    
+    private Object currentFactory(){
+    	return factoryValue == null ? factory : factoryValue.get();
+    }
+    
+    private Handle remove( DockableDisplayer displayer ){
     	for( DockableDisplayerListener listener : listeners ){
     		displayer.removeDockableDisplayerListener( listener );
     	}
     	
-    	Iterator<DockableDisplayer> iter = iterator();
+    	Handle result = null;
+    	Iterator<Handle> iter = displayers.iterator();
     	while( iter.hasNext() ){
-    		if( iter.next() == displayer ){
+    		Handle next = iter.next();
+    		if( next.getAnswer() == displayer ){
     			iter.remove();
+    			result = next;
     		}
     	}
 
@@ -209,6 +274,8 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
         displayer.setDockable( null );
         displayer.setStation( null );
         displayer.setController( null );
+        
+        return result;
     }
     
     /**
@@ -221,6 +288,7 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
             throw new IllegalArgumentException( "Factory must not be null" );
         
         this.factory = factory;
+        this.factoryValue = null;
     }
     
     /**
@@ -231,6 +299,7 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
     public void setController( DockController controller ){
         if( this.controller != controller ){
             this.controller = controller;
+            pool = controller == null ? null : controller.getProperties().get( DisplayerPool.DISPLAYER_POOL );
             for( Handle handle : displayers ){
             	handle.setController( controller );
             }
@@ -242,12 +311,42 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
      * @author Benjamin Sigg
      */
     private class Handle extends DisplayerRequest {
-		public Handle( Dockable target ){
+    	/** the theme that was used when this handle was created */
+    	private DockTheme theme;
+    	/** the factory that was used when this handle was created */
+    	private Object factory;
+    	/** a displayer that was recycled and that will be used as answer to the next request */
+    	private DockableDisplayer recycled;
+    	
+		public Handle( Dockable target, DockTheme theme, Object factory ){
 			super( station, target, new DisplayerFactory(){
 				public void request( DisplayerRequest request ){
 					DisplayerCollection.this.factory.request( request );
 				}
 			}, displayerId );
+			this.theme = theme;
+			this.factory = factory;
+		}
+		
+		/**
+		 * Creates the key which describes the displayer of this handle in the {@link DisplayerPool}.
+		 * @param title the title shown on the displayer
+		 * @return the key
+		 */
+		public DisplayerPool.Key key( DockTitle title ){
+			return new DisplayerPool.Key( getTarget(), station, displayerId, title == null ? null : title.getOrigin(), theme, factory );
+		}
+		
+		@Override
+		protected void executeRequestList(){
+			if( recycled != null ){
+				DockableDisplayer displayer = recycled;
+				recycled = null;
+				answer( displayer );
+			}
+			else{
+				super.executeRequestList();
+			}
 		}
 		
 		@Override
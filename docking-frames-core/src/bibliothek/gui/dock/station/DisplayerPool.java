@@ -0,0 +1,158 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.DockTheme;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.event.DockRegisterAdapter;
+import bibliothek.gui.dock.event.UIListener;
+import bibliothek.gui.dock.title.DockTitleVersion;
+import bibliothek.gui.dock.util.DockProperties;
+import bibliothek.gui.dock.util.PropertyKey;
+import bibliothek.gui.dock.util.ResourcePool;
+import bibliothek.gui.dock.util.property.DynamicPropertyFactory;
+import bibliothek.util.Filter;
+
+/**
+ * A {@link ResourcePool} storing the {@link DockableDisplayer}s that were {@link DisplayerCollection#recycle(DockableDisplayer) recycled}
+ * by any {@link DisplayerCollection} of a {@link DockController}. Since all the collections share the same pool, a displayer
+ * can be reused if its {@link Dockable} moves to another {@link DockStation} of the same type.<br>
+ * A displayer is only handed out again for the same {@link Dockable}: factories configure a displayer for the
+ * {@link Dockable} it was created for, e.g. they choose another kind of displayer if the {@link Dockable} is a 
+ * {@link DockStation}. The pool forgets about {@link Dockable}s that are no longer registered at the {@link DockController},
+ * and is cleared when the {@link DockTheme} changes.
+ * @author Benjamin Sigg
+ */
+public class DisplayerPool extends ResourcePool<DisplayerPool.Key, DockableDisplayer>{
+	/** The pool shared by all the {@link DisplayerCollection}s of one {@link DockController} */
+	public static final PropertyKey<DisplayerPool> DISPLAYER_POOL = new PropertyKey<DisplayerPool>( "dock.displayerPool",
+			new DynamicPropertyFactory<DisplayerPool>(){
+				public DisplayerPool getDefault( PropertyKey<DisplayerPool> key, DockProperties properties ){
+					return new DisplayerPool( properties.getController() );
+				}
+			}, true );
+	
+	/** the controller in whose realm this pool is used */
+	private DockController controller;
+	
+	/** whether the listeners that keep this pool clean are installed */
+	private boolean cleaner = false;
+	
+	/**
+	 * Creates a new pool.
+	 * @param controller the controller in whose realm this pool is used, not <code>null</code>
+	 */
+	public DisplayerPool( DockController controller ){
+		if( controller == null ){
+			throw new IllegalArgumentException( "controller must not be null" );
+		}
+		this.controller = controller;
+	}
+	
+	@Override
+	public boolean put( Key key, DockableDisplayer resource ){
+		if( !cleaner ){
+			// the register or the theme manager may not yet exist when this pool is created
+			cleaner = true;
+			controller.getRegister().addDockRegisterListener( new DockRegisterAdapter(){
+				@Override
+				public void dockableUnregistered( DockController controller, final Dockable dockable ){
+					remove( new Filter<Key>(){
+						public boolean includes( Key item ){
+							return item.dockable == dockable;
+						}
+					});
+				}
+			});
+			controller.getThemeManager().addUIListener( new UIListener(){
+				public void updateUI( DockController controller ){
+					// ignore
+				}
+				
+				public void themeWillChange( DockController controller, DockTheme oldTheme, DockTheme newTheme ){
+					// ignore
+				}
+				
+				public void themeChanged( DockController controller, DockTheme oldTheme, DockTheme newTheme ){
+					clear();
+				}
+			});
+		}
+		return super.put( key, resource );
+	}
+	
+	/**
+	 * Describes the situation in which a {@link DockableDisplayer} was created. A displayer is only reused if
+	 * the situation did not change.
+	 * @author Benjamin Sigg
+	 */
+	public static class Key{
+		private Dockable dockable;
+		private Class<?> station;
+		private String displayerId;
+		private DockTitleVersion title;
+		private DockTheme theme;
+		private Object factory;
+		
+		/**
+		 * Creates a new key.
+		 * @param dockable the element shown by the displayer, not <code>null</code>
+		 * @param station the station showing the displayer, not <code>null</code>
+		 * @param displayerId the identifier of the {@link DisplayerCollection} which created the displayer
+		 * @param title the origin of the title shown on the displayer, can be <code>null</code>
+		 * @param theme the theme that was used to create the displayer, can be <code>null</code>
+		 * @param factory the factory that created the displayer
+		 */
+		public Key( Dockable dockable, DockStation station, String displayerId, DockTitleVersion title, DockTheme theme, Object factory ){
+			this.dockable = dockable;
+			this.station = station.getClass();
+			this.displayerId = displayerId;
+			this.title = title;
+			this.theme = theme;
+			this.factory = factory;
+		}
+		
+		@Override
+		public int hashCode(){
+			return dockable.hashCode() ^ station.hashCode();
+		}
+		
+		@Override
+		public boolean equals( Object obj ){
+			if( obj == this ){
+				return true;
+			}
+			if( obj instanceof Key ){
+				Key other = (Key)obj;
+				return other.dockable == dockable && other.station == station && other.displayerId.equals( displayerId ) &&
+					other.title == title && other.theme == theme && other.factory == factory;
+			}
+			return false;
+		}
+	}
+}
@@ -92,19 +92,25 @@ public class StationChildHandle implements PlaceholderListItem<Dockable>{
 	/**
 	 * Deletes all resources that were acquired by this handler. This includes the current
 	 * {@link DockableDisplayer}, the current {@link DockTitle} and the current {@link DockTitleRequest}.
+	 * The {@link DockableDisplayer} and the {@link DockTitle} are {@link DisplayerCollection#recycle(DockableDisplayer) recycled},
+	 * they may be reused if the {@link Dockable} is added to a similar station.
 	 */
 	public void destroy(){
+		DockTitle title = null;
 		if( displayer != null ){
-			DockTitle title = displayer.getTitle();
+			title = displayer.getTitle();
 			if( title != null ){
 				dockable.unbind( title );
 			}
-			displayers.release( displayer );
+			displayers.recycle( displayer );
 			displayer = null;
 		}
 		
 		if( titleRequest != null ){
 			titleRequest.uninstall();
+			if( title != null && title == titleRequest.getAnswer() ){
+				titleRequest.getVersion().recycle( station, title );
+			}
 			titleRequest = null;
 		}
 		
@@ -36,6 +36,7 @@ import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
 import bibliothek.gui.dock.FlapDockStation;
 import bibliothek.gui.dock.FlapDockStation.Direction;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.layout.DockLayoutInfo;
 import bibliothek.gui.dock.layout.LocationEstimationMap;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
@@ -54,13 +55,17 @@ import bibliothek.util.xml.XElement;
  * A {@link DockFactory} which can handle {@link FlapDockStation}s.
  * @author Benjamin Sigg
  */
-public class FlapDockStationFactory implements DockFactory<FlapDockStation, FlapDockPerspective, FlapDockStationLayout> {
+public class FlapDockStationFactory implements DockFactory<FlapDockStation, FlapDockPerspective, FlapDockStationLayout>, ConcurrentDockFactory {
 	/** The default-id of this factory */
     public static final String ID = "flap dock";
     
     public String getID() {
         return ID;
     }
+
+    public boolean isConcurrent() {
+        return getClass() == FlapDockStationFactory.class;
+    }
     
     public FlapDockStationLayout getLayout( FlapDockStation station, Map<Dockable, Integer> children ) {
         PlaceholderMap map = station.getPlaceholders( children );
@@ -45,7 +45,10 @@ import bibliothek.gui.dock.util.DockUtilities;
 
 /**
  * The {@link OrderedLayerCollection} is a helper class that allows order a set
- * {@link DockStation}s according to the rules defined in {@link DockStationDropLayer}.
+ * {@link DockStation}s according to the rules defined in {@link DockStationDropLayer}.<br>
+ * The {@link DockStationDropLayer}s are created the first time {@link #sort(int, int)} is called, and then
+ * reused until a new station is {@link #add(DockStation) added}. Hence a collection can be used to
+ * answer several requests as long as the set of stations does not change.
  * @author Benjamin Sigg
  */
 public class OrderedLayerCollection {
@@ -55,6 +58,12 @@ public class OrderedLayerCollection {
 	/** factory applied to all {@link DockStation}s to find their {@link DockStationDropLayer}s */
 	private DockStationDropLayerFactory factory;
 	
+	/** the nodes of all the stations, <code>null</code> if not yet created */
+	private Map<DockStation, Node> nodes;
+	
+	/** the roots of the tree of {@link #nodes}, <code>null</code> if not yet created */
+	private List<Node> roots;
+	
 	/**
 	 * Creates a new collection
 	 * @param factory applied to all {@link DockStation}s in order to find their {@link DockStationDropLayer}s.
@@ -68,7 +77,10 @@ public class OrderedLayerCollection {
 	 * @param station the additional station
 	 */
 	public void add( DockStation station ){
-		stations.add( station );
+		if( stations.add( station )){
+			nodes = null;
+			roots = null;
+		}
 	}
 	
 	/**
@@ -79,21 +91,7 @@ public class OrderedLayerCollection {
 	 * @return the ordered stations, where the first station is the station with the highest priority 
 	 */
 	public List<DockStation> sort( int x, int y ){
-		Map<DockStation, Node> nodes = new HashMap<DockStation, OrderedLayerCollection.Node>();
-		for( DockStation station : stations ){
-			nodes.put( station, new Node( station ) );
-		}
-		
-		List<Node> roots = new ArrayList<Node>();
-		for( Node node : nodes.values() ){
-			if( !node.register( nodes )){
-				roots.add( node );
-			}
-		}
-		
-		for( Node root : roots ){
-			root.modify();
-		}
+		prepare();
 		
 		List<DockStationDropLayer> layers = new ArrayList<DockStationDropLayer>();
 		for( Node root : roots ){
@@ -102,9 +100,10 @@ public class OrderedLayerCollection {
 		
 		layers = sort( layers );
 		
+		Set<DockStation> found = new HashSet<DockStation>();
 		List<DockStation> result = new ArrayList<DockStation>();
 		for( DockStationDropLayer layer : layers ){
-			if( nodes.remove( layer.getStation() ) != null ){
+			if( nodes.containsKey( layer.getStation() ) && found.add( layer.getStation() )){
 				result.add( layer.getStation() );
 			}
 		}
@@ -112,6 +111,30 @@ public class OrderedLayerCollection {
 		return result;
 	}
 	
+	/**
+	 * Creates the {@link DockStationDropLayer}s of all the known stations and 
+	 * builds the tree of nodes, if that did not yet happen.
+	 */
+	private void prepare(){
+		if( roots == null ){
+			nodes = new HashMap<DockStation, OrderedLayerCollection.Node>();
+			for( DockStation station : stations ){
+				nodes.put( station, new Node( station ) );
+			}
+			
+			roots = new ArrayList<Node>();
+			for( Node node : nodes.values() ){
+				if( !node.register( nodes )){
+					roots.add( node );
+				}
+			}
+			
+			for( Node root : roots ){
+				root.modify();
+			}
+		}
+	}
+	
 	/**
 	 * Creates a new ordered list containing all items of <code>layer</code>, the new list
 	 * is built by an algorithm that is resistent against inconstant ordering.
@@ -36,6 +36,7 @@ import java.util.Map;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
 import bibliothek.gui.dock.ScreenDockStation;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.layout.DockLayoutInfo;
 import bibliothek.gui.dock.layout.LocationEstimationMap;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
@@ -58,7 +59,7 @@ import bibliothek.util.xml.XElement;
  * dialogs are stored.
  * @author Benjamin Sigg
  */
-public class ScreenDockStationFactory implements DockFactory<ScreenDockStation, ScreenDockPerspective, ScreenDockStationLayout> {
+public class ScreenDockStationFactory implements DockFactory<ScreenDockStation, ScreenDockPerspective, ScreenDockStationLayout>, ConcurrentDockFactory {
     public static final String ID = "screen dock";
 
     private WindowProvider owner;
@@ -95,6 +96,10 @@ public class ScreenDockStationFactory implements DockFactory<ScreenDockStation,
     public String getID() {
         return ID;
     }
+
+    public boolean isConcurrent() {
+        return getClass() == ScreenDockStationFactory.class;
+    }
     
     public void estimateLocations( ScreenDockStationLayout layout, final LocationEstimationMap children ){
     	if( layout instanceof RetroScreenDockStationLayout ){
@@ -27,6 +27,8 @@ package bibliothek.gui.dock.station.screen.magnet;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import bibliothek.gui.dock.station.screen.ScreenDockWindow;
 import bibliothek.gui.dock.station.screen.magnet.MagnetRequest.Side;
@@ -67,13 +69,45 @@ public class DefaultMagnetOperation implements MagnetOperation{
 		// nothing
 	}
 	
+	/**
+	 * Gets all the windows that are attracted by the window of <code>request</code> and that may be near enough to
+	 * interact with it. If available the {@link MagnetController#getNeighborIndex() neighbor index} is used to find
+	 * the windows that were near enough when the operation started, the windows that are moved together with the
+	 * window of <code>request</code> are always included. Otherwise all the windows are checked.
+	 * @param controller the caller
+	 * @param request information about the window that was moved or resized
+	 * @param maxDistance the maximum distance between two sides of the windows
+	 * @return the attracted windows, in the same order as {@link MagnetController#getAttracted(ScreenDockWindow)} would return them
+	 */
+	protected ScreenDockWindow[] getPartners( MagnetController controller, MagnetRequest request, int maxDistance ){
+		MagnetNeighborIndex index = controller.getNeighborIndex();
+		if( index == null ){
+			return controller.getAttracted( request.getWindow() );
+		}
+		
+		Set<Integer> candidates = new TreeSet<Integer>();
+		for( int next : index.search( request.getBounds(), maxDistance )){
+			candidates.add( next );
+		}
+		for( int next : graph.getIndices() ){
+			candidates.add( next );
+		}
+		
+		ScreenDockWindow[] windows = new ScreenDockWindow[ candidates.size() ];
+		int offset = 0;
+		for( int next : candidates ){
+			windows[ offset++ ] = index.getWindow( next );
+		}
+		return controller.getAttracted( request.getWindow(), windows );
+	}
+	
 	/**
 	 * Called if a window was moved.
 	 * @param controller the caller
 	 * @param request information about the window that was moved
 	 */
 	protected void moved( MagnetController controller, MagnetRequest request ){
-		ScreenDockWindow[] partners = controller.getAttracted( request.getWindow() );
+		ScreenDockWindow[] partners = getPartners( controller, request, threshold );
 		
 		int nearest = threshold;
 		ScreenDockWindow nearestWindow = null;
@@ -164,7 +198,7 @@ public class DefaultMagnetOperation implements MagnetOperation{
 	 * @param request information about the window that was resized
 	 */
 	protected void resized( MagnetController controller, MagnetRequest request ){
-		ScreenDockWindow[] partners = controller.getAttracted( request.getWindow() );
+		ScreenDockWindow[] partners = getPartners( controller, request, Math.max( 1, threshold ) );
 		
 		@SuppressWarnings("unchecked")
 		List<ScreenDockWindow>[] neighbors = new List[4];
@@ -34,7 +34,9 @@ import java.util.Map;
 import bibliothek.gui.DockController;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.ScreenDockStation;
+import bibliothek.gui.dock.station.screen.ScreenDockStationListener;
 import bibliothek.gui.dock.station.screen.ScreenDockWindow;
+import bibliothek.gui.dock.station.screen.ScreenDockWindowListener;
 import bibliothek.gui.dock.station.screen.magnet.AttractorStrategy.Attraction;
 import bibliothek.gui.dock.station.screen.magnet.MagnetRequest.Side;
 import bibliothek.gui.dock.util.PropertyValue;
@@ -85,6 +87,7 @@ public class MagnetController {
 			throw new IllegalArgumentException( "station must not be null" );
 		}
 		this.station = station;
+		station.addScreenDockStationListener( new WindowObserver() );
 	}
 	
 	/**
@@ -198,19 +201,59 @@ public class MagnetController {
 		int count = station.getDockableCount();
 		for( int i = 0; i < count; i++ ){
 			ScreenDockWindow next = station.getWindow( i );
-			if( next != window ){
-				Attraction attraction = getAttraction( window.getDockable(), next.getDockable() );
-				switch( attraction ){
-					case STRONGLY_ATTRACTED:
-					case ATTRACTED:
-						result.add( next );
-						break;
-				}
+			if( next != window && isAttracted( window, next )){
+				result.add( next );
 			}
 		}
 		return result.toArray( new ScreenDockWindow[ result.size() ] );
 	}
 	
+	/**
+	 * Gets all the {@link ScreenDockWindow}s of <code>candidates</code> that are attracted to <code>window</code>. This
+	 * method is an alternative to {@link #getAttracted(ScreenDockWindow)} for clients that already know which windows
+	 * can be near <code>window</code>, e.g. because they used the {@link #getNeighborIndex() neighbor index}.
+	 * @param window the window that has moved and whose partners are searched
+	 * @param candidates the windows to check
+	 * @return all the partner windows in the same order as in <code>candidates</code>, may be empty, is never <code>null</code>,
+	 * does not contain <code>window</code>
+	 */
+	public ScreenDockWindow[] getAttracted( ScreenDockWindow window, ScreenDockWindow[] candidates ){
+		List<ScreenDockWindow> result = new ArrayList<ScreenDockWindow>( candidates.length );
+		for( ScreenDockWindow next : candidates ){
+			if( next != window && isAttracted( window, next )){
+				result.add( next );
+			}
+		}
+		return result.toArray( new ScreenDockWindow[ result.size() ] );
+	}
+	
+	private boolean isAttracted( ScreenDockWindow window, ScreenDockWindow next ){
+		Attraction attraction = getAttraction( window.getDockable(), next.getDockable() );
+		switch( attraction ){
+			case STRONGLY_ATTRACTED:
+			case ATTRACTED:
+				return true;
+			default:
+				return false;
+		}
+	}
+	
+	/**
+	 * Gets an index of the boundaries all the {@link ScreenDockWindow}s had when the current operation started. The
+	 * index is created the first time this method is called during an operation, and is thrown away once the
+	 * operation stops. Windows that are moved by the {@link MagnetStrategy} during the operation, e.g. the
+	 * neighbors of a {@link StickMagnetGraph}, are not at the location that is stored in the index.
+	 * @return the index, the indices used by the index are the same as the indices of {@link #getWindows()}. The
+	 * result is <code>null</code> if no operation is running, or if windows were added, removed or moved by someone
+	 * else than the {@link MagnetStrategy} since the operation started
+	 */
+	public MagnetNeighborIndex getNeighborIndex(){
+		if( current == null ){
+			return null;
+		}
+		return current.getNeighborIndex();
+	}
+	
 	/**
 	 * Calculates the distance between <code>sideA</code> of <code>windowA</code> to <code>sideB</code> of <code>windowB</code>.
 	 * If either window is the {@link #getCurrent() current} window, then its {@link MagnetRequest#getBounds() base boundaries}
@@ -362,6 +405,18 @@ public class MagnetController {
 		/** the boundaries any {@link ScreenDockWindow} had before the operation started */
 		private Map<ScreenDockWindow, Rectangle> initialBoundaries = new HashMap<ScreenDockWindow, Rectangle>();
 		
+		/** all the windows that were known when the operation started */
+		private ScreenDockWindow[] windows;
+		
+		/** index of {@link #initialBoundaries}, lazily created */
+		private MagnetNeighborIndex neighborIndex;
+		
+		/** whether {@link #initialBoundaries} still describes the windows of the station */
+		private boolean neighborIndexValid = true;
+		
+		/** whether the {@link MagnetStrategy} is currently executed */
+		private boolean attracting = false;
+		
 		/** the unmodified boundaries */
 		private Rectangle baseBoundaries;
 		
@@ -378,11 +433,44 @@ public class MagnetController {
 		public Operation( ScreenDockWindow window ){
 			this.window = window;
 			
-			for( ScreenDockWindow check : getWindows() ){
+			windows = getWindows();
+			for( ScreenDockWindow check : windows ){
 				initialBoundaries.put( check, check.getWindowBounds() );
 			}
 		}
 		
+		/**
+		 * Gets an index of {@link #initialBoundaries}.
+		 * @return the index, <code>null</code> if the index {@link #invalidate() is invalid}
+		 */
+		public MagnetNeighborIndex getNeighborIndex(){
+			if( !neighborIndexValid ){
+				return null;
+			}
+			if( neighborIndex == null ){
+				Rectangle[] bounds = new Rectangle[ windows.length ];
+				for( int i = 0; i < windows.length; i++ ){
+					bounds[i] = initialBoundaries.get( windows[i] );
+				}
+				neighborIndex = new MagnetNeighborIndex( windows, bounds );
+			}
+			return neighborIndex;
+		}
+		
+		/**
+		 * Called if <code>window</code> was added, removed, moved or resized.
+		 * @param window the window that changed
+		 * @param shape whether only the boundaries of <code>window</code> changed
+		 */
+		public void windowChanged( ScreenDockWindow window, boolean shape ){
+			if( shape && (attracting || window == this.window) ){
+				// the strategy is moving the windows, or the window of this operation is moved
+				return;
+			}
+			neighborIndexValid = false;
+			neighborIndex = null;
+		}
+		
 		public ScreenDockWindow getWindow(){
 			return window;
 		}
@@ -559,14 +647,20 @@ public class MagnetController {
 			baseBoundaries = new Rectangle( bounds );
 			resultBoundaries = new Rectangle( bounds );
 			
-			if( operation == null ){
-				MagnetStrategy strategy = getStrategy();
-				if( strategy != null ){
-					operation = strategy.start( MagnetController.this, this );
+			try{
+				attracting = true;
+				if( operation == null ){
+					MagnetStrategy strategy = getStrategy();
+					if( strategy != null ){
+						operation = strategy.start( MagnetController.this, this );
+					}
+				}
+				if( operation != null ){
+					operation.attract( MagnetController.this, this );
 				}
 			}
-			if( operation != null ){
-				operation.attract( MagnetController.this, this );
+			finally{
+				attracting = false;
 			}
 			
 			return resultBoundaries;
@@ -582,4 +676,47 @@ public class MagnetController {
 			}
 		}
 	}
+	
+	/**
+	 * Observes the {@link ScreenDockWindow}s of the {@link #getStation() station} and invalidates the
+	 * {@link #getNeighborIndex() neighbor index} of the current operation if they change.
+	 * @author Benjamin Sigg
+	 */
+	private class WindowObserver implements ScreenDockStationListener, ScreenDockWindowListener{
+		public void windowRegistering( ScreenDockStation station, Dockable dockable, ScreenDockWindow window ){
+			window.addScreenDockWindowListener( this );
+			changed( window, false );
+		}
+		
+		public void windowDeregistering( ScreenDockStation station, Dockable dockable, ScreenDockWindow window ){
+			window.removeScreenDockWindowListener( this );
+			changed( window, false );
+		}
+		
+		public void shapeChanged( ScreenDockWindow window ){
+			changed( window, true );
+		}
+		
+		private void changed( ScreenDockWindow window, boolean shape ){
+			if( current != null ){
+				current.windowChanged( window, shape );
+			}
+		}
+		
+		public void fullscreenChanged( ScreenDockStation station, Dockable dockable ){
+			// ignore
+		}
+		
+		public void fullscreenStateChanged( ScreenDockWindow window ){
+			// ignore
+		}
+		
+		public void visibilityChanged( ScreenDockWindow window ){
+			// ignore
+		}
+		
+		public void windowClosing( ScreenDockWindow window ){
+			// ignore
+		}
+	}
 }
@@ -0,0 +1,229 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.screen.magnet;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+import bibliothek.gui.dock.station.screen.ScreenDockWindow;
+import bibliothek.gui.dock.station.screen.magnet.MagnetRequest.Side;
+
+/**
+ * A snapshot of the boundaries of a set of {@link ScreenDockWindow}s, allowing to find the windows whose
+ * sides are near some rectangle without testing every single window. For each {@link Side} the
+ * windows are ordered by the coordinate of that side, a search only needs to find the range of
+ * coordinates that are near enough with a binary search, and then to check whether the windows
+ * inside that range overlap the rectangle. Hence a search requires <code>O(log n + k)</code> steps,
+ * where <code>k</code> is the number of windows whose side is in the range.<br>
+ * The index does not observe the windows, it must be replaced if a window changes its boundaries. The
+ * {@link MagnetController} creates one index for each operation, using the boundaries the windows had
+ * when the operation started.
+ * @author Benjamin Sigg
+ */
+public class MagnetNeighborIndex {
+	/** all the windows that are stored in this index */
+	private ScreenDockWindow[] windows;
+	
+	/** the boundaries of {@link #windows} */
+	private Rectangle[] bounds;
+	
+	/** for each {@link Side}, the indices of {@link #windows} ordered by the location of that side */
+	private int[][] order = new int[4][];
+	
+	/** for each {@link Side}, the ordered locations of that side, in the same order as {@link #order} */
+	private int[][] values = new int[4][];
+	
+	/**
+	 * Creates a new index.
+	 * @param windows the windows to store, the index of a window in this array is the index used by this {@link MagnetNeighborIndex}
+	 * @param bounds the boundaries of the windows, must have the same length as <code>windows</code>
+	 */
+	public MagnetNeighborIndex( ScreenDockWindow[] windows, Rectangle[] bounds ){
+		if( windows.length != bounds.length ){
+			throw new IllegalArgumentException( "windows and bounds must have the same length" );
+		}
+		this.windows = windows.clone();
+		this.bounds = new Rectangle[ bounds.length ];
+		for( int i = 0; i < bounds.length; i++ ){
+			this.bounds[i] = new Rectangle( bounds[i] );
+		}
+		
+		for( Side side : Side.values() ){
+			long[] entries = new long[ windows.length ];
+			for( int i = 0; i < entries.length; i++ ){
+				entries[i] = ((long)getValue( this.bounds[i], side ) << 32) | i;
+			}
+			Arrays.sort( entries );
+			
+			int[] order = new int[ entries.length ];
+			int[] values = new int[ entries.length ];
+			for( int i = 0; i < entries.length; i++ ){
+				order[i] = (int)entries[i];
+				values[i] = (int)(entries[i] >> 32);
+			}
+			this.order[ side.ordinal() ] = order;
+			this.values[ side.ordinal() ] = values;
+		}
+	}
+	
+	/**
+	 * Gets the number of windows stored in this index.
+	 * @return the number of windows
+	 */
+	public int size(){
+		return windows.length;
+	}
+	
+	/**
+	 * Gets the <code>index</code>'th window of this index.
+	 * @param index the index of the window
+	 * @return the window
+	 */
+	public ScreenDockWindow getWindow( int index ){
+		return windows[ index ];
+	}
+	
+	/**
+	 * Gets the boundaries the <code>index</code>'th window had when this index was created.
+	 * @param index the index of the window
+	 * @return the boundaries, a copy of the stored boundaries
+	 */
+	public Rectangle getBounds( int index ){
+		return new Rectangle( bounds[ index ] );
+	}
+	
+	/**
+	 * Searches all the windows whose side {@link Side#opposite() opposite} to <code>side</code> is at most
+	 * <code>maxDistance</code> pixels away from <code>side</code> of <code>rectangle</code>, and which have
+	 * at least one pixel on the same height (for {@link Side#EAST} and {@link Side#WEST}) or on the same
+	 * width (for {@link Side#NORTH} and {@link Side#SOUTH}) as <code>rectangle</code>. The measurements
+	 * are the same as used by {@link MagnetController#distance(ScreenDockWindow, Side, ScreenDockWindow, Side, boolean)},
+	 * {@link MagnetController#intersectHorizontally(ScreenDockWindow, ScreenDockWindow, boolean)} and
+	 * {@link MagnetController#intersectVertically(ScreenDockWindow, ScreenDockWindow, boolean)}.
+	 * @param rectangle the boundaries whose neighbors are searched
+	 * @param side the side of <code>rectangle</code> to check
+	 * @param maxDistance the maximum distance between the sides, at least 0
+	 * @return the indices of the windows that were found, in ascending order
+	 */
+	public int[] search( Rectangle rectangle, Side side, int maxDistance ){
+		int[] result = new int[ windows.length ];
+		int size = search( rectangle, side, maxDistance, result, 0 );
+		Arrays.sort( result, 0, size );
+		return Arrays.copyOf( result, size );
+	}
+	
+	/**
+	 * Searches all the windows which are near any side of <code>rectangle</code>, this is the union of
+	 * {@link #search(Rectangle, Side, int)} called with all the {@link Side}s.
+	 * @param rectangle the boundaries whose neighbors are searched
+	 * @param maxDistance the maximum distance between the sides, at least 0
+	 * @return the indices of the windows that were found, in ascending order and without duplicates
+	 */
+	public int[] search( Rectangle rectangle, int maxDistance ){
+		int[] result = new int[ windows.length * 4 ];
+		int size = 0;
+		for( Side side : Side.values() ){
+			size = search( rectangle, side, maxDistance, result, size );
+		}
+		Arrays.sort( result, 0, size );
+		
+		int unique = 0;
+		for( int i = 0; i < size; i++ ){
+			if( unique == 0 || result[ unique-1 ] != result[i] ){
+				result[ unique++ ] = result[i];
+			}
+		}
+		return Arrays.copyOf( result, unique );
+	}
+	
+	private int search( Rectangle rectangle, Side side, int maxDistance, int[] result, int offset ){
+		Side opposite = side.opposite();
+		int[] order = this.order[ opposite.ordinal() ];
+		int[] values = this.values[ opposite.ordinal() ];
+		
+		int value = getValue( rectangle, side );
+		int begin = lowerBound( values, value - maxDistance );
+		int end = lowerBound( values, value + maxDistance + 1 );
+		
+		boolean vertical = side == Side.NORTH || side == Side.SOUTH;
+		
+		for( int i = begin; i < end; i++ ){
+			Rectangle check = bounds[ order[i] ];
+			boolean intersect;
+			if( vertical ){
+				intersect = intersect( rectangle.x, rectangle.x + rectangle.width - 1, check.x, check.x + check.width - 1 );
+			}
+			else{
+				intersect = intersect( rectangle.y, rectangle.y + rectangle.height - 1, check.y, check.y + check.height - 1 );
+			}
+			if( intersect ){
+				result[ offset++ ] = order[i];
+			}
+		}
+		return offset;
+	}
+	
+	/**
+	 * Searches the first index in <code>values</code> whose value is equal to or greater than <code>value</code>.
+	 * @param values an ordered array
+	 * @param value the value to search
+	 * @return the first index whose value is not smaller than <code>value</code>, <code>values.length</code> if
+	 * all values are smaller
+	 */
+	private int lowerBound( int[] values, int value ){
+		int low = 0;
+		int high = values.length;
+		while( low < high ){
+			int middle = (low + high) >>> 1;
+			if( values[ middle ] < value ){
+				low = middle + 1;
+			}
+			else{
+				high = middle;
+			}
+		}
+		return low;
+	}
+	
+	private boolean intersect( int a1, int a2, int b1, int b2 ){
+		return (a1 <= b1 && b1 <= a2) || (a1 <= b2 && b2 <= a2) || (b1 <= a1 && a1 <= b2) || (b1 <= a2 && a2 <= b2);
+	}
+	
+	private int getValue( Rectangle rectangle, Side side ){
+		switch( side ){
+			case NORTH:
+				return rectangle.y;
+			case SOUTH:
+				return rectangle.y + rectangle.height - 1;
+			case WEST:
+				return rectangle.x;
+			case EAST:
+				return rectangle.x + rectangle.width - 1;
+			default:
+				throw new IllegalStateException( "unknown side: " + side );
+		}
+	}
+}
@@ -90,6 +90,21 @@ public class StickMagnetGraph {
 		return root;
 	}
 
+	/**
+	 * Gets the indices of the windows of all the nodes of this graph, these are the windows that may be
+	 * moved together with the root window. The index of a window is its position in the array returned
+	 * by {@link MagnetController#getWindows()}.
+	 * @return the indices, not <code>null</code>
+	 */
+	public int[] getIndices(){
+		getRoot();
+		int[] result = new int[ nodes.size() ];
+		for( int i = 0; i < result.length; i++ ){
+			result[i] = nodes.get( i ).getIndex();
+		}
+		return result;
+	}
+
 	/**
 	 * Gets information about all known {@link ScreenDockWindow}s.
 	 * @return the information, not <code>null</code>
@@ -160,7 +175,9 @@ public class StickMagnetGraph {
 	}
 	
 	/**
-	 * Builds the entire stickiness graph using a breath first search algorithm. 
+	 * Builds the entire stickiness graph using a breath first search algorithm. If the {@link MagnetController#getNeighborIndex() neighbor index}
+	 * is available, then {@link #relation(ScreenDockWindow, ScreenDockWindow)} is only called for windows whose sides are at most
+	 * one pixel away from each other.
 	 * @param index the node whose neighbors have to be found by this method
 	 * @param nodes an array containing all nodes that may be created. An entry of <code>null</code>
 	 * at index <code>a</code> indicates that the {@link ScreenDockWindow} in <code>windows</code> at
@@ -172,13 +189,25 @@ public class StickMagnetGraph {
 			nodes[index] = new DefaultNode( index, windows[index] );
 		}
 
+		MagnetNeighborIndex neighbors = controller.getNeighborIndex();
+		if( neighbors != null && neighbors.size() != windows.length ){
+			neighbors = null;
+		}
+		
 		LinkedList<Integer> queue = new LinkedList<Integer>();
 		queue.add( index );
 		
 		while( !queue.isEmpty() ){
 			index = queue.poll();
 			
-			for( int i = 0, n = nodes.length; i < n; i++ ) {
+			// only windows whose sides touch the sides of windows[index] can stick to it
+			int[] candidates = null;
+			if( neighbors != null ){
+				candidates = neighbors.search( request.getInitialBounds( windows[index] ), 1 );
+			}
+			
+			for( int c = 0, n = candidates == null ? nodes.length : candidates.length; c < n; c++ ) {
+				int i = candidates == null ? c : candidates[c];
 				if( i != index ) {
 					Side relation = relation( windows[index], windows[i] );
 					if( relation != null ) {
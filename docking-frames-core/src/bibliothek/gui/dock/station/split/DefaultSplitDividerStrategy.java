@@ -112,6 +112,12 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 		/** the current state of the mouse: pressed or not pressed */
 		private boolean pressed = false;
 		
+		/** 
+		 * whether the current drag only paints the divider although the station is in continuous display mode,
+		 * because updating the children took too long
+		 */
+		private boolean ghost = false;
+		
 		/** Will be set to true when mouse is over divider, and set to false when exited. (see AWTListener method below for more details). */
 		private boolean withinBounds = false;
 		/** Flag indicating if AWTEventListener is registered successfully. */
@@ -321,6 +327,7 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 			if( station.isResizingEnabled() && !station.isDisabled() ) {
 				if( !pressed ) {
 					pressed = true;
+					ghost = false;
 					mouseMoved( e );
 					if( current != null ) {
 						divider = current.getDividerAt( e.getX() + deltaX, e.getY() + deltaY );
@@ -342,9 +349,13 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 					bounds = current.getDividerBounds( divider, bounds );
 					repaint( bounds.x, bounds.y, bounds.width, bounds.height );
 	
-					if( station.isContinousDisplay() && current != null ) {
-						setDivider( current, divider );
-						station.updateBounds();
+					if( station.isContinousDisplay() && !ghost && current != null ) {
+						long start = System.currentTimeMillis();
+						moveDivider( current, divider );
+						int limit = station.getContinousDisplayLimit();
+						if( limit > 0 && System.currentTimeMillis() - start > limit ){
+							ghost = true;
+						}
 					}
 				}
 			}
@@ -381,6 +392,32 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 		protected void setDivider( Divideable node, double dividier ){
 			node.setDivider( dividier );
 		}
+		
+		/**
+		 * Called while the user drags the divider of <code>node</code> and the station is in 
+		 * {@link SplitDockStation#isContinousDisplay() continuous display} mode. The default implementation
+		 * changes the divider with {@link #setDivider(Divideable, double)}. If the station
+		 * {@link SplitDockStation#isSubtreeUpdateSupported() supports} it, only the bounds of the children of 
+		 * <code>node</code> are updated, otherwise the bounds of the entire station. Subclasses whose
+		 * {@link #setDivider(Divideable, double)} changes more than the subtree of <code>node</code> should 
+		 * override this method.
+		 * @param node the node whose divider changes
+		 * @param divider the new divider
+		 * @see SplitDockStation#moveDivider(Node, Runnable)
+		 */
+		protected void moveDivider( final Divideable node, final double divider ){
+			if( node instanceof Node ){
+				station.moveDivider( (Node)node, new Runnable(){
+					public void run(){
+						setDivider( node, divider );
+					}
+				});
+			}
+			else{
+				setDivider( node, divider );
+				station.updateBounds();
+			}
+		}
 
 		public void mouseMoved( MouseEvent e ){
 			if( station.isResizingEnabled() && !station.isDisabled() ) {
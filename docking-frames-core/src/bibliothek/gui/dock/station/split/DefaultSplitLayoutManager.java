@@ -374,4 +374,13 @@ public class DefaultSplitLayoutManager implements SplitLayoutManager{
     public void updateBounds( Root root, double x, double y, double factorW, double factorH ) {
         root.updateBounds( x, y, 1, 1, factorW, factorH, true );
     }
+    
+    /**
+     * Supports subtree updates only if this is exactly a {@link DefaultSplitLayoutManager}, as subclasses may
+     * change {@link #updateBounds(Root, double, double, double, double)}. Subclasses that do not change how
+     * bounds are updated can override this method and return <code>true</code>.
+     */
+    public boolean isSubtreeUpdateSupported( SplitDockStation station ){
+    	return getClass() == DefaultSplitLayoutManager.class;
+    }
 }
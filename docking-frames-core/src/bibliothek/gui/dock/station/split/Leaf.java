@@ -83,7 +83,9 @@ public class Leaf extends SpanSplitNode{
      * @param handle the element
      */
     public void setHandle( StationChildHandle handle ){
+    	Dockable oldDockable = getDockable();
 		this.handle = handle;
+		getAccess().getOwner().getNodeIndex().dockableChanged( this, oldDockable, getDockable() );
 	}
     
     @Override
@@ -165,6 +167,7 @@ public class Leaf extends SpanSplitNode{
      * replaced by the map provided by the current {@link Dockable} which is a {@link DockStation}
      */
     public void setDockable( Dockable dockable, DockHierarchyLock.Token token, boolean updatePlaceholders, boolean storePlaceholderMap ){
+    	Dockable oldDockable = getDockable();
     	if( handle != null ){
     		if( updatePlaceholders ){
     			getAccess().getPlaceholderSet().set( this, handle.getDockable() );
@@ -182,6 +185,9 @@ public class Leaf extends SpanSplitNode{
     		handle = null;
     	}
     	
+    	// the index must know the new element before any listener is informed about it
+    	getAccess().getOwner().getNodeIndex().dockableChanged( this, oldDockable, dockable );
+    	
         if( dockable != null ){
         	handle = getAccess().newHandle( dockable );
             
@@ -323,9 +329,18 @@ public class Leaf extends SpanSplitNode{
         	Rectangle bounds = getBounds();
         	bounds = getAccess().getSpanStrategy().modifyBounds( bounds, this );
         	Component component = displayer.getComponent();
-        	component.setBounds( bounds );
-        	if( component instanceof JComponent ){
-        		((JComponent)component).revalidate();
+        	if( getAccess().getOwner().isIncrementalUpdate() ){
+        		// only the displayers which really moved need a new layout
+        		if( !bounds.equals( component.getBounds() ) || !component.isValid() ){
+        			component.setBounds( bounds );
+        			component.validate();
+        		}
+        	}
+        	else{
+	        	component.setBounds( bounds );
+	        	if( component instanceof JComponent ){
+	        		((JComponent)component).revalidate();
+	        	}
         	}
         }
     }
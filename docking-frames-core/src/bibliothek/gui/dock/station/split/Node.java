@@ -301,8 +301,11 @@ public class Node extends VisibleSplitNode implements Divideable{
     public void setDivider( double divider ){
     	if( this.divider != divider ){
 	        this.divider = divider;
-	        getAccess().getOwner().revalidate();
-	        getAccess().getOwner().repaint();
+	        SplitDockStation owner = getAccess().getOwner();
+	        if( !owner.isIncrementalUpdate() ){
+		        owner.revalidate();
+		        owner.repaint();
+	        }
 	        getAccess().repositioned( this );
     	}
     }
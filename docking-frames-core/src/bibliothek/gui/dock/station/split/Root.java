@@ -30,6 +30,7 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Insets;
 import java.awt.Rectangle;
+import java.util.List;
 import java.util.Map;
 
 import javax.swing.JComponent;
@@ -37,6 +38,7 @@ import javax.swing.JComponent;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.SplitDockStation;
 import bibliothek.gui.dock.layout.location.AsideRequest;
+import bibliothek.util.Path;
 
 /**
  * The root of the tree that represents the internal structure of a 
@@ -53,6 +55,9 @@ public class Root extends SpanSplitNode{
     /** The result of {@link #getBaseBounds()} */
     private Rectangle baseBounds = null;
     
+    /** fast access to the nodes of the tree */
+    private SplitNodeIndex index;
+    
     /**
      * Creates a new root.
      * @param access the access to internal methods of the
@@ -70,6 +75,25 @@ public class Root extends SpanSplitNode{
      */
     public Root( SplitDockAccess access, long id ){
         super( access, id );
+        index = new SplitNodeIndex( this );
+        index.add( this );
+    }
+    
+    /**
+     * Gets the index which allows fast access to the nodes of this tree.
+     * @return the index, not <code>null</code>
+     */
+    public SplitNodeIndex getNodeIndex(){
+		return index;
+	}
+    
+    /**
+     * Searches the node whose {@link SplitNode#getId() id} equals <code>id</code>.
+     * @param id the id to search
+     * @return the node with the id <code>id</code> or <code>null</code>
+     */
+    public SplitNode getNode( long id ){
+    	return index.getNode( id );
     }
     
     @Override
@@ -398,7 +422,20 @@ public class Root extends SpanSplitNode{
     
     @Override
     public Leaf getLeaf( Dockable dockable ) {
-        return child == null ? null : child.getLeaf( dockable );
+        return index.getLeaf( dockable );
+    }
+    
+    @Override
+    public SplitNode getPlaceholderNode( Path placeholder ){
+    	List<SplitNode> nodes = index.getPlaceholderNodes( placeholder );
+    	if( nodes.isEmpty() ){
+    		return null;
+    	}
+    	if( nodes.size() == 1 ){
+    		return nodes.get( 0 );
+    	}
+    	// the first node in the tree wins, the index does not know the order of the nodes
+    	return super.getPlaceholderNode( placeholder );
     }
     
     @Override
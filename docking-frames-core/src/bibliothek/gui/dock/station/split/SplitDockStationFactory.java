@@ -38,6 +38,7 @@ import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
 import bibliothek.gui.dock.SplitDockStation;
 import bibliothek.gui.dock.SplitDockStation.Orientation;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.layout.DockLayoutInfo;
 import bibliothek.gui.dock.layout.DockableProperty;
 import bibliothek.gui.dock.layout.LocationEstimationMap;
@@ -56,7 +57,7 @@ import bibliothek.util.xml.XException;
  * A factory that creates {@link SplitDockStation SplitDockStations}.
  * @author Benjamin Sigg
  */
-public class SplitDockStationFactory implements DockFactory<SplitDockStation, SplitDockPerspective, SplitDockStationLayout> {
+public class SplitDockStationFactory implements DockFactory<SplitDockStation, SplitDockPerspective, SplitDockStationLayout>, ConcurrentDockFactory {
 	/** The id which is normally used for this type of factory*/
     public static final String ID = "SplitDockStationFactory";
 
@@ -70,6 +71,10 @@ public class SplitDockStationFactory implements DockFactory<SplitDockStation, Sp
     public String getID() {
         return ID;
     }
+
+    public boolean isConcurrent() {
+        return getClass() == SplitDockStationFactory.class;
+    }
     
     /**
      * Creates a new layout for <code>station</code>. The default implementation just calls {@link #createLayout(SplitDockStationLayout.Entry, int, boolean)}.
@@ -504,7 +509,7 @@ public class SplitDockStationFactory implements DockFactory<SplitDockStation, Sp
     		if( hasPlaceholders ){
     			placeholders = new Path[ in.readInt() ];
     			for( int i = 0; i < placeholders.length; i++ ){
-    				placeholders[i] = new Path( in.readUTF() );
+    				placeholders[i] = new Path( in.readUTF() ).intern();
     			}
     		}
     		
@@ -558,7 +563,7 @@ public class SplitDockStationFactory implements DockFactory<SplitDockStation, Sp
     	int length = in.readInt();
     	List<Path> result = new ArrayList<Path>( length );
     	for( int i = 0; i < length; i++ ){
-    		Path placeholder = new Path( in.readUTF() );
+    		Path placeholder = new Path( in.readUTF() ).intern();
     		if( placeholders == null || placeholders.isValidPlaceholder( placeholder )){
     			result.add( placeholder );
     		}
@@ -656,7 +661,7 @@ public class SplitDockStationFactory implements DockFactory<SplitDockStation, Sp
     		if( xchildren.length > 0 ){
     			List<Path> collection = new ArrayList<Path>( xchildren.length );
     			for( int i = 0; i < xchildren.length; i++ ){
-    				Path placeholder = new Path( xchildren[i].getString() );
+    				Path placeholder = new Path( xchildren[i].getString() ).intern();
     				if( strategy == null || strategy.isValidPlaceholder( placeholder )){
     					collection.add( placeholder );
     				}
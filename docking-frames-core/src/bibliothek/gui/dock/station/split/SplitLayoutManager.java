@@ -133,4 +133,15 @@ public interface SplitLayoutManager {
      * order to get coordinates in pixels. 0 if the basic station has no size.
      */
     public void updateBounds( Root root, double x, double y, double factorW, double factorH );
+    
+    /**
+     * Tells whether <code>station</code> may update the bounds of a subtree without calling
+     * {@link #updateBounds(Root, double, double, double, double)}, e.g. while the user drags a divider. This
+     * is only safe if moving a divider never changes anything outside the subtree of the divider's {@link Node}.
+     * @param station the station that wants to update a subtree
+     * @return <code>true</code> if a subtree can be updated on its own, <code>false</code> if
+     * the entire station has to be updated
+     * @see SplitDockStation#updateBounds(SplitNode)
+     */
+    public boolean isSubtreeUpdateSupported( SplitDockStation station );
 }
@@ -123,7 +123,9 @@ public abstract class SplitNode{
 		if( placeholders == null ){
 			placeholders = new HashSet<Path>();
 		}
-		placeholders.add( placeholder );
+		if( placeholders.add( placeholder )){
+			access.getOwner().getNodeIndex().placeholderAdded( this, placeholder );
+		}
 	}
 	
 	/**
@@ -151,6 +153,10 @@ public abstract class SplitNode{
 	 */
 	public void setPlaceholders( Path[] placeholders ){
 		if( this.placeholders != null ){
+			SplitNodeIndex index = access.getOwner().getNodeIndex();
+			for( Path placeholder : this.placeholders ){
+				index.placeholderRemoved( this, placeholder );
+			}
 			this.placeholders.clear();
 		}
 		if( placeholders != null ){
@@ -167,7 +173,10 @@ public abstract class SplitNode{
 	 */
 	public boolean removePlaceholder( Path placeholder ){
 		if( placeholders != null ){
-			return placeholders.remove( placeholder );
+			if( placeholders.remove( placeholder )){
+				access.getOwner().getNodeIndex().placeholderRemoved( this, placeholder );
+				return true;
+			}
 		}
 		return false;
 	}
@@ -178,7 +187,12 @@ public abstract class SplitNode{
 	 */
 	public void removePlaceholders( Set<Path> placeholders ){
 		if( this.placeholders != null ){
-			this.placeholders.removeAll( placeholders );
+			SplitNodeIndex index = access.getOwner().getNodeIndex();
+			for( Path placeholder : placeholders ){
+				if( this.placeholders.remove( placeholder )){
+					index.placeholderRemoved( this, placeholder );
+				}
+			}
 		}
 	}
 	
@@ -487,6 +501,7 @@ public abstract class SplitNode{
     		for( int i = 0; i < delta; i++ ){
     			if( ids[offset+i] == id ){
     				this.id = access.uniqueID();
+    				access.getOwner().getNodeIndex().idChanged( id, this );
     				issue = true;
     				break;
     			}
@@ -0,0 +1,286 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import bibliothek.gui.Dockable;
+import bibliothek.util.FrameworkOnly;
+import bibliothek.util.Path;
+
+/**
+ * An index owned by a {@link Root}, allowing to find {@link SplitNode}s by their {@link SplitNode#getId() id},
+ * by their {@link Leaf#getDockable() Dockable} or by their {@link SplitNode#getPlaceholders() placeholders} without
+ * visiting the entire tree.<br>
+ * Nodes report any change of their id, {@link Dockable} or placeholders to this index, even if they are not
+ * yet part of the tree. The index only stores weak references to the nodes and checks whether a node still has
+ * the searched property and is still a child of the {@link Root} before returning the node. Hence nodes that
+ * are removed from the tree do not need to be reported.
+ * @author Benjamin Sigg
+ */
+@FrameworkOnly
+public class SplitNodeIndex {
+	/** the root of the tree this index describes */
+	private Root root;
+
+	/** all the nodes ordered by their unique identifiers */
+	private Table<Long> ids = new Table<Long>();
+
+	/** all the leafs ordered by their {@link Dockable}s */
+	private Table<Dockable> dockables = new Table<Dockable>();
+
+	/** all the nodes ordered by their placeholders */
+	private Table<Path> placeholders = new Table<Path>();
+
+	/**
+	 * Creates a new index.
+	 * @param root the root of the tree described by this index, not <code>null</code>
+	 */
+	public SplitNodeIndex( Root root ){
+		if( root == null ){
+			throw new IllegalArgumentException( "root must not be null" );
+		}
+		this.root = root;
+	}
+
+	/**
+	 * Stores <code>node</code> and all its properties in this index. This method is called
+	 * when a new {@link SplitNode} is created.
+	 * @param node the new node
+	 */
+	public void add( SplitNode node ){
+		ids.add( node.getId(), node );
+		for( Path placeholder : node.getPlaceholders() ){
+			placeholders.add( placeholder, node );
+		}
+		if( node instanceof Leaf ){
+			Dockable dockable = ((Leaf)node).getDockable();
+			if( dockable != null ){
+				dockables.add( dockable, node );
+			}
+		}
+	}
+
+	/**
+	 * Informs this index that the {@link SplitNode#getId() id} of <code>node</code> changed.
+	 * @param oldId the old identifier of <code>node</code>
+	 * @param node the node whose identifier changed
+	 */
+	public void idChanged( long oldId, SplitNode node ){
+		ids.remove( oldId, node );
+		ids.add( node.getId(), node );
+	}
+
+	/**
+	 * Informs this index that <code>leaf</code> now shows <code>newDockable</code> instead of <code>oldDockable</code>.
+	 * @param leaf the leaf whose {@link Dockable} changed
+	 * @param oldDockable the old element, can be <code>null</code>
+	 * @param newDockable the new element, can be <code>null</code>
+	 */
+	public void dockableChanged( Leaf leaf, Dockable oldDockable, Dockable newDockable ){
+		if( oldDockable != null ){
+			dockables.remove( oldDockable, leaf );
+		}
+		if( newDockable != null ){
+			dockables.add( newDockable, leaf );
+		}
+	}
+
+	/**
+	 * Informs this index that <code>node</code> now has the placeholder <code>placeholder</code>.
+	 * @param node the node whose placeholders changed
+	 * @param placeholder the new placeholder
+	 */
+	public void placeholderAdded( SplitNode node, Path placeholder ){
+		placeholders.add( placeholder, node );
+	}
+
+	/**
+	 * Informs this index that <code>node</code> no longer has the placeholder <code>placeholder</code>.
+	 * @param node the node whose placeholders changed
+	 * @param placeholder the removed placeholder
+	 */
+	public void placeholderRemoved( SplitNode node, Path placeholder ){
+		placeholders.remove( placeholder, node );
+	}
+
+	/**
+	 * Searches the node with unique identifier <code>id</code>.
+	 * @param id the identifier to search
+	 * @return the node with the identifier or <code>null</code> if not found
+	 */
+	public SplitNode getNode( long id ){
+		List<SplitNode> nodes = ids.get( id );
+		if( nodes != null ){
+			for( SplitNode node : nodes ){
+				if( node.getId() == id && node.getRoot() == root ){
+					return node;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Searches the {@link Leaf} which shows <code>dockable</code>.
+	 * @param dockable the element to search
+	 * @return the leaf showing <code>dockable</code> or <code>null</code>
+	 */
+	public Leaf getLeaf( Dockable dockable ){
+		List<SplitNode> nodes = dockables.get( dockable );
+		if( nodes != null ){
+			for( SplitNode node : nodes ){
+				Leaf leaf = (Leaf)node;
+				if( leaf.getDockable() == dockable && leaf.getRoot() == root ){
+					return leaf;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Searches all the nodes that have the placeholder <code>placeholder</code>.
+	 * @param placeholder the placeholder to search
+	 * @return all the nodes having <code>placeholder</code>, might be empty
+	 */
+	public List<SplitNode> getPlaceholderNodes( Path placeholder ){
+		List<SplitNode> result = new ArrayList<SplitNode>();
+		List<SplitNode> nodes = placeholders.get( placeholder );
+		if( nodes != null ){
+			for( SplitNode node : nodes ){
+				if( node.hasPlaceholder( placeholder ) && node.getRoot() == root ){
+					result.add( node );
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * A map where each key points to a list of weak references to {@link SplitNode}s.
+	 * @author Benjamin Sigg
+	 * @param <K> the kind of key
+	 */
+	private static class Table<K>{
+		/** the contents of this table */
+		private Map<K, List<WeakReference<SplitNode>>> map = new HashMap<K, List<WeakReference<SplitNode>>>();
+
+		/** the number of calls to {@link #add(Object, SplitNode)} until the next call to {@link #sweep()} */
+		private int untilSweep = 64;
+
+		/**
+		 * Associates <code>node</code> with <code>key</code>.
+		 * @param key the key of <code>node</code>
+		 * @param node the node to store
+		 */
+		public void add( K key, SplitNode node ){
+			List<WeakReference<SplitNode>> list = map.get( key );
+			if( list == null ){
+				list = new ArrayList<WeakReference<SplitNode>>( 1 );
+				map.put( key, list );
+			}
+			else{
+				for( WeakReference<SplitNode> reference : list ){
+					if( reference.get() == node ){
+						return;
+					}
+				}
+			}
+			list.add( new WeakReference<SplitNode>( node ) );
+
+			if( --untilSweep <= 0 ){
+				sweep();
+			}
+		}
+
+		/**
+		 * Removes the association between <code>key</code> and <code>node</code>.
+		 * @param key the key of <code>node</code>
+		 * @param node the node to remove
+		 */
+		public void remove( K key, SplitNode node ){
+			List<WeakReference<SplitNode>> list = map.get( key );
+			if( list != null ){
+				Iterator<WeakReference<SplitNode>> iterator = list.iterator();
+				while( iterator.hasNext() ){
+					SplitNode next = iterator.next().get();
+					if( next == null || next == node ){
+						iterator.remove();
+					}
+				}
+				if( list.isEmpty() ){
+					map.remove( key );
+				}
+			}
+		}
+
+		/**
+		 * Gets all the nodes which are associated with <code>key</code>.
+		 * @param key the key to search
+		 * @return the nodes or <code>null</code>
+		 */
+		public List<SplitNode> get( K key ){
+			List<WeakReference<SplitNode>> list = map.get( key );
+			if( list == null ){
+				return null;
+			}
+			List<SplitNode> result = new ArrayList<SplitNode>( list.size() );
+			for( WeakReference<SplitNode> reference : list ){
+				SplitNode node = reference.get();
+				if( node != null ){
+					result.add( node );
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * Removes all the references to nodes that were already collected by the garbage collector.
+		 */
+		private void sweep(){
+			Iterator<List<WeakReference<SplitNode>>> lists = map.values().iterator();
+			while( lists.hasNext() ){
+				List<WeakReference<SplitNode>> list = lists.next();
+				Iterator<WeakReference<SplitNode>> references = list.iterator();
+				while( references.hasNext() ){
+					if( references.next().get() == null ){
+						references.remove();
+					}
+				}
+				if( list.isEmpty() ){
+					lists.remove();
+				}
+			}
+			untilSweep = Math.max( 64, map.size() );
+		}
+	}
+}
@@ -49,7 +49,9 @@ public abstract class VisibleSplitNode extends SplitNode{
     @Override
     public void updateBounds( double x, double y, double width,  double height, double factorW, double factorH, boolean updateComponentBounds ){
         super.updateBounds( x, y, width, height, factorW, factorH, updateComponentBounds );
-        getAccess().getOwner().revalidate();
+        if( !getAccess().getOwner().isIncrementalUpdate() ){
+        	getAccess().getOwner().revalidate();
+        }
         currentBounds = getBounds();
     }
     
@@ -89,6 +89,7 @@ public abstract class CombinedStackDockComponent<T extends CombinedTab, M extend
 			for( T tab : getTabsList() ){
 				tab.setConfiguration( newValue.getConfiguration( tab.getDockable() ));
 			}
+			tabsChanged();
 		}
 	};
 	
@@ -817,6 +818,7 @@ public abstract class CombinedStackDockComponent<T extends CombinedTab, M extend
 				tab.setText( text );
 				tab.setTooltip( tooltip );
 				tab.setEnabled( enabled );
+				tabsChanged();
 			}
 			CombinedMenu menu = getMenu( dockable );
 			if( menu != null ) {
@@ -35,6 +35,7 @@ import bibliothek.gui.DockController;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
 import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.layout.DockLayoutInfo;
 import bibliothek.gui.dock.layout.LocationEstimationMap;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
@@ -55,7 +56,7 @@ import bibliothek.util.xml.XElement;
  * 
  * @author Benjamin Sigg
  */
-public class StackDockStationFactory implements DockFactory<StackDockStation, StackDockPerspective, StackDockStationLayout> {
+public class StackDockStationFactory implements DockFactory<StackDockStation, StackDockPerspective, StackDockStationLayout>, ConcurrentDockFactory {
 	/** The ID which is returned by {@link #getID()} */
 	public static final String ID = "StackDockStationFactory";
 
@@ -63,6 +64,10 @@ public class StackDockStationFactory implements DockFactory<StackDockStation, St
 		return ID;
 	}
 
+	public boolean isConcurrent(){
+		return getClass() == StackDockStationFactory.class;
+	}
+
 	public StackDockStationLayout getLayout( StackDockStation station, Map<Dockable, Integer> children ){
 		Dockable selectedDockable = station.getFrontDockable();
 		int selected = -1;
@@ -116,10 +121,16 @@ public class StackDockStationFactory implements DockFactory<StackDockStation, St
 			if (controller != null)
 				controller.freezeLayout();
 
-			for (int i = station.getDockableCount() - 1; i >= 0; i--)
-				station.remove( i );
+			boolean retro = layout instanceof RetroStackDockStationLayout;
+			
+			// children that remain on the station keep their displayers
+			for (int i = station.getDockableCount() - 1; i >= 0; i--){
+				if( retro || !children.containsValue( station.getDockable( i ) )){
+					station.remove( i );
+				}
+			}
 
-			if( layout instanceof RetroStackDockStationLayout ){
+			if( retro ){
 				RetroStackDockStationLayout retroLayout = (RetroStackDockStationLayout)layout;
 				for (int id : retroLayout.getChildren()) {
 					Dockable dockable = children.get( id );
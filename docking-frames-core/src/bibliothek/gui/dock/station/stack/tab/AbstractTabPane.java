@@ -89,12 +89,16 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
     /** where to place tabs */
     private TabPlacement tabPlacement = TabPlacement.TOP_OF_DOCKABLE;
     
+    /** incremented whenever the size of a tab may have changed */
+    private int tabsVersion = 0;
+    
 	/**
 	 * Connects this pane with <code>controller</code>.
 	 * @param controller the realm in which this pane works, may be <code>null</code>
 	 */
 	public void setController( DockController controller ){
 		this.controller = controller;
+		tabsVersion++;
 		layoutManager.setProperties( controller );
 		fireControllerChanged();
 	}
@@ -111,6 +115,7 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
 		if( tabPlacement == null )
 			throw new IllegalArgumentException( "tab placement must not be null" );
 		this.tabPlacement = tabPlacement;
+		tabsVersion++;
 		revalidate();
 	}
 	
@@ -372,6 +377,7 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
 	public void setSelectedDockable( Dockable dockable ){
 		if( this.selection != dockable ){
 			this.selection = dockable;
+			tabsVersion++;
 			revalidate();
 			fireSelectionChanged();
 		}
@@ -407,6 +413,28 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
 		return dockables.indexOf( dockable );
 	}
 	
+	/**
+	 * Gets a counter that is incremented every time the minimum or preferred size of
+	 * one of the {@link Tab}s of this pane may have changed, e.g. because its text, its
+	 * icon or its font changed. Clients can use this number to find out whether
+	 * the sizes they measured earlier are still valid. Implementations of {@link Tab}
+	 * whose size changes for any other reason than the properties of this pane must call
+	 * {@link #tabsChanged()}.
+	 * @return the current version of the tabs
+	 */
+	public int getTabsVersion(){
+		return tabsVersion;
+	}
+	
+	/**
+	 * Informs this pane that the minimum or preferred size of one of its {@link Tab}s may
+	 * have changed, e.g. because its text, its icon or its font changed. Increments
+	 * {@link #getTabsVersion()}.
+	 */
+	public void tabsChanged(){
+		tabsVersion++;
+	}
+	
 	public Tab[] getTabs(){
 		List<Tab> list = new ArrayList<Tab>();
 		for( Tab tab : tabs.values() ){
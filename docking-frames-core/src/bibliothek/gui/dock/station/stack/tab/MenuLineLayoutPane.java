@@ -49,6 +49,19 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 	private TabsLayoutBlock tabs;
 	private MenuLineLayout layout;
 	
+	/** the result of the last call to {@link #listLayouts()} */
+	private List<MenuLineLayoutPossibility> cachedLayouts;
+	/** the orientation that was used to create {@link #cachedLayouts} */
+	private TabPlacement cachedOrientation;
+	/** the info block that was used to create {@link #cachedLayouts} */
+	private LayoutBlock cachedInfo;
+	/** the sizes of the tabs that were used to create {@link #cachedLayouts} */
+	private Size[] cachedSizesTabs;
+	/** the sizes of the menu that were used to create {@link #cachedLayouts} */
+	private Size[] cachedSizesMenu;
+	/** the sizes of the info block that were used to create {@link #cachedLayouts} */
+	private Size[] cachedSizesInfo;
+	
 	/**
 	 * Creates new layout information for <code>pane</code>.
 	 * @param layout the layout using this pane
@@ -252,11 +265,12 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 	}
 	
 	/**
-	 * Creates a list of all available layouts.
+	 * Creates a list of all available layouts. The list of the last call is reused if neither the
+	 * orientation nor any of the sizes of tabs, menu and info changed, this way the 
+	 * {@link MenuLineLayoutPossibility#getScore() scores} of the layouts are not calculated again.
 	 * @return the list of all available layouts
 	 */
 	private List<MenuLineLayoutPossibility> listLayouts(){
-		List<MenuLineLayoutPossibility> results = new ArrayList<MenuLineLayoutPossibility>();
 		TabPlacement orientation = getPane().getDockTabPlacement();
 		
 		tabs.setOrientation( orientation );
@@ -265,19 +279,64 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane{
 		menu.setOrientation( orientation );
 		Size[] sizesMenu = menu.getSizes();
 		
+		Size[] sizesInfo = null;
 		if( info != null ){
 			info.setOrientation( orientation );
-			Size[] sizesInfo = info.getSizes();
+			sizesInfo = info.getSizes();
+		}
+		
+		if( cachedLayouts != null && cachedOrientation == orientation && cachedInfo == info && 
+				sameSizes( cachedSizesTabs, sizesTabs ) && sameSizes( cachedSizesMenu, sizesMenu ) && sameSizes( cachedSizesInfo, sizesInfo )){
+			return cachedLayouts;
+		}
+		
+		List<MenuLineLayoutPossibility> results = new ArrayList<MenuLineLayoutPossibility>();
+		if( info != null ){
 			for( Size size : sizesInfo ){
 				listLayouts( results, size, sizesMenu, sizesTabs );
 			}
 		}
 		else{
 			listLayouts( results, null, sizesMenu, sizesTabs );
-		}	
+		}
+		
+		cachedLayouts = results;
+		cachedOrientation = orientation;
+		cachedInfo = info;
+		cachedSizesTabs = sizesTabs;
+		cachedSizesMenu = sizesMenu;
+		cachedSizesInfo = sizesInfo;
 		return results;
 	}
 	
+	/**
+	 * Tells whether <code>a</code> and <code>b</code> describe the same sizes. Plain {@link Size}s are
+	 * compared by their values, subclasses of {@link Size} may carry additional information and must
+	 * be the same objects.
+	 * @param a the old sizes, may be <code>null</code>
+	 * @param b the new sizes, may be <code>null</code>
+	 * @return whether the sizes are equal
+	 */
+	private boolean sameSizes( Size[] a, Size[] b ){
+		if( a == b ){
+			return true;
+		}
+		if( a == null || b == null || a.length != b.length ){
+			return false;
+		}
+		for( int i = 0; i < a.length; i++ ){
+			if( a[i] != b[i] ){
+				if( a[i] == null || b[i] == null || a[i].getClass() != Size.class || b[i].getClass() != Size.class ){
+					return false;
+				}
+				if( a[i].getType() != b[i].getType() || a[i].getWidth() != b[i].getWidth() || a[i].getHeight() != b[i].getHeight() || a[i].getScore() != b[i].getScore() ){
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+	
 	private void listLayouts( List<MenuLineLayoutPossibility> list, Size infoSize, Size[] menuSizes, Size[] tabSizes ){
 		for( Size tab : tabSizes ){
 			if( tabs.isAllTabs( tab ) ){
@@ -48,6 +48,11 @@ public class MenuLineLayoutPossibility {
 	private Size infoSize;
 	private Size tabSize;
 	
+	/** the strategy which calculated {@link #score} */
+	private MenuLineLayoutStrategy scoreStrategy;
+	/** the result of {@link #getScore()} */
+	private double score;
+	
 	/**
 	 * Creates a new layout.
 	 * @param pane the {@link TabPane} for which this possible layout is checked
@@ -72,11 +77,17 @@ public class MenuLineLayoutPossibility {
 	/**
 	 * Tells how good this layout is. As higher a score, as better a layout is. The layout which shows
 	 * all components with their preferred size has a score of <code>1.0</code>, the layout which does not
-	 * show anything has a score of <code>0.0</code>.
+	 * show anything has a score of <code>0.0</code>. The score is calculated only once for each
+	 * {@link MenuLineLayout#getStrategy() strategy}.
 	 * @return the score of this layout
 	 */
 	public double getScore(){
-		return pane.getLayout().getStrategy().getScore( this, menuSize, infoSize, tabSize );
+		MenuLineLayoutStrategy strategy = pane.getLayout().getStrategy();
+		if( scoreStrategy != strategy ){
+			score = strategy.getScore( this, menuSize, infoSize, tabSize );
+			scoreStrategy = strategy;
+		}
+		return score;
 	}
 	
 	/**
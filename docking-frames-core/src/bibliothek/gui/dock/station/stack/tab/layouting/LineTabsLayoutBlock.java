@@ -32,9 +32,12 @@ import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.station.stack.tab.AbstractTabPane;
 import bibliothek.gui.dock.station.stack.tab.AxisConversion;
 import bibliothek.gui.dock.station.stack.tab.DefaultAxisConversion;
 import bibliothek.gui.dock.station.stack.tab.Tab;
@@ -52,6 +55,12 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 	 */
 	private boolean sameSize = true;
 	
+	/** the result of the last call to {@link #getSizes()}, may be <code>null</code> */
+	private LineSize[] cachedSizes;
+	
+	/** the state of the tabs that was used to calculate {@link #cachedSizes} */
+	private SizeStamp cachedStamp;
+	
 	/**
 	 * If set, then all tabs have the same height (width) if laid out
 	 * horizontal (vertical).
@@ -67,7 +76,10 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 	 * @param sameSize whether all tabs should have the same height.
 	 */
 	public void setSameSize( boolean sameSize ){
-		this.sameSize = sameSize;
+		if( this.sameSize != sameSize ){
+			this.sameSize = sameSize;
+			invalidateSizes();
+		}
 	}
 	
 	public boolean isAllTabs( Size size ){
@@ -103,9 +115,45 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 		insertTab( pane.putOnTab( selection ));
 	}
 
+	/**
+	 * Deletes the cached result of {@link #getSizes()}. The cache is only used if the {@link TabPane} is
+	 * an {@link AbstractTabPane}, and it is automatically invalidated if the order or the orientation of the
+	 * tabs changes, or if the {@link AbstractTabPane#getTabsVersion() version} of the tabs changes. Subclasses
+	 * using additional properties of the tabs to calculate their sizes need to call this method when these
+	 * properties change.
+	 */
+	public void invalidateSizes(){
+		cachedSizes = null;
+		cachedStamp = null;
+	}
+	
 	public LineSize[] getSizes(){
 		Tab[] tabs = getTabsOrderedByImportance();
-		SizeCollector collector = new SizeCollector( getPane().getDockables() );
+		Dockable[] dockables = getPane().getDockables();
+		
+		TabPane pane = getPane();
+		if( !(pane instanceof AbstractTabPane<?, ?, ?>) ){
+			// without a version there is no way to tell whether a tab changed its size
+			invalidateSizes();
+			return getSizes( tabs, dockables );
+		}
+		
+		SizeStamp stamp = new SizeStamp( tabs, dockables, ((AbstractTabPane<?, ?, ?>)pane).getTabsVersion() );
+		if( cachedSizes == null || !stamp.equals( cachedStamp )){
+			cachedSizes = getSizes( tabs, dockables );
+			cachedStamp = stamp;
+		}
+		return cachedSizes.clone();
+	}
+	
+	/**
+	 * Calculates all the sizes this block can have.
+	 * @param tabs the tabs ordered by importance
+	 * @param dockables all the {@link Dockable}s of the {@link TabPane}
+	 * @return the sizes, the last entry contains all tabs
+	 */
+	private LineSize[] getSizes( Tab[] tabs, Dockable[] dockables ){
+		SizeCollector collector = new SizeCollector( dockables );
 		
 		LineSize[] result = new LineSize[ tabs.length+1 ];
 		for( int i = 0; i < tabs.length; i++ ){
@@ -394,6 +442,9 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 		private List<Integer>[] onTop;
 		private List<Integer>[] onBottom;
 		
+		/** the index of each tab in {@link #tabs} */
+		private Map<Tab, Integer> indices;
+		
 		/**
 		 * Creates a new {@link ZOrder}
 		 * @param tabs the tabs whose z-order needs to be calculated.
@@ -404,10 +455,14 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 			
 			onTop = new List[ tabs.length ];
 			onBottom = new List[ tabs.length ];
+			indices = new IdentityHashMap<Tab, Integer>( tabs.length );
 			
 			for( int i = 0; i < tabs.length; i++ ){
 				onTop[i] = new ArrayList<Integer>( 5 );
 				onBottom[i] = new ArrayList<Integer>( 5 );
+				if( !indices.containsKey( tabs[i] )){
+					indices.put( tabs[i], i );
+				}
 			}
 		}
 		
@@ -419,16 +474,11 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 		 * @param back the back tab
 		 */
 		public void putOrder( Tab front, Tab back ){
-			for( int f = 0; f < tabs.length; f++ ){
-				if( tabs[f] == front ){
-					for( int b = 0; b < tabs.length; b++ ){
-						if( tabs[b] == back ){
-							onTop[b].add( f );
-							onBottom[f].add( b );
-							return;
-						}
-					}
-				}
+			Integer f = indices.get( front );
+			Integer b = indices.get( back );
+			if( f != null && b != null ){
+				onTop[b].add( f );
+				onBottom[f].add( b );
 			}
 		}
 		
@@ -487,6 +537,69 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock{
 		}
 	}
 	
+	/**
+	 * Describes the state of a set of {@link Tab}s as far as it is relevant for {@link LineTabsLayoutBlock#getSizes()}. Two
+	 * stamps are equal if they describe the same tabs in the same order, with the same orientation and the same
+	 * {@link AbstractTabPane#getTabsVersion() version}. Creating and comparing stamps does not measure any tab.
+	 * @author Benjamin Sigg
+	 */
+	private class SizeStamp{
+		private Tab[] tabs;
+		private Dockable[] dockables;
+		private TabPlacement orientation;
+		private int version;
+		private int hash;
+		
+		/**
+		 * Creates a new stamp describing the current state of <code>tabs</code>.
+		 * @param tabs the tabs ordered by importance
+		 * @param dockables all the {@link Dockable}s of the {@link TabPane}
+		 * @param version the current {@link AbstractTabPane#getTabsVersion() version} of the tabs
+		 */
+		public SizeStamp( Tab[] tabs, Dockable[] dockables, int version ){
+			this.tabs = tabs;
+			this.dockables = dockables;
+			this.version = version;
+			orientation = getOrientation();
+			
+			hash = version;
+			hash = 31 * hash + (orientation == null ? 0 : orientation.hashCode());
+			for( Tab tab : tabs ){
+				hash = 31 * hash + System.identityHashCode( tab );
+			}
+			for( Dockable dockable : dockables ){
+				hash = 31 * hash + System.identityHashCode( dockable );
+			}
+		}
+		
+		@Override
+		public boolean equals( Object obj ){
+			if( !(obj instanceof SizeStamp) ){
+				return false;
+			}
+			SizeStamp other = (SizeStamp)obj;
+			if( hash != other.hash || orientation != other.orientation || version != other.version || tabs.length != other.tabs.length || dockables.length != other.dockables.length ){
+				return false;
+			}
+			for( int i = 0; i < tabs.length; i++ ){
+				if( tabs[i] != other.tabs[i] ){
+					return false;
+				}
+			}
+			for( int i = 0; i < dockables.length; i++ ){
+				if( dockables[i] != other.dockables[i] ){
+					return false;
+				}
+			}
+			return true;
+		}
+		
+		@Override
+		public int hashCode(){
+			return hash;
+		}
+	}
+	
 	/**
 	 * Used to calculate the minimum and preferred size of a set of 
 	 * {@link Tab}s.
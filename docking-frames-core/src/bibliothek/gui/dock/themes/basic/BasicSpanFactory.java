@@ -25,29 +25,32 @@
  */
 package bibliothek.gui.dock.themes.basic;
 
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 
-import javax.swing.Timer;
-
 import bibliothek.gui.dock.station.span.Span;
 import bibliothek.gui.dock.station.span.SpanCallback;
 import bibliothek.gui.dock.station.span.SpanFactory;
 import bibliothek.gui.dock.station.span.SpanMode;
+import bibliothek.gui.dock.util.animation.Animation;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 
 /**
- * The {@link BasicSpanFactory} uses a small animation to expand and to shrink its {@link Span}s.
+ * The {@link BasicSpanFactory} uses a small animation to expand and to shrink its {@link Span}s. The 
+ * animation is driven by the {@link AnimationScheduler#getDefault() default} {@link AnimationScheduler}.
  * @author Benjamin Sigg
  */
 public class BasicSpanFactory implements SpanFactory{
 	private int duration;
 	private int minSpeed;
-	private Timer timer;
 	private Collection<BasicSpan> ticking = new HashSet<BasicSpan>(); 
+	private Animation animation = new Animation(){
+		public boolean tick( long now ){
+			return BasicSpanFactory.this.tick( now );
+		}
+	};
 	
 	/**
 	 * Creates a new factory
@@ -57,15 +60,6 @@ public class BasicSpanFactory implements SpanFactory{
 	public BasicSpanFactory( int duration, int minSpeed ){
 		setDuration( duration );
 		setMinSpeed( minSpeed );
-		timer = new Timer( 0, new ActionListener(){
-			public void actionPerformed( ActionEvent e ){
-				tick();
-			}
-		} );
-		timer.setRepeats( true );
-		timer.setCoalesce( true );
-		timer.setDelay( 20 );
-		timer.setInitialDelay( 0 );
 	}
 	
 	/**
@@ -105,7 +99,7 @@ public class BasicSpanFactory implements SpanFactory{
 	private synchronized void start( BasicSpan span ){
 		if( ticking.isEmpty() ){
 			ticking.add( span );
-			timer.start();
+			AnimationScheduler.getDefault().start( animation );
 		}
 		else{
 			ticking.add( span );
@@ -115,15 +109,15 @@ public class BasicSpanFactory implements SpanFactory{
 	private synchronized void stop( BasicSpan span ){
 		ticking.remove( span );
 		if( ticking.isEmpty() ){
-			timer.stop();
+			AnimationScheduler.getDefault().stop( animation );
 		}
 	}
 	
-	private synchronized void tick(){
-		long now = System.nanoTime();
+	private synchronized boolean tick( long now ){
 		for( BasicSpan span : ticking.toArray( new BasicSpan[ ticking.size() ] ) ){
 			span.tick( now );
 		}
+		return !ticking.isEmpty();
 	}
 	
 	private class BasicSpan implements Span {
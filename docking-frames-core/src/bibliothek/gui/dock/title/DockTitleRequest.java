@@ -128,9 +128,19 @@ public abstract class DockTitleRequest extends ResourceRequest<DockTitle>{
 	
 	/**
 	 * Asks all sources for a {@link DockTitle}, stops as soon
-	 * as one source called {@link #answer(DockTitle)}.  
+	 * as one source called {@link #answer(DockTitle)}. If this request does not yet
+	 * have an answer, then a title that was {@link DockTitleVersion#recycle(DockStation, DockTitle) recycled}
+	 * is reused if possible.
 	 */
 	protected void executeRequestList(){
+		if( getAnswer() == null ){
+			DockTitle recycled = version.reuse( this );
+			if( recycled != null ){
+				answer( recycled );
+				return;
+			}
+		}
+		
 		requestDockTitle( this );
 		if( isAnswered() )
 			return;
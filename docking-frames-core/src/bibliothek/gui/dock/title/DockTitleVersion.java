@@ -30,13 +30,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
 import bibliothek.gui.DockTheme;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
+import bibliothek.gui.dock.event.DockRegisterAdapter;
 import bibliothek.gui.dock.event.UIListener;
 import bibliothek.gui.dock.util.Priority;
+import bibliothek.gui.dock.util.ResourcePool;
 import bibliothek.gui.dock.util.extension.Extension;
 import bibliothek.gui.dock.util.extension.ExtensionName;
+import bibliothek.util.Filter;
 import bibliothek.util.Path;
 
 /**
@@ -46,7 +50,11 @@ import bibliothek.util.Path;
  * Every version consists of three slots for factories, each with different
  * priority. If a new title is required, the factory with the highest priority
  * will be used.<br>
- * <code>DockTitleVersion</code> implements {@link DockTitleFactory} for convenience.
+ * <code>DockTitleVersion</code> implements {@link DockTitleFactory} for convenience.<br>
+ * Titles that are no longer used can be {@link #recycle(DockStation, DockTitle) recycled}, they are
+ * stored in a {@link #getPool() pool} until the same {@link Dockable} requests a title for a {@link DockStation}
+ * of the same type again. The pool is cleared whenever the factory or the {@link DockTheme} changes, and it
+ * forgets about {@link Dockable}s that are no longer registered at the {@link DockController}.
  * @author Benjamin Sigg
  */
 public class DockTitleVersion implements DockTitleFactory{
@@ -75,6 +83,12 @@ public class DockTitleVersion implements DockTitleFactory{
     /** whether the theme is currently changing, a version does automatically call {@link DockTitleRequest#request()} while the theme changes */
     private boolean onThemeChange = false;
     
+    /** titles that are no longer used, but which may be used again */
+    private ResourcePool<PoolKey, DockTitle> pool = new ResourcePool<PoolKey, DockTitle>();
+    
+    /** whether a listener removing the titles of unregistered {@link Dockable}s from the {@link #pool} is installed */
+    private boolean poolCleaner = false;
+    
     /**
      * Creates a new version.
      * @param controller the controller for which titles will be created
@@ -96,10 +110,12 @@ public class DockTitleVersion implements DockTitleFactory{
 			
 			public void themeWillChange( DockController controller, DockTheme oldTheme, DockTheme newTheme ){
 				onThemeChange = true;
+				pool.clear();
 			}
 			
 			public void themeChanged( DockController controller, DockTheme oldTheme, DockTheme newTheme ){
 				onThemeChange = false;
+				pool.clear();
 			}
 		});
         
@@ -166,6 +182,59 @@ public class DockTitleVersion implements DockTitleFactory{
     	}
     }
     
+    /**
+     * Stores <code>title</code>, which is no longer used, in the {@link #getPool() pool} of this version. If
+     * a {@link DockTitleRequest} for the same {@link Dockable} and for a {@link DockStation} of the same type is
+     * made, then <code>title</code> may be reused. The title must not be {@link Dockable#bind(DockTitle) bound}. Titles
+     * that are recycled while the {@link DockTheme} changes are ignored.
+     * @param parent the station on which <code>title</code> was shown, can be <code>null</code>
+     * @param title the title that is no longer used, its {@link DockTitle#getOrigin() origin} must be <code>this</code>
+     */
+    public void recycle( DockStation parent, DockTitle title ){
+    	if( title.getOrigin() != this ){
+    		throw new IllegalArgumentException( "the origin of title is not this version" );
+    	}
+    	if( onThemeChange ){
+    		// the title was created by the old theme
+    		return;
+    	}
+    	if( !poolCleaner ){
+    		// the register may not yet exist when this version is created
+    		poolCleaner = true;
+    		controller.getRegister().addDockRegisterListener( new DockRegisterAdapter(){
+    			@Override
+    			public void dockableUnregistered( DockController controller, final Dockable dockable ){
+    				pool.remove( new Filter<PoolKey>(){
+    					public boolean includes( PoolKey item ){
+    						return item.dockable == dockable;
+    					}
+    				});
+    			}
+    		});
+    	}
+    	pool.put( new PoolKey( title.getDockable(), parent ), title );
+    }
+    
+    /**
+     * Searches a title that was {@link #recycle(DockStation, DockTitle) recycled} and which could be used
+     * to answer <code>request</code>.
+     * @param request the request that needs to be answered
+     * @return a title that can be reused or <code>null</code>
+     */
+    public DockTitle reuse( DockTitleRequest request ){
+    	return pool.take( new PoolKey( request.getTarget(), request.getParent() ) );
+    }
+    
+    /**
+     * Gets the pool of titles that were {@link #recycle(DockStation, DockTitle) recycled}. Clients can use the
+     * pool to read how often titles were reused, to change the {@link ResourcePool#setCapacity(int) capacity}
+     * of the pool, or to {@link ResourcePool#clear() clear} the pool.
+     * @return the pool, not <code>null</code>
+     */
+    public ResourcePool<?, ?> getPool(){
+		return pool;
+	}
+    
     /**
      * Calls {@link DockTitleRequest#request()} for all {@link DockTitleRequest}s
      * that are currently installed on this version.
@@ -215,6 +284,7 @@ public class DockTitleVersion implements DockTitleFactory{
     	DockTitleFactory newFactory = getFactory();
     	
     	if( oldFactory != newFactory ){
+    		pool.clear();
     		if( oldFactory != null ){
     			for( DockTitleRequest request : requests ){
     				oldFactory.uninstall( request );
@@ -289,4 +359,35 @@ public class DockTitleVersion implements DockTitleFactory{
     public DockController getController(){
         return controller;
     }
-}
\ No newline at end of file
+    
+    /**
+     * The {@link Dockable} and the type of {@link DockStation} for which a {@link DockTitle} was created.
+     * @author Benjamin Sigg
+     */
+    private static class PoolKey{
+    	private Dockable dockable;
+    	private Class<?> station;
+    	
+    	public PoolKey( Dockable dockable, DockStation station ){
+    		this.dockable = dockable;
+    		this.station = station == null ? null : station.getClass();
+    	}
+    	
+    	@Override
+    	public int hashCode(){
+    		return dockable.hashCode();
+    	}
+    	
+    	@Override
+    	public boolean equals( Object obj ){
+    		if( obj == this ){
+    			return true;
+    		}
+    		if( obj instanceof PoolKey ){
+    			PoolKey other = (PoolKey)obj;
+    			return other.dockable == dockable && other.station == station;
+    		}
+    		return false;
+    	}
+    }
+}
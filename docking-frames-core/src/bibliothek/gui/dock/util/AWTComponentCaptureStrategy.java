@@ -35,6 +35,8 @@ import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.Robot;
 import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.swing.SwingUtilities;
 
@@ -52,6 +54,9 @@ public interface AWTComponentCaptureStrategy {
      * component is supposed to be.
      */
     public static final AWTComponentCaptureStrategy SCREEN_CAPTURE_STRATEGY = new AWTComponentCaptureStrategy(){
+        /** the robots that were already created, one for each device. A {@link Robot} references its device, hence a map with weak keys would never release them */
+        private Map<GraphicsDevice, Robot> robots = new HashMap<GraphicsDevice, Robot>();
+        
         public BufferedImage createCapture( DockController controller, Component component ){
             try {
                 if( !component.isShowing() )
@@ -65,7 +70,11 @@ public interface AWTComponentCaptureStrategy {
                 if( device == null )
                     return null;
 
-                Robot deviceRobot = new Robot( device );
+                Robot deviceRobot = robots.get( device );
+                if( deviceRobot == null ){
+                    deviceRobot = new Robot( device );
+                    robots.put( device, deviceRobot );
+                }
 
                 Point location = new Point( 0, 0 );
                 SwingUtilities.convertPointToScreen( location, component );
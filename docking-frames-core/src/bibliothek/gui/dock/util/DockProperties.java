@@ -26,12 +26,11 @@
 
 package bibliothek.gui.dock.util;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import bibliothek.gui.DockController;
+import bibliothek.util.ListenerList;
 
 /**
  * A set of properties that are used at different places all over the framework.
@@ -264,7 +263,8 @@ public class DockProperties {
 		/** the name of this entry */
 		private PropertyKey<A> key;
 		/** listeners to this entry */
-		private List<DockPropertyListener<A>> listeners = new ArrayList<DockPropertyListener<A>>();
+		@SuppressWarnings("unchecked")
+		private ListenerList<DockPropertyListener<A>> listeners = new ListenerList<DockPropertyListener<A>>( (Class<DockPropertyListener<A>>)(Class<?>)DockPropertyListener.class );
 		/** the value stored in this entry */
 		private NullPriorityValue<A> value = new NullPriorityValue<A>();
 		
@@ -310,7 +310,7 @@ public class DockProperties {
 				(oldValue != null && newValue == null) ||
 				(oldValue != null && !oldValue.equals( newValue ))){
 			
-				for( DockPropertyListener<A> listener : (DockPropertyListener<A>[])listeners.toArray( new DockPropertyListener<?>[ listeners.size() ] ))
+				for( DockPropertyListener<A> listener : listeners.toArray())
 					listener.propertyChanged( DockProperties.this, key, oldValue, newValue );
 			}
 		}
@@ -333,7 +333,7 @@ public class DockProperties {
 				(oldValue != null && newValue == null) ||
 				(oldValue != null && !oldValue.equals( newValue ))){
 			
-				for( DockPropertyListener<A> listener : (DockPropertyListener<A>[])listeners.toArray( new DockPropertyListener<?>[ listeners.size() ] ))
+				for( DockPropertyListener<A> listener : listeners.toArray())
 					listener.propertyChanged( DockProperties.this, key, oldValue, newValue );
 			}
 		}
@@ -27,6 +27,8 @@ package bibliothek.gui.dock.util;
 
 import java.awt.Component;
 import java.awt.Container;
+import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
 
 import javax.swing.JComponent;
 
@@ -55,5 +57,36 @@ public final class DockSwingUtilities {
         }
 
         return !(component instanceof JComponent);
-    }   
+    }
+    
+    /**
+     * Executes <code>run</code> on the {@link EventQueue dispatch thread} and waits until <code>run</code> completed. If
+     * the current thread is the dispatch thread, then <code>run</code> is executed directly. Any {@link RuntimeException} or
+     * {@link Error} thrown by <code>run</code> is rethrown by this method.
+     * @param run the code to execute
+     * @throws IllegalStateException if the current thread was interrupted while waiting
+     */
+    public static void invokeAndWait( Runnable run ){
+    	if( EventQueue.isDispatchThread() ){
+    		run.run();
+    		return;
+    	}
+    	try{
+    		EventQueue.invokeAndWait( run );
+    	}
+    	catch( InterruptedException ex ){
+    		Thread.currentThread().interrupt();
+    		throw new IllegalStateException( "interrupted while waiting for the dispatch thread", ex );
+    	}
+    	catch( InvocationTargetException ex ){
+    		Throwable cause = ex.getCause();
+    		if( cause instanceof RuntimeException ){
+    			throw (RuntimeException)cause;
+    		}
+    		if( cause instanceof Error ){
+    			throw (Error)cause;
+    		}
+    		throw new IllegalStateException( cause );
+    	}
+    }
 }
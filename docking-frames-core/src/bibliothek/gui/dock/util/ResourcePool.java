@@ -0,0 +1,229 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import bibliothek.util.Filter;
+
+/**
+ * A pool of resources that are no longer used, but which might be used again later. Each resource is
+ * stored together with a key, a resource is only handed out again if a client asks for exactly the same
+ * key. The pool has a limited capacity, if the pool is full the resource that was not used for the longest
+ * time is thrown away.<br>
+ * A {@link ResourcePool} counts how often a resource was found, clients can use these numbers to
+ * decide whether pooling is worth the memory it requires.<br>
+ * Resources are typically created by answering a {@link ResourceRequest}.
+ * @author Benjamin Sigg
+ * @param <K> the type of the keys
+ * @param <V> the type of the resources
+ */
+public class ResourcePool<K, V> {
+	/** the default capacity of new pools */
+	public static final int DEFAULT_CAPACITY = 64;
+	
+	/** all the resources in this pool, the first entry was used least recently */
+	private Map<K, List<V>> resources = new LinkedHashMap<K, List<V>>( 16, 0.75f, true );
+	
+	/** the number of resources in this pool */
+	private int size = 0;
+	
+	/** the maximum number of resources in this pool */
+	private int capacity = DEFAULT_CAPACITY;
+	
+	/** how often {@link #take(Object)} found a resource */
+	private int hits = 0;
+	
+	/** how often {@link #take(Object)} did not find a resource */
+	private int misses = 0;
+	
+	/**
+	 * Sets the maximum number of resources this pool can store. A capacity of <code>0</code> disables
+	 * the pool.
+	 * @param capacity the new capacity, at least <code>0</code>
+	 */
+	public void setCapacity( int capacity ){
+		if( capacity < 0 ){
+			throw new IllegalArgumentException( "capacity must be at least 0: " + capacity );
+		}
+		this.capacity = capacity;
+		shrink();
+	}
+	
+	/**
+	 * Gets the maximum number of resources this pool can store.
+	 * @return the capacity
+	 */
+	public int getCapacity(){
+		return capacity;
+	}
+	
+	/**
+	 * Gets the number of resources that are currently stored in this pool.
+	 * @return the number of resources
+	 */
+	public int getSize(){
+		return size;
+	}
+	
+	/**
+	 * Gets the number of calls to {@link #take(Object)} that found a resource.
+	 * @return the number of successful searches
+	 */
+	public int getHits(){
+		return hits;
+	}
+	
+	/**
+	 * Gets the number of calls to {@link #take(Object)} that did not find a resource.
+	 * @return the number of failed searches
+	 */
+	public int getMisses(){
+		return misses;
+	}
+	
+	/**
+	 * Gets the ratio of successful searches to all searches.
+	 * @return the hit rate, a value between <code>0</code> and <code>1</code>, <code>0</code>
+	 * if {@link #take(Object)} was never called
+	 */
+	public double getHitRate(){
+		int total = hits + misses;
+		if( total == 0 ){
+			return 0;
+		}
+		return hits / (double)total;
+	}
+	
+	/**
+	 * Sets the counters of {@link #getHits() hits} and {@link #getMisses() misses} back to <code>0</code>.
+	 */
+	public void resetStatistics(){
+		hits = 0;
+		misses = 0;
+	}
+	
+	/**
+	 * Stores <code>resource</code> in this pool. If the pool is full, then the resource that was not used
+	 * for the longest time is removed.
+	 * @param key the key which is required to find <code>resource</code> again, not <code>null</code>
+	 * @param resource the resource to store, not <code>null</code>
+	 * @return <code>true</code> if <code>resource</code> was stored, <code>false</code> if the capacity
+	 * of this pool is <code>0</code>
+	 */
+	public boolean put( K key, V resource ){
+		if( key == null ){
+			throw new IllegalArgumentException( "key must not be null" );
+		}
+		if( resource == null ){
+			throw new IllegalArgumentException( "resource must not be null" );
+		}
+		if( capacity == 0 ){
+			return false;
+		}
+		
+		List<V> list = resources.get( key );
+		if( list == null ){
+			list = new ArrayList<V>( 1 );
+			resources.put( key, list );
+		}
+		list.add( resource );
+		size++;
+		shrink();
+		return true;
+	}
+	
+	/**
+	 * Searches and removes a resource that was stored with a key equal to <code>key</code>.
+	 * @param key the key of the resource
+	 * @return the resource or <code>null</code> if not found
+	 */
+	public V take( K key ){
+		List<V> list = resources.get( key );
+		if( list == null ){
+			misses++;
+			return null;
+		}
+		V result = list.remove( list.size()-1 );
+		if( list.isEmpty() ){
+			resources.remove( key );
+		}
+		size--;
+		hits++;
+		return result;
+	}
+	
+	/**
+	 * Removes all the resources from this pool.
+	 * @return the resources that were removed, the caller may want to dispose them
+	 */
+	public List<V> clear(){
+		List<V> result = new ArrayList<V>( size );
+		for( List<V> list : resources.values() ){
+			result.addAll( list );
+		}
+		resources.clear();
+		size = 0;
+		return result;
+	}
+	
+	/**
+	 * Removes all the resources whose key is included by <code>keys</code>.
+	 * @param keys the filter telling which keys to remove, not <code>null</code>
+	 * @return the resources that were removed, the caller may want to dispose them
+	 */
+	public List<V> remove( Filter<? super K> keys ){
+		List<V> result = new ArrayList<V>();
+		Iterator<Map.Entry<K, List<V>>> iterator = resources.entrySet().iterator();
+		while( iterator.hasNext() ){
+			Map.Entry<K, List<V>> next = iterator.next();
+			if( keys.includes( next.getKey() )){
+				result.addAll( next.getValue() );
+				size -= next.getValue().size();
+				iterator.remove();
+			}
+		}
+		return result;
+	}
+	
+	private void shrink(){
+		Iterator<List<V>> iterator = resources.values().iterator();
+		while( size > capacity && iterator.hasNext() ){
+			List<V> list = iterator.next();
+			while( size > capacity && !list.isEmpty() ){
+				list.remove( 0 );
+				size--;
+			}
+			if( list.isEmpty() ){
+				iterator.remove();
+			}
+		}
+	}
+}
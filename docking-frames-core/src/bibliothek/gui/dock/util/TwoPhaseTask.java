@@ -0,0 +1,377 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util;
+
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A task that is executed in two phases. The first phase runs in a background thread and prepares some 
+ * data, e.g. by reading and parsing a file. The second phase runs on the {@link EventQueue dispatch thread}
+ * and applies the prepared data to the user interface. Only the second phase blocks the user interface,
+ * hence expensive work should be done by {@link #prepare()}.<br>
+ * {@link TwoPhaseTaskListener}s are informed about the state and the {@link #getProgress() progress} of the task, they are always called on
+ * the dispatch thread. A {@link TwoPhaseTask} is a {@link Future}, but clients must never call {@link #get()} on the dispatch
+ * thread: the second phase needs the dispatch thread and would never be executed.
+ * @author Benjamin Sigg
+ * @param <V> the kind of data that is prepared in the background
+ */
+public abstract class TwoPhaseTask<V> implements Future<V> {
+	/**
+	 * The states a {@link TwoPhaseTask} passes through.
+	 * @author Benjamin Sigg
+	 */
+	public static enum State{
+		/** the task was not yet started */
+		WAITING, 
+		/** {@link TwoPhaseTask#prepare()} is running in a background thread */
+		PREPARING,
+		/** {@link TwoPhaseTask#apply(Object)} is running on the dispatch thread */
+		APPLYING,
+		/** the task completed successfully */
+		DONE,
+		/** the task was aborted by an exception */
+		FAILED,
+		/** the task was cancelled before it was applied */
+		CANCELLED
+	}
+	
+	/** the current state of this task */
+	private State state = State.WAITING;
+	
+	/** the result of {@link #prepare()} */
+	private V result;
+	
+	/** the reason why this task failed */
+	private Throwable failure;
+	
+	/** the thread executing {@link #prepare()} */
+	private Thread preparingThread;
+	
+	/** how much of {@link #prepare()} is done, a value between 0 and 1 */
+	private double progress = 0;
+	
+	/** whether an event telling the current {@link #progress} is already scheduled */
+	private boolean progressScheduled = false;
+	
+	/** observers of this task */
+	private List<TwoPhaseTaskListener> listeners = new ArrayList<TwoPhaseTaskListener>();
+	
+	/**
+	 * Prepares the data. This method is called by a background thread, it must not access any
+	 * {@link java.awt.Component} or any other object that is not thread safe.
+	 * @return the prepared data
+	 * @throws Exception if the data cannot be prepared, the task fails
+	 */
+	protected abstract V prepare() throws Exception;
+	
+	/**
+	 * Applies the prepared data, this method is called on the {@link EventQueue dispatch thread}.
+	 * @param prepared the result of {@link #prepare()}
+	 * @throws Exception if the data cannot be applied, the task fails
+	 */
+	protected abstract void apply( V prepared ) throws Exception;
+	
+	/**
+	 * Adds a listener to this task, the listener is informed whenever the {@link #getState() state} changes.
+	 * @param listener the new listener, not <code>null</code>
+	 */
+	public synchronized void addListener( TwoPhaseTaskListener listener ){
+		if( listener == null ){
+			throw new IllegalArgumentException( "listener must not be null" );
+		}
+		listeners.add( listener );
+	}
+	
+	/**
+	 * Removes <code>listener</code> from this task.
+	 * @param listener the listener to remove
+	 */
+	public synchronized void removeListener( TwoPhaseTaskListener listener ){
+		listeners.remove( listener );
+	}
+	
+	/**
+	 * Gets the current state of this task.
+	 * @return the state, not <code>null</code>
+	 */
+	public synchronized State getState(){
+		return state;
+	}
+	
+	/**
+	 * Gets the exception that aborted this task.
+	 * @return the exception or <code>null</code> if the task did not fail
+	 */
+	public synchronized Throwable getFailure(){
+		return failure;
+	}
+	
+	/**
+	 * Gets an estimate of how much of the first phase is done.
+	 * @return the progress, a value between <code>0</code> and <code>1</code>
+	 * @see #setProgress(double)
+	 */
+	public synchronized double getProgress(){
+		return progress;
+	}
+	
+	/**
+	 * Sets an estimate of how much of the first phase is done, this method is to be called by {@link #prepare()}.
+	 * The {@link TwoPhaseTaskListener}s are informed on the dispatch thread, several calls of this method may
+	 * result in only one event.
+	 * @param progress the progress, a value between <code>0</code> and <code>1</code>
+	 */
+	protected void setProgress( double progress ){
+		synchronized( this ){
+			this.progress = Math.max( 0, Math.min( 1, progress ));
+			if( progressScheduled ){
+				return;
+			}
+			progressScheduled = true;
+		}
+		
+		EventQueue.invokeLater( new Runnable(){
+			public void run(){
+				double value;
+				TwoPhaseTaskListener[] copy;
+				synchronized( TwoPhaseTask.this ){
+					progressScheduled = false;
+					value = TwoPhaseTask.this.progress;
+					copy = listeners.toArray( new TwoPhaseTaskListener[ listeners.size() ] );
+				}
+				for( TwoPhaseTaskListener listener : copy ){
+					listener.progressChanged( TwoPhaseTask.this, value );
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Starts this task using a new daemon thread for the first phase.
+	 * @throws IllegalStateException if this task was already started
+	 */
+	public void start(){
+		Thread thread = new Thread( createPreparation(), "DockingFrames: TwoPhaseTask" );
+		thread.setDaemon( true );
+		thread.start();
+	}
+	
+	/**
+	 * Starts this task using <code>executor</code> to run the first phase.
+	 * @param executor the executor that runs {@link #prepare()}, not <code>null</code>
+	 * @throws IllegalStateException if this task was already started
+	 */
+	public void start( Executor executor ){
+		executor.execute( createPreparation() );
+	}
+	
+	private synchronized Runnable createPreparation(){
+		if( state != State.WAITING ){
+			throw new IllegalStateException( "task already started" );
+		}
+		return new Runnable(){
+			public void run(){
+				runPreparation();
+			}
+		};
+	}
+	
+	private void runPreparation(){
+		synchronized( this ){
+			if( state != State.WAITING ){
+				return;
+			}
+			preparingThread = Thread.currentThread();
+		}
+		setState( State.WAITING, State.PREPARING );
+		
+		final V prepared;
+		try{
+			prepared = prepare();
+		}
+		catch( Throwable ex ){
+			fail( ex );
+			return;
+		}
+		finally{
+			synchronized( this ){
+				preparingThread = null;
+			}
+		}
+		
+		EventQueue.invokeLater( new Runnable(){
+			public void run(){
+				runApplication( prepared );
+			}
+		});
+	}
+	
+	private void runApplication( V prepared ){
+		if( !setState( State.PREPARING, State.APPLYING )){
+			return;
+		}
+		try{
+			apply( prepared );
+		}
+		catch( Throwable ex ){
+			fail( ex );
+			return;
+		}
+		synchronized( this ){
+			result = prepared;
+			progress = 1;
+		}
+		setState( State.APPLYING, State.DONE );
+	}
+	
+	private void fail( Throwable ex ){
+		State old;
+		synchronized( this ){
+			old = state;
+			if( old == State.CANCELLED ){
+				return;
+			}
+			failure = ex;
+		}
+		setState( old, State.FAILED );
+	}
+	
+	/**
+	 * Changes the state from <code>expected</code> to <code>next</code>.
+	 * @param expected the state this task should be in
+	 * @param next the new state
+	 * @return <code>true</code> if the state changed, <code>false</code> if the state was not <code>expected</code>
+	 */
+	private boolean setState( final State expected, final State next ){
+		final TwoPhaseTaskListener[] copy;
+		synchronized( this ){
+			if( state != expected ){
+				return false;
+			}
+			state = next;
+			notifyAll();
+			copy = listeners.toArray( new TwoPhaseTaskListener[ listeners.size() ] );
+		}
+		
+		Runnable fire = new Runnable(){
+			public void run(){
+				for( TwoPhaseTaskListener listener : copy ){
+					listener.stateChanged( TwoPhaseTask.this, expected, next );
+				}
+			}
+		};
+		if( EventQueue.isDispatchThread() ){
+			fire.run();
+		}
+		else{
+			EventQueue.invokeLater( fire );
+		}
+		return true;
+	}
+	
+	/**
+	 * Cancels this task. A task can only be cancelled as long as it has not yet started to 
+	 * apply its data.
+	 * @param mayInterruptIfRunning whether the background thread executing {@link #prepare()} should
+	 * be interrupted
+	 * @return <code>true</code> if the task was cancelled
+	 */
+	public boolean cancel( boolean mayInterruptIfRunning ){
+		State old;
+		synchronized( this ){
+			old = state;
+			if( old != State.WAITING && old != State.PREPARING ){
+				return false;
+			}
+			if( mayInterruptIfRunning && preparingThread != null ){
+				preparingThread.interrupt();
+			}
+		}
+		return setState( old, State.CANCELLED );
+	}
+	
+	public synchronized boolean isCancelled(){
+		return state == State.CANCELLED;
+	}
+	
+	public synchronized boolean isDone(){
+		return state == State.DONE || state == State.FAILED || state == State.CANCELLED;
+	}
+	
+	/**
+	 * Waits until this task is completed.
+	 * @return the data that was prepared and applied
+	 * @throws IllegalStateException if called on the dispatch thread before the task is completed
+	 */
+	public synchronized V get() throws InterruptedException, ExecutionException{
+		if( !isDone() && EventQueue.isDispatchThread() ){
+			throw new IllegalStateException( "waiting on the dispatch thread would block the task forever" );
+		}
+		while( !isDone() ){
+			wait();
+		}
+		return result();
+	}
+	
+	/**
+	 * Waits until this task is completed, or until <code>timeout</code> passed.
+	 * @return the data that was prepared and applied
+	 * @throws IllegalStateException if called on the dispatch thread before the task is completed
+	 */
+	public synchronized V get( long timeout, TimeUnit unit ) throws InterruptedException, ExecutionException, TimeoutException{
+		if( !isDone() && EventQueue.isDispatchThread() ){
+			throw new IllegalStateException( "waiting on the dispatch thread would block the task forever" );
+		}
+		long end = System.nanoTime() + unit.toNanos( timeout );
+		while( !isDone() ){
+			long remaining = end - System.nanoTime();
+			if( remaining <= 0 ){
+				throw new TimeoutException();
+			}
+			TimeUnit.NANOSECONDS.timedWait( this, remaining );
+		}
+		return result();
+	}
+	
+	private V result() throws ExecutionException{
+		switch( state ){
+			case CANCELLED:
+				throw new CancellationException();
+			case FAILED:
+				throw new ExecutionException( failure );
+			default:
+				return result;
+		}
+	}
+}
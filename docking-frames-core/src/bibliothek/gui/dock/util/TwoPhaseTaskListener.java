@@ -0,0 +1,51 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util;
+
+import bibliothek.gui.dock.util.TwoPhaseTask.State;
+
+/**
+ * A listener observing a {@link TwoPhaseTask}, can be used to show the progress of the task. This 
+ * listener is always called on the {@link java.awt.EventQueue dispatch thread}.
+ * @author Benjamin Sigg
+ */
+public interface TwoPhaseTaskListener {
+	/**
+	 * Called when the state of <code>task</code> changed.
+	 * @param task the task whose state changed
+	 * @param oldState the previous state
+	 * @param newState the new state, the state of <code>task</code> may already have changed again
+	 */
+	public void stateChanged( TwoPhaseTask<?> task, State oldState, State newState );
+	
+	/**
+	 * Called while <code>task</code> prepares its data and reports how much work is done. Not
+	 * every task reports its progress.
+	 * @param task the task that is preparing its data
+	 * @param progress the progress, a value between <code>0</code> and <code>1</code>
+	 */
+	public void progressChanged( TwoPhaseTask<?> task, double progress );
+}
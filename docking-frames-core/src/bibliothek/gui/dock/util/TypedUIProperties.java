@@ -26,6 +26,7 @@
 package bibliothek.gui.dock.util;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import bibliothek.gui.DockController;
@@ -260,6 +261,24 @@ public class TypedUIProperties {
 		properties.put( priority, id, value );
 	}
 	
+	/**
+	 * Sets many values of the same type at once. Observers of the values are informed only
+	 * after all values are stored.
+	 * @param <V> the <code>type</code>
+	 * @param priority the level on which to store the values
+	 * @param type the type of the values
+	 * @param values the new resources, the keys are the unique identifiers of the values, the values can be <code>null</code>
+	 * @see UIProperties#putAll(Priority, Map)
+	 */
+	public <V> void putAll( Priority priority, Type<V> type, Map<String, ? extends V> values ){
+		check( type );
+		Map<String, Object> keyed = new LinkedHashMap<String, Object>();
+		for( Map.Entry<String, ? extends V> entry : values.entrySet() ){
+			keyed.put( type.getKey( entry.getKey() ), entry.getValue() );
+		}
+		properties.putAll( priority, keyed );
+	}
+	
 	/**
 	 * Gets the current value of the resource <code>id</code> with type <code>type</code>.
 	 * @param <V> the <code>type</code>
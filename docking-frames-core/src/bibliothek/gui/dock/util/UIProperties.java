@@ -25,10 +25,14 @@
  */
 package bibliothek.gui.dock.util;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
@@ -37,6 +41,7 @@ import java.util.Set;
 
 import bibliothek.gui.DockController;
 import bibliothek.util.Path;
+import bibliothek.util.PathTrie;
 
 /**
  * A map containing some string-values pairs and so called
@@ -68,6 +73,12 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
     /** a list of all observers */
     private List<Observer> observers = new LinkedList<Observer>();
     
+    /** all observers grouped by the resource they observe */
+    private Map<String, List<Observer>> observersById = new HashMap<String, List<Observer>>();
+    
+    /** all observers grouped by the kind of bridge they require */
+    private PathTrie<List<Observer>> observersByPath = new PathTrie<List<Observer>>();
+    
     /** whether to stall updates or not */
     private int updateLock = 0;
     
@@ -277,19 +288,11 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
     }
     
     private Set<String> getAllUsedResources(){
-    	Set<String> result = new HashSet<String>();
-    	for( Observer observer : observers ){
-    		result.add( observer.id );
-    	}
-    	return result;
+    	return new HashSet<String>( observersById.keySet() );
     }
     
     private Set<Path> getAllUsedBridges(){
-    	Set<Path> result = new HashSet<Path>();
-    	for( Observer observer : observers ){
-    		result.add( observer.path );
-    	}
-    	return result;
+    	return new HashSet<Path>( observersByPath.keySet() );
     }
     
     /**
@@ -315,9 +318,7 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
         
         if( value.set( priority, bridge, null )){
             if( updateLock == 0 ){
-                for( Observer check : observers ){
-                    check.resetBridge();
-                }
+                resetBridges( Collections.singleton( path ) );
             }
         }
     }
@@ -346,9 +347,7 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
             }
             
             if( change && updateLock == 0 ){
-                for( Observer check : observers ){
-                    check.resetBridge();
-                }
+                resetBridges( Collections.singleton( path ) );
             }   
         }
     }
@@ -363,7 +362,7 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
      */
     public void unpublish( Priority priority, B bridge ){
         Iterator<Map.Entry<Path, UIPriorityValue<B>>> iterator = bridges.entrySet().iterator();
-        boolean change = false;
+        List<Path> changed = new ArrayList<Path>();
         
         UIScheme<V, U, B> scheme = schemes.get( priority );
         
@@ -378,7 +377,9 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
             			replacement = scheme.getBridge( entry.getKey(), this );
             		}
             		
-	                change = next.set( priority, replacement, scheme ) || change;
+	                if( next.set( priority, replacement, scheme )){
+	                	changed.add( entry.getKey() );
+	                }
 	                if( isRemoveable( entry.getKey(), next ) ){
 	                    iterator.remove();
 	                }
@@ -386,13 +387,29 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
             }
         }
         
-        if( change && updateLock == 0 ){
-            for( Observer check : observers ){
-                check.resetBridge();
-            }
+        if( !changed.isEmpty() && updateLock == 0 ){
+        	resetBridges( changed );
         }
     }
     
+    /**
+     * Calls {@link Observer#resetBridge()} on all the {@link Observer}s whose bridge might
+     * be affected by a change of the bridges <code>paths</code>. These are the observers whose
+     * kind is equal to or a child of any of the <code>paths</code>.
+     * @param paths the bridges that changed
+     */
+    private void resetBridges( Collection<Path> paths ){
+    	Set<Observer> affected = new LinkedHashSet<Observer>();
+    	for( Path path : paths ){
+    		for( List<Observer> observers : observersByPath.getStartingWith( path )){
+    			affected.addAll( observers );
+    		}
+    	}
+    	for( Observer observer : affected ){
+    		observer.resetBridge();
+    	}
+    }
+    
     /**
      * Gets the bridge which is stored on level <code>priority</code> for {@link UIValue}s
      * of kind <code>path</code>.
@@ -480,6 +497,8 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
         
         Observer combination = new Observer( id, path, value );
         observers.add( combination );
+        index( observersById, id, combination );
+        index( observersByPath, path, combination );
         combination.resetAll();
     }
     
@@ -493,12 +512,33 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
             Observer next = list.next();
             if( next.getValue() == value ){
                 list.remove();
+                unindex( observersById, next.id, next );
+                unindex( observersByPath, next.path, next );
                 next.destroy();
                 return;
             }
         }
     }
     
+    private <K> void index( Map<K, List<Observer>> map, K key, Observer observer ){
+    	List<Observer> list = map.get( key );
+    	if( list == null ){
+    		list = new ArrayList<Observer>( 2 );
+    		map.put( key, list );
+    	}
+    	list.add( observer );
+    }
+    
+    private <K> void unindex( Map<K, List<Observer>> map, K key, Observer observer ){
+    	List<Observer> list = map.get( key );
+    	if( list != null ){
+    		list.remove( observer );
+    		if( list.isEmpty() ){
+    			map.remove( key );
+    		}
+    	}
+    }
+    
     /**
      * Tells whether the value with id <code>id</code> is observed by at least one {@link UIValue}.
      * @param id the name of some value
@@ -565,6 +605,53 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
      * @param resource the new resource, can be <code>null</code>
      */
     public void put( Priority priority, String id, V resource ){
+    	putAll( priority, Collections.singletonMap( id, resource ) );
+    }
+    
+    /**
+     * Sets many resources at once. All the values are stored before any {@link UIValue} is informed, and each
+     * {@link UIValue} observing one of the changed resources is informed exactly once. If the updates are currently
+     * {@link #lockUpdate() locked}, then no {@link UIValue} is informed at all.<br>
+     * Please note that values created by an {@link UIScheme} cannot be removed, and that a removed value may
+     * be replaced by a value of an {@link UIScheme}.
+     * @param priority the importance of the values
+     * @param resources the new resources, the keys are the names of the values, the values may be <code>null</code>
+     * @see #put(Priority, String, Object)
+     */
+    public void putAll( Priority priority, Map<String, ? extends V> resources ){
+    	Map<String, V> changed = new LinkedHashMap<String, V>();
+    	try{
+    		lockUpdate();
+    		for( Map.Entry<String, ? extends V> entry : resources.entrySet() ){
+    			store( priority, entry.getKey(), entry.getValue(), changed );
+    		}
+    	}
+    	finally{
+    		// not calling unlockUpdate, there is no need to reset all the observers
+    		updateLock--;
+    	}
+    	
+    	if( updateLock == 0 ){
+    		for( Map.Entry<String, V> entry : changed.entrySet() ){
+    			List<Observer> list = observersById.get( entry.getKey() );
+    			if( list != null ){
+    				for( Observer observer : new ArrayList<Observer>( list )){
+    					observer.update( entry.getValue() );
+    				}
+    			}
+    		}
+    	}
+    }
+    
+    /**
+     * Stores a new resource without informing any {@link UIValue}.
+     * @param priority the importance of this value
+     * @param id the name of the value
+     * @param resource the new resource, can be <code>null</code>
+     * @param changed if the visible value of <code>id</code> changed, then <code>id</code> and the value to
+     * send to the observers are put into this map
+     */
+    private void store( Priority priority, String id, V resource, Map<String, V> changed ){
         UIPriorityValue<V> value = resources.get( id );
         if( value == null && resource != null ){
             value = createResource( id );
@@ -581,13 +668,7 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
         	}
         	
 	        if( value.set( priority, resource, scheme ) ){
-	            if( updateLock == 0 ){
-	                for( Observer observer : observers ){
-	                    if( observer.id.equals( id )){
-	                        observer.update( resource );
-	                    }
-	                }
-	            }
+	        	changed.put( id, resource );
 	        }
 	        
 	        if( isRemoveable( id, value ) ){
@@ -0,0 +1,45 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.animation;
+
+/**
+ * An {@link Animation} is a piece of code that is executed once per frame by an {@link AnimationScheduler},
+ * until the animation reports that it is finished.
+ * @author Benjamin Sigg
+ */
+public interface Animation {
+	/**
+	 * Called once per frame on the <code>EventDispatchThread</code>. Implementations should update their
+	 * state and call {@link java.awt.Component#repaint()} on the {@link java.awt.Component}s that changed, the
+	 * {@link javax.swing.RepaintManager} will paint all the components that were marked during one frame
+	 * in one pass.
+	 * @param now the current time in nanoseconds, as given by {@link System#nanoTime()}. The same value is given
+	 * to all animations of one frame
+	 * @return <code>true</code> if this animation wants to be called again in the next frame, <code>false</code>
+	 * if this animation is finished
+	 */
+	public boolean tick( long now );
+}
@@ -0,0 +1,371 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.animation;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.swing.RepaintManager;
+import javax.swing.Timer;
+
+import bibliothek.gui.DockController;
+
+/**
+ * The {@link AnimationScheduler} is a clock driving any number of {@link Animation}s. Instead of 
+ * each animated component owning its own {@link Timer}, all the animations are registered at one scheduler
+ * and are executed one after the other in one single event on the <code>EventDispatchThread</code>. Since all 
+ * the calls to {@link java.awt.Component#repaint()} of one frame happen within the same event, the 
+ * {@link RepaintManager} paints the dirty regions of all the animated components in one pass.<br>
+ * The scheduler stops its {@link Timer} as soon as no animation is running.<br>
+ * An animation can be {@link #start(Animation, int) started} with its own frame delay, in this case it is only
+ * called if at least that many milliseconds passed since its last frame. The {@link Timer} runs with the smallest
+ * delay any running animation requires, so a single slow animation does not cause more frames than necessary.<br>
+ * All the animations of an application run on the same <code>EventDispatchThread</code>, hence there is 
+ * a {@link #getDefault() default scheduler} shared by all {@link DockController}s. Clients should
+ * only access the scheduler from the <code>EventDispatchThread</code>.<br>
+ * The scheduler measures how many frames it actually executes per second and how long the animations need
+ * to update themselves, clients can use this information to monitor the cost of animations.
+ * @author Benjamin Sigg
+ * @see DockController#getAnimationScheduler()
+ */
+public class AnimationScheduler {
+	/** the default number of milliseconds between two frames */
+	public static final int DEFAULT_FRAME_DELAY = 15;
+	
+	/** the scheduler shared by all components */
+	private static AnimationScheduler defaultScheduler;
+	
+	/**
+	 * Gets the scheduler that is used by all the animations of the framework.
+	 * @return the shared scheduler, not <code>null</code>
+	 */
+	public static synchronized AnimationScheduler getDefault(){
+		if( defaultScheduler == null ){
+			defaultScheduler = new AnimationScheduler();
+		}
+		return defaultScheduler;
+	}
+	
+	/** the animations that are currently running, in the order in which they were started */
+	private Map<Animation, Schedule> animations = new LinkedHashMap<Animation, Schedule>();
+	
+	/** a copy of the keys of {@link #animations}, <code>null</code> if the map changed since the copy was made */
+	private Animation[] animationsSnapshot;
+	
+	/** the timer triggering one frame after the other */
+	private Timer timer;
+	
+	/** the number of milliseconds between two frames, used for animations without their own delay */
+	private int frameDelay;
+	
+	/** how many frames were executed since this scheduler was created */
+	private long frameCount = 0;
+	
+	/** the time when {@link #frameRate} was measured the last time, -1 if not yet measured */
+	private long frameRateStart = -1;
+	
+	/** how many frames were executed since {@link #frameRateStart} */
+	private int frameRateCount = 0;
+	
+	/** the number of frames executed per second, as measured over the last second */
+	private double frameRate = 0;
+	
+	/** how long the last frame took in nanoseconds */
+	private long lastFrameCost = 0;
+	
+	/** the average time a frame takes in nanoseconds */
+	private double averageFrameCost = 0;
+	
+	/**
+	 * Creates a new scheduler using {@link #DEFAULT_FRAME_DELAY} as delay between two frames.
+	 */
+	public AnimationScheduler(){
+		this( DEFAULT_FRAME_DELAY );
+	}
+	
+	/**
+	 * Creates a new scheduler.
+	 * @param frameDelay the number of milliseconds between two frames, at least 1
+	 */
+	public AnimationScheduler( int frameDelay ){
+		timer = new Timer( frameDelay, new ActionListener(){
+			public void actionPerformed( ActionEvent e ){
+				frame();
+			}
+		});
+		timer.setCoalesce( true );
+		timer.setRepeats( true );
+		setFrameDelay( frameDelay );
+	}
+	
+	/**
+	 * Sets the number of milliseconds between two frames. This delay is used for all the animations
+	 * that do not have their own delay.
+	 * @param frameDelay the delay, at least 1
+	 */
+	public void setFrameDelay( int frameDelay ){
+		if( frameDelay < 1 ){
+			throw new IllegalArgumentException( "frameDelay must be at least 1" );
+		}
+		this.frameDelay = frameDelay;
+		updateTimerDelay();
+	}
+	
+	/**
+	 * Gets the number of milliseconds between two frames.
+	 * @return the delay
+	 */
+	public int getFrameDelay(){
+		return frameDelay;
+	}
+	
+	/**
+	 * Gets the number of milliseconds the {@link Timer} currently waits between two frames. This is 
+	 * the smallest delay required by any running animation.
+	 * @return the current delay
+	 */
+	public int getTimerDelay(){
+		return timer.getDelay();
+	}
+	
+	/**
+	 * Starts running <code>animation</code>, the animation will be called once per frame until it 
+	 * is {@link #stop(Animation) stopped} or until it reports that it is finished. Nothing happens
+	 * if <code>animation</code> is already running.
+	 * @param animation the new animation, not <code>null</code>
+	 */
+	public void start( Animation animation ){
+		start( animation, 0 );
+	}
+	
+	/**
+	 * Starts running <code>animation</code>, the animation will be called at most once every 
+	 * <code>frameDelay</code> milliseconds until it is {@link #stop(Animation) stopped} or until it reports that 
+	 * it is finished. Nothing happens if <code>animation</code> is already running.
+	 * @param animation the new animation, not <code>null</code>
+	 * @param frameDelay the minimal number of milliseconds between two calls to <code>animation</code>, 
+	 * <code>0</code> to use the {@link #getFrameDelay() delay} of this scheduler
+	 */
+	public void start( Animation animation, int frameDelay ){
+		if( animation == null ){
+			throw new IllegalArgumentException( "animation must not be null" );
+		}
+		if( frameDelay < 0 ){
+			throw new IllegalArgumentException( "frameDelay must not be negative" );
+		}
+		if( !animations.containsKey( animation )){
+			animations.put( animation, new Schedule( frameDelay ) );
+			animationsSnapshot = null;
+			updateTimerDelay();
+			if( !timer.isRunning() ){
+				frameRateStart = -1;
+				timer.start();
+			}
+		}
+	}
+	
+	/**
+	 * Stops <code>animation</code>, the animation will not be called anymore.
+	 * @param animation the animation to stop
+	 */
+	public void stop( Animation animation ){
+		if( animations.remove( animation ) != null ){
+			animationsSnapshot = null;
+			updateTimerDelay();
+		}
+		if( animations.isEmpty() ){
+			timer.stop();
+		}
+	}
+	
+	/**
+	 * Tells whether <code>animation</code> is currently running.
+	 * @param animation the animation to search
+	 * @return <code>true</code> if <code>animation</code> will be called in the next frame
+	 */
+	public boolean isRunning( Animation animation ){
+		return animations.containsKey( animation );
+	}
+	
+	/**
+	 * Tells whether at least one animation is running.
+	 * @return <code>true</code> if the clock of this scheduler is running
+	 */
+	public boolean isActive(){
+		return timer.isRunning();
+	}
+	
+	/**
+	 * Gets the number of animations that are currently running.
+	 * @return the number of animations
+	 */
+	public int getAnimationCount(){
+		return animations.size();
+	}
+	
+	/**
+	 * Gets the total number of frames this scheduler executed.
+	 * @return the number of frames
+	 */
+	public long getFrameCount(){
+		return frameCount;
+	}
+	
+	/**
+	 * Gets the number of frames this scheduler executed per second, as measured during the last
+	 * second in which at least one animation was running.
+	 * @return the frame rate
+	 */
+	public double getFrameRate(){
+		return frameRate;
+	}
+	
+	/**
+	 * Gets the time the animations needed to update themselves during the last frame. 
+	 * @return the cost of the last frame in nanoseconds
+	 */
+	public long getLastFrameCost(){
+		return lastFrameCost;
+	}
+	
+	/**
+	 * Gets the time the animations needed to update themselves during one frame, averaged 
+	 * over the last frames.
+	 * @return the average cost of one frame in nanoseconds
+	 */
+	public double getAverageFrameCost(){
+		return averageFrameCost;
+	}
+	
+	/**
+	 * Executes one frame, calls {@link Animation#tick(long)} of all running animations.
+	 */
+	protected void frame(){
+		long now = System.nanoTime();
+		if( animationsSnapshot == null ){
+			animationsSnapshot = animations.keySet().toArray( new Animation[ animations.size() ] );
+		}
+		// the timer is not exact, an animation is called if its next frame is due within half a timer delay 
+		long tolerance = timer.getDelay() * 500000L;
+		boolean removed = false;
+		for( Animation animation : animationsSnapshot ){
+			Schedule schedule = animations.get( animation );
+			if( schedule != null && schedule.isDue( now, tolerance )){
+				if( animation.tick( now )){
+					schedule.ticked( now );
+				}
+				else{
+					animations.remove( animation );
+					animationsSnapshot = null;
+					removed = true;
+				}
+			}
+		}
+		if( animations.isEmpty() ){
+			timer.stop();
+		}
+		else if( removed ){
+			updateTimerDelay();
+		}
+		
+		long end = System.nanoTime();
+		measure( now, end );
+	}
+	
+	/**
+	 * Sets the delay of {@link #timer} to the smallest delay any running animation requires.
+	 */
+	private void updateTimerDelay(){
+		int delay = -1;
+		for( Schedule schedule : animations.values() ){
+			int next = schedule.frameDelay == 0 ? frameDelay : schedule.frameDelay;
+			if( delay == -1 || next < delay ){
+				delay = next;
+			}
+		}
+		if( delay == -1 ){
+			delay = frameDelay;
+		}
+		if( timer.getDelay() != delay ){
+			timer.setDelay( delay );
+			timer.setInitialDelay( delay );
+		}
+	}
+	
+	private void measure( long start, long end ){
+		frameCount++;
+		lastFrameCost = end - start;
+		if( frameCount == 1 ){
+			averageFrameCost = lastFrameCost;
+		}
+		else{
+			averageFrameCost = 0.9 * averageFrameCost + 0.1 * lastFrameCost;
+		}
+		
+		if( frameRateStart == -1 ){
+			frameRateStart = start;
+			frameRateCount = 0;
+		}
+		else{
+			frameRateCount++;
+			long duration = start - frameRateStart;
+			if( duration >= 1000000000L ){
+				frameRate = frameRateCount * 1000000000.0 / duration;
+				frameRateStart = start;
+				frameRateCount = 0;
+			}
+		}
+	}
+	
+	/**
+	 * Tells when an {@link Animation} has to be called the next time.
+	 * @author Benjamin Sigg
+	 */
+	private static class Schedule{
+		/** the minimal delay between two calls in milliseconds, 0 if the animation is called in every frame */
+		private final int frameDelay;
+		
+		/** the time in nanoseconds when the animation was called the last time, -1 if never called */
+		private long lastTick = -1;
+		
+		public Schedule( int frameDelay ){
+			this.frameDelay = frameDelay;
+		}
+		
+		public boolean isDue( long now, long tolerance ){
+			if( frameDelay == 0 || lastTick == -1 ){
+				return true;
+			}
+			return now - lastTick + tolerance >= frameDelay * 1000000L;
+		}
+		
+		public void ticked( long now ){
+			lastTick = now;
+		}
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * A clock shared by all the animated components of the framework, executing all the animations
+ * in one event per frame.
+ */
+package bibliothek.gui.dock.util.animation;
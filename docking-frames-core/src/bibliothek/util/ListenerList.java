@@ -0,0 +1,155 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util;
+
+import java.lang.reflect.Array;
+
+/**
+ * A list of listeners optimized for the case that listeners are often informed about events, but
+ * rarely added or removed. The list keeps an array with all its entries, this array is replaced by a new array
+ * whenever a listener is added or removed ("copy on write"). Hence firing an event does neither require
+ * a copy of the list nor any other allocation of memory:
+ * <pre>
+ * for( SomeListener listener : listeners.toArray() ){
+ *     listener.changed( event );
+ * }
+ * </pre>
+ * Listeners added or removed while an event is fired do not affect the array that is currently iterated.<br>
+ * The same listener can be added more than once, and it will then be informed more than once. This list is
+ * not synchronized.
+ * @author Benjamin Sigg
+ * @param <L> the type of the listeners
+ */
+public class ListenerList<L> {
+	/** the current listeners, this array is never modified */
+	private L[] listeners;
+	
+	/**
+	 * Creates a new, empty list.
+	 * @param type the type of the listeners, required to create arrays
+	 */
+	@SuppressWarnings("unchecked")
+	public ListenerList( Class<L> type ){
+		if( type == null ){
+			throw new IllegalArgumentException( "type must not be null" );
+		}
+		listeners = (L[])Array.newInstance( type, 0 );
+	}
+	
+	/**
+	 * Adds <code>listener</code> at the end of this list.
+	 * @param listener the new listener, not <code>null</code>
+	 */
+	public void add( L listener ){
+		if( listener == null ){
+			throw new IllegalArgumentException( "listener must not be null" );
+		}
+		L[] next = copy( listeners.length+1 );
+		System.arraycopy( listeners, 0, next, 0, listeners.length );
+		next[ listeners.length ] = listener;
+		listeners = next;
+	}
+	
+	/**
+	 * Removes the first occurrence of <code>listener</code> from this list.
+	 * @param listener the listener to remove
+	 * @return <code>true</code> if <code>listener</code> was found
+	 */
+	public boolean remove( L listener ){
+		for( int i = 0; i < listeners.length; i++ ){
+			if( listeners[i].equals( listener ) ){
+				L[] next = copy( listeners.length-1 );
+				System.arraycopy( listeners, 0, next, 0, i );
+				System.arraycopy( listeners, i+1, next, i, listeners.length-i-1 );
+				listeners = next;
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Removes all listeners from this list.
+	 */
+	public void clear(){
+		if( listeners.length > 0 ){
+			listeners = copy( 0 );
+		}
+	}
+	
+	/**
+	 * Tells whether <code>listener</code> is stored in this list.
+	 * @param listener the listener to search
+	 * @return <code>true</code> if <code>listener</code> was found
+	 */
+	public boolean contains( L listener ){
+		for( L next : listeners ){
+			if( next.equals( listener ) ){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Gets the number of listeners in this list.
+	 * @return the number of listeners
+	 */
+	public int size(){
+		return listeners.length;
+	}
+	
+	/**
+	 * Tells whether this list is empty.
+	 * @return <code>true</code> if there are no listeners
+	 */
+	public boolean isEmpty(){
+		return listeners.length == 0;
+	}
+	
+	/**
+	 * Gets the listener at location <code>index</code>.
+	 * @param index the index of the listener
+	 * @return the listener
+	 */
+	public L get( int index ){
+		return listeners[ index ];
+	}
+	
+	/**
+	 * Gets all the listeners of this list. The array is shared and must not be modified, it is not affected
+	 * by changes of this list. Calling this method does not allocate any memory.
+	 * @return all the listeners
+	 */
+	public L[] toArray(){
+		return listeners;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private L[] copy( int length ){
+		return (L[])Array.newInstance( listeners.getClass().getComponentType(), length );
+	}
+}
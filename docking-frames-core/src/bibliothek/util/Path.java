@@ -25,9 +25,12 @@
  */
 package bibliothek.util;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.swing.KeyStroke;
 
@@ -39,7 +42,10 @@ import bibliothek.gui.dock.control.ModifierMask;
  * A path is a description of the position of some resource. A path consists
  * of segments where a segment can be any kind of string (preferably a segment is a 
  * valid java-identifier). A path can be converted into a string, the segments will
- * be {@link #encodeSegment(String) encoded} when doing that.
+ * be {@link #encodeSegment(String) encoded} when doing that.<br>
+ * Paths are often used as keys in maps, hence a path remembers its hash code. Paths that are
+ * used many times, e.g. placeholders read from a file, can be {@link #intern() interned} to share
+ * one instance.
  * @author Benjamin Sigg
  */
 public final class Path {
@@ -127,9 +133,15 @@ public final class Path {
     	return builder.toString();
     }
     
+    /** all the paths that were {@link #intern() interned} */
+    private static final Map<Path, WeakReference<Path>> interned = new WeakHashMap<Path, WeakReference<Path>>();
+    
     /** the segments of this path */
     private String[] segments;
     
+    /** the hash code of this path, <code>0</code> if not yet computed */
+    private int hash = 0;
+    
     /**
      * Tells whether <code>path</code> is a valid path or not
      * @param path the path to test
@@ -338,9 +350,33 @@ public final class Path {
     	return true;
     }
     
+    /**
+     * Gets a canonical representation of this path. Two paths that are {@link #equals(Object) equal}
+     * share the same canonical representation. Comparing interned paths is fast, and interned paths
+     * need less memory if the same path is used in many places. Paths that are no longer used
+     * are removed from the pool of interned paths.
+     * @return the canonical representation of this path, may be <code>this</code>
+     */
+    public Path intern(){
+    	synchronized( interned ){
+    		WeakReference<Path> reference = interned.get( this );
+    		Path result = reference == null ? null : reference.get();
+    		if( result == null ){
+    			result = this;
+    			interned.put( this, new WeakReference<Path>( this ) );
+    		}
+    		return result;
+    	}
+    }
+    
     @Override
     public int hashCode() {
-        return Arrays.hashCode( segments );
+    	int result = hash;
+    	if( result == 0 ){
+    		result = Arrays.hashCode( segments );
+    		hash = result;
+    	}
+        return result;
     }
 
     @Override
@@ -352,6 +388,8 @@ public final class Path {
         if( getClass() != obj.getClass() )
             return false;
         final Path other = (Path)obj;
+        if( hashCode() != other.hashCode() )
+        	return false;
         if( !Arrays.equals( segments, other.segments ) )
             return false;
         return true;
@@ -0,0 +1,281 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A map using {@link Path}s as keys. The keys are stored in a tree, where each node represents one segment
+ * of a path. This allows fast searches for all the keys that {@link Path#startsWith(Path) start with} some path,
+ * or for all the keys that are a prefix of some path.<br>
+ * The views ({@link #entrySet()}, {@link #keySet()} and {@link #values()}) are copies of the current content
+ * of this map, they are not updated if this map changes. Removing an element through the iterator of a view
+ * does remove the element from this map.<br>
+ * This map does not support <code>null</code> keys. 
+ * @author Benjamin Sigg
+ * @param <V> the type of the values
+ */
+public class PathTrie<V> extends AbstractMap<Path, V> {
+	/** the node representing the root path */
+	private Node<V> root = new Node<V>( null, null );
+	
+	/** the number of entries in this map */
+	private int size = 0;
+	
+	@Override
+	public int size(){
+		return size;
+	}
+	
+	@Override
+	public boolean containsKey( Object key ){
+		Node<V> node = find( key );
+		return node != null && node.hasValue;
+	}
+	
+	@Override
+	public V get( Object key ){
+		Node<V> node = find( key );
+		if( node == null ){
+			return null;
+		}
+		return node.value;
+	}
+	
+	@Override
+	public V put( Path key, V value ){
+		if( key == null ){
+			throw new IllegalArgumentException( "key must not be null" );
+		}
+		Node<V> node = root;
+		for( int i = 0, n = key.getSegmentCount(); i<n; i++ ){
+			node = node.getOrCreate( key.getSegment( i ) );
+		}
+		V old = node.value;
+		if( !node.hasValue ){
+			node.hasValue = true;
+			node.key = key;
+			size++;
+		}
+		node.value = value;
+		return old;
+	}
+	
+	@Override
+	public V remove( Object key ){
+		Node<V> node = find( key );
+		if( node == null || !node.hasValue ){
+			return null;
+		}
+		V old = node.value;
+		node.value = null;
+		node.key = null;
+		node.hasValue = false;
+		size--;
+		
+		while( node.parent != null && !node.hasValue && node.children == null ){
+			node.parent.remove( node.segment );
+			node = node.parent;
+		}
+		
+		return old;
+	}
+	
+	@Override
+	public void clear(){
+		root = new Node<V>( null, null );
+		size = 0;
+	}
+	
+	/**
+	 * Gets the values of all the keys which {@link Path#startsWith(Path) start with} <code>prefix</code>, including
+	 * the value of <code>prefix</code> itself.
+	 * @param prefix the prefix of the keys
+	 * @return the values, may be empty
+	 */
+	public List<V> getStartingWith( Path prefix ){
+		List<V> result = new ArrayList<V>();
+		Node<V> node = find( prefix );
+		if( node != null ){
+			node.collect( result );
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets the values of all the keys which are a prefix of <code>path</code>, including the value of
+	 * <code>path</code> itself. The values are ordered by the length of their key, starting with the shortest key.
+	 * @param path some path whose prefixes are searched
+	 * @return the values, may be empty
+	 */
+	public List<V> getPrefixesOf( Path path ){
+		List<V> result = new ArrayList<V>();
+		Node<V> node = root;
+		for( int i = 0, n = path.getSegmentCount(); node != null; i++ ){
+			if( node.hasValue ){
+				result.add( node.value );
+			}
+			if( i == n ){
+				break;
+			}
+			node = node.get( path.getSegment( i ) );
+		}
+		return result;
+	}
+	
+	@Override
+	public Set<Map.Entry<Path, V>> entrySet(){
+		final List<Map.Entry<Path, V>> entries = new ArrayList<Map.Entry<Path,V>>( size );
+		root.collectEntries( entries );
+		
+		return new AbstractSet<Map.Entry<Path,V>>(){
+			@Override
+			public int size(){
+				return entries.size();
+			}
+			
+			@Override
+			public Iterator<Map.Entry<Path, V>> iterator(){
+				final Iterator<Map.Entry<Path, V>> iterator = entries.iterator();
+				return new Iterator<Map.Entry<Path,V>>(){
+					private Map.Entry<Path, V> current;
+					
+					public boolean hasNext(){
+						return iterator.hasNext();
+					}
+					
+					public Map.Entry<Path, V> next(){
+						current = iterator.next();
+						return current;
+					}
+					
+					public void remove(){
+						if( current == null ){
+							throw new IllegalStateException( "next was not called" );
+						}
+						iterator.remove();
+						PathTrie.this.remove( current.getKey() );
+						current = null;
+					}
+				};
+			}
+		};
+	}
+	
+	private Node<V> find( Object key ){
+		if( !(key instanceof Path) ){
+			return null;
+		}
+		Path path = (Path)key;
+		Node<V> node = root;
+		for( int i = 0, n = path.getSegmentCount(); i<n && node != null; i++ ){
+			node = node.get( path.getSegment( i ) );
+		}
+		return node;
+	}
+	
+	/**
+	 * One node of the tree, represents one segment of a {@link Path}.
+	 * @author Benjamin Sigg
+	 * @param <V> the type of the values
+	 */
+	private static class Node<V>{
+		/** the parent of this node, <code>null</code> for the root */
+		private Node<V> parent;
+		/** the segment that leads from {@link #parent} to this node */
+		private String segment;
+		/** the children of this node, <code>null</code> if there are no children */
+		private Map<String, Node<V>> children;
+		/** whether a key ends at this node */
+		private boolean hasValue;
+		/** the key that ends at this node */
+		private Path key;
+		/** the value of the key that ends at this node */
+		private V value;
+		
+		public Node( Node<V> parent, String segment ){
+			this.parent = parent;
+			this.segment = segment;
+		}
+		
+		public Node<V> get( String segment ){
+			if( children == null ){
+				return null;
+			}
+			return children.get( segment );
+		}
+		
+		public Node<V> getOrCreate( String segment ){
+			if( children == null ){
+				children = new HashMap<String, Node<V>>( 4 );
+			}
+			Node<V> child = children.get( segment );
+			if( child == null ){
+				child = new Node<V>( this, segment );
+				children.put( segment, child );
+			}
+			return child;
+		}
+		
+		public void remove( String segment ){
+			if( children != null ){
+				children.remove( segment );
+				if( children.isEmpty() ){
+					children = null;
+				}
+			}
+		}
+		
+		public void collect( List<V> result ){
+			if( hasValue ){
+				result.add( value );
+			}
+			if( children != null ){
+				for( Node<V> child : children.values() ){
+					child.collect( result );
+				}
+			}
+		}
+		
+		public void collectEntries( List<Map.Entry<Path, V>> result ){
+			if( hasValue ){
+				result.add( new SimpleImmutableEntry<Path, V>( key, value ) );
+			}
+			if( children != null ){
+				for( Node<V> child : children.values() ){
+					child.collectEntries( result );
+				}
+			}
+		}
+	}
+}
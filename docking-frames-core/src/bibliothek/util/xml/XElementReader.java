@@ -0,0 +1,321 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util.xml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A cursor moving through a xml-file without building up a tree of {@link XElement}s. The cursor always
+ * points to one element, clients can read the name and the attributes of that element. Then they can
+ * either {@link #enter() enter} the element and iterate over its children, {@link #read() read} the element
+ * and all its children as {@link XElement}, or just call {@link #next()} to skip the element.<br>
+ * A typical usage looks like this:
+ * <pre>
+ * XElementReader reader = new XElementReader( in );
+ * reader.next(); // moves to the root element
+ * reader.enter();
+ * while( reader.next() ){
+ *     if( reader.getName().equals( "child" )){
+ *         XElement child = reader.read();
+ *     }
+ * }
+ * </pre>
+ * @author Benjamin Sigg
+ */
+public class XElementReader {
+    /** the source of all the events */
+    private XMLStreamReader reader;
+
+    /** the name and the attributes of the element to which this cursor currently points */
+    private XElement current;
+
+    /** whether {@link #current} was neither entered, read nor skipped */
+    private boolean pending = false;
+
+    /**
+     * Creates a new reader using the <code>UTF-8</code> encoding.
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read
+     */
+    public XElementReader( InputStream in ) throws IOException{
+        this( new InputStreamReader( in, "UTF-8" ) );
+    }
+
+    /**
+     * Creates a new reader.
+     * @param reader the source of all characters
+     * @throws IOException if the source cannot be read
+     */
+    public XElementReader( Reader reader ) throws IOException{
+        try{
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty( XMLInputFactory.IS_COALESCING, Boolean.TRUE );
+            factory.setProperty( XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE );
+            factory.setProperty( XMLInputFactory.SUPPORT_DTD, Boolean.FALSE );
+            this.reader = factory.createXMLStreamReader( reader );
+        }
+        catch( XMLStreamException e ){
+            IOException io = new IOException( e.getMessage() );
+            io.initCause( e );
+            throw io;
+        }
+    }
+
+    /**
+     * Moves this cursor to the next element. If the current element was not yet {@link #enter() entered}
+     * or {@link #read() read}, then it is skipped.
+     * @return <code>true</code> if the cursor points to a new element, <code>false</code> if there
+     * are no more elements in the parent element. In the latter case the parent element is finished
+     * and the next call to this method moves to the sibling of the parent element
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public boolean next() throws IOException{
+        try{
+            if( pending ){
+                pending = false;
+                skip();
+            }
+            current = null;
+
+            while( reader.hasNext() ){
+                switch( reader.next() ){
+                    case XMLStreamConstants.START_ELEMENT:
+                        current = start();
+                        pending = true;
+                        return true;
+                    case XMLStreamConstants.END_ELEMENT:
+                    case XMLStreamConstants.END_DOCUMENT:
+                        return false;
+                }
+            }
+            return false;
+        }
+        catch( XMLStreamException e ){
+            IOException io = new IOException( e.getMessage() );
+            io.initCause( e );
+            throw io;
+        }
+    }
+
+    /**
+     * Enters the current element, the next calls to {@link #next()} will iterate over its
+     * children. The value of the current element is ignored.
+     * @throws IllegalStateException if the current element was already entered, read or skipped
+     */
+    public void enter(){
+        checkPending();
+        pending = false;
+    }
+
+    /**
+     * Reads the current element and all its children.
+     * @return the current element, not <code>null</code>
+     * @throws IOException if the file cannot be read or is malformed
+     * @throws IllegalStateException if the current element was already entered, read or skipped
+     */
+    public XElement read() throws IOException{
+        checkPending();
+        pending = false;
+        try{
+            return read( current );
+        }
+        catch( XMLStreamException e ){
+            IOException io = new IOException( e.getMessage() );
+            io.initCause( e );
+            throw io;
+        }
+    }
+
+    /**
+     * Gets the name of the current element.
+     * @return the name
+     */
+    public String getName(){
+        return element().getName();
+    }
+
+    /**
+     * Searches an attribute of the current element.
+     * @param name the name of the attribute
+     * @return the attribute or <code>null</code>
+     */
+    public XAttribute getAttribute( String name ){
+        return element().getAttribute( name );
+    }
+
+    /**
+     * Gets the value of an attribute of the current element.
+     * @param name the name of the attribute
+     * @return the value of the attribute
+     * @throws XException if the attribute does not exist
+     */
+    public String getString( String name ){
+        return element().getString( name );
+    }
+
+    /**
+     * Gets the value of an attribute of the current element.
+     * @param name the name of the attribute
+     * @return the value of the attribute
+     * @throws XException if the attribute does not exist or is in the wrong format
+     */
+    public boolean getBoolean( String name ){
+        return element().getBoolean( name );
+    }
+
+    /**
+     * Gets the value of an attribute of the current element.
+     * @param name the name of the attribute
+     * @return the value of the attribute
+     * @throws XException if the attribute does not exist or is in the wrong format
+     */
+    public int getInt( String name ){
+        return element().getInt( name );
+    }
+
+    /**
+     * Gets the value of an attribute of the current element.
+     * @param name the name of the attribute
+     * @return the value of the attribute
+     * @throws XException if the attribute does not exist or is in the wrong format
+     */
+    public long getLong( String name ){
+        return element().getLong( name );
+    }
+
+    /**
+     * Releases the resources of this reader. The underlying stream is not closed.
+     * @throws IOException if the resources cannot be released
+     */
+    public void close() throws IOException{
+        try{
+            reader.close();
+        }
+        catch( XMLStreamException e ){
+            IOException io = new IOException( e.getMessage() );
+            io.initCause( e );
+            throw io;
+        }
+    }
+
+    private XElement element(){
+        if( current == null )
+            throw new IllegalStateException( "the cursor does not point to an element" );
+        return current;
+    }
+
+    private void checkPending(){
+        if( !pending )
+            throw new IllegalStateException( "the current element was already entered, read or skipped" );
+    }
+
+    /**
+     * Creates a new {@link XElement} with the name and the attributes of the element the
+     * {@link #reader} currently points to.
+     * @return the new element, without children
+     */
+    private XElement start(){
+        XElement element = new XElement( name( reader.getPrefix(), reader.getLocalName() ) );
+        for( int i = 0, n = reader.getAttributeCount(); i<n; i++ ){
+            XAttribute attribute = new XAttribute( name( reader.getAttributePrefix( i ), reader.getAttributeLocalName( i ) ) );
+            attribute.setString( reader.getAttributeValue( i ) );
+            element.addAttribute( attribute );
+        }
+        return element;
+    }
+
+    private String name( String prefix, String localName ){
+        if( prefix == null || prefix.length() == 0 )
+            return localName;
+        return prefix + ":" + localName;
+    }
+
+    /**
+     * Reads all the children and the value of <code>element</code> until the end tag of
+     * <code>element</code> is found.
+     * @param element the element whose start tag was just read
+     * @return <code>element</code>
+     * @throws XMLStreamException if the file is malformed
+     */
+    private XElement read( XElement element ) throws XMLStreamException{
+        StringBuilder value = null;
+        while( true ){
+            switch( reader.next() ){
+                case XMLStreamConstants.START_ELEMENT:
+                    element.addElement( read( start() ) );
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if( value == null ){
+                        value = new StringBuilder();
+                    }
+                    value.append( reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength() );
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if( value != null ){
+                        // same behavior as the reader of XIO, which trims the result of XElement.getString
+                        String text = value.toString();
+                        if( text.startsWith( "[" ) && text.endsWith( "]" )){
+                            text = text.substring( 1, text.length()-1 );
+                        }
+                        element.setValue( text.trim() );
+                    }
+                    return element;
+                case XMLStreamConstants.END_DOCUMENT:
+                    throw new XMLStreamException( "unexpected end of document" );
+            }
+        }
+    }
+
+    /**
+     * Skips all the events until the end tag of the current element is found.
+     * @throws XMLStreamException if the file is malformed
+     */
+    private void skip() throws XMLStreamException{
+        int depth = 1;
+        while( depth > 0 ){
+            switch( reader.next() ){
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.END_DOCUMENT:
+                    throw new XMLStreamException( "unexpected end of document" );
+            }
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util.xml;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a xml-file element by element, without the need to build up a tree of {@link XElement}s first.
+ * Clients open an element with {@link #start(String)}, add attributes, an optional value and children, and
+ * close the element with {@link #end()}. The output has the same format as the output of
+ * {@link XIO#write(XElement, Appendable)}.<br>
+ * Attributes have to be added before the value or any child of an element is written, and
+ * the value of an element has to be written before its children.
+ * @author Benjamin Sigg
+ */
+public class XElementWriter {
+    /** the destination of all characters */
+    private Appendable out;
+
+    /** the elements that are currently open, the last entry is the innermost element */
+    private List<Entry> stack = new ArrayList<Entry>();
+
+    /** cached strings of tabs, the index is the number of tabs */
+    private List<String> indents = new ArrayList<String>();
+
+    /** whether the root element was already started */
+    private boolean started = false;
+
+    /**
+     * Creates a new writer.
+     * @param out the destination of all characters, not <code>null</code>
+     */
+    public XElementWriter( Appendable out ){
+        if( out == null )
+            throw new IllegalArgumentException( "out must not be null" );
+        this.out = out;
+        indents.add( "" );
+    }
+
+    /**
+     * Opens a new element. If this is the first element, then the xml header is written as well.
+     * @param name the name of the new element
+     * @return <code>this</code>
+     * @throws IOException if an I/O-error occurs
+     * @throws IllegalStateException if the root element was already closed
+     */
+    public XElementWriter start( String name ) throws IOException{
+        if( name == null )
+            throw new IllegalArgumentException( "name must not be null" );
+
+        if( stack.isEmpty() ){
+            if( started )
+                throw new IllegalStateException( "there can be only one root element" );
+            started = true;
+            out.append( "<?xml version='1.0'?>\n" );
+        }
+        else{
+            beginChild( stack.get( stack.size()-1 ) );
+        }
+
+        out.append( indent( stack.size() ) );
+        out.append( "<" );
+        out.append( name );
+        stack.add( new Entry( name ) );
+        return this;
+    }
+
+    /**
+     * Adds an attribute to the current element.
+     * @param name the name of the attribute
+     * @param value the value of the attribute
+     * @return <code>this</code>
+     * @throws IOException if an I/O-error occurs
+     * @throws IllegalStateException if the value or a child of the current element was already written
+     */
+    public XElementWriter addString( String name, String value ) throws IOException{
+        Entry current = current();
+        if( !current.tagOpen )
+            throw new IllegalStateException( "attributes must be written before the value and the children of an element" );
+
+        out.append( " " );
+        out.append( name );
+        out.append( "=\"" );
+        encode( value, out );
+        out.append( "\"" );
+        return this;
+    }
+
+    /**
+     * Adds an attribute to the current element.
+     * @param name the name of the attribute
+     * @param value the value of the attribute
+     * @return <code>this</code>
+     * @throws IOException if an I/O-error occurs
+     * @see #addString(String, String)
+     */
+    public XElementWriter addBoolean( String name, boolean value ) throws IOException{
+        return addString( name, String.valueOf( value ) );
+    }
+
+    /**
+     * Adds an attribute to the current element.
+     * @param name the name of the attribute
+     * @param value the value of the attribute
+     * @return <code>this</code>
+     * @throws IOException if an I/O-error occurs
+     * @see #addString(String, String)
+     */
+    public XElementWriter addInt( String name, int value ) throws IOException{
+        return addString( name, String.valueOf( value ) );
+    }
+
+    /**
+     * Adds an attribute to the current element.
+     * @param name the name of the attribute
+     * @param value the value of the attribute
+     * @return <code>this</code>
+     * @throws IOException if an I/O-error occurs
+     * @see #addString(String, String)
+     */
+    public XElementWriter addLong( String name, long value ) throws IOException{
+        return addString( name, String.valueOf( value ) );
+    }
+
+    /**
+     * Adds an attribute to the current element.
+     * @param attribute the attribute to write
+     * @return <code>this</code>
+     * @throws IOException if an I/O-error occurs
+     * @see #addString(String, String)
+     */
+    public XElementWriter addAttribute( XAttribute attribute ) throws IOException{
+        return addString( attribute.getName(), attribute.getString() );
+    }
+
+    /**
+     * Sets the value of the current element. The value is written once it is clear whether the
+     * current element has children or not.
+     * @param value the value, not <code>null</code>
+     * @return <code>this</code>
+     * @throws IllegalStateException if a child of the current element was already written
+     */
+    public XElementWriter setValue( String value ){
+        Entry current = current();
+        if( current.children )
+            throw new IllegalStateException( "the value must be written before the children of an element" );
+        current.value = value;
+        return this;
+    }
+
+    /**
+     * Writes <code>element</code> and all its children as child of the current element, or as
+     * root element if no element is open.
+     * @param element the element to write
+     * @return <code>this</code>
+     * @throws IOException if an I/O-error occurs
+     */
+    public XElementWriter write( XElement element ) throws IOException{
+        start( element.getName() );
+        for( XAttribute attribute : element.attributes() ){
+            addAttribute( attribute );
+        }
+        setValue( element.getValue() );
+        for( XElement child : element.children() ){
+            write( child );
+        }
+        return end();
+    }
+
+    /**
+     * Closes the current element.
+     * @return <code>this</code>
+     * @throws IOException if an I/O-error occurs
+     * @throws IllegalStateException if there is no open element
+     */
+    public XElementWriter end() throws IOException{
+        Entry current = current();
+        int tabs = stack.size()-1;
+
+        boolean hasValue = current.value != null && current.value.length() > 0;
+
+        if( current.tagOpen && !hasValue ){
+            out.append( "/>" );
+        }
+        else{
+            if( current.tagOpen ){
+                out.append( ">" );
+                encode( current.value, out );
+            }
+            if( current.children ){
+                out.append( indent( tabs ) );
+            }
+            out.append( "</" );
+            out.append( current.name );
+            out.append( ">" );
+        }
+
+        stack.remove( tabs );
+        if( tabs > 0 ){
+            out.append( "\n" );
+        }
+        return this;
+    }
+
+    /**
+     * Tells whether the root element was written and closed.
+     * @return <code>true</code> if the document is complete
+     */
+    public boolean isFinished(){
+        return started && stack.isEmpty();
+    }
+
+    private Entry current(){
+        if( stack.isEmpty() )
+            throw new IllegalStateException( "no element is open" );
+        return stack.get( stack.size()-1 );
+    }
+
+    /**
+     * Prepares <code>parent</code> such that a child can be written.
+     * @param parent the element which is going to get a new child
+     * @throws IOException if an I/O-error occurs
+     */
+    private void beginChild( Entry parent ) throws IOException{
+        if( !parent.children ){
+            if( parent.tagOpen ){
+                out.append( ">" );
+                parent.tagOpen = false;
+            }
+            if( parent.value != null && parent.value.length() > 0 ){
+                out.append( "\n\t" );
+                out.append( indent( stack.size()-1 ) );
+                encode( parent.value, out );
+            }
+            out.append( "\n" );
+            parent.children = true;
+        }
+    }
+
+    /**
+     * Gets a string with <code>tabs</code> tabulators.
+     * @param tabs the number of tabulators
+     * @return the string
+     */
+    private String indent( int tabs ){
+        while( indents.size() <= tabs ){
+            indents.add( indents.get( indents.size()-1 ) + "\t" );
+        }
+        return indents.get( tabs );
+    }
+
+    /**
+     * Encodes <code>value</code> such that it is a valid string in a xml-file.
+     * @param value the value to encode
+     * @param out the stream to write into
+     * @throws IOException if an I/O-error occurs
+     */
+    static void encode( String value, Appendable out ) throws IOException{
+        int start = 0;
+        for( int i = 0, n = value.length(); i<n; i++ ){
+            String replacement;
+            switch( value.charAt( i ) ){
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '\'':
+                    replacement = "&apos;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                default:
+                    replacement = null;
+                    break;
+            }
+            if( replacement != null ){
+                out.append( value, start, i );
+                out.append( replacement );
+                start = i+1;
+            }
+        }
+        out.append( value, start, value.length() );
+    }
+
+    /**
+     * Describes an element that is currently open.
+     * @author Benjamin Sigg
+     */
+    private static class Entry{
+        /** the name of the element */
+        public final String name;
+        /** whether the start tag is not yet closed, attributes can only be written while the tag is open */
+        public boolean tagOpen = true;
+        /** the value of the element, is written when the first child is added or when the element is closed */
+        public String value;
+        /** whether at least one child was written */
+        public boolean children = false;
+
+        public Entry( String name ){
+            this.name = name;
+        }
+    }
+}
@@ -40,7 +40,9 @@ import org.xml.sax.helpers.DefaultHandler;
 /**
  * Class used to read and write xml-files. Clients should use
  * {@link #writeUTF(XElement, OutputStream)} and {@link #readUTF(InputStream)} to
- * guarantee maximal independence from the underlying file system.
+ * guarantee maximal independence from the underlying file system.<br>
+ * Large files can be processed element by element with a {@link XElementReader} and
+ * a {@link XElementWriter}, without ever holding the whole tree in memory.
  * @author Benjamin Sigg
  */
 public class XIO {
@@ -51,8 +53,7 @@ public class XIO {
      * @throws IOException if an I/O-error occurs
      */
     public static void write( XElement element, Appendable out ) throws IOException{
-        out.append( "<?xml version='1.0'?>\n" );
-        write( element, 0, out );
+        new XElementWriter( out ).write( element );
     }
     
     /**
@@ -74,12 +75,12 @@ public class XIO {
      * @throws IOException if an I/O-error occurs
      */
     public static void write( XElement element, OutputStream out, String encoding ) throws IOException{
-        OutputStreamWriter writer = new OutputStreamWriter( out, encoding ){
+        Writer writer = new BufferedWriter( new OutputStreamWriter( out, encoding ){
             @Override
             public void close() throws IOException {
                 // ignore
             }
-        };
+        });
         write( element, writer );
         writer.flush();
     }
@@ -115,91 +116,6 @@ public class XIO {
     }
 
     
-    /**
-     * Writes the contents of <code>element</code> into <code>out</code>.
-     * @param element the element to write
-     * @param tabs the number of tabs before the element
-     * @param out the stream to write into
-     * @throws IOException if an I/O-error occurs
-     */
-    private static void write( XElement element, int tabs, Appendable out ) throws IOException{
-        for( int i = 0; i < tabs; i++ )
-            out.append( "\t" );
-        
-        out.append( "<" );
-        out.append( element.getName() );
-        for( XAttribute attribute : element.attributes() ){
-            out.append( " " );
-            out.append( attribute.getName() );
-            out.append( "=\"" );
-            encode( attribute.getString(), out );
-            out.append( "\"" );
-        }
-        String value = element.getValue();
-        XElement[] children = element.children();
-        
-        if( value.length() == 0 && children.length == 0 ){
-            out.append( "/>" );
-        }
-        else{
-            out.append( ">" );
-            if( value.length() > 0 ){
-                if( children.length > 0 ){
-                    out.append( "\n\t" );
-                    for( int i = 0; i < tabs; i++ )
-                        out.append( "\t" );
-                }
-                    
-                encode( value, out );
-            }
-            if( children.length > 0 ){
-                out.append( "\n" );
-                for( XElement child : children ){
-                    write( child, tabs+1, out );
-                    out.append( "\n" );
-                }
-                
-                for( int i = 0; i < tabs; i++ )
-                    out.append( "\t" );
-            }
-            
-            out.append( "</" );
-            out.append( element.getName() );
-            out.append( ">" );
-        }
-    }
-    
-    /**
-     * Encodes <code>value</code> such that it is a valid string in a xml-file.
-     * @param value the value to encode
-     * @param out the stream to write into
-     */
-    private static void encode( String value, Appendable out ) throws IOException{
-        for( int i = 0, n = value.length(); i<n; i++ ){
-            char c = value.charAt( i );
-            switch( c ){
-                case '<':
-                    out.append( "&lt;" );
-                    break;
-                case '>':
-                    out.append( "&gt;" );
-                    break;
-                case '\'':
-                    out.append( "&apos;" );
-                    break;
-                case '"':
-                    out.append( "&quot;" );
-                    break;
-                case '&':
-                    out.append( "&amp;" );
-                    break;
-                default:
-                    out.append( c );
-                    break;
-            }
-        }
-    }
-    
     /**
      * Interprets <code>text</code> as a xml-file and reads it.
      * @param text the content to read, in xml format
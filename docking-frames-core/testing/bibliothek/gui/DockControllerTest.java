@@ -0,0 +1,199 @@
+package bibliothek.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.event.DockStationAdapter;
+
+public class DockControllerTest {
+	@Test
+	public void postponedWorkRunsAfterOutermostBatch(){
+		final DockController controller = new DockController();
+		final List<String> log = new ArrayList<String>();
+		try{
+			controller.runBatch( new Runnable(){
+				public void run(){
+					controller.runBatch( new Runnable(){
+						public void run(){
+							controller.runAfterBatch( "inner", new Log( log, "inner" ) );
+						}
+					} );
+					Assert.assertTrue( controller.isBatchRunning() );
+					Assert.assertTrue( log.isEmpty() );
+					log.add( "outer" );
+				}
+			} );
+			Assert.assertFalse( controller.isBatchRunning() );
+			Assert.assertEquals( "[outer, inner]", log.toString() );
+
+			controller.runAfterBatch( "direct", new Log( log, "direct" ) );
+			Assert.assertEquals( "[outer, inner, direct]", log.toString() );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+
+	@Test
+	public void postponedWorkIsUniquePerKey(){
+		final DockController controller = new DockController();
+		final List<String> log = new ArrayList<String>();
+		try{
+			controller.runBatch( new Runnable(){
+				public void run(){
+					controller.runAfterBatch( "a", new Log( log, "a1" ) );
+					controller.runAfterBatch( "b", new Log( log, "b" ) );
+					controller.runAfterBatch( "a", new Log( log, "a2" ) );
+				}
+			} );
+			Assert.assertEquals( "[a1, b]", log.toString() );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+
+	@Test
+	public void failingWorkDoesNotDropOtherWork(){
+		final DockController controller = new DockController();
+		final List<String> log = new ArrayList<String>();
+		try{
+			try{
+				controller.runBatch( new Runnable(){
+					public void run(){
+						controller.runAfterBatch( "fail", new Runnable(){
+							public void run(){
+								throw new IllegalStateException( "fail" );
+							}
+						} );
+						controller.runAfterBatch( "next", new Log( log, "next" ) );
+					}
+				} );
+				Assert.fail( "exception was swallowed" );
+			}
+			catch( IllegalStateException e ){
+				Assert.assertEquals( "fail", e.getMessage() );
+			}
+			Assert.assertEquals( "[next]", log.toString() );
+			Assert.assertFalse( controller.isBatchRunning() );
+			Assert.assertFalse( controller.isLayoutFrozen() );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+
+	@Test
+	public void stackEventsAreMerged(){
+		DockController controller = new DockController();
+		try{
+			final StackDockStation station = new StackDockStation();
+			controller.add( station );
+			for( int i = 0; i < 10; i++ ){
+				station.drop( new DefaultDockable( "dockable " + i ) );
+			}
+			station.setFrontDockable( station.getDockable( 0 ) );
+
+			EventCounter counter = new EventCounter();
+			station.addDockStationListener( counter );
+
+			controller.runBatch( new Runnable(){
+				public void run(){
+					for( int i = 0; i < 5; i++ ){
+						station.remove( 0 );
+					}
+				}
+			} );
+
+			Assert.assertEquals( 1, counter.repositioned );
+			Assert.assertEquals( 5, counter.lastRepositioned.length );
+			Assert.assertEquals( 1, counter.selected );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+
+	@Test
+	public void splitEventsAreMergedAfterFailure(){
+		final DockController controller = new DockController();
+		try{
+			final SplitDockStation station = new SplitDockStation();
+			controller.add( station );
+			for( int i = 0; i < 6; i++ ){
+				station.drop( new DefaultDockable( "dockable " + i ) );
+			}
+
+			EventCounter counter = new EventCounter();
+			station.addDockStationListener( counter );
+
+			try{
+				controller.runBatch( new Runnable(){
+					public void run(){
+						controller.runAfterBatch( "fail", new Runnable(){
+							public void run(){
+								throw new IllegalStateException( "fail" );
+							}
+						} );
+						station.removeDockable( station.getDockable( 0 ) );
+						station.removeDockable( station.getDockable( 0 ) );
+					}
+				} );
+				Assert.fail( "exception was swallowed" );
+			}
+			catch( IllegalStateException e ){
+				// expected
+			}
+			Assert.assertEquals( 1, counter.repositioned );
+
+			controller.runBatch( new Runnable(){
+				public void run(){
+					station.removeDockable( station.getDockable( 0 ) );
+					station.removeDockable( station.getDockable( 0 ) );
+				}
+			} );
+			Assert.assertEquals( 2, counter.repositioned );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+
+	private static class Log implements Runnable{
+		private List<String> log;
+		private String message;
+
+		public Log( List<String> log, String message ){
+			this.log = log;
+			this.message = message;
+		}
+
+		public void run(){
+			log.add( message );
+		}
+	}
+
+	private static class EventCounter extends DockStationAdapter{
+		private int repositioned = 0;
+		private Dockable[] lastRepositioned;
+		private int selected = 0;
+
+		@Override
+		public void dockablesRepositioned( DockStation station, Dockable[] dockables ){
+			repositioned++;
+			lastRepositioned = dockables;
+		}
+
+		@Override
+		public void dockableSelected( DockStation station, Dockable oldSelection, Dockable newSelection ){
+			selected++;
+		}
+	}
+}
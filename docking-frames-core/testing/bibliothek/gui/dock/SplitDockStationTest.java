@@ -0,0 +1,169 @@
+package bibliothek.gui.dock;
+
+import java.awt.Rectangle;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.event.DockStationAdapter;
+import bibliothek.gui.dock.layout.DockableProperty;
+import bibliothek.gui.dock.station.split.DefaultSplitLayoutManager;
+import bibliothek.gui.dock.station.split.DockableSplitDockTree;
+import bibliothek.gui.dock.station.split.Node;
+import bibliothek.gui.dock.station.split.SplitDockPathProperty;
+
+public class SplitDockStationTest {
+	@Test
+	public void childIsKnownWhileAddedByPath(){
+		final SplitDockStation station = new SplitDockStation();
+		Dockable first = new DefaultDockable( "first" );
+		Dockable second = new DefaultDockable( "second" );
+		station.drop( first );
+
+		final DockableProperty[] property = new DockableProperty[1];
+		final int[] index = { -2 };
+		station.addDockStationListener( new DockStationAdapter(){
+			@Override
+			public void dockableAdded( DockStation source, Dockable dockable ){
+				index[0] = station.indexOfDockable( dockable );
+				property[0] = station.getDockableProperty( dockable, null );
+			}
+		} );
+
+		SplitDockPathProperty path = new SplitDockPathProperty();
+		path.add( SplitDockPathProperty.Location.RIGHT, 0.5, -1 );
+		Assert.assertTrue( station.drop( second, path ) );
+
+		Assert.assertEquals( 1, index[0] );
+		Assert.assertNotNull( property[0] );
+		Assert.assertSame( second, station.getDockable( 1 ) );
+		Assert.assertEquals( 1, station.indexOfDockable( second ) );
+	}
+
+	@Test
+	public void indicesFollowRemovals(){
+		SplitDockStation station = new SplitDockStation();
+		Dockable[] dockables = new Dockable[4];
+		for( int i = 0; i < dockables.length; i++ ){
+			dockables[i] = new DefaultDockable( "dockable " + i );
+			station.drop( dockables[i] );
+		}
+
+		station.removeDockable( dockables[1] );
+		Assert.assertEquals( -1, station.indexOfDockable( dockables[1] ) );
+		for( int i = 0, n = station.getDockableCount(); i < n; i++ ){
+			Assert.assertEquals( i, station.indexOfDockable( station.getDockable( i ) ) );
+		}
+
+		station.removeDockable( dockables[3] );
+		Assert.assertEquals( -1, station.indexOfDockable( dockables[3] ) );
+		Assert.assertEquals( 2, station.getDockableCount() );
+		Assert.assertEquals( 0, station.indexOfDockable( dockables[0] ) );
+		Assert.assertEquals( 1, station.indexOfDockable( dockables[2] ) );
+	}
+
+	@Test
+	public void movingDividerUpdatesOnlySubtree(){
+		DockController controller = new DockController();
+		try{
+			final CountingStation station = new CountingStation();
+			controller.add( station );
+			Dockable a = new DefaultDockable( "a" );
+			Dockable b = new DefaultDockable( "b" );
+			Dockable c = new DefaultDockable( "c" );
+			layout( station, a, b, c );
+			Assert.assertTrue( station.isSubtreeUpdateSupported() );
+
+			Rectangle boundsA = bounds( station, a );
+			Rectangle boundsB = bounds( station, b );
+			final Node node = (Node)station.getNodeIndex().getLeaf( b ).getParent();
+			final boolean[] incremental = { false };
+			station.revalidations = 0;
+
+			station.moveDivider( node, new Runnable(){
+				public void run(){
+					incremental[0] = station.isIncrementalUpdate();
+					node.setDivider( 0.25 );
+				}
+			} );
+
+			Assert.assertTrue( incremental[0] );
+			Assert.assertFalse( station.isIncrementalUpdate() );
+			Assert.assertEquals( 0, station.revalidations );
+			Assert.assertEquals( boundsA, bounds( station, a ) );
+			Assert.assertTrue( bounds( station, b ).height < boundsB.height );
+
+			Rectangle incrementalB = bounds( station, b );
+			Rectangle incrementalC = bounds( station, c );
+			station.updateBounds();
+			Assert.assertEquals( incrementalB, bounds( station, b ) );
+			Assert.assertEquals( incrementalC, bounds( station, c ) );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+
+	@Test
+	public void movingDividerUpdatesAllWithoutSubtreeSupport(){
+		DockController controller = new DockController();
+		try{
+			final CountingStation station = new CountingStation();
+			controller.add( station );
+			station.setSplitLayoutManager( new DefaultSplitLayoutManager(){
+				// a subclass may change how bounds are updated
+			} );
+			Dockable a = new DefaultDockable( "a" );
+			Dockable b = new DefaultDockable( "b" );
+			Dockable c = new DefaultDockable( "c" );
+			layout( station, a, b, c );
+			Assert.assertFalse( station.isSubtreeUpdateSupported() );
+
+			final Node node = (Node)station.getNodeIndex().getLeaf( b ).getParent();
+			final boolean[] incremental = { true };
+			station.revalidations = 0;
+
+			station.moveDivider( node, new Runnable(){
+				public void run(){
+					incremental[0] = station.isIncrementalUpdate();
+					node.setDivider( 0.25 );
+				}
+			} );
+
+			Assert.assertFalse( incremental[0] );
+			Assert.assertTrue( station.revalidations > 0 );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+
+	private void layout( SplitDockStation station, Dockable a, Dockable b, Dockable c ){
+		DockableSplitDockTree tree = new DockableSplitDockTree();
+		tree.root( tree.horizontal( tree.put( a ), tree.vertical( tree.put( b ), tree.put( c ) ) ) );
+		station.dropTree( tree );
+		station.setSize( 400, 300 );
+		station.doLayout();
+		station.updateBounds();
+	}
+
+	private Rectangle bounds( SplitDockStation station, Dockable dockable ){
+		return station.getNodeIndex().getLeaf( dockable ).getDisplayer().getComponent().getBounds();
+	}
+
+	private static class CountingStation extends SplitDockStation{
+		private static final long serialVersionUID = 1L;
+		
+		private int revalidations = 0;
+
+		@Override
+		public void revalidate(){
+			revalidations++;
+			super.revalidate();
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package bibliothek.gui.dock.control;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.event.DockRegisterAdapter;
+import bibliothek.gui.dock.event.DockRegisterBatchAdapter;
+
+public class DockRegisterTest {
+	@Test
+	public void stalledEventsArriveAsBatch(){
+		DockController controller = new DockController();
+		try{
+			final StackDockStation station = new StackDockStation();
+			controller.add( station );
+			station.drop( new DefaultDockable( "old" ) );
+
+			final List<String> batches = new ArrayList<String>();
+			final List<String> singles = new ArrayList<String>();
+
+			controller.getRegister().addDockRegisterListener( new DockRegisterBatchAdapter(){
+				@Override
+				public void dockablesRegistered( DockController controller, Collection<Dockable> dockables ){
+					batches.add( "+" + dockables.size() );
+				}
+				@Override
+				public void dockablesUnregistered( DockController controller, Collection<Dockable> dockables ){
+					batches.add( "-" + dockables.size() );
+				}
+				@Override
+				public void dockableRegistered( DockController controller, Dockable dockable ){
+					batches.add( "+" + dockable.getTitleText() );
+				}
+			} );
+			controller.getRegister().addDockRegisterListener( new DockRegisterAdapter(){
+				@Override
+				public void dockableRegistered( DockController controller, Dockable dockable ){
+					singles.add( "+" + dockable.getTitleText() );
+				}
+				@Override
+				public void dockableUnregistered( DockController controller, Dockable dockable ){
+					singles.add( "-" + dockable.getTitleText() );
+				}
+			} );
+
+			controller.getRegister().setStalled( true );
+			station.remove( 0 );
+			for( int i = 0; i < 3; i++ ){
+				station.drop( new DefaultDockable( "new " + i ) );
+			}
+			Assert.assertTrue( batches.isEmpty() );
+			controller.getRegister().setStalled( false );
+
+			Assert.assertEquals( "[-1, +3]", batches.toString() );
+			Assert.assertEquals( "[-old, +new 0, +new 1, +new 2]", singles.toString() );
+
+			batches.clear();
+			station.drop( new DefaultDockable( "direct" ) );
+			Assert.assertEquals( "[+direct]", batches.toString() );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+
+	@Test
+	public void adapterForwardsBatches(){
+		DockController controller = new DockController();
+		try{
+			final StackDockStation station = new StackDockStation();
+			controller.add( station );
+
+			final List<String> log = new ArrayList<String>();
+			controller.getRegister().addDockRegisterListener( new DockRegisterBatchAdapter(){
+				@Override
+				public void dockableRegistered( DockController controller, Dockable dockable ){
+					log.add( dockable.getTitleText() );
+				}
+			} );
+
+			controller.getRegister().setStalled( true );
+			station.drop( new DefaultDockable( "a" ) );
+			station.drop( new DefaultDockable( "b" ) );
+			controller.getRegister().setStalled( false );
+
+			Assert.assertEquals( "[a, b]", log.toString() );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package bibliothek.gui.dock.control.focus;
+
+import java.awt.event.MouseEvent;
+
+import javax.swing.JPanel;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.control.ControllerSetupCollection;
+import bibliothek.gui.dock.event.ControllerSetupListener;
+
+public class DefaultMouseFocusObserverTest {
+	private static final ControllerSetupCollection NO_SETUP = new ControllerSetupCollection(){
+		public void add( ControllerSetupListener listener ){
+			// ignore
+		}
+	};
+	
+	@Test
+	public void onlySubclassesObserveMotionByDefault(){
+		DockController controller = new DockController();
+		try{
+			DefaultMouseFocusObserver observer = (DefaultMouseFocusObserver)controller.getMouseFocusObserver();
+			Assert.assertFalse( observer.isObservingMouseMotion() );
+			
+			DefaultMouseFocusObserver subclass = new DefaultMouseFocusObserver( controller, NO_SETUP ){
+				// nothing
+			};
+			Assert.assertTrue( subclass.isObservingMouseMotion() );
+			
+			observer.setObservingMouseMotion( true );
+			Assert.assertTrue( observer.isObservingMouseMotion() );
+			observer.setObservingMouseMotion( false );
+			Assert.assertFalse( observer.isObservingMouseMotion() );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+	
+	@Test
+	public void countsReceivedEvents(){
+		DockController controller = new DockController();
+		try{
+			DefaultMouseFocusObserver observer = new DefaultMouseFocusObserver( controller, NO_SETUP );
+			JPanel panel = new JPanel();
+			
+			observer.check( event( panel, MouseEvent.MOUSE_PRESSED ) );
+			observer.check( event( panel, MouseEvent.MOUSE_RELEASED ) );
+			observer.check( event( panel, MouseEvent.MOUSE_MOVED ) );
+			
+			Assert.assertEquals( 1, observer.getProcessedEventCount() );
+			Assert.assertEquals( 2, observer.getSkippedEventCount() );
+			
+			observer.resetStatistics();
+			Assert.assertEquals( 0, observer.getProcessedEventCount() );
+			Assert.assertEquals( 0, observer.getSkippedEventCount() );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+	
+	private MouseEvent event( JPanel source, int id ){
+		return new MouseEvent( source, id, System.currentTimeMillis(), 0, 5, 5, 1, false );
+	}
+}
@@ -0,0 +1,209 @@
+package bibliothek.gui.dock.control.relocator;
+
+import java.awt.Component;
+import java.awt.Rectangle;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.SwingUtilities;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.control.ControllerSetupCollection;
+import bibliothek.gui.dock.disable.DisablingStrategy;
+import bibliothek.gui.dock.event.ControllerSetupListener;
+import bibliothek.gui.dock.station.layer.DockStationDropLayer;
+import bibliothek.gui.dock.station.layer.DockStationDropLayerFactory;
+import bibliothek.gui.dock.station.layer.LayerPriority;
+import bibliothek.gui.dock.station.stack.StackDockProperty;
+
+public class DropTargetIndexTest {
+	@Test
+	public void movedStationChangesTarget(){
+		DockController controller = new DockController();
+		try{
+			SplitDockStation left = new SplitDockStation();
+			SplitDockStation right = new SplitDockStation();
+			controller.add( left );
+			controller.add( right );
+			
+			StackDockStation stack = new StackDockStation();
+			stack.drop( new DefaultDockable( "a" ) );
+			stack.drop( new DefaultDockable( "b" ) );
+			left.drop( stack );
+			
+			DefaultDockable moved = new DefaultDockable( "moved" );
+			
+			// every station covers its own area, children are clipped by their parents
+			Map<DockStation, Rectangle> areas = new HashMap<DockStation, Rectangle>();
+			areas.put( left, new Rectangle( 0, 0, 100, 100 ) );
+			areas.put( right, new Rectangle( 200, 0, 100, 100 ) );
+			areas.put( stack, new Rectangle( 0, 0, 1000, 1000 ) );
+			controller.getProperties().set( DockStationDropLayerFactory.DROP_LAYER_FACTORY, new AreaLayerFactory( areas ) );
+			
+			DropTargetIndex index = new DropTargetIndex( new CandidateRelocator( controller ) );
+			
+			List<DockStation> targets = index.listStationsOrdered( 250, 50, moved );
+			Assert.assertEquals( 1, targets.size() );
+			Assert.assertSame( right, targets.get( 0 ) );
+			
+			// the register does not report the move, the index has to notice the new parent by itself
+			controller.getRegister().setStalled( true );
+			try{
+				left.drag( stack );
+				right.drop( stack );
+			}
+			finally{
+				controller.getRegister().setStalled( false );
+			}
+			
+			targets = index.listStationsOrdered( 250, 50, moved );
+			Assert.assertEquals( 2, targets.size() );
+			Assert.assertSame( stack, targets.get( 0 ) );
+			Assert.assertSame( right, targets.get( 1 ) );
+			
+			index.clear();
+		}
+		finally{
+			controller.kill();
+		}
+	}
+	
+	@Test
+	public void reorderedChildrenInvalidateIndex() throws Exception{
+		DockController controller = new DockController();
+		try{
+			StackDockStation stack = new StackDockStation();
+			controller.add( stack );
+			DefaultDockable a = new DefaultDockable( "a" );
+			DefaultDockable b = new DefaultDockable( "b" );
+			stack.drop( a );
+			stack.drop( b );
+			stack.drop( new DefaultDockable( "c" ) );
+			
+			Map<DockStation, Rectangle> areas = new HashMap<DockStation, Rectangle>();
+			areas.put( stack, new Rectangle( 0, 0, 100, 100 ) );
+			controller.getProperties().set( DockStationDropLayerFactory.DROP_LAYER_FACTORY, new AreaLayerFactory( areas ) );
+			
+			DefaultDockable moved = new DefaultDockable( "moved" );
+			DropTargetIndex index = new DropTargetIndex( new CandidateRelocator( controller ) );
+			flushEventQueue();
+			index.listStationsOrdered( 50, 50, moved );
+			Assert.assertTrue( index.isValid() );
+			
+			// neither the selection nor the focus change, only the order of the children
+			controller.getFocusController().freezeFocus();
+			try{
+				stack.move( a, new StackDockProperty( 1 ) );
+				Assert.assertFalse( index.isValid() );
+			}
+			finally{
+				controller.getFocusController().meltFocus();
+			}
+			
+			index.clear();
+		}
+		finally{
+			controller.kill();
+		}
+	}
+	
+	private void flushEventQueue() throws Exception{
+		// changing the children of a station may trigger focus and selection events later on
+		SwingUtilities.invokeAndWait( new Runnable(){
+			public void run(){
+				// nothing
+			}
+		});
+	}
+	
+	/**
+	 * A relocator that accepts any station, regardless of whether it is showing.
+	 */
+	private static class CandidateRelocator extends DefaultDockRelocator{
+		public CandidateRelocator( DockController controller ){
+			super( controller, new ControllerSetupCollection(){
+				public void add( ControllerSetupListener listener ){
+					// ignore
+				}
+			});
+		}
+		
+		@Override
+		boolean isDropTargetCandidate( DockStation station, Dockable moved, DisablingStrategy disabling ){
+			return station != moved;
+		}
+	}
+	
+	private static class AreaLayerFactory implements DockStationDropLayerFactory{
+		private Map<DockStation, Rectangle> areas;
+		
+		public AreaLayerFactory( Map<DockStation, Rectangle> areas ){
+			this.areas = areas;
+		}
+		
+		public DockStationDropLayer[] getLayers( DockStation station ){
+			Rectangle area = areas.get( station );
+			if( area == null ){
+				return new DockStationDropLayer[]{};
+			}
+			return new DockStationDropLayer[]{ new AreaLayer( station, area ) };
+		}
+	}
+	
+	private static class AreaLayer implements DockStationDropLayer{
+		private DockStation station;
+		private Rectangle area;
+		private LayerPriority priority = LayerPriority.BASE;
+		
+		public AreaLayer( DockStation station, Rectangle area ){
+			this.station = station;
+			this.area = area;
+		}
+		
+		public DockStation getStation(){
+			return station;
+		}
+		
+		public Component getComponent(){
+			return null;
+		}
+		
+		public DockStationDropLayer modify( DockStationDropLayer child ){
+			if( child instanceof AreaLayer ){
+				AreaLayer layer = (AreaLayer)child;
+				return new AreaLayer( layer.station, layer.area.intersection( area ) );
+			}
+			return child;
+		}
+		
+		public boolean contains( int x, int y ){
+			return area.contains( x, y );
+		}
+		
+		public LayerPriority getPriority(){
+			return priority;
+		}
+		
+		public void setPriority( LayerPriority priority ){
+			this.priority = priority;
+		}
+		
+		public boolean canCompare( DockStationDropLayer level ){
+			return false;
+		}
+		
+		public int compare( DockStationDropLayer level ){
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package bibliothek.gui.dock.dockable;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.EventQueue;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.RepaintManager;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.DefaultDockable;
+
+public class MovingImageCacheTest {
+	@Test
+	public void repaintedImageIsUpdatedInBackground() throws Exception{
+		final DockController controller = new DockController();
+		final ScreencaptureMovingImageFactory factory = new ScreencaptureMovingImageFactory( new Dimension( 20, 20 ) );
+		factory.setCached( true );
+		factory.getCache().setDelay( 10 );
+		final ShowingPanel panel = new ShowingPanel();
+		final JLabel label = new JLabel( "label" );
+		final DefaultDockable dockable = new DefaultDockable(){
+			@Override
+			public Component getComponent(){
+				return panel;
+			}
+		};
+		final TrueMovingImage[] images = new TrueMovingImage[3];
+		
+		try{
+			onEventQueue( new Runnable(){
+				public void run(){
+					panel.setLayout( null );
+					panel.add( label );
+					label.setBounds( 0, 0, 50, 20 );
+					panel.setSize( 100, 50 );
+					
+					images[0] = (TrueMovingImage)factory.create( controller, dockable );
+					Assert.assertEquals( 1, panel.paints );
+					Assert.assertFalse( factory.getCache().isInvalid( dockable ));
+					Assert.assertEquals( 20, images[0].getImage().getWidth() );
+					
+					images[1] = (TrueMovingImage)factory.create( controller, dockable );
+					Assert.assertEquals( 1, panel.paints );
+					Assert.assertSame( images[0].getImage(), images[1].getImage() );
+					
+					label.repaint();
+					Assert.assertTrue( factory.getCache().isInvalid( dockable ));
+					images[2] = (TrueMovingImage)factory.create( controller, dockable );
+					Assert.assertEquals( 1, panel.paints );
+					Assert.assertSame( images[0].getImage(), images[2].getImage() );
+				}
+			});
+			
+			long timeout = System.currentTimeMillis() + 5000;
+			while( images[2].getImage() == images[0].getImage() && System.currentTimeMillis() < timeout ){
+				Thread.sleep( 20 );
+				onEventQueue( new Runnable(){
+					public void run(){
+						// nothing
+					}
+				});
+			}
+			
+			onEventQueue( new Runnable(){
+				public void run(){
+					Assert.assertEquals( 2, panel.paints );
+					Assert.assertNotSame( images[0].getImage(), images[2].getImage() );
+					Assert.assertFalse( factory.getCache().isInvalid( dockable ));
+					Assert.assertSame( images[2].getImage(), factory.getCache().get( controller, dockable, null ));
+					
+					panel.setSize( 120, 50 );
+					Assert.assertNull( factory.getCache().get( controller, dockable, null ));
+					
+					factory.setCached( false );
+					Assert.assertSame( RepaintManager.class, RepaintManager.currentManager( panel ).getClass() );
+				}
+			});
+		}
+		finally{
+			controller.kill();
+		}
+	}
+	
+	private void onEventQueue( Runnable run ) throws InterruptedException, InvocationTargetException{
+		try{
+			EventQueue.invokeAndWait( run );
+		}
+		catch( InvocationTargetException e ){
+			if( e.getCause() instanceof Error ){
+				throw (Error)e.getCause();
+			}
+			throw e;
+		}
+	}
+	
+	/**
+	 * A panel that pretends to be showing and counts how often it is painted.
+	 */
+	private static class ShowingPanel extends JPanel{
+		private int paints = 0;
+		
+		@Override
+		public boolean isShowing(){
+			return true;
+		}
+		
+		@Override
+		public void paint( Graphics g ){
+			paints++;
+			super.paint( g );
+		}
+	}
+}
@@ -0,0 +1,257 @@
+package bibliothek.gui.dock.frontend;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.swing.SwingUtilities;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.event.DockStationAdapter;
+import bibliothek.gui.dock.layout.DockSituation;
+import bibliothek.gui.dock.station.split.SplitDockPathProperty;
+import bibliothek.gui.dock.station.split.SplitDockProperty;
+import bibliothek.gui.dock.station.stack.StackDockProperty;
+import bibliothek.gui.dock.themes.basic.BasicDockableDisplayer;
+
+public class DefaultLayoutChangeStrategyTest {
+	@Test
+	public void splitChildrenKeepDisplayers(){
+		DockFrontend frontend = new DockFrontend();
+		try{
+			SplitDockStation station = new SplitDockStation();
+			frontend.addRoot( "split", station );
+			frontend.setLayoutChangeStrategy( incremental() );
+			
+			Dockable a = add( frontend, "a" );
+			Dockable b = add( frontend, "b" );
+			Dockable c = add( frontend, "c" );
+			station.drop( a );
+			station.drop( b, SplitDockProperty.EAST );
+			station.drop( c, SplitDockProperty.SOUTH );
+			frontend.save( "one" );
+			
+			frontend.hide( c );
+			station.drag( b );
+			station.drop( b, SplitDockProperty.NORTH );
+			frontend.save( "two" );
+			
+			Component displayerA = displayer( a );
+			Component displayerB = displayer( b );
+			Log log = new Log( station );
+			
+			frontend.load( "one" );
+			
+			Assert.assertEquals( "[adding c, added c]", log.toString() );
+			Assert.assertSame( station, a.getDockParent() );
+			Assert.assertSame( station, b.getDockParent() );
+			Assert.assertSame( station, c.getDockParent() );
+			Assert.assertSame( displayerA, displayer( a ) );
+			Assert.assertSame( displayerB, displayer( b ) );
+			Assert.assertEquals( 3, station.getDockableCount() );
+			for( int i = 0; i < 3; i++ ){
+				Assert.assertEquals( i, station.indexOfDockable( station.getDockable( i ) ) );
+				Assert.assertSame( station.getDockable( i ), station.getNodeIndex().getLeaf( station.getDockable( i ) ).getDockable() );
+			}
+			SplitDockPathProperty path = (SplitDockPathProperty)station.getDockableProperty( b, null );
+			Assert.assertEquals( SplitDockPathProperty.Location.RIGHT, path.getLastNode().getLocation() );
+		}
+		finally{
+			frontend.getController().kill();
+		}
+	}
+	
+	@Test
+	public void stackChildrenKeepDisplayers(){
+		DockFrontend frontend = new DockFrontend();
+		try{
+			StackDockStation station = new StackDockStation();
+			frontend.addRoot( "stack", station );
+			frontend.setLayoutChangeStrategy( incremental() );
+			
+			Dockable a = add( frontend, "a" );
+			Dockable b = add( frontend, "b" );
+			Dockable c = add( frontend, "c" );
+			station.drop( a );
+			station.drop( b );
+			station.drop( c );
+			station.setFrontDockable( b );
+			frontend.save( "one" );
+			
+			frontend.hide( c );
+			station.move( b, new StackDockProperty( 0 ) );
+			station.setFrontDockable( a );
+			frontend.save( "two" );
+			
+			Component displayerA = displayer( a );
+			Component displayerB = displayer( b );
+			Log log = new Log( station );
+			
+			frontend.load( "one" );
+			
+			Assert.assertEquals( "[adding c, added c]", log.toString() );
+			Assert.assertEquals( 3, station.getDockableCount() );
+			Assert.assertSame( a, station.getDockable( 0 ) );
+			Assert.assertSame( b, station.getDockable( 1 ) );
+			Assert.assertSame( c, station.getDockable( 2 ) );
+			Assert.assertSame( b, station.getFrontDockable() );
+			Assert.assertSame( displayerA, displayer( a ) );
+			Assert.assertSame( displayerB, displayer( b ) );
+		}
+		finally{
+			frontend.getController().kill();
+		}
+	}
+	
+	@Test
+	public void unchangedRootIsSkipped(){
+		DockFrontend frontend = new DockFrontend();
+		try{
+			SplitDockStation left = new SplitDockStation();
+			SplitDockStation right = new SplitDockStation();
+			frontend.addRoot( "left", left );
+			frontend.addRoot( "right", right );
+			RecordingStrategy strategy = new RecordingStrategy();
+			frontend.setLayoutChangeStrategy( strategy );
+			
+			Dockable a = add( frontend, "a" );
+			Dockable b = add( frontend, "b" );
+			Dockable c = add( frontend, "c" );
+			left.drop( a );
+			left.drop( b, SplitDockProperty.EAST );
+			right.drop( c );
+			frontend.save( "one" );
+			
+			frontend.hide( c );
+			frontend.save( "two" );
+			
+			Object leftTree = left.getRoot().getChild();
+			Log leftLog = new Log( left );
+			Log rightLog = new Log( right );
+			
+			frontend.load( "one" );
+			
+			Assert.assertEquals( "[left]", strategy.unchanged.toString() );
+			Assert.assertEquals( "[]", leftLog.toString() );
+			Assert.assertEquals( "[adding c, added c]", rightLog.toString() );
+			Assert.assertSame( leftTree, left.getRoot().getChild() );
+		}
+		finally{
+			frontend.getController().kill();
+		}
+	}
+	
+	@Test
+	public void reappliedLayoutIsSkipped(){
+		DockFrontend frontend = new DockFrontend();
+		try{
+			SplitDockStation station = new SplitDockStation();
+			frontend.addRoot( "split", station );
+			RecordingStrategy strategy = new RecordingStrategy();
+			frontend.setLayoutChangeStrategy( strategy );
+			
+			Dockable a = add( frontend, "a" );
+			Dockable b = add( frontend, "b" );
+			Dockable c = add( frontend, "c" );
+			station.drop( a );
+			station.drop( b, SplitDockProperty.EAST );
+			station.drop( c, SplitDockProperty.SOUTH );
+			frontend.save( "one" );
+			
+			// the layout still contains "c", but the station will never show "c" again
+			frontend.hide( c );
+			frontend.remove( c );
+			
+			frontend.load( "one" );
+			Assert.assertEquals( "[]", strategy.unchanged.toString() );
+			
+			Object tree = station.getRoot().getChild();
+			Log log = new Log( station );
+			
+			frontend.load( "one" );
+			
+			Assert.assertEquals( "[split]", strategy.unchanged.toString() );
+			Assert.assertEquals( "[]", log.toString() );
+			Assert.assertSame( tree, station.getRoot().getChild() );
+		}
+		finally{
+			frontend.getController().kill();
+		}
+	}
+	
+	private DefaultLayoutChangeStrategy incremental(){
+		DefaultLayoutChangeStrategy strategy = new DefaultLayoutChangeStrategy();
+		strategy.setIncremental( true );
+		return strategy;
+	}
+	
+	private Dockable add( DockFrontend frontend, String key ){
+		Dockable dockable = new DefaultDockable( key );
+		frontend.addDockable( key, dockable );
+		frontend.setHideable( dockable, true );
+		return dockable;
+	}
+	
+	private Component displayer( Dockable dockable ){
+		Component displayer = SwingUtilities.getAncestorOfClass( BasicDockableDisplayer.class, dockable.getComponent() );
+		Assert.assertNotNull( displayer );
+		return displayer;
+	}
+	
+	private static class RecordingStrategy extends DefaultLayoutChangeStrategy{
+		private Set<String> unchanged;
+		
+		public RecordingStrategy(){
+			setIncremental( true );
+		}
+		
+		@Override
+		protected Set<String> listUnchangedRoots( DockFrontendInternals frontend, DockSituation situation, SettingAccess setting ){
+			unchanged = super.listUnchangedRoots( frontend, situation, setting );
+			return unchanged;
+		}
+	}
+	
+	private static class Log extends DockStationAdapter{
+		private List<String> events = new ArrayList<String>();
+		
+		public Log( DockStation station ){
+			station.addDockStationListener( this );
+		}
+		
+		@Override
+		public void dockableAdding( DockStation station, Dockable dockable ){
+			events.add( "adding " + dockable.getTitleText() );
+		}
+		
+		@Override
+		public void dockableAdded( DockStation station, Dockable dockable ){
+			events.add( "added " + dockable.getTitleText() );
+		}
+		
+		@Override
+		public void dockableRemoving( DockStation station, Dockable dockable ){
+			events.add( "removing " + dockable.getTitleText() );
+		}
+		
+		@Override
+		public void dockableRemoved( DockStation station, Dockable dockable ){
+			events.add( "removed " + dockable.getTitleText() );
+		}
+		
+		@Override
+		public String toString(){
+			return events.toString();
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package bibliothek.gui.dock.layout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.dockable.DefaultDockableFactory;
+import bibliothek.gui.dock.station.split.SplitDockGrid;
+import bibliothek.gui.dock.station.split.SplitDockStationFactory;
+import bibliothek.util.Path;
+import bibliothek.util.Version;
+
+public class CompactLayoutFormatTest {
+	@Test
+	public void compact() throws IOException{
+		roundTrip( false );
+	}
+
+	@Test
+	public void compressed() throws IOException{
+		roundTrip( true );
+	}
+
+	@Test
+	public void versionIsNotCurrent(){
+		Assert.assertEquals( new Version( 1, 1, 2, null ), Version.CURRENT );
+		try{
+			DockSituation.COMPACT_FORMAT_VERSION.checkCurrent();
+			Assert.fail( "older versions must not read the compact format" );
+		}
+		catch( IOException ex ){
+			// expected
+		}
+	}
+
+	private void roundTrip( boolean compressed ) throws IOException{
+		DockSituation situation = new DockSituation( new DefaultDockableFactory(), new SplitDockStationFactory() );
+		DockLayoutComposition composition = situation.convert( createStation() );
+		composition.getChildren().get( 0 ).getLayout().setPlaceholder( new Path( "a", "b" ) );
+		composition.getChildren().get( 1 ).getLayout().setPlaceholder( new Path( "a", "b" ) );
+
+		byte[] expected = write( situation, composition );
+
+		situation.setCompactFormat( true );
+		situation.setCompressedFormat( compressed );
+		byte[] compact = write( situation, composition );
+		Assert.assertTrue( compact.length < expected.length );
+
+		DataInputStream in = new DataInputStream( new ByteArrayInputStream( compact ) );
+		DockLayoutComposition read = situation.readComposition( in );
+		Assert.assertEquals( 42, in.readInt() );
+		Assert.assertEquals( -1, in.read() );
+
+		situation.setCompactFormat( false );
+		Assert.assertTrue( Arrays.equals( expected, write( situation, read ) ) );
+	}
+
+	private byte[] write( DockSituation situation, DockLayoutComposition composition ) throws IOException{
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream( bout );
+		situation.writeComposition( composition, out );
+		out.writeInt( 42 );
+		out.close();
+		return bout.toByteArray();
+	}
+
+	private SplitDockStation createStation(){
+		SplitDockGrid grid = new SplitDockGrid();
+		for( int i = 0; i < 20; i++ ){
+			grid.addDockable( i % 5, i / 5, 1, 1, new DefaultDockable( "dockable " + i ) );
+		}
+		SplitDockStation station = new SplitDockStation();
+		station.dropTree( grid.toTree() );
+		return station;
+	}
+}
@@ -0,0 +1,56 @@
+package bibliothek.gui.dock.layout;
+
+import java.awt.EventQueue;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.frontend.Setting;
+import bibliothek.gui.dock.station.split.SplitDockStationFactory;
+import bibliothek.util.xml.XElement;
+
+public class ConcurrentReadingTest {
+	@Test
+	public void onlyExactClassIsConcurrent(){
+		Assert.assertTrue( new SplitDockStationFactory().isConcurrent() );
+		Assert.assertFalse( new SplitDockStationFactory(){
+			// nothing
+		}.isConcurrent() );
+	}
+	
+	@Test
+	public void blopReaderUsesOverriddenRead() throws Exception{
+		CountingFrontend frontend = new CountingFrontend();
+		try{
+			frontend.addRoot( "split", new SplitDockStation() );
+			XElement element = new XElement( "frontend" );
+			frontend.writeXML( element );
+			
+			Assert.assertFalse( EventQueue.isDispatchThread() );
+			frontend.createBlopReader().readXML( element );
+			
+			Assert.assertEquals( 1, frontend.reads );
+			Assert.assertEquals( 1, frontend.concurrentReads );
+		}
+		finally{
+			frontend.getController().kill();
+		}
+	}
+	
+	private static class CountingFrontend extends DockFrontend{
+		private int reads = 0;
+		private int concurrentReads = 0;
+		
+		@Override
+		protected Setting readXML( boolean entry, XElement element ){
+			reads++;
+			if( !EventQueue.isDispatchThread() ){
+				concurrentReads++;
+			}
+			return super.readXML( entry, element );
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package bibliothek.gui.dock.station;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+
+public class DisplayerPoolTest {
+	@Test
+	public void displayerMovesToAnotherStation(){
+		DockController controller = new DockController();
+		try{
+			SplitDockStation first = new SplitDockStation();
+			SplitDockStation second = new SplitDockStation();
+			controller.add( first );
+			controller.add( second );
+			Assert.assertSame( first.getDisplayers().getPool(), second.getDisplayers().getPool() );
+
+			Dockable dockable = new DefaultDockable( "dockable" );
+			first.drop( dockable );
+			DockableDisplayer displayer = displayer( first );
+
+			// a DockRelocator stalls the register while moving a Dockable
+			controller.getRegister().setStalled( true );
+			first.drag( dockable );
+			second.drop( dockable );
+			controller.getRegister().setStalled( false );
+			Assert.assertSame( displayer, displayer( second ) );
+			Assert.assertSame( second, displayer.getStation() );
+			Assert.assertSame( dockable, displayer.getDockable() );
+			Assert.assertSame( controller, displayer.getController() );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+
+	@Test
+	public void otherDockablesGetNewDisplayers(){
+		DockController controller = new DockController();
+		try{
+			SplitDockStation station = new SplitDockStation();
+			controller.add( station );
+
+			Dockable first = new DefaultDockable( "first" );
+			station.drop( first );
+			DockableDisplayer displayer = displayer( station );
+			controller.getRegister().setStalled( true );
+			station.drag( first );
+
+			station.drop( new DefaultDockable( "second" ) );
+			Assert.assertNotSame( displayer, displayer( station ) );
+			Assert.assertEquals( 1, station.getDisplayers().getPool().getSize() );
+
+			// first is no longer registered
+			controller.getRegister().setStalled( false );
+			Assert.assertEquals( 0, station.getDisplayers().getPool().getSize() );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+
+	private DockableDisplayer displayer( SplitDockStation station ){
+		DockableDisplayer result = null;
+		for( DockableDisplayer displayer : station.getDisplayers() ){
+			Assert.assertNull( result );
+			result = displayer;
+		}
+		Assert.assertNotNull( result );
+		return result;
+	}
+}
@@ -0,0 +1,127 @@
+package bibliothek.gui.dock.station.split;
+
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+
+import javax.swing.JPanel;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+
+public class DefaultSplitDividerStrategyTest {
+	@Test
+	public void continuousDragMovesDivider(){
+		DockController controller = new DockController();
+		try{
+			SplitDockStation station = station( controller );
+			station.setContinousDisplay( true );
+			Node node = (Node)station.getRoot().getChild();
+			SlowHandler handler = new SlowHandler( station, 0 );
+			
+			Rectangle divider = node.getDividerBounds( node.getDivider(), null );
+			int x = divider.x + divider.width / 2;
+			int y = divider.y + divider.height / 2;
+			
+			handler.mousePressed( event( handler, MouseEvent.MOUSE_PRESSED, x, y ) );
+			handler.mouseDragged( event( handler, MouseEvent.MOUSE_DRAGGED, x + 20, y ) );
+			double first = node.getDivider();
+			handler.mouseDragged( event( handler, MouseEvent.MOUSE_DRAGGED, x + 40, y ) );
+			
+			Assert.assertEquals( 2, handler.moves );
+			Assert.assertTrue( node.getDivider() > first );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+	
+	@Test
+	public void slowDragSwitchesToGhostMode(){
+		DockController controller = new DockController();
+		try{
+			SplitDockStation station = station( controller );
+			station.setContinousDisplay( true );
+			station.setContinousDisplayLimit( 5 );
+			Node node = (Node)station.getRoot().getChild();
+			SlowHandler handler = new SlowHandler( station, 50 );
+			
+			Rectangle divider = node.getDividerBounds( node.getDivider(), null );
+			int x = divider.x + divider.width / 2;
+			int y = divider.y + divider.height / 2;
+			
+			handler.mousePressed( event( handler, MouseEvent.MOUSE_PRESSED, x, y ) );
+			handler.mouseDragged( event( handler, MouseEvent.MOUSE_DRAGGED, x + 20, y ) );
+			double first = node.getDivider();
+			handler.mouseDragged( event( handler, MouseEvent.MOUSE_DRAGGED, x + 40, y ) );
+			
+			// only the divider is painted, the children remain where they are
+			Assert.assertEquals( 1, handler.moves );
+			Assert.assertEquals( first, node.getDivider() );
+			
+			handler.mouseReleased( event( handler, MouseEvent.MOUSE_RELEASED, x + 40, y ) );
+			Assert.assertEquals( 1, handler.moves );
+			Assert.assertTrue( node.getDivider() > first );
+			
+			// the next drag starts in continuous mode again
+			handler.mousePressed( event( handler, MouseEvent.MOUSE_PRESSED, x + 40, y ) );
+			handler.mouseDragged( event( handler, MouseEvent.MOUSE_DRAGGED, x + 20, y ) );
+			Assert.assertEquals( 2, handler.moves );
+		}
+		finally{
+			controller.kill();
+		}
+	}
+	
+	private SplitDockStation station( DockController controller ){
+		SplitDockStation station = new SplitDockStation();
+		controller.add( station );
+		Dockable a = new DefaultDockable( "a" );
+		Dockable b = new DefaultDockable( "b" );
+		DockableSplitDockTree tree = new DockableSplitDockTree();
+		tree.root( tree.horizontal( tree.put( a ), tree.put( b ) ) );
+		station.dropTree( tree );
+		station.setSize( 400, 300 );
+		station.doLayout();
+		station.updateBounds();
+		return station;
+	}
+	
+	private MouseEvent event( SlowHandler handler, int id, int x, int y ){
+		int modifiers = id == MouseEvent.MOUSE_RELEASED ? 0 : MouseEvent.BUTTON1_DOWN_MASK;
+		return new MouseEvent( handler.getContainer(), id, System.currentTimeMillis(), modifiers, x, y, 1, false, MouseEvent.BUTTON1 );
+	}
+	
+	private static class SlowHandler extends DefaultSplitDividerStrategy.Handler{
+		private int moves = 0;
+		private long delay;
+		
+		public SlowHandler( SplitDockStation station, long delay ){
+			super( station );
+			this.delay = delay;
+			install( new JPanel() );
+		}
+		
+		@Override
+		protected void moveDivider( Divideable node, double divider ){
+			moves++;
+			super.moveDivider( node, divider );
+			try{
+				Thread.sleep( delay );
+			}
+			catch( InterruptedException e ){
+				throw new IllegalStateException( e );
+			}
+		}
+		
+		@Override
+		protected void checkMousePositionAsync(){
+			// there is no mouse in a headless environment
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package bibliothek.gui.dock.util.animation;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class AnimationSchedulerTest {
+	@Test
+	public void timerUsesSmallestDelay(){
+		AnimationScheduler scheduler = new AnimationScheduler( 15 );
+		CountingAnimation slow = new CountingAnimation();
+		CountingAnimation fast = new CountingAnimation();
+		
+		scheduler.start( slow, 25 );
+		Assert.assertEquals( 25, scheduler.getTimerDelay() );
+		
+		scheduler.start( fast );
+		Assert.assertEquals( 15, scheduler.getTimerDelay() );
+		
+		scheduler.stop( fast );
+		Assert.assertEquals( 25, scheduler.getTimerDelay() );
+		
+		scheduler.stop( slow );
+		Assert.assertFalse( scheduler.isActive() );
+	}
+	
+	@Test
+	public void slowAnimationSkipsFrames(){
+		AnimationScheduler scheduler = new AnimationScheduler( 15 );
+		CountingAnimation slow = new CountingAnimation();
+		CountingAnimation fast = new CountingAnimation();
+		scheduler.start( slow, 10000 );
+		scheduler.start( fast );
+		try{
+			scheduler.frame();
+			scheduler.frame();
+			scheduler.frame();
+			
+			Assert.assertEquals( 3, fast.ticks );
+			Assert.assertEquals( 1, slow.ticks );
+		}
+		finally{
+			scheduler.stop( slow );
+			scheduler.stop( fast );
+		}
+	}
+	
+	private static class CountingAnimation implements Animation{
+		private int ticks = 0;
+		
+		public boolean tick( long now ){
+			ticks++;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package bibliothek.util;
+
+import java.lang.management.ManagementFactory;
+
+import junit.framework.Assert;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.event.DockStationAdapter;
+import bibliothek.gui.dock.frontend.Setting;
+import bibliothek.gui.dock.station.support.DockStationListenerManager;
+
+public class ListenerListTest {
+	@Test
+	public void snapshotIsSharedUntilModified(){
+		ListenerList<Runnable> list = new ListenerList<Runnable>( Runnable.class );
+		Runnable first = new Runnable(){
+			public void run(){
+				// ignore
+			}
+		};
+		Runnable second = new Runnable(){
+			public void run(){
+				// ignore
+			}
+		};
+
+		list.add( first );
+		Runnable[] snapshot = list.toArray();
+		Assert.assertSame( snapshot, list.toArray() );
+
+		list.add( second );
+		Assert.assertNotSame( snapshot, list.toArray() );
+		Assert.assertEquals( 1, snapshot.length );
+		Assert.assertEquals( 2, list.size() );
+
+		Assert.assertTrue( list.remove( first ) );
+		Assert.assertSame( second, list.get( 0 ) );
+		Assert.assertSame( first, snapshot[0] );
+	}
+
+	@Test
+	public void firingDoesNotAllocate(){
+		com.sun.management.ThreadMXBean threads = threads();
+
+		DockStationListenerManager manager = new DockStationListenerManager( new SplitDockStation() );
+		Counter counter = new Counter();
+		for( int i = 0; i < 5; i++ ){
+			manager.addListener( counter );
+		}
+		Dockable dockable = new DefaultDockable();
+
+		int events = 100000;
+		fire( manager, dockable, events );
+
+		long thread = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes( thread );
+		fire( manager, dockable, events );
+		long allocated = threads.getThreadAllocatedBytes( thread ) - before;
+
+		Assert.assertEquals( 10 * events, counter.count );
+		// copying the listeners into a new array would need at least 16 bytes per event
+		Assert.assertTrue( "allocated " + allocated + " bytes for " + events + " events", allocated < events );
+	}
+
+	@Test
+	public void layoutLoadDoesNotCopyListeners(){
+		com.sun.management.ThreadMXBean threads = threads();
+
+		DockFrontend frontend = new DockFrontend();
+		try{
+			SplitDockStation root = new SplitDockStation();
+			frontend.addRoot( "root", root );
+			for( int i = 0; i < 300; i++ ){
+				Dockable dockable = new DefaultDockable( "dockable " + i );
+				frontend.addDockable( "dockable " + i, dockable );
+				root.drop( dockable );
+			}
+			Setting setting = frontend.getSetting( false );
+
+			long few = load( threads, frontend, setting );
+
+			int listeners = 2000;
+			Counter counter = new Counter();
+			for( int i = 0; i < listeners; i++ ){
+				root.addDockStationListener( counter );
+			}
+			long many = load( threads, frontend, setting );
+			long events = counter.count / listeners / 4;
+			Assert.assertTrue( "too few events: " + events, events >= 300 );
+
+			// copying the listeners into a new array would need at least 4 bytes per listener and event
+			long extra = many - few;
+			Assert.assertTrue( "allocated " + extra + " additional bytes for " + events + " events", extra < events * listeners );
+		}
+		finally{
+			frontend.kill();
+		}
+	}
+
+	/**
+	 * Loads <code>setting</code> a few times and returns how many bytes the last load allocated.
+	 */
+	private long load( com.sun.management.ThreadMXBean threads, DockFrontend frontend, Setting setting ){
+		long thread = Thread.currentThread().getId();
+		long allocated = 0;
+		for( int i = 0; i < 4; i++ ){
+			long before = threads.getThreadAllocatedBytes( thread );
+			frontend.setSetting( setting, false );
+			allocated = threads.getThreadAllocatedBytes( thread ) - before;
+		}
+		return allocated;
+	}
+
+	private com.sun.management.ThreadMXBean threads(){
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue( bean instanceof com.sun.management.ThreadMXBean );
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)bean;
+		Assume.assumeTrue( threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled() );
+		return threads;
+	}
+
+	private void fire( DockStationListenerManager manager, Dockable dockable, int events ){
+		for( int i = 0; i < events; i++ ){
+			manager.fireDockableAdded( dockable );
+		}
+	}
+
+	private static class Counter extends DockStationAdapter{
+		private long count;
+
+		@Override
+		public void dockableAdded( DockStation station, Dockable dockable ){
+			count++;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package bibliothek.util;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class PathTrieTest {
+	@Test
+	public void prefixLookups(){
+		PathTrie<String> trie = new PathTrie<String>();
+		trie.put( new Path( "a" ), "a" );
+		trie.put( new Path( "a.b" ), "ab" );
+		trie.put( new Path( "a.b.c" ), "abc" );
+		trie.put( new Path( "a.d" ), "ad" );
+		trie.put( new Path( "x" ), "x" );
+		
+		Assert.assertEquals( set( "ab", "abc" ), new HashSet<String>( trie.getStartingWith( new Path( "a.b" ) ) ) );
+		Assert.assertEquals( set( "a", "ab", "abc", "ad" ), new HashSet<String>( trie.getStartingWith( new Path( "a" ) ) ) );
+		Assert.assertTrue( trie.getStartingWith( new Path( "a.e" ) ).isEmpty() );
+		
+		Assert.assertEquals( Arrays.asList( "a", "ab", "abc" ), trie.getPrefixesOf( new Path( "a.b.c.d" ) ) );
+		Assert.assertEquals( Arrays.asList( "a" ), trie.getPrefixesOf( new Path( "a.e" ) ) );
+		Assert.assertTrue( trie.getPrefixesOf( new Path( "y.a" ) ).isEmpty() );
+	}
+	
+	@Test
+	public void removeKeepsChildren(){
+		PathTrie<String> trie = new PathTrie<String>();
+		trie.put( new Path( "a.b" ), "ab" );
+		trie.put( new Path( "a.b.c" ), "abc" );
+		
+		Assert.assertEquals( "ab", trie.remove( new Path( "a.b" ) ) );
+		Assert.assertEquals( 1, trie.size() );
+		Assert.assertFalse( trie.containsKey( new Path( "a.b" ) ) );
+		Assert.assertNull( trie.get( new Path( "a.b" ) ) );
+		Assert.assertEquals( "abc", trie.get( new Path( "a.b.c" ) ) );
+		Assert.assertEquals( Arrays.asList( "abc" ), trie.getStartingWith( new Path( "a" ) ) );
+		Assert.assertEquals( Arrays.asList( "abc" ), trie.getPrefixesOf( new Path( "a.b.c" ) ) );
+		
+		Assert.assertNull( trie.remove( new Path( "a.b" ) ) );
+		Assert.assertEquals( "abc", trie.remove( new Path( "a.b.c" ) ) );
+		Assert.assertTrue( trie.isEmpty() );
+		Assert.assertTrue( trie.getStartingWith( new Path() ).isEmpty() );
+	}
+	
+	@Test
+	public void rootPath(){
+		PathTrie<String> trie = new PathTrie<String>();
+		trie.put( new Path( "a" ), "a" );
+		Assert.assertFalse( trie.containsKey( new Path() ) );
+		
+		trie.put( new Path(), "root" );
+		Assert.assertTrue( trie.containsKey( new Path() ) );
+		Assert.assertEquals( "root", trie.get( new Path() ) );
+		Assert.assertEquals( 2, trie.size() );
+		
+		Assert.assertEquals( set( "root", "a" ), new HashSet<String>( trie.getStartingWith( new Path() ) ) );
+		Assert.assertEquals( Arrays.asList( "root", "a" ), trie.getPrefixesOf( new Path( "a.b" ) ) );
+		Assert.assertEquals( Arrays.asList( "root" ), trie.getPrefixesOf( new Path() ) );
+		
+		Assert.assertEquals( "root", trie.remove( new Path() ) );
+		Assert.assertEquals( "a", trie.get( new Path( "a" ) ) );
+		Assert.assertEquals( 1, trie.size() );
+	}
+	
+	@Test
+	public void escapedSeparator(){
+		PathTrie<String> trie = new PathTrie<String>();
+		Path escaped = new Path( "a", "b.c" );
+		Assert.assertEquals( escaped, new Path( "a.b\\.c" ) );
+		
+		trie.put( escaped, "escaped" );
+		trie.put( new Path( "a.b.c" ), "split" );
+		
+		Assert.assertEquals( 2, trie.size() );
+		Assert.assertEquals( "escaped", trie.get( new Path( "a.b\\.c" ) ) );
+		Assert.assertEquals( "split", trie.get( new Path( "a", "b", "c" ) ) );
+		Assert.assertEquals( Arrays.asList( "escaped" ), trie.getStartingWith( new Path( "a", "b.c" ) ) );
+		Assert.assertEquals( Arrays.asList( "split" ), trie.getStartingWith( new Path( "a.b" ) ) );
+		Assert.assertEquals( Arrays.asList( "escaped" ), trie.getPrefixesOf( new Path( "a", "b.c", "d" ) ) );
+		Assert.assertTrue( trie.entrySet().size() == 2 );
+		Assert.assertTrue( trie.keySet().contains( escaped ) );
+	}
+	
+	private HashSet<String> set( String... values ){
+		return new HashSet<String>( Arrays.asList( values ) );
+	}
+}
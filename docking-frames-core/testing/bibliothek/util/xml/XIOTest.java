@@ -0,0 +1,193 @@
+package bibliothek.util.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class XIOTest {
+	@Test
+	public void writeMatchesLegacyWriter() throws IOException{
+		XElement element = createTree();
+		
+		StringBuilder expected = new StringBuilder();
+		expected.append( "<?xml version='1.0'?>\n" );
+		writeLegacy( element, 0, expected );
+		
+		StringBuilder actual = new StringBuilder();
+		XIO.write( element, actual );
+		
+		Assert.assertEquals( expected.toString(), actual.toString() );
+	}
+	
+	@Test
+	public void writeUTFMatchesLegacyWriter() throws IOException{
+		XElement element = createTree();
+		
+		StringBuilder expected = new StringBuilder();
+		expected.append( "<?xml version='1.0'?>\n" );
+		writeLegacy( element, 0, expected );
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		XIO.writeUTF( element, out );
+		
+		Assert.assertEquals( expected.toString(), new String( out.toByteArray(), "UTF-8" ) );
+	}
+	
+	@Test
+	public void roundTrip() throws IOException{
+		XElement element = createTree();
+		String text = element.toString();
+		
+		XElement read = XIO.read( text );
+		Assert.assertEquals( "layout", read.getName() );
+		Assert.assertEquals( "1.0", read.getString( "version" ) );
+		Assert.assertEquals( "a < b & \"c\" > 'd'", read.getElement( "escaped" ).getString( "text" ) );
+		Assert.assertEquals( "<value> & more", read.getElement( "escaped" ).getString() );
+		Assert.assertEquals( 42, read.getElement( "nested" ).getElement( "inner" ).getElement( "number" ).getInt() );
+		Assert.assertEquals( "text and children", read.getElement( "nested" ).getString() );
+		Assert.assertTrue( read.getElement( "nested" ).getElement( "inner" ).getBoolean( "flag" ) );
+		Assert.assertEquals( 0, read.getElement( "empty" ).children().length );
+	}
+	
+	@Test
+	public void streamingReaderMatchesXIO() throws IOException{
+		XElement element = createTree();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		XIO.writeUTF( element, out );
+		
+		XElement expected = XIO.readUTF( new ByteArrayInputStream( out.toByteArray() ) );
+		
+		XElementReader reader = new XElementReader( new ByteArrayInputStream( out.toByteArray() ) );
+		Assert.assertTrue( reader.next() );
+		XElement actual = reader.read();
+		reader.close();
+		
+		Assert.assertEquals( expected.toString(), actual.toString() );
+	}
+	
+	@Test
+	public void streamingReaderIteratesChildren() throws IOException{
+		XElement element = createTree();
+		
+		XElementReader reader = new XElementReader( new StringReader( element.toString() ) );
+		Assert.assertTrue( reader.next() );
+		Assert.assertEquals( "layout", reader.getName() );
+		Assert.assertEquals( "1.0", reader.getString( "version" ) );
+		reader.enter();
+		
+		Assert.assertTrue( reader.next() );
+		Assert.assertEquals( "escaped", reader.getName() );
+		Assert.assertEquals( "a < b & \"c\" > 'd'", reader.getString( "text" ) );
+		
+		Assert.assertTrue( reader.next() );
+		Assert.assertEquals( "nested", reader.getName() );
+		XElement nested = reader.read();
+		Assert.assertEquals( 42, nested.getElement( "inner" ).getElement( "number" ).getInt() );
+		
+		Assert.assertTrue( reader.next() );
+		Assert.assertEquals( "empty", reader.getName() );
+		Assert.assertFalse( reader.next() );
+		reader.close();
+	}
+	
+	private XElement createTree(){
+		XElement root = new XElement( "layout" );
+		root.addString( "version", "1.0" );
+		
+		XElement escaped = root.addElement( "escaped" );
+		escaped.addString( "text", "a < b & \"c\" > 'd'" );
+		escaped.setString( "<value> & more" );
+		
+		XElement nested = root.addElement( "nested" );
+		nested.setString( "text and children" );
+		XElement inner = nested.addElement( "inner" );
+		inner.addBoolean( "flag", true );
+		inner.addElement( "number" ).setInt( 42 );
+		nested.addElement( "padded" ).setString( "  padded  " );
+		nested.addElement( "bracketed" ).setString( "[list]" );
+		
+		root.addElement( "empty" );
+		return root;
+	}
+	
+	/**
+	 * A copy of the writer that was used by {@link XIO} before it delegated to {@link XElementWriter}.
+	 */
+	private static void writeLegacy( XElement element, int tabs, Appendable out ) throws IOException{
+		for( int i = 0; i < tabs; i++ )
+			out.append( "\t" );
+		
+		out.append( "<" );
+		out.append( element.getName() );
+		for( XAttribute attribute : element.attributes() ){
+			out.append( " " );
+			out.append( attribute.getName() );
+			out.append( "=\"" );
+			encodeLegacy( attribute.getString(), out );
+			out.append( "\"" );
+		}
+		String value = element.getValue();
+		XElement[] children = element.children();
+		
+		if( value.length() == 0 && children.length == 0 ){
+			out.append( "/>" );
+		}
+		else{
+			out.append( ">" );
+			if( value.length() > 0 ){
+				if( children.length > 0 ){
+					out.append( "\n\t" );
+					for( int i = 0; i < tabs; i++ )
+						out.append( "\t" );
+				}
+				
+				encodeLegacy( value, out );
+			}
+			if( children.length > 0 ){
+				out.append( "\n" );
+				for( XElement child : children ){
+					writeLegacy( child, tabs+1, out );
+					out.append( "\n" );
+				}
+				
+				for( int i = 0; i < tabs; i++ )
+					out.append( "\t" );
+			}
+			
+			out.append( "</" );
+			out.append( element.getName() );
+			out.append( ">" );
+		}
+	}
+	
+	private static void encodeLegacy( String value, Appendable out ) throws IOException{
+		for( int i = 0, n = value.length(); i<n; i++ ){
+			char c = value.charAt( i );
+			switch( c ){
+				case '<':
+					out.append( "&lt;" );
+					break;
+				case '>':
+					out.append( "&gt;" );
+					break;
+				case '\'':
+					out.append( "&apos;" );
+					break;
+				case '"':
+					out.append( "&quot;" );
+					break;
+				case '&':
+					out.append( "&amp;" );
+					break;
+				default:
+					out.append( c );
+					break;
+			}
+		}
+	}
+}
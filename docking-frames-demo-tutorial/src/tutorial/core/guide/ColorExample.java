@@ -1,6 +1,8 @@
 package tutorial.core.guide;
 
 import java.awt.Color;
+import java.util.HashMap;
+import java.util.Map;
 
 import tutorial.support.ColorDockable;
 import tutorial.support.JTutorialFrame;
@@ -34,10 +36,13 @@ public class ColorExample {
 		
 		/* get the ColorManager... */
 		ColorManager colors = controller.getColors();
-		/* ... and tell the framework to use red for painting drag and drop gestures. */
-		colors.put( Priority.CLIENT, "paint.divider", Color.RED );
-		colors.put( Priority.CLIENT, "paint.line", Color.RED );
-		colors.put( Priority.CLIENT, "paint.insertion", Color.RED );
+		/* ... and tell the framework to use red for painting drag and drop gestures. Setting all
+		 * the colors at once with "putAll" informs the observers only after every color is stored. */
+		Map<String, Color> red = new HashMap<String, Color>();
+		red.put( "paint.divider", Color.RED );
+		red.put( "paint.line", Color.RED );
+		red.put( "paint.insertion", Color.RED );
+		colors.putAll( Priority.CLIENT, red );
 		
 		/* And this is how a more complex rule is installed */
 		colors.publish( Priority.CLIENT, TitleColor.KIND_TITLE_COLOR, new CustomColorBridge() );
@@ -47,6 +47,7 @@ import bibliothek.gui.dock.extension.css.property.paint.CssPaint;
 import bibliothek.gui.dock.extension.css.property.paint.CssPaintType;
 import bibliothek.gui.dock.extension.css.property.shape.CssShape;
 import bibliothek.gui.dock.extension.css.property.shape.CssShapeType;
+import bibliothek.gui.dock.extension.css.scheme.CssRuleIndex;
 import bibliothek.gui.dock.extension.css.scheme.MatchedCssRule;
 import bibliothek.gui.dock.extension.css.transition.CssTransition;
 import bibliothek.gui.dock.extension.css.transition.DefaultAnimatedCssRuleChain;
@@ -67,6 +68,9 @@ public class CssScheme {
 	
 	private List<CssRule> rules = new ArrayList<CssRule>();
 	
+	/** fast access to the {@link #rules} matching a {@link CssPath}, updated whenever the rules are sorted */
+	private CssRuleIndex index = new CssRuleIndex();
+	
 	private Map<CssItem, Match> items = new HashMap<CssItem, CssScheme.Match>();
 	private Map<Class<?>, CssType<?>> types = new HashMap<Class<?>, CssType<?>>();
 	
@@ -177,29 +181,21 @@ public class CssScheme {
 		Match match = items.remove( item );	
 		if( match != null ){
 			match.destroy();
+			index.invalidate( item.getPath() );
 		}
 	}
 	
 	/**
 	 * Searches a {@link CssRule}s whose {@link CssSelector} matches
-	 * {@link CssItem}. Then collects the properties of the rule and returns them.
+	 * {@link CssItem}. Then collects the properties of the rule and returns them. The result is cached
+	 * until either the rules or the {@link CssPath} of <code>item</code> change.
 	 * @param item the item for which a rule is searched
 	 * @return the properties of the rule, <code>null</code> if nothing was found
 	 */
 	public CssRuleContent search( CssItem item ){
 		synchronized( RULES_LOCK ){
 			ensureRulesSorted();
-			CssRuleContentUnion result = null;
-			
-			for( CssRule rule : rules ){
-				if( rule.getSelector().matches( item.getPath() )){
-					if( result == null ){
-						result = new CssRuleContentUnion();
-					}
-					result.add( rule.getContent() );
-				}
-			}
-			return result;
+			return index.search( item.getPath() );
 		}
 	}
 	
@@ -298,6 +294,7 @@ public class CssScheme {
 						return a.getSelector().getSpecificity().compareTo( b.getSelector().getSpecificity() );
 					}
 				} );
+				index.setRules( rules );
 			}
 			rulesAreSorted = true;
 		}
@@ -427,6 +424,7 @@ public class CssScheme {
 		
 		@Override
 		public void pathChanged( CssPath path ){
+			index.invalidate( path );
 			searchRule();	
 		}
 	}
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import bibliothek.gui.dock.extension.css.CssNode;
 import bibliothek.gui.dock.extension.css.CssPath;
 import bibliothek.gui.dock.extension.css.CssSelector;
 import bibliothek.gui.dock.extension.css.CssSpecificity;
@@ -113,6 +114,24 @@ public class DefaultCssSelector implements CssSelector{
 		return specificity;
 	}
 	
+	/**
+	 * Gets the {@link CssNode#getName() name} of a {@link CssNode} that must be part of any {@link CssPath}
+	 * that is matched by this selector. The name is used to quickly discard selectors that cannot match a path.
+	 * @return the name of a required node, or <code>null</code> if this selector does not require any
+	 * specific node
+	 */
+	public String getRequiredNodeName(){
+		for( int i = steps.length-1; i >= 0; i-- ){
+			if( steps[i] instanceof Element ){
+				return ((Element)steps[i]).name;
+			}
+			if( steps[i] instanceof Child ){
+				return ((Child)steps[i]).name;
+			}
+		}
+		return null;
+	}
+	
 	@Override
 	public String toString(){
 		StringBuilder builder = new StringBuilder();
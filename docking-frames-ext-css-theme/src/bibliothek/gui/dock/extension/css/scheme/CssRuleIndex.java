@@ -0,0 +1,216 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2012 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.extension.css.scheme;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import bibliothek.gui.dock.extension.css.CssPath;
+import bibliothek.gui.dock.extension.css.CssRule;
+import bibliothek.gui.dock.extension.css.CssRuleContentUnion;
+import bibliothek.gui.dock.extension.css.CssScheme;
+import bibliothek.gui.dock.extension.css.CssSelector;
+import bibliothek.gui.dock.extension.css.intern.DefaultCssSelector;
+import bibliothek.gui.dock.extension.css.path.CssPathListener;
+
+/**
+ * An index used by the {@link CssScheme} to find the {@link CssRule}s matching a {@link CssPath}. The
+ * rules are grouped by the {@link DefaultCssSelector#getRequiredNodeName() node} their selector requires, only
+ * the groups whose node is part of a path need to be tested. Any other kind of {@link CssSelector} is treated
+ * as if it would not require a specific node. Additionally the result of a search is
+ * cached until the {@link CssPath} changes or the rules are replaced.
+ * @author Benjamin Sigg
+ */
+public class CssRuleIndex {
+	/** rules that do not require a specific node, these rules have to be tested against any path */
+	private List<Entry> unnamed = new ArrayList<Entry>();
+
+	/** rules grouped by the name of the node they require */
+	private Map<String, List<Entry>> named = new HashMap<String, List<Entry>>();
+
+	/** the results of earlier searches */
+	private Map<CssPath, CachedResult> cache = new HashMap<CssPath, CachedResult>();
+
+	/** orders {@link Entry}s by their position in the list of all rules */
+	private static final Comparator<Entry> ORDER = new Comparator<Entry>(){
+		public int compare( Entry a, Entry b ){
+			return a.position - b.position;
+		}
+	};
+
+	/**
+	 * Replaces the current set of rules.
+	 * @param rules the rules in the order in which they should be applied
+	 */
+	public synchronized void setRules( List<CssRule> rules ){
+		clear();
+		unnamed.clear();
+		named.clear();
+
+		int position = 0;
+		for( CssRule rule : rules ){
+			Entry entry = new Entry( rule, position++ );
+			String name = getRequiredNodeName( rule.getSelector() );
+			if( name == null ){
+				unnamed.add( entry );
+			}
+			else{
+				List<Entry> list = named.get( name );
+				if( list == null ){
+					list = new ArrayList<Entry>();
+					named.put( name, list );
+				}
+				list.add( entry );
+			}
+		}
+	}
+
+	/**
+	 * Gets the name of the node that must be part of any path that is matched by <code>selector</code>.
+	 * @param selector the selector to analyze
+	 * @return the name of the required node, or <code>null</code> if <code>selector</code> may match any path
+	 */
+	private String getRequiredNodeName( CssSelector selector ){
+		if( selector instanceof DefaultCssSelector ){
+			return ((DefaultCssSelector)selector).getRequiredNodeName();
+		}
+		return null;
+	}
+
+	/**
+	 * Collects the contents of all the {@link CssRule}s whose {@link CssSelector} matches <code>path</code>.
+	 * As long as <code>path</code> does not change, and as long as the rules are not replaced, the same
+	 * {@link CssRuleContentUnion} is returned for the same <code>path</code>.
+	 * @param path the path to search
+	 * @return the properties of the rules matching <code>path</code>, <code>null</code> if no rule matches
+	 */
+	public synchronized CssRuleContentUnion search( CssPath path ){
+		CachedResult result = cache.get( path );
+		if( result == null ){
+			result = new CachedResult( path, match( path ) );
+			cache.put( path, result );
+		}
+		return result.union;
+	}
+
+	/**
+	 * Removes the cached result of <code>path</code>, the next call to {@link #search(CssPath)} will
+	 * test all the rules again.
+	 * @param path the path whose result is outdated
+	 */
+	public synchronized void invalidate( CssPath path ){
+		CachedResult result = cache.remove( path );
+		if( result != null ){
+			result.destroy();
+		}
+	}
+
+	/**
+	 * Removes all the cached results.
+	 */
+	public synchronized void clear(){
+		for( CachedResult result : cache.values() ){
+			result.destroy();
+		}
+		cache.clear();
+	}
+
+	private CssRuleContentUnion match( CssPath path ){
+		List<Entry> candidates = new ArrayList<Entry>( unnamed );
+
+		Set<String> names = new HashSet<String>();
+		for( int i = 0, n = path.getSize(); i<n; i++ ){
+			String name = path.getNode( i ).getName();
+			if( names.add( name )){
+				List<Entry> list = named.get( name );
+				if( list != null ){
+					candidates.addAll( list );
+				}
+			}
+		}
+
+		Collections.sort( candidates, ORDER );
+
+		CssRuleContentUnion result = null;
+		for( Entry entry : candidates ){
+			if( entry.rule.getSelector().matches( path )){
+				if( result == null ){
+					result = new CssRuleContentUnion();
+				}
+				result.add( entry.rule.getContent() );
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * A rule and its position in the list of all rules.
+	 * @author Benjamin Sigg
+	 */
+	private static class Entry{
+		private CssRule rule;
+		private int position;
+
+		public Entry( CssRule rule, int position ){
+			this.rule = rule;
+			this.position = position;
+		}
+	}
+
+	/**
+	 * The result of a search, removes itself from the cache once its path changes.
+	 * @author Benjamin Sigg
+	 */
+	private class CachedResult implements CssPathListener{
+		private CssPath path;
+		private CssRuleContentUnion union;
+
+		public CachedResult( CssPath path, CssRuleContentUnion union ){
+			this.path = path;
+			this.union = union;
+			path.addPathListener( this );
+		}
+
+		public void destroy(){
+			path.removePathListener( this );
+		}
+
+		@Override
+		public void pathChanged( CssPath path ){
+			synchronized( CssRuleIndex.this ){
+				if( cache.get( path ) == this ){
+					invalidate( path );
+				}
+			}
+		}
+	}
+}
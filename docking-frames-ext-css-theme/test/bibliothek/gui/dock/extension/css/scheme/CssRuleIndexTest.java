@@ -0,0 +1,104 @@
+package bibliothek.gui.dock.extension.css.scheme;
+
+import static junit.framework.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import bibliothek.gui.dock.extension.css.CssPath;
+import bibliothek.gui.dock.extension.css.CssRule;
+import bibliothek.gui.dock.extension.css.CssRuleContentUnion;
+import bibliothek.gui.dock.extension.css.CssSelector;
+import bibliothek.gui.dock.extension.css.CssSpecificity;
+import bibliothek.gui.dock.extension.css.intern.DefaultCssRule;
+import bibliothek.gui.dock.extension.css.intern.DefaultCssSelector;
+import bibliothek.gui.dock.extension.css.path.DefaultCssNode;
+import bibliothek.gui.dock.extension.css.path.DefaultCssPath;
+
+public class CssRuleIndexTest {
+	private CssRuleIndex index;
+	private List<CssRule> rules;
+
+	@Before
+	public void setup(){
+		rules = new ArrayList<CssRule>();
+		rules.add( new DefaultCssRule( DefaultCssSelector.selector().element( "a" ).build() ) );
+		rules.add( new DefaultCssRule( DefaultCssSelector.selector().element( "b" ).pseudo( "hover" ).build() ) );
+		rules.add( new DefaultCssRule( DefaultCssSelector.selector().any().build() ) );
+		rules.add( new DefaultCssRule( DefaultCssSelector.selector().element( "a" ).child( "b" ).build() ) );
+		rules.add( new DefaultCssRule( DefaultCssSelector.selector().element( "c" ).build() ) );
+
+		index = new CssRuleIndex();
+		index.setRules( rules );
+	}
+
+	@Test
+	public void order(){
+		DefaultCssPath path = new DefaultCssPath( new DefaultCssNode( "a" ), new DefaultCssNode( "b" ) );
+		CssRuleContentUnion union = index.search( path );
+
+		assertEquals( 3, union.size() );
+		assertSame( rules.get( 0 ).getContent(), union.get( 0 ) );
+		assertSame( rules.get( 2 ).getContent(), union.get( 1 ) );
+		assertSame( rules.get( 3 ).getContent(), union.get( 2 ) );
+	}
+
+	@Test
+	public void noMatch(){
+		index.setRules( rules.subList( 0, 2 ) );
+		assertNull( index.search( new DefaultCssPath( new DefaultCssNode( "c" ) ) ) );
+	}
+
+	@Test
+	public void cached(){
+		DefaultCssPath path = new DefaultCssPath( new DefaultCssNode( "a" ), new DefaultCssNode( "b" ) );
+		assertSame( index.search( path ), index.search( path ) );
+	}
+
+	@Test
+	public void pathChanged(){
+		DefaultCssNode node = new DefaultCssNode( "b" );
+		DefaultCssPath path = new DefaultCssPath( new DefaultCssNode( "a" ), node );
+		CssRuleContentUnion before = index.search( path );
+
+		node.addPseudoClass( "hover" );
+		CssRuleContentUnion after = index.search( path );
+
+		assertNotSame( before, after );
+		assertEquals( 4, after.size() );
+	}
+
+	@Test
+	public void rulesChanged(){
+		DefaultCssPath path = new DefaultCssPath( new DefaultCssNode( "c" ) );
+		CssRuleContentUnion before = index.search( path );
+		assertEquals( 2, before.size() );
+
+		index.setRules( rules.subList( 0, 3 ) );
+		CssRuleContentUnion after = index.search( path );
+		assertNotSame( before, after );
+		assertEquals( 1, after.size() );
+	}
+
+	@Test
+	public void customSelectorMatchesAnyNode(){
+		final CssSpecificity specificity = DefaultCssSelector.selector().any().build().getSpecificity();
+		CssSelector custom = new CssSelector(){
+			public boolean matches( CssPath path ){
+				return path.getNode( path.getSize()-1 ).getName().equals( "d" );
+			}
+			public CssSpecificity getSpecificity(){
+				return specificity;
+			}
+		};
+		rules.add( new DefaultCssRule( custom ) );
+		index.setRules( rules );
+
+		CssRuleContentUnion union = index.search( new DefaultCssPath( new DefaultCssNode( "d" ) ) );
+		assertEquals( 2, union.size() );
+		assertSame( rules.get( 5 ).getContent(), union.get( 1 ) );
+	}
+}
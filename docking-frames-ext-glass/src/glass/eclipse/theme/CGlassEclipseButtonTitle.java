@@ -229,35 +229,44 @@ public class CGlassEclipseButtonTitle extends BasicButtonDockTitle {
 
       if (w > 0 && h > 0) {
          if (glassStrip != null) {
-            BufferedImage im = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-
-            Graphics2D gg = im.createGraphics();
-            gg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-            gg.setColor(component.getBackground());
-            if (ec != null) {
-               gg.fill(ec.createShape(0, 0, w, h, ec.getCornerRadius()));
-
-            }
-            else {
-               gg.fillRect(0, 0, w, h);
-            }
-
-            if ( !isSelected()) {
-               gg.setComposite(AlphaComposite.SrcIn);
+            CGlassImageCache cache = CGlassImageCache.getDefault();
+            int iRadius = ec == null ? -1 : ec.getCornerRadius();
+            int iEdges = ec == null ? -1 : ec.getRoundEdges();
+            Image im = cache.get(CGlassEclipseButtonTitle.class, w, h, component.getBackground(), iRadius, iEdges, isSelected(), glassStrip);
+            if (im == null) {
+               BufferedImage image = CGlassImageCache.createImage(component, w, h);
+
+               Graphics2D gg = image.createGraphics();
+               gg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+               gg.setColor(component.getBackground());
+               if (ec != null) {
+                  gg.fill(ec.createShape(0, 0, w, h, ec.getCornerRadius()));
+
+               }
+               else {
+                  gg.fillRect(0, 0, w, h);
+               }
+
+               if ( !isSelected()) {
+                  gg.setComposite(AlphaComposite.SrcIn);
+               }
+               else {
+                  gg.setComposite(AlphaComposite.SrcAtop);
+               }
+
+               try {
+                  glass.Render2Graphics(new Dimension(w, h), gg, glassStrip, true);
+               }
+               catch (Exception e) {
+                  glass.Render2Graphics(new Dimension(w, h), gg, CGlassFactory.VALUE_STEEL, true);
+               }
+
+               gg.dispose();
+
+               im = image;
+               cache.put(im, CGlassEclipseButtonTitle.class, w, h, component.getBackground(), iRadius, iEdges, isSelected(), glassStrip.clone());
             }
-            else {
-               gg.setComposite(AlphaComposite.SrcAtop);
-            }
-
-            try {
-               glass.Render2Graphics(new Dimension(w, h), gg, glassStrip, true);
-            }
-            catch (Exception e) {
-               glass.Render2Graphics(new Dimension(w, h), gg, CGlassFactory.VALUE_STEEL, true);
-            }
-
-            gg.dispose();
 
             if ( !getOrientation().isHorizontal()) {
                AffineTransform atTrans = AffineTransform.getTranslateInstance(x /* + h */, y + w);
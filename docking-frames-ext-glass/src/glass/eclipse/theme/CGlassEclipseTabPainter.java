@@ -545,27 +545,37 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
          Graphics2D g2d = (Graphics2D)g.create();
          g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-         Shape sTab = createUnSelectedTabShape(isHorizontal() ? w : w, isHorizontal() ? h : h, false, true);
+         Shape sTab;
 
-         BufferedImage img;
+         Image img;
          dImg = new Dimension(isHorizontal() ? w + CORNER_RADIUS : h + CORNER_RADIUS, isHorizontal() ? h : w);
          if (glassUnSelected != null) {
-            img = new BufferedImage(dImg.width, dImg.height, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D gg = img.createGraphics();
+            CGlassImageCache cache = CGlassImageCache.getDefault();
+            boolean bBeforeSelected = getTabIndex() < getSelectedIndex();
+            img = cache.get(CGlassEclipseTabPainter.class, getOrientation(), w, h, bBeforeSelected, glassUnSelected);
+            if (img == null) {
+               sTab = createUnSelectedTabShape(w, h, false, true);
 
-            gg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            gg.setColor(Color.WHITE);
-            gg.fill(sTab);
+               BufferedImage bimg = CGlassImageCache.createImage(this, dImg.width, dImg.height);
+               Graphics2D gg = bimg.createGraphics();
 
-            gg.setComposite(AlphaComposite.SrcIn);
-            try {
-               glass.Render2Graphics(dImg, gg, glassUnSelected, true);
-            }
-            catch (Exception e) {
-               glass.Render2Graphics(dImg, gg, CGlassFactory.VALUE_STEEL, true);
-            }
+               gg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+               gg.setColor(Color.WHITE);
+               gg.fill(sTab);
 
-            gg.dispose();
+               gg.setComposite(AlphaComposite.SrcIn);
+               try {
+                  glass.Render2Graphics(dImg, gg, glassUnSelected, true);
+               }
+               catch (Exception e) {
+                  glass.Render2Graphics(dImg, gg, CGlassFactory.VALUE_STEEL, true);
+               }
+
+               gg.dispose();
+
+               img = bimg;
+               cache.put(img, CGlassEclipseTabPainter.class, getOrientation(), w, h, bBeforeSelected, glassUnSelected.clone());
+            }
 
             if ( !isHorizontal()) {
                AffineTransform atTrans = AffineTransform.getTranslateInstance(x/* + w*/, y + h);
@@ -613,7 +623,6 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
       int y = 0;
       int w = getWidth();
       int h = getHeight();
-      Dimension dImg;
 
       if (w > 0 && h > 0) {
          Shape sTab = createSelectedTabShape(w, h, false);
@@ -628,67 +637,9 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
             paintWorkAround(g2d);
          }
 
-         // draw glass 
-         // first render to image because glass is transparent and we would see the inactive tab in background
-         BufferedImage bimg = null;
-         dImg = new Dimension(isHorizontal() ? w : h, isHorizontal() ? h : w);
-         if( !isEnabled() ){
-        	 if(glassDisabled != null){
-        		 try {
-                     bimg = glass.RenderBufferedImage(glassDisabled, dImg, true);
-				 }
-				 catch( Exception e ) {
-					 bimg = glass.RenderBufferedImage( CGlassFactory.VALUE_GRAY, dImg, true );
-				 } 
-        	 }
-         }
-         else if (bActive) {
-            if (glassFocused != null) {
-               try {
-                  bimg = glass.RenderBufferedImage(glassFocused, dImg, true);
-               }
-               catch (Exception e) {
-                  bimg = glass.RenderBufferedImage(CGlassFactory.VALUE_STEEL, dImg, true);
-               }
-            }
-         }
-         else {
-            if (glassSelected != null) {
-               try {
-                  bimg = glass.RenderBufferedImage(glassSelected, dImg, true);
-               }
-               catch (Exception e) {
-                  bimg = glass.RenderBufferedImage(CGlassFactory.VALUE_DARKENED_PLAIN, dImg, true);
-               }
-            }
-         }
-
-         if (bimg != null) {
-            // glass is translucent, so we could see the sharp edge of an unselected tab behind
-            // So, we paint the glass image onto a other image were only the glass part is visible (white)
-            BufferedImage b = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D gg2d = b.createGraphics();
-            gg2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-            gg2d.setColor(Color.WHITE);
-            gg2d.fill(sTab);
-
-            gg2d.setClip(sTab);
-            gg2d.setComposite(AlphaComposite.SrcAtop);
-            if ( !isHorizontal()) {
-               AffineTransform atTrans = AffineTransform.getTranslateInstance(0/*w*/, h);
-               atTrans.concatenate(COutlineHelper.tRot90CCW);
-
-               gg2d.drawImage(bimg, atTrans, null);
-            }
-            else {
-
-               gg2d.drawImage(bimg, 0, 0, null);
-            }
-
-            gg2d.dispose();
-
-            g2d.drawImage(b, x, y, null);
+         Image image = getSelectedImage(w, h, sTab, bActive);
+         if (image != null) {
+            g2d.drawImage(image, x, y, null);
          }
 
          // draw Border
@@ -716,6 +667,118 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
       }
    }
 
+   /**
+    * Gets the glass background of the selected or focused tab. The image is taken from the {@link CGlassImageCache}
+    * or rendered if not found in the cache.
+    * @param w the width of this tab
+    * @param h the height of this tab
+    * @param sTab the shape of this tab
+    * @param bActive whether this tab is focused
+    * @return the image or <code>null</code> if there is no glass to paint
+    */
+   private Image getSelectedImage (int w, int h, Shape sTab, boolean bActive) {
+      IGlassFactory.SGlassParameter param;
+      if ( !isEnabled()) {
+         param = glassDisabled;
+      }
+      else if (bActive) {
+         param = glassFocused;
+      }
+      else {
+         param = glassSelected;
+      }
+      if (param == null) {
+         return (null);
+      }
+
+      CGlassImageCache cache = CGlassImageCache.getDefault();
+      boolean bFirst = getTabIndex() == 0;
+      Image image = cache.get(CGlassEclipseTabPainter.class, getOrientation(), w, h, bFirst, isEnabled(), bActive, param);
+      if (image == null) {
+         image = createSelectedImage(w, h, sTab, bActive);
+         if (image != null) {
+            cache.put(image, CGlassEclipseTabPainter.class, getOrientation(), w, h, bFirst, isEnabled(), bActive, param.clone());
+         }
+      }
+      return (image);
+   }
+
+   /**
+    * Renders the glass background of the selected or focused tab.
+    * @param w the width of this tab
+    * @param h the height of this tab
+    * @param sTab the shape of this tab
+    * @param bActive whether this tab is focused
+    * @return the image or <code>null</code> if there is no glass to paint
+    */
+   private BufferedImage createSelectedImage (int w, int h, Shape sTab, boolean bActive) {
+      Dimension dImg;
+
+      // draw glass 
+      // first render to image because glass is transparent and we would see the inactive tab in background
+      BufferedImage bimg = null;
+      dImg = new Dimension(isHorizontal() ? w : h, isHorizontal() ? h : w);
+      if ( !isEnabled()) {
+         if (glassDisabled != null) {
+            try {
+               bimg = glass.RenderBufferedImage(glassDisabled, dImg, true);
+            }
+            catch (Exception e) {
+               bimg = glass.RenderBufferedImage(CGlassFactory.VALUE_GRAY, dImg, true);
+            }
+         }
+      }
+      else if (bActive) {
+         if (glassFocused != null) {
+            try {
+               bimg = glass.RenderBufferedImage(glassFocused, dImg, true);
+            }
+            catch (Exception e) {
+               bimg = glass.RenderBufferedImage(CGlassFactory.VALUE_STEEL, dImg, true);
+            }
+         }
+      }
+      else {
+         if (glassSelected != null) {
+            try {
+               bimg = glass.RenderBufferedImage(glassSelected, dImg, true);
+            }
+            catch (Exception e) {
+               bimg = glass.RenderBufferedImage(CGlassFactory.VALUE_DARKENED_PLAIN, dImg, true);
+            }
+         }
+      }
+
+      if (bimg != null) {
+         // glass is translucent, so we could see the sharp edge of an unselected tab behind
+         // So, we paint the glass image onto a other image were only the glass part is visible (white)
+         BufferedImage b = CGlassImageCache.createImage(this, w, h);
+         Graphics2D gg2d = b.createGraphics();
+         gg2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+         gg2d.setColor(Color.WHITE);
+         gg2d.fill(sTab);
+
+         gg2d.setClip(sTab);
+         gg2d.setComposite(AlphaComposite.SrcAtop);
+         if ( !isHorizontal()) {
+            AffineTransform atTrans = AffineTransform.getTranslateInstance(0/*w*/, h);
+            atTrans.concatenate(COutlineHelper.tRot90CCW);
+
+            gg2d.drawImage(bimg, atTrans, null);
+         }
+         else {
+
+            gg2d.drawImage(bimg, 0, 0, null);
+         }
+
+         gg2d.dispose();
+
+         return (b);
+      }
+      return (null);
+   }
+
    /**
     * An unselected tab before the selected tab is not painted behind the selected tab.
     * When we draw the selected tab, we first draw a little bit of the unselected tab in
@@ -866,6 +929,8 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
 
       @Override
       protected void changed (Color oldColor, Color newColor) {
+         // images painted with the old colors are no longer needed
+         CGlassImageCache.getDefault().clear();
          updateGlass();
          repaint();
       }
@@ -0,0 +1,186 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2013 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package glass.eclipse.theme.utils;
+
+import java.awt.*;
+import java.awt.image.*;
+import java.util.*;
+
+
+/**
+ * A bounded cache of images which were rendered by a glass painter. Rendering glass is expensive and
+ * a strip of tabs is repainted often (e.g. when the mouse moves over it), hence painters store the final
+ * image in this cache and only render it again if one of its properties changed.<br>
+ * An image is stored together with a key that describes everything that was used to paint the image:
+ * the size, the orientation, the state, the glass parameters and the colors. Since colors are part of the key,
+ * an image painted with old colors is never used again after the color scheme changed, and because the cache
+ * forgets the image that was not used for the longest time, the old images disappear soon. Painters can
+ * also call {@link #clear()} to throw away all images at once.<br>
+ * The cached images are created by the {@link GraphicsConfiguration} of the component they are painted on,
+ * this allows the Java2D pipeline to keep a copy of the image in video memory.
+ * @author Benjamin Sigg
+ */
+public class CGlassImageCache {
+   /** the default number of images a cache can store */
+   public static final int DEFAULT_CAPACITY = 128;
+
+   /** the cache that is shared by all painters */
+   private static final CGlassImageCache DEFAULT = new CGlassImageCache(DEFAULT_CAPACITY);
+
+   /** all the images, the first image was used least recently */
+   private final LinkedHashMap<Key, Image> images = new LinkedHashMap<Key, Image>(16, 0.75f, true);
+
+   /** how many images can be stored */
+   private int capacity;
+
+   /**
+    * Gets the cache that is shared by all glass painters.
+    * @return the shared cache
+    */
+   public static CGlassImageCache getDefault () {
+      return (DEFAULT);
+   }
+
+   /**
+    * Creates a new cache.
+    * @param capacity the maximum number of images to store, <code>0</code> disables the cache
+    */
+   public CGlassImageCache (int capacity) {
+      setCapacity(capacity);
+   }
+
+   /**
+    * Sets the maximum number of images this cache can store. If there are too many images, the images
+    * that were not used for the longest time are removed.
+    * @param capacity the maximum number of images, <code>0</code> disables the cache
+    */
+   public synchronized void setCapacity (int capacity) {
+      if (capacity < 0) {
+         throw new IllegalArgumentException("capacity must be at least 0: " + capacity);
+      }
+      this.capacity = capacity;
+      shrink();
+   }
+
+   /**
+    * Gets the maximum number of images this cache can store.
+    * @return the capacity
+    */
+   public synchronized int getCapacity () {
+      return (capacity);
+   }
+
+   /**
+    * Gets the number of images currently stored in this cache.
+    * @return the number of images
+    */
+   public synchronized int getSize () {
+      return (images.size());
+   }
+
+   /**
+    * Searches an image that was painted using the properties <code>key</code>.
+    * @param key all the properties that were used to paint the image, the elements must implement
+    * {@link Object#equals(Object)} and {@link Object#hashCode()}
+    * @return the image or <code>null</code> if not found
+    */
+   public synchronized Image get (Object... key) {
+      return (images.get(new Key(key)));
+   }
+
+   /**
+    * Stores <code>image</code> in this cache.
+    * @param image the image to store, must not be modified afterwards
+    * @param key all the properties that were used to paint <code>image</code>
+    */
+   public synchronized void put (Image image, Object... key) {
+      if (capacity > 0) {
+         images.put(new Key(key), image);
+         shrink();
+      }
+   }
+
+   /**
+    * Removes all images from this cache.
+    */
+   public synchronized void clear () {
+      images.clear();
+   }
+
+   /**
+    * Creates a new, empty, translucent image. If possible the image is compatible with <code>component</code>, which
+    * allows the Java2D pipeline to accelerate painting the image.
+    * @param component the component on which the image is going to be painted, can be <code>null</code>
+    * @param width the width of the image
+    * @param height the height of the image
+    * @return the new image
+    */
+   public static BufferedImage createImage (Component component, int width, int height) {
+      GraphicsConfiguration configuration = component == null ? null : component.getGraphicsConfiguration();
+      if (configuration != null) {
+         return (configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT));
+      }
+      return (new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+   }
+
+   private void shrink () {
+      Iterator<Key> iterator = images.keySet().iterator();
+      while (images.size() > capacity && iterator.hasNext()) {
+         iterator.next();
+         iterator.remove();
+      }
+   }
+
+   /**
+    * The properties of one image.
+    */
+   private static class Key {
+      private final Object[] properties;
+      private final int hash;
+
+      public Key (Object[] properties) {
+         this.properties = properties;
+         this.hash = Arrays.hashCode(properties);
+      }
+
+      @Override
+      public int hashCode () {
+         return (hash);
+      }
+
+      @Override
+      public boolean equals (Object obj) {
+         if (obj == this) {
+            return (true);
+         }
+         if ( !(obj instanceof Key)) {
+            return (false);
+         }
+         Key other = (Key)obj;
+         return (hash == other.hash && Arrays.equals(properties, other.properties));
+      }
+   }
+}
@@ -37,8 +37,10 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 import javax.imageio.ImageIO;
@@ -406,11 +408,13 @@ public class ToolbarExtension implements Extension {
 			@Override
 			public void installed( DockController controller, DockTheme theme ){
 				final ThemeManager manager = controller.getThemeManager();
-				manager.put( Priority.THEME, ThemeManager.DISPLAYER_FACTORY + ".toolbar", ThemeManager.DISPLAYER_FACTORY_TYPE, ToolbarDockableDisplayer.FACTORY );
-				manager.put( Priority.THEME, ThemeManager.DISPLAYER_FACTORY + ".toolbar.simple", ThemeManager.DISPLAYER_FACTORY_TYPE, ToolbarDockableDisplayer.FACTORY );
-				manager.put( Priority.THEME, ThemeManager.DISPLAYER_FACTORY + ".toolbar.group", ThemeManager.DISPLAYER_FACTORY_TYPE, ToolbarDockableDisplayer.FACTORY );
-				manager.put( Priority.THEME, ThemeManager.DISPLAYER_FACTORY + ".toolbar.container", ThemeManager.DISPLAYER_FACTORY_TYPE, ToolbarDockableDisplayer.FACTORY );
-				manager.put( Priority.THEME, ThemeManager.DISPLAYER_FACTORY + ".toolbar.screen", ThemeManager.DISPLAYER_FACTORY_TYPE, ToolbarDockableDisplayer.FACTORY );
+				final Map<String, DisplayerFactory> displayers = new LinkedHashMap<String, DisplayerFactory>();
+				displayers.put( ThemeManager.DISPLAYER_FACTORY + ".toolbar", ToolbarDockableDisplayer.FACTORY );
+				displayers.put( ThemeManager.DISPLAYER_FACTORY + ".toolbar.simple", ToolbarDockableDisplayer.FACTORY );
+				displayers.put( ThemeManager.DISPLAYER_FACTORY + ".toolbar.group", ToolbarDockableDisplayer.FACTORY );
+				displayers.put( ThemeManager.DISPLAYER_FACTORY + ".toolbar.container", ToolbarDockableDisplayer.FACTORY );
+				displayers.put( ThemeManager.DISPLAYER_FACTORY + ".toolbar.screen", ToolbarDockableDisplayer.FACTORY );
+				manager.putAll( Priority.THEME, ThemeManager.DISPLAYER_FACTORY_TYPE, displayers );
 
 				final DockTitleManager titles = controller.getDockTitleManager();
 				// titles.registerTheme(ToolbarGroupDockStation.TITLE_ID,
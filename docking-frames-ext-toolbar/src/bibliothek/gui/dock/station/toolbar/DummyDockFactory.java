@@ -37,6 +37,7 @@ import java.util.Map;
 
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.layout.LocationEstimationMap;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
 import bibliothek.gui.dock.perspective.PerspectiveElement;
@@ -49,10 +50,21 @@ import bibliothek.util.xml.XElement;
  * 
  * @author Benjamin Sigg
  */
-public abstract class DummyDockFactory<D extends Dockable> implements DockFactory<D, PerspectiveElement, Object>{
+public abstract class DummyDockFactory<D extends Dockable> implements DockFactory<D, PerspectiveElement, Object>, ConcurrentDockFactory{
 	/** dummy object used as layout, does not contain any information */
 	private static final Object DUMMY = new Object();
 
+	/**
+	 * Tells whether the <code>read</code> methods can be called by any thread. The default implementation
+	 * returns <code>false</code>, subclasses that do not override the <code>read</code> methods can
+	 * return <code>true</code>.
+	 * @return whether this factory is thread safe
+	 */
+	@Override
+	public boolean isConcurrent(){
+		return false;
+	}
+
 	@Override
 	public Object getLayout( D element, Map<Dockable, Integer> children ){
 		return DUMMY;
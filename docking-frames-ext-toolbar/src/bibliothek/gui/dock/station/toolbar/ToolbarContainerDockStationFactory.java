@@ -38,6 +38,7 @@ import java.util.Map;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
 import bibliothek.gui.dock.ToolbarContainerDockStation;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.layout.DockLayoutInfo;
 import bibliothek.gui.dock.layout.LocationEstimationMap;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
@@ -57,7 +58,7 @@ import bibliothek.util.xml.XElement;
  * @author Benjamin Sigg
  * @author Herve Guillaume
  */
-public class ToolbarContainerDockStationFactory implements DockFactory<ToolbarContainerDockStation, ToolbarContainerDockPerspective, ToolbarContainerDockStationLayout> {
+public class ToolbarContainerDockStationFactory implements DockFactory<ToolbarContainerDockStation, ToolbarContainerDockPerspective, ToolbarContainerDockStationLayout>, ConcurrentDockFactory {
 	/** the unique, unmodifiable identifier of this factory */
 	public static final String ID = "ToolbarContainerDockStationFactory";
 
@@ -66,6 +67,11 @@ public class ToolbarContainerDockStationFactory implements DockFactory<ToolbarCo
 		return ID;
 	}
 
+	@Override
+	public boolean isConcurrent(){
+		return getClass() == ToolbarContainerDockStationFactory.class;
+	}
+
 	/**
 	 * Creates a {@link ToolbarContainerConverter} which will be used for one call.
 	 * @return the new converter, not <code>null</code>
@@ -38,6 +38,7 @@ import java.util.Map;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
 import bibliothek.gui.dock.ToolbarDockStation;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.layout.DockLayoutInfo;
 import bibliothek.gui.dock.layout.LocationEstimationMap;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
@@ -56,7 +57,7 @@ import bibliothek.util.xml.XElement;
  * 
  * @author Benjamin Sigg
  */
-public class ToolbarDockStationFactory implements DockFactory<ToolbarDockStation, ToolbarDockPerspective, ToolbarDockStationLayout> {
+public class ToolbarDockStationFactory implements DockFactory<ToolbarDockStation, ToolbarDockPerspective, ToolbarDockStationLayout>, ConcurrentDockFactory {
 	/** the unique, unmodifiable identifier of this factory */
 	public static final String ID = "ToolbarDockStationFactory";
 
@@ -65,6 +66,11 @@ public class ToolbarDockStationFactory implements DockFactory<ToolbarDockStation
 		return ID;
 	}
 
+	@Override
+	public boolean isConcurrent(){
+		return getClass() == ToolbarDockStationFactory.class;
+	}
+
 	@Override
 	public ToolbarDockStationLayout getLayout( ToolbarDockStation element, Map<Dockable, Integer> children ){
 		PlaceholderMap map = element.getPlaceholders(children);
@@ -38,6 +38,7 @@ import java.util.Map;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
 import bibliothek.gui.dock.ToolbarGroupDockStation;
+import bibliothek.gui.dock.layout.ConcurrentDockFactory;
 import bibliothek.gui.dock.layout.DockLayoutInfo;
 import bibliothek.gui.dock.layout.LocationEstimationMap;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
@@ -57,7 +58,7 @@ import bibliothek.util.xml.XElement;
  * 
  * @author Benjamin Sigg
  */
-public class ToolbarGroupDockStationFactory implements DockFactory<ToolbarGroupDockStation, ToolbarGroupDockPerspective, ToolbarGroupDockStationLayout> {
+public class ToolbarGroupDockStationFactory implements DockFactory<ToolbarGroupDockStation, ToolbarGroupDockPerspective, ToolbarGroupDockStationLayout>, ConcurrentDockFactory {
 	/** the unique, unmodifiable identifier of this factory */
 	public static final String ID = "ToolbarGroupDockStationFactory";
 
@@ -66,6 +67,11 @@ public class ToolbarGroupDockStationFactory implements DockFactory<ToolbarGroupD
 		return ID;
 	}
 
+	@Override
+	public boolean isConcurrent(){
+		return getClass() == ToolbarGroupDockStationFactory.class;
+	}
+
 	@Override
 	public ToolbarGroupDockStationLayout getLayout( ToolbarGroupDockStation element, Map<Dockable, Integer> children ){
 		final PlaceholderMap map = element.getPlaceholders( children );
@@ -44,4 +44,9 @@ public class ToolbarItemDockableFactory extends DummyDockFactory<ToolbarItemDock
 	public String getID(){
 		return ID;
 	}
+
+	@Override
+	public boolean isConcurrent(){
+		return getClass() == ToolbarItemDockableFactory.class;
+	}
 }